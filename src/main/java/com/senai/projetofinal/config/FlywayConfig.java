@@ -0,0 +1,29 @@
+package com.senai.projetofinal.config;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+
+/**
+ * As migrações rodam depois do Hibernate (ddl-auto=update). Em um banco novo as tabelas só
+ * existem depois dele, e as migrações que criam índices precisam delas.
+ */
+@Configuration
+public class FlywayConfig {
+
+    @Bean
+    public FlywayMigrationStrategy migracaoAdiada() {
+        return flyway -> {
+        };
+    }
+
+    @Bean
+    @DependsOn("entityManagerFactory")
+    public InitializingBean migracaoAposHibernate(ObjectProvider<Flyway> flyway) {
+        return () -> flyway.ifAvailable(Flyway::migrate);
+    }
+}
@@ -3,7 +3,7 @@ package com.senai.projetofinal.controller;
 import com.senai.projetofinal.controller.dto.request.aluno.AtualizarAlunoRequest;
 import com.senai.projetofinal.controller.dto.request.aluno.InserirAlunoRequest;
 import com.senai.projetofinal.controller.dto.response.AlunoResponse;
-import com.senai.projetofinal.datasource.entity.AlunoEntity;
+import com.senai.projetofinal.controller.dto.response.ImportacaoAlunosResponse;
 import com.senai.projetofinal.infra.exception.error.NotFoundException;
 import com.senai.projetofinal.service.AlunoService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -15,10 +15,17 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.Reader;
 import java.util.List;
 
 @Tag(name = "Alunos")
@@ -33,12 +40,17 @@ public class AlunoController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Alunos listados com sucesso",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = AlunoEntity.class)))
+                            schema = @Schema(implementation = AlunoResponse.class)))
     })
+    @PreAuthorize("hasAnyRole('ADMIN', 'PEDAGOGICO')")
     @GetMapping
-    public ResponseEntity<List<AlunoEntity>> listarTodosAlunos(
-            @RequestHeader("Authorization") String token) {
-        List<AlunoEntity> listarAlunos = service.listarTodos(token.substring(7));
+    public ResponseEntity<Slice<AlunoResponse>> listarTodosAlunos(
+            @Parameter(description = "ID do último aluno recebido; quando informado, a página é buscada por chave e não por offset")
+            @RequestParam(required = false) Long apos,
+            @ParameterObject @PageableDefault(size = 20, sort = "id") Pageable pageable) {
+        Slice<AlunoResponse> listarAlunos = apos == null
+                ? service.listarTodos(pageable)
+                : service.listarAposId(apos, pageable.getPageSize());
         return ResponseEntity.ok().body(listarAlunos);
     }
 
@@ -46,16 +58,16 @@ public class AlunoController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Aluno encontrado com sucesso",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = AlunoEntity.class))),
+                            schema = @Schema(implementation = AlunoResponse.class))),
             @ApiResponse(responseCode = "400", description = "Erro ao buscar aluno",
                     content = @Content)
     })
+    @PreAuthorize("hasAnyRole('ADMIN', 'PEDAGOGICO')")
     @GetMapping("/{id}")
     public ResponseEntity<?> buscarAlunoPorId(
-            @PathVariable Long id,
-            @RequestHeader("Authorization") String token) {
+            @PathVariable Long id) {
         try {
-            AlunoEntity aluno = service.buscarPorId(id, token.substring(7));
+            AlunoResponse aluno = AlunoResponse.from(service.buscarPorId(id));
             return new ResponseEntity<>(aluno, HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
@@ -71,33 +83,74 @@ public class AlunoController {
             @ApiResponse(responseCode = "400", description = "Erro ao cadastrar aluno",
                     content = @Content)
     })
+    @PreAuthorize("hasRole('ADMIN')")
     @PostMapping
     public ResponseEntity<?> criarAluno(
             @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Dados do novo aluno para cadastro",
                     content = @Content(schema = @Schema(implementation = InserirAlunoRequest.class),
                             examples = @ExampleObject(value = "{ \"nome\": \"Fulano\", \"dataNascimento\": \"30-04-1996\", \"usuario\": 1, \"turma\": 1 }")))
-            @RequestBody InserirAlunoRequest inserirAlunoRequest,
-            @RequestHeader("Authorization") String token) {
+            @RequestBody InserirAlunoRequest inserirAlunoRequest) {
         try {
-            AlunoResponse criarAlunoResponse = service.salvar(inserirAlunoRequest, token.substring(7));
+            AlunoResponse criarAlunoResponse = service.salvar(inserirAlunoRequest);
             return new ResponseEntity<>(criarAlunoResponse, HttpStatus.CREATED);
         } catch (Exception e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         }
     }
 
+    @Operation(summary = "Importar alunos em lote (JSON)",
+            description = "Cadastra os alunos do array com seus usuários. Linhas inválidas são reportadas e não impedem o cadastro das demais.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Alunos importados",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ImportacaoAlunosResponse.class),
+                            examples = @ExampleObject(value = "{ \"importados\": 2, \"erros\": [ { \"linha\": 3, \"mensagem\": \"Nome de Login já existe\" } ] }"))),
+            @ApiResponse(responseCode = "400", description = "Nenhum aluno importado ou requisição inválida",
+                    content = @Content)
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/lote", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> importarAlunos(
+            @RequestBody List<InserirAlunoRequest> alunos) {
+        try {
+            return respostaImportacao(service.importarLote(alunos));
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @Operation(summary = "Importar alunos em lote (CSV)",
+            description = "Lê um CSV com as colunas nome,email,senha,turma (e opcionalmente os demais campos do aluno) e cadastra os alunos em lotes, reportando os erros por linha.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Alunos importados",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ImportacaoAlunosResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Nenhum aluno importado ou cabeçalho inválido",
+                    content = @Content)
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/lote", consumes = "text/csv")
+    public ResponseEntity<?> importarAlunosCsv(
+            Reader csv) {
+        try {
+            return respostaImportacao(service.importarCsv(csv));
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @Operation(summary = "Deletar um aluno", description = "Remove um aluno do sistema")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Aluno deletado com sucesso"),
             @ApiResponse(responseCode = "400", description = "Erro ao deletar aluno",
                     content = @Content)
     })
+    @PreAuthorize("hasRole('ADMIN')")
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deletarAluno(
-            @PathVariable Long id,
-            @RequestHeader("Authorization") String token) {
+            @PathVariable Long id) {
         try {
-            service.removerPorId(id, token.substring(7));
+            service.removerPorId(id);
             return ResponseEntity.noContent().build();
         } catch (Exception e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
@@ -108,22 +161,22 @@ public class AlunoController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Aluno atualizado com sucesso",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = AlunoEntity.class))),
+                            schema = @Schema(implementation = AlunoResponse.class))),
             @ApiResponse(responseCode = "404", description = "Aluno não encontrado",
                     content = @Content),
             @ApiResponse(responseCode = "400", description = "Erro ao atualizar aluno",
                     content = @Content)
     })
+    @PreAuthorize("hasAnyRole('ADMIN', 'PEDAGOGICO')")
     @PutMapping("/{id}")
     public ResponseEntity<?> atualizarAluno(
             @Parameter(description = "ID do aluno para atualizar") @PathVariable Long id,
             @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Dados atualizados do aluno",
                     content = @Content(schema = @Schema(implementation = AtualizarAlunoRequest.class),
                             examples = @ExampleObject(value = "{ \"nome\": \"Fulano Update\", \"dataNascimento\": \"30-04-1996\", \"usuario\": 1, \"turma\": 1 }")))
-            @RequestBody AtualizarAlunoRequest atualizarAlunoRequest,
-            @RequestHeader("Authorization") String token) {
+            @RequestBody AtualizarAlunoRequest atualizarAlunoRequest) {
         try {
-            AlunoEntity atualizarAlunoResponse = service.atualizar(atualizarAlunoRequest, id, token.substring(7));
+            AlunoResponse atualizarAlunoResponse = AlunoResponse.from(service.atualizar(atualizarAlunoRequest, id));
             return new ResponseEntity<>(atualizarAlunoResponse, HttpStatus.OK);
         } catch (NotFoundException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
@@ -131,4 +184,9 @@ public class AlunoController {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         }
     }
+
+    private ResponseEntity<ImportacaoAlunosResponse> respostaImportacao(ImportacaoAlunosResponse importacao) {
+        HttpStatus status = importacao.importados() > 0 ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST;
+        return new ResponseEntity<>(importacao, status);
+    }
 }
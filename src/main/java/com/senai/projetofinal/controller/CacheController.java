@@ -0,0 +1,122 @@
+package com.senai.projetofinal.controller;
+
+import com.senai.projetofinal.infra.cache.BarramentoInvalidacao;
+import com.senai.projetofinal.infra.cache.CacheRespostas;
+import com.senai.projetofinal.infra.cache.CacheSegundoNivel;
+import com.senai.projetofinal.infra.cache.DadosReferencia;
+import com.senai.projetofinal.infra.cache.EstatisticasRegiao;
+import com.senai.projetofinal.infra.cache.LeiturasAgrupadas;
+import com.senai.projetofinal.infra.security.CachingJwtDecoder;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Tag(name = "Cache")
+@RestController
+@RequestMapping("/cache")
+@RequiredArgsConstructor
+public class CacheController {
+
+    private final CacheSegundoNivel cacheSegundoNivel;
+
+    private final CacheRespostas cacheRespostas;
+
+    private final CachingJwtDecoder cachingJwtDecoder;
+
+    private final BarramentoInvalidacao barramentoInvalidacao;
+
+    private final LeiturasAgrupadas leiturasAgrupadas;
+
+    private final DadosReferencia dadosReferencia;
+
+    @Operation(
+            summary = "Estatísticas dos caches",
+            description = "Tamanho, acertos, faltas, despejos e taxa de acerto de cada região do cache do Hibernate, " +
+                    "de cada grupo do cache de respostas (regiões com prefixo respostas.) e do cache de JWTs validados (jwt)"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK - Estatísticas por região",
+                    content = @Content(
+                            examples = @ExampleObject(
+                                    value = "[ { \"regiao\": \"materia\", \"tamanho\": 42, \"tamanhoMaximo\": 1000, \"acertos\": 9120, \"faltas\": 42, \"despejos\": 0, \"taxaAcerto\": 0.995 } ]"))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Credenciais inválidas",
+                    content = @Content)
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/estatisticas")
+    public ResponseEntity<List<EstatisticasRegiao>> estatisticas() {
+        List<EstatisticasRegiao> estatisticas = new ArrayList<>(cacheSegundoNivel.estatisticas());
+        estatisticas.addAll(cacheRespostas.estatisticas());
+        estatisticas.add(cachingJwtDecoder.estatisticas());
+        return ResponseEntity.ok(estatisticas);
+    }
+
+    @Operation(
+            summary = "Invalidação entre instâncias",
+            description = "Invalidações publicadas, NOTIFY enviados e recebidos pelo canal do PostgreSQL " +
+                    "e o atraso de propagação medido entre o envio e o recebimento"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK - Estatísticas da invalidação",
+                    content = @Content(
+                            examples = @ExampleObject(
+                                    value = "{ \"habilitado\": true, \"escutando\": true, \"publicacoes\": 120, \"notificacoesEnviadas\": 35, \"notificacoesRecebidas\": 41, \"atrasoMedioMillis\": 3, \"atrasoMaximoMillis\": 18, \"ultimoAtrasoMillis\": 2, \"reconexoes\": 0 }"))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Credenciais inválidas",
+                    content = @Content)
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/invalidacao")
+    public ResponseEntity<BarramentoInvalidacao.EstatisticasInvalidacao> invalidacao() {
+        return ResponseEntity.ok(barramentoInvalidacao.estatisticas());
+    }
+
+    @Operation(
+            summary = "Agrupamento de leituras",
+            description = "Leituras que foram ao banco, chamadas idênticas atendidas pela leitura de outra, " +
+                    "esperas que expiraram e erros repassados"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK - Estatísticas do agrupamento",
+                    content = @Content(
+                            examples = @ExampleObject(
+                                    value = "{ \"habilitado\": true, \"executadas\": 12, \"agrupadas\": 468, \"expiradas\": 0, \"erros\": 0, \"emAndamento\": 0, \"taxaAgrupamento\": 0.975 }"))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Credenciais inválidas",
+                    content = @Content)
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/agrupamento")
+    public ResponseEntity<LeiturasAgrupadas.EstatisticasAgrupamento> agrupamento() {
+        return ResponseEntity.ok(leiturasAgrupadas.estatisticas());
+    }
+
+    @Operation(
+            summary = "Dados de referência",
+            description = "Leituras de cursos e matérias servidas do cache, servidas vencidas enquanto eram " +
+                    "atualizadas, atualizações que falharam e a idade do valor mais antigo já servido"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK - Estatísticas dos dados de referência",
+                    content = @Content(
+                            examples = @ExampleObject(
+                                    value = "{ \"habilitado\": true, \"tamanho\": 14, \"tamanhoMaximo\": 500, \"acertos\": 5210, \"obsoletas\": 37, \"faltas\": 14, \"atualizacoes\": 30, \"falhasAtualizacao\": 7, \"idadeMaximaServidaMillis\": 94000 }"))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Credenciais inválidas",
+                    content = @Content)
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/referencia")
+    public ResponseEntity<DadosReferencia.EstatisticasReferencia> referencia() {
+        return ResponseEntity.ok(dadosReferencia.estatisticas());
+    }
+}
@@ -13,9 +13,9 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 
 @Tag(name = "Endpoint de Cadastro")
@@ -49,6 +49,7 @@ public class CadastroController {
 
     })
 
+    @PreAuthorize("hasRole('ADMIN')")
     @PostMapping("/cadastro")
     public ResponseEntity<String> novoLogin(
             @io.swagger.v3.oas.annotations.parameters.RequestBody(
@@ -60,10 +61,9 @@ public class CadastroController {
                             )
                     )
             )
-            @RequestBody InserirLoginRequest inserirLoginRequest,
-            @RequestHeader("Authorization") String token) {
+            @RequestBody InserirLoginRequest inserirLoginRequest) {
         try {
-            usuarioService.cadastraNovoLogin(inserirLoginRequest, token.substring(7));
+            usuarioService.cadastraNovoLogin(inserirLoginRequest);
             return ResponseEntity.ok("Usuário Salvo!");
         } catch (Exception e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
@@ -3,19 +3,26 @@ package com.senai.projetofinal.controller;
 import com.senai.projetofinal.controller.dto.request.curso.AtualizarCursoRequest;
 import com.senai.projetofinal.controller.dto.request.curso.InserirCursoRequest;
 import com.senai.projetofinal.controller.dto.response.CursoResponse;
-import com.senai.projetofinal.datasource.entity.CursoEntity;
+import com.senai.projetofinal.controller.dto.response.PontuacaoAlunoResponse;
 import com.senai.projetofinal.infra.exception.error.NotFoundException;
 import com.senai.projetofinal.infra.exception.error.SecurityException;
 import com.senai.projetofinal.service.CursoService;
+import com.senai.projetofinal.service.NotaService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -27,8 +34,11 @@ public class CursoController {
 
     private final CursoService service;
 
-    public CursoController(CursoService service) {
+    private final NotaService notaService;
+
+    public CursoController(CursoService service, NotaService notaService) {
         this.service = service;
+        this.notaService = notaService;
     }
 
     @Operation(
@@ -55,11 +65,12 @@ public class CursoController {
                             )
                     ))
     })
+    @PreAuthorize("hasAnyRole('ADMIN', 'PEDAGOGICO')")
     @GetMapping
     public ResponseEntity<?> listarTodosCursos(
-            @RequestHeader("Authorization") String token) {
+            @ParameterObject @PageableDefault(size = 20, sort = "id") Pageable pageable) {
         try {
-            List<CursoEntity> listaCursos = service.listarTodos(token.substring(7));
+            Page<CursoResponse> listaCursos = service.listarTodos(pageable);
             return ResponseEntity.ok().body(listaCursos);
         } catch (SecurityException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.UNAUTHORIZED);
@@ -91,12 +102,12 @@ public class CursoController {
                             )
                     ))
     })
+    @PreAuthorize("hasAnyRole('ADMIN', 'PEDAGOGICO')")
     @GetMapping("/{id}")
     public ResponseEntity<?> buscarCursoPorId(
-            @PathVariable Long id,
-            @RequestHeader("Authorization") String token) {
+            @PathVariable Long id) {
         try {
-            CursoEntity curso = service.buscarPorId(id, token.substring(7));
+            CursoResponse curso = CursoResponse.from(service.buscarPorId(id));
             return ResponseEntity.ok().body(curso);
         } catch (SecurityException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.UNAUTHORIZED);
@@ -128,12 +139,12 @@ public class CursoController {
                             )
                     ))
     })
+    @PreAuthorize("hasAnyRole('ADMIN', 'PEDAGOGICO')")
     @PostMapping
     public ResponseEntity<?> criarCurso(
-            @RequestBody InserirCursoRequest inserirCursoRequest,
-            @RequestHeader("Authorization") String token) {
+            @RequestBody InserirCursoRequest inserirCursoRequest) {
         try {
-            CursoResponse criarCursoResponse = service.salvar(inserirCursoRequest, token.substring(7));
+            CursoResponse criarCursoResponse = service.salvar(inserirCursoRequest);
             return new ResponseEntity<>(criarCursoResponse, HttpStatus.CREATED);
         } catch (SecurityException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.UNAUTHORIZED);
@@ -165,12 +176,12 @@ public class CursoController {
                             )
                     ))
     })
+    @PreAuthorize("hasRole('ADMIN')")
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deletarCurso(
-            @PathVariable Long id,
-            @RequestHeader("Authorization") String token) {
+            @PathVariable Long id) {
         try {
-            service.removerPorId(id, token.substring(7));
+            service.removerPorId(id);
             return ResponseEntity.noContent().build();
         } catch (NotFoundException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
@@ -208,13 +219,13 @@ public class CursoController {
                             )
                     ))
     })
+    @PreAuthorize("hasAnyRole('ADMIN', 'PEDAGOGICO')")
     @PutMapping("/{id}")
     public ResponseEntity<?> atualizarCurso(
             @RequestBody AtualizarCursoRequest atualizarCursoRequest,
-            @PathVariable Long id,
-            @RequestHeader("Authorization") String token) {
+            @PathVariable Long id) {
         try {
-            CursoEntity atualizarCurso = service.atualizar(atualizarCursoRequest, id, token.substring(7));
+            CursoResponse atualizarCurso = CursoResponse.from(service.atualizar(atualizarCursoRequest, id));
             return new ResponseEntity<>(atualizarCurso, HttpStatus.OK);
         } catch (NotFoundException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
@@ -254,12 +265,12 @@ public class CursoController {
                             )
                     ))
     })
+    @PreAuthorize("hasAnyRole('ADMIN', 'PEDAGOGICO')")
     @GetMapping("/cursos/{idAluno}")
     public ResponseEntity<?> listarCursosPorAlunoTurma(
-            @RequestParam("idAluno") Long idAluno,
-            @RequestHeader("Authorization") String token) {
+            @RequestParam("idAluno") Long idAluno) {
         try {
-            List<CursoResponse> cursos = service.listarCursosPorAlunoId(idAluno, token.substring(7));
+            List<CursoResponse> cursos = service.listarCursosPorAlunoId(idAluno);
             return ResponseEntity.ok().body(cursos);
         } catch (NotFoundException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
@@ -269,4 +280,42 @@ public class CursoController {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         }
     }
+
+    @Operation(
+            summary = "Pontuação dos alunos do curso",
+            description = "Calcula a pontuação de todos os alunos do curso em uma única consulta"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK - Pontuações calculadas com sucesso!",
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = PontuacaoAlunoResponse.class)),
+                            examples = @ExampleObject(
+                                    value = "[{\"alunoId\": 1, \"alunoNome\": \"Maria\", \"pontuacao\": 85.00}]"
+                            )
+                    )),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Credenciais inválidas",
+                    content = @Content(
+                            examples = @ExampleObject(
+                                    value = "Usuário não autorizado"
+                            )
+                    )),
+            @ApiResponse(responseCode = "404", description = "Not Found - Curso não encontrado",
+                    content = @Content(
+                            examples = @ExampleObject(
+                                    value = "Curso não encontrado"
+                            )
+                    ))
+    })
+    @PreAuthorize("hasAnyRole('ADMIN', 'PEDAGOGICO', 'PROFESSOR')")
+    @GetMapping("/{id}/pontuacao")
+    public ResponseEntity<?> listarPontuacaoDoCurso(
+            @PathVariable Long id) {
+        try {
+            List<PontuacaoAlunoResponse> pontuacoes = notaService.listarPontuacaoPorCursoId(id);
+            return ResponseEntity.ok().body(pontuacoes);
+        } catch (NotFoundException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+        }
+    }
 }
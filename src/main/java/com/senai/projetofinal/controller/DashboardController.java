@@ -2,7 +2,6 @@ package com.senai.projetofinal.controller;
 
 import com.senai.projetofinal.controller.dto.response.DashboardResponse;
 import com.senai.projetofinal.service.DashboardService;
-import com.senai.projetofinal.service.TokenService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
@@ -12,6 +11,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 @Tag(name = "Dashboard - Consulta", description = "Consulta os dados da dashboard")
@@ -20,11 +20,9 @@ import org.springframework.web.bind.annotation.*;
 public class DashboardController {
 
     private final DashboardService dashboardService;
-    private final TokenService tokenService;
 
-    public DashboardController(DashboardService dashboardService, TokenService tokenService) {
+    public DashboardController(DashboardService dashboardService) {
         this.dashboardService = dashboardService;
-        this.tokenService = tokenService;
     }
 
     @Operation(
@@ -50,14 +48,10 @@ public class DashboardController {
                             )
                     ))
     })
+    @PreAuthorize("hasRole('ADMIN')")
     @GetMapping
-    public ResponseEntity<?> getDashboardData(@RequestHeader("Authorization") String token) {
+    public ResponseEntity<?> getDashboardData() {
         try {
-            String role = tokenService.buscaCampo(token.substring(7), "scope");
-            if (!"admin".equals(role)) {
-                return new ResponseEntity<>("Usuário não autorizado", HttpStatus.UNAUTHORIZED);
-            }
-
             DashboardResponse response = dashboardService.getDashboardData();
             return ResponseEntity.ok(response);
         } catch (Exception e) {
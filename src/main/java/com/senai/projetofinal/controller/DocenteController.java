@@ -3,8 +3,8 @@ package com.senai.projetofinal.controller;
 import com.senai.projetofinal.controller.dto.request.docente.AtualizarDocenteRequest;
 import com.senai.projetofinal.controller.dto.request.docente.InserirDocenteRequest;
 import com.senai.projetofinal.controller.dto.response.DocenteResponse;
-import com.senai.projetofinal.datasource.entity.DocenteEntity;
 import com.senai.projetofinal.infra.exception.error.NotFoundException;
+import com.senai.projetofinal.infra.security.UsuarioAutenticado;
 import com.senai.projetofinal.service.DocenteService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,12 +14,16 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @Tag(name = "Docentes", description = "CRUDs de Docente")
 @Slf4j
 @RestController
@@ -89,10 +93,12 @@ public class DocenteController {
                     ))
     })
 
+    @PreAuthorize("hasAnyRole('ADMIN', 'PEDAGOGICO', 'RECRUITER')")
     @GetMapping
-    public ResponseEntity<List<DocenteEntity>> listarTodosDocentes(
-            @RequestHeader("Authorization") String token) {
-        List<DocenteEntity> listaDocentes = service.listarTodos(token.substring(7));
+    public ResponseEntity<Page<DocenteResponse>> listarTodosDocentes(
+            @ParameterObject @PageableDefault(size = 20, sort = "id") Pageable pageable,
+            @AuthenticationPrincipal UsuarioAutenticado usuarioAutenticado) {
+        Page<DocenteResponse> listaDocentes = service.listarTodos(pageable, usuarioAutenticado);
         return ResponseEntity.ok().body(listaDocentes);
     }
 
@@ -153,12 +159,13 @@ public class DocenteController {
     })
 
 
+    @PreAuthorize("hasAnyRole('ADMIN', 'PEDAGOGICO', 'RECRUITER')")
     @GetMapping("/{id}")
     public ResponseEntity<?> buscarDocentePorId(
             @PathVariable Long id,
-            @RequestHeader("Authorization") String token) {
+            @AuthenticationPrincipal UsuarioAutenticado usuarioAutenticado) {
         try {
-            DocenteEntity docente = service.buscarPorId(id, token.substring(7));
+            DocenteResponse docente = DocenteResponse.from(service.buscarPorId(id, usuarioAutenticado));
             return ResponseEntity.ok().body(docente);
         } catch (SecurityException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.UNAUTHORIZED);
@@ -222,6 +229,7 @@ public class DocenteController {
                             )
                     ))
     })
+    @PreAuthorize("hasRole('ADMIN')")
     @PostMapping
     public ResponseEntity<?> criarDocente(
             @io.swagger.v3.oas.annotations.parameters.RequestBody(
@@ -250,10 +258,9 @@ public class DocenteController {
                             )
                     )
             )
-            @RequestBody InserirDocenteRequest inserirDocenteRequest,
-            @RequestHeader("Authorization") String token) {
+            @RequestBody InserirDocenteRequest inserirDocenteRequest) {
         try {
-            DocenteResponse criarDocenteResponse = service.salvar(inserirDocenteRequest, token.substring(7));
+            DocenteResponse criarDocenteResponse = service.salvar(inserirDocenteRequest);
             return new ResponseEntity<>(criarDocenteResponse, HttpStatus.CREATED);
         } catch (SecurityException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.UNAUTHORIZED);
@@ -285,12 +292,13 @@ public class DocenteController {
                     ))
     })
 
+    @PreAuthorize("hasRole('ADMIN')")
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deletarDocente(
             @PathVariable Long id,
-            @RequestHeader("Authorization") String token) {
+            @AuthenticationPrincipal UsuarioAutenticado usuarioAutenticado) {
         try {
-            service.removerPorId(id, token.substring(7));
+            service.removerPorId(id, usuarioAutenticado);
             return ResponseEntity.noContent().build();
         } catch (NotFoundException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
@@ -359,6 +367,7 @@ public class DocenteController {
                             )
                     ))
     })
+    @PreAuthorize("hasAnyRole('ADMIN', 'PEDAGOGICO', 'RECRUITER')")
     @PutMapping("/{id}")
     public ResponseEntity<?> atualizarDocente(
             @io.swagger.v3.oas.annotations.parameters.RequestBody(
@@ -389,9 +398,9 @@ public class DocenteController {
             )
             @RequestBody AtualizarDocenteRequest atualizarDocenteRequest,
             @PathVariable Long id,
-            @RequestHeader("Authorization") String token) {
+            @AuthenticationPrincipal UsuarioAutenticado usuarioAutenticado) {
         try {
-            DocenteEntity atualizarDocente = service.atualizar(atualizarDocenteRequest, id, token.substring(7));
+            DocenteResponse atualizarDocente = DocenteResponse.from(service.atualizar(atualizarDocenteRequest, id, usuarioAutenticado));
             return new ResponseEntity<>(atualizarDocente, HttpStatus.OK);
         } catch (NotFoundException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
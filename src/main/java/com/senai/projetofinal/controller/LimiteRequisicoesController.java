@@ -0,0 +1,65 @@
+package com.senai.projetofinal.controller;
+
+import com.senai.projetofinal.infra.limite.LimitadorConcorrencia;
+import com.senai.projetofinal.infra.limite.LimitadorRequisicoes;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@Tag(name = "Limite de requisições")
+@RestController
+@RequestMapping("/limites")
+@RequiredArgsConstructor
+public class LimiteRequisicoesController {
+
+    private final LimitadorRequisicoes limitador;
+
+    private final LimitadorConcorrencia limitadorConcorrencia;
+
+    @Operation(
+            summary = "Métricas do limite de requisições",
+            description = "Requisições aceitas e recusadas por grupo de endpoints desde a subida da aplicação"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK - Métricas por grupo",
+                    content = @Content(
+                            examples = @ExampleObject(
+                                    value = "{ \"notas\": { \"aceitas\": 1520, \"recusadas\": 12 } }"))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Credenciais inválidas",
+                    content = @Content)
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/metricas")
+    public ResponseEntity<Map<String, LimitadorRequisicoes.Metricas>> metricas() {
+        return ResponseEntity.ok(limitador.metricas());
+    }
+
+    @Operation(
+            summary = "Estado do limite de concorrência",
+            description = "Limite adaptativo atual, requisições em andamento, latências amostradas e requisições aceitas e recusadas por prioridade"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK - Estado do limite de concorrência",
+                    content = @Content(
+                            examples = @ExampleObject(
+                                    value = "{ \"limite\": 42, \"emAndamento\": 17, \"amostras\": 5230, \"prioridades\": { \"ALTA\": { \"aceitas\": 310, \"recusadas\": 0 } } }"))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Credenciais inválidas",
+                    content = @Content)
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/concorrencia")
+    public ResponseEntity<LimitadorConcorrencia.Estado> concorrencia() {
+        return ResponseEntity.ok(limitadorConcorrencia.estado());
+    }
+}
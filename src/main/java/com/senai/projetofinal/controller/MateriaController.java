@@ -3,7 +3,6 @@ package com.senai.projetofinal.controller;
 import com.senai.projetofinal.controller.dto.request.materia.AtualizarMateriaRequest;
 import com.senai.projetofinal.controller.dto.request.materia.InserirMateriaRequest;
 import com.senai.projetofinal.controller.dto.response.MateriaResponse;
-import com.senai.projetofinal.datasource.entity.MateriaEntity;
 import com.senai.projetofinal.infra.exception.error.NotFoundException;
 import com.senai.projetofinal.service.MateriaService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -13,8 +12,13 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -61,10 +65,11 @@ public class MateriaController {
                     ))
     })
 
+    @PreAuthorize("hasAnyRole('ADMIN', 'PEDAGOGICO')")
     @GetMapping
-    public ResponseEntity<List<MateriaEntity>> listarTodasMaterias(
-            @RequestHeader("Authorization") String token) {
-        List<MateriaEntity> listarMaterias = service.listarTodos(token.substring(7));
+    public ResponseEntity<Page<MateriaResponse>> listarTodasMaterias(
+            @ParameterObject @PageableDefault(size = 20, sort = "id") Pageable pageable) {
+        Page<MateriaResponse> listarMaterias = service.listarTodos(pageable);
         return ResponseEntity.ok().body(listarMaterias);
     }
 
@@ -97,12 +102,12 @@ public class MateriaController {
                             )
                     ))
     })
+    @PreAuthorize("hasAnyRole('ADMIN', 'PEDAGOGICO')")
     @GetMapping("/{id}")
     public ResponseEntity<?> buscarMateriaPorId(
-            @PathVariable Long id,
-            @RequestHeader("Authorization") String token) {
+            @PathVariable Long id) {
         try {
-            MateriaEntity materia = service.buscarPorId(id, token.substring(7));
+            MateriaResponse materia = MateriaResponse.from(service.buscarPorId(id));
             return ResponseEntity.ok(materia);
         } catch (SecurityException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.UNAUTHORIZED);
@@ -140,12 +145,12 @@ public class MateriaController {
                             )
                     ))
     })
+    @PreAuthorize("hasAnyRole('ADMIN', 'PEDAGOGICO')")
     @GetMapping("/cursos/{curso_id}")
     public ResponseEntity<?> getMateriasByCurso(
-            @PathVariable Long curso_id,
-            @RequestHeader("Authorization") String token) {
+            @PathVariable Long curso_id) {
         try {
-            List<MateriaEntity> materias = service.buscarMateriasPorCursoId(curso_id, token.substring(7));
+            List<MateriaResponse> materias = service.buscarMateriasPorCursoId(curso_id);
             return ResponseEntity.ok(materias);
         } catch (SecurityException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.UNAUTHORIZED);
@@ -187,6 +192,7 @@ public class MateriaController {
                             )
                     ))
     })
+    @PreAuthorize("hasAnyRole('ADMIN', 'PEDAGOGICO')")
     @PostMapping
     public ResponseEntity<?> criarMateria(
             @io.swagger.v3.oas.annotations.parameters.RequestBody(
@@ -197,10 +203,9 @@ public class MateriaController {
                             )
                     )
             )
-            @RequestBody InserirMateriaRequest inserirMateriaRequest,
-            @RequestHeader("Authorization") String token) {
+            @RequestBody InserirMateriaRequest inserirMateriaRequest) {
         try {
-            MateriaResponse criarMateriaResponse = service.salvar(inserirMateriaRequest, token.substring(7));
+            MateriaResponse criarMateriaResponse = service.salvar(inserirMateriaRequest);
             return new ResponseEntity<>(criarMateriaResponse, HttpStatus.CREATED);
         } catch (SecurityException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.UNAUTHORIZED);
@@ -234,12 +239,12 @@ public class MateriaController {
                     ))
     })
 
+    @PreAuthorize("hasRole('ADMIN')")
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deletarMateria(
-            @PathVariable Long id,
-            @RequestHeader("Authorization") String token) {
+            @PathVariable Long id) {
         try {
-            service.removerPorId(id, token.substring(7));
+            service.removerPorId(id);
             return ResponseEntity.noContent().build();
         } catch (SecurityException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.UNAUTHORIZED);
@@ -280,6 +285,7 @@ public class MateriaController {
                             )
                     ))
     })
+    @PreAuthorize("hasAnyRole('ADMIN', 'PEDAGOGICO')")
     @PutMapping("/{id}")
     public ResponseEntity<?> atualizarMateria(
             @io.swagger.v3.oas.annotations.parameters.RequestBody(
@@ -291,10 +297,9 @@ public class MateriaController {
                     )
             )
             @RequestBody AtualizarMateriaRequest atualizarMateriaRequest,
-            @PathVariable Long id,
-            @RequestHeader("Authorization") String token) {
+            @PathVariable Long id) {
         try {
-            return ResponseEntity.ok(service.atualizar(atualizarMateriaRequest, id, token.substring(7)));
+            return ResponseEntity.ok(MateriaResponse.from(service.atualizar(atualizarMateriaRequest, id)));
         } catch (SecurityException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.UNAUTHORIZED);
         } catch (NotFoundException e) {
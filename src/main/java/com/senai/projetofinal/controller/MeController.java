@@ -0,0 +1,157 @@
+package com.senai.projetofinal.controller;
+
+import com.senai.projetofinal.controller.dto.response.CursoResponse;
+import com.senai.projetofinal.controller.dto.response.NotaResponse;
+import com.senai.projetofinal.controller.dto.response.TurmaResponse;
+import com.senai.projetofinal.infra.exception.error.NotFoundException;
+import com.senai.projetofinal.infra.security.UsuarioAutenticado;
+import com.senai.projetofinal.service.CursoService;
+import com.senai.projetofinal.service.NotaService;
+import com.senai.projetofinal.service.TurmaService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Tag(name = "Dados do usuário logado")
+@RestController
+@RequestMapping("/me")
+@RequiredArgsConstructor
+public class MeController {
+
+    private final NotaService notaService;
+
+    private final CursoService cursoService;
+
+    private final TurmaService turmaService;
+
+    @Operation(
+            summary = "Minhas notas",
+            description = "Lista as notas do aluno logado, identificado pelo token"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK - Notas listadas com sucesso!",
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = NotaResponse.class)))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Credenciais inválidas",
+                    content = @Content(
+                            examples = @ExampleObject(
+                                    value = "Usuário não autorizado"))),
+            @ApiResponse(responseCode = "404", description = "Not Found - Nenhuma nota encontrada",
+                    content = @Content(
+                            examples = @ExampleObject(
+                                    value = "Nenhuma nota encontrada")))
+    })
+    @PreAuthorize("hasRole('ALUNO')")
+    @GetMapping("/notas")
+    public ResponseEntity<?> minhasNotas(@AuthenticationPrincipal UsuarioAutenticado usuarioAutenticado) {
+        try {
+            List<NotaResponse> notas = notaService.buscarMinhasNotas(usuarioAutenticado);
+            return ResponseEntity.ok(notas);
+        } catch (NotFoundException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @Operation(
+            summary = "Minha pontuação",
+            description = "Calcula a pontuação total do aluno logado, identificado pelo token"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK - Pontuação calculada com sucesso!",
+                    content = @Content(
+                            examples = @ExampleObject(value = "75.00"))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Credenciais inválidas",
+                    content = @Content(
+                            examples = @ExampleObject(
+                                    value = "Usuário não autorizado"))),
+            @ApiResponse(responseCode = "404", description = "Not Found - Aluno não encontrado",
+                    content = @Content(
+                            examples = @ExampleObject(
+                                    value = "Aluno não encontrado")))
+    })
+    @PreAuthorize("hasRole('ALUNO')")
+    @GetMapping("/pontuacao")
+    public ResponseEntity<?> minhaPontuacao(@AuthenticationPrincipal UsuarioAutenticado usuarioAutenticado) {
+        try {
+            BigDecimal pontuacao = notaService.calcularMinhaPontuacao(usuarioAutenticado);
+            return ResponseEntity.ok(pontuacao);
+        } catch (NotFoundException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @Operation(
+            summary = "Meu curso",
+            description = "Retorna o curso da turma do aluno logado, identificado pelo token"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK - Curso encontrado",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CursoResponse.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Credenciais inválidas",
+                    content = @Content(
+                            examples = @ExampleObject(
+                                    value = "Usuário não autorizado"))),
+            @ApiResponse(responseCode = "404", description = "Not Found - Nenhum curso encontrado para o aluno",
+                    content = @Content(
+                            examples = @ExampleObject(
+                                    value = "Nenhum curso encontrado para o aluno")))
+    })
+    @PreAuthorize("hasRole('ALUNO')")
+    @GetMapping("/curso")
+    public ResponseEntity<?> meuCurso(@AuthenticationPrincipal UsuarioAutenticado usuarioAutenticado) {
+        try {
+            CursoResponse curso = cursoService.buscarMeuCurso(usuarioAutenticado);
+            return ResponseEntity.ok(curso);
+        } catch (NotFoundException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @Operation(
+            summary = "Minhas turmas",
+            description = "Lista as turmas do docente logado, identificado pelo token"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK - Turmas listadas com sucesso!",
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = TurmaResponse.class)))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Credenciais inválidas",
+                    content = @Content(
+                            examples = @ExampleObject(
+                                    value = "Usuário não autorizado"))),
+            @ApiResponse(responseCode = "404", description = "Not Found - Nenhuma turma encontrada",
+                    content = @Content(
+                            examples = @ExampleObject(
+                                    value = "Nenhuma turma encontrada")))
+    })
+    @PreAuthorize("hasAnyRole('ADMIN', 'PEDAGOGICO', 'PROFESSOR')")
+    @GetMapping("/turmas")
+    public ResponseEntity<?> minhasTurmas(@AuthenticationPrincipal UsuarioAutenticado usuarioAutenticado) {
+        try {
+            List<TurmaResponse> turmas = turmaService.listarMinhasTurmas(usuarioAutenticado);
+            return ResponseEntity.ok(turmas);
+        } catch (NotFoundException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+        }
+    }
+}
@@ -3,22 +3,32 @@ package com.senai.projetofinal.controller;
 import com.senai.projetofinal.controller.dto.request.nota.AtualizarNotaRequest;
 import com.senai.projetofinal.controller.dto.request.nota.InserirNotaRequest;
 import com.senai.projetofinal.controller.dto.response.CursoResponse;
+import com.senai.projetofinal.controller.dto.response.ImportacaoNotasResponse;
 import com.senai.projetofinal.controller.dto.response.NotaResponse;
-import com.senai.projetofinal.datasource.entity.NotaEntity;
 import com.senai.projetofinal.infra.exception.error.NotFoundException;
 import com.senai.projetofinal.infra.exception.error.SecurityException;
+import com.senai.projetofinal.infra.security.UsuarioAutenticado;
 import com.senai.projetofinal.service.NotaService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.Reader;
 import java.math.BigDecimal;
 import java.util.List;
 
@@ -58,11 +68,16 @@ public class NotaController {
                                 examples = @ExampleObject(
                                         value = "Não há notas cadastrados")))
     })
+    @PreAuthorize("hasAnyRole('ADMIN', 'PEDAGOGICO')")
     @GetMapping
     public ResponseEntity<?> listarTodasNotas(
-            @RequestHeader("Authorization") String token) {
+            @Parameter(description = "ID da última nota recebida; quando informado, a página é buscada por chave e não por offset")
+            @RequestParam(required = false) Long apos,
+            @ParameterObject @PageableDefault(size = 20, sort = "id") Pageable pageable) {
         try {
-            List<NotaEntity> listarNotas = service.listarTodos(token.substring(7));
+            Slice<NotaResponse> listarNotas = apos == null
+                    ? service.listarTodos(pageable)
+                    : service.listarAposId(apos, pageable.getPageSize());
             return ResponseEntity.ok().body(listarNotas);
         } catch (SecurityException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.UNAUTHORIZED);
@@ -94,12 +109,12 @@ public class NotaController {
                                 examples = @ExampleObject(
                                         value = "Nenhuma nota com o ID passado foi encontrada")))
     })
+    @PreAuthorize("hasAnyRole('ADMIN', 'PEDAGOGICO', 'PROFESSOR')")
     @GetMapping("/{id}")
     public ResponseEntity<?> buscarNotaPorId(
-            @PathVariable Long id,
-            @RequestHeader("Authorization") String token) {
+            @PathVariable Long id) {
         try {
-            NotaEntity nota = service.buscarPorId(id, token.substring(7));
+            NotaResponse nota = NotaResponse.from(service.buscarPorId(id));
             return ResponseEntity.ok(nota);
         } catch (SecurityException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.UNAUTHORIZED);
@@ -132,12 +147,13 @@ public class NotaController {
                             examples = @ExampleObject(
                                     value = "Nenhuma nota com o ID passado foi encontrada")))
     })
+    @PreAuthorize("hasAnyRole('ADMIN', 'PEDAGOGICO', 'PROFESSOR')")
     @GetMapping("/docentes/{docente_id}")
     public ResponseEntity<?> getNotasByDocente(
             @PathVariable Long docente_id,
-            @RequestHeader("Authorization") String token) {
+            @AuthenticationPrincipal UsuarioAutenticado usuarioAutenticado) {
         try {
-            List<NotaEntity> notas = service.buscarNotasPorDocenteId(docente_id, token.substring(7));
+            List<NotaResponse> notas = service.buscarNotasPorDocenteId(docente_id, usuarioAutenticado);
             return ResponseEntity.ok(notas);
         } catch (SecurityException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.UNAUTHORIZED);
@@ -170,12 +186,13 @@ public class NotaController {
                                 examples = @ExampleObject(
                                         value = "Aluno não encontrado")))
     })
+    @PreAuthorize("hasAnyRole('ADMIN', 'PEDAGOGICO', 'PROFESSOR', 'ALUNO')")
     @GetMapping("/alunos/{aluno_id}")
     public ResponseEntity<?> getNotasByAluno(
             @PathVariable Long aluno_id,
-            @RequestHeader("Authorization") String token) {
+            @AuthenticationPrincipal UsuarioAutenticado usuarioAutenticado) {
         try {
-            List<NotaEntity> notas = service.buscarNotasPorAlunoId(aluno_id, token.substring(7));
+            List<NotaResponse> notas = service.buscarNotasPorAlunoId(aluno_id, usuarioAutenticado);
             return ResponseEntity.ok(notas);
         } catch (SecurityException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.UNAUTHORIZED);
@@ -207,12 +224,13 @@ public class NotaController {
                                         value = "Pontuação não encontrada")))
     }
     )
+    @PreAuthorize("hasAnyRole('ADMIN', 'PEDAGOGICO', 'PROFESSOR', 'ALUNO')")
     @GetMapping("/alunos/{aluno_id}/pontuacao")
     public ResponseEntity<?> getPontuacaoByAluno(
             @PathVariable Long aluno_id,
-            @RequestHeader("Authorization") String token) {
+            @AuthenticationPrincipal UsuarioAutenticado usuarioAutenticado) {
         try {
-            BigDecimal pontuacao = service.calcularPontuacao(aluno_id, token.substring(7));
+            BigDecimal pontuacao = service.calcularPontuacao(aluno_id, usuarioAutenticado);
             return ResponseEntity.ok(pontuacao);
         } catch (SecurityException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.UNAUTHORIZED);
@@ -244,12 +262,12 @@ public class NotaController {
                                 examples = @ExampleObject(
                                         value = "Usuário não autorizado")))
     })
+    @PreAuthorize("hasAnyRole('ADMIN', 'PEDAGOGICO', 'PROFESSOR')")
     @PostMapping
     public ResponseEntity<?> criarNota(
-            @RequestBody InserirNotaRequest inserirNotaRequest,
-            @RequestHeader("Authorization") String token) {
+            @RequestBody InserirNotaRequest inserirNotaRequest) {
         try {
-            NotaResponse criarNotaResponse = service.salvar(inserirNotaRequest, token.substring(7));
+            NotaResponse criarNotaResponse = service.salvar(inserirNotaRequest);
             return new ResponseEntity<>(criarNotaResponse, HttpStatus.CREATED);
         } catch (SecurityException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.UNAUTHORIZED);
@@ -259,6 +277,94 @@ public class NotaController {
     }
 
 
+    @Operation(
+            summary = "Importar notas em lote (JSON)",
+            description = "Cadastra todas as notas do array em uma única transação. Se alguma nota for inválida, nenhuma é cadastrada."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201",
+                        description = "Created - Notas importadas com sucesso!",
+                        content = @Content(
+                                schema = @Schema(implementation = ImportacaoNotasResponse.class),
+                                examples = @ExampleObject(
+                                        value = "{ \"importadas\": 40 }"))),
+            @ApiResponse(responseCode = "400",
+                        description = "Bad Request - Dados ausentes ou inválidos",
+                        content = @Content(
+                                examples = @ExampleObject(
+                                        value = "Nota 2: Valor deve estar entre 0 e 10"))),
+            @ApiResponse(responseCode = "401",
+                        description = "Unauthorized - Credenciais inválidas",
+                        content = @Content(
+                                examples = @ExampleObject(
+                                        value = "Usuário não autorizado"))),
+            @ApiResponse(responseCode = "404",
+                        description = "Not Found - Aluno ou matéria não encontrados",
+                        content = @Content(
+                                examples = @ExampleObject(
+                                        value = "Nota 3: Aluno não encontrado")))
+    })
+    @PreAuthorize("hasAnyRole('ADMIN', 'PEDAGOGICO', 'PROFESSOR')")
+    @PostMapping(value = "/lote", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> importarNotas(
+            @RequestBody List<InserirNotaRequest> notas) {
+        try {
+            ImportacaoNotasResponse importacao = service.importarLote(notas);
+            return new ResponseEntity<>(importacao, HttpStatus.CREATED);
+        } catch (java.lang.SecurityException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.UNAUTHORIZED);
+        } catch (NotFoundException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+
+    @Operation(
+            summary = "Importar notas em lote (CSV)",
+            description = "Lê um CSV com o cabeçalho aluno,docente,materia,valor e cadastra todas as notas em uma única transação."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201",
+                        description = "Created - Notas importadas com sucesso!",
+                        content = @Content(
+                                schema = @Schema(implementation = ImportacaoNotasResponse.class),
+                                examples = @ExampleObject(
+                                        value = "{ \"importadas\": 40 }"))),
+            @ApiResponse(responseCode = "400",
+                        description = "Bad Request - Dados ausentes ou inválidos",
+                        content = @Content(
+                                examples = @ExampleObject(
+                                        value = "Linha 4 do CSV inválida"))),
+            @ApiResponse(responseCode = "401",
+                        description = "Unauthorized - Credenciais inválidas",
+                        content = @Content(
+                                examples = @ExampleObject(
+                                        value = "Usuário não autorizado"))),
+            @ApiResponse(responseCode = "404",
+                        description = "Not Found - Aluno ou matéria não encontrados",
+                        content = @Content(
+                                examples = @ExampleObject(
+                                        value = "Nota 3: Aluno não encontrado")))
+    })
+    @PreAuthorize("hasAnyRole('ADMIN', 'PEDAGOGICO', 'PROFESSOR')")
+    @PostMapping(value = "/lote", consumes = "text/csv")
+    public ResponseEntity<?> importarNotasCsv(
+            Reader csv) {
+        try {
+            ImportacaoNotasResponse importacao = service.importarCsv(csv);
+            return new ResponseEntity<>(importacao, HttpStatus.CREATED);
+        } catch (java.lang.SecurityException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.UNAUTHORIZED);
+        } catch (NotFoundException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+
     @Operation(
             summary = "Deletar uma nota",
             description = "Deleta a nota com ID passado do banco de dados."
@@ -282,12 +388,12 @@ public class NotaController {
                                         value = "Nenhuma nota com o ID passado foi encontrado")
                         ))
     })
+    @PreAuthorize("hasRole('ADMIN')")
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deletarNota(
-            @PathVariable Long id,
-            @RequestHeader("Authorization") String token) {
+            @PathVariable Long id) {
         try {
-            service.removerPorId(id, token.substring(7));
+            service.removerPorId(id);
             return ResponseEntity.noContent().build();
         } catch (SecurityException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.UNAUTHORIZED);
@@ -324,13 +430,13 @@ public class NotaController {
                                 examples = @ExampleObject(
                                         value = "Nenhuma nota com o ID passado foi encontrada")))
     })
+    @PreAuthorize("hasAnyRole('ADMIN', 'PEDAGOGICO', 'PROFESSOR')")
     @PutMapping("/{id}")
     public ResponseEntity<?> atualizarNota(
             @PathVariable Long id,
-            @RequestBody AtualizarNotaRequest atualizarNotaRequest,
-            @RequestHeader("Authorization") String token) {
+            @RequestBody AtualizarNotaRequest atualizarNotaRequest) {
         try {
-            return ResponseEntity.ok(service.atualizar(atualizarNotaRequest, id, token.substring(7)));
+            return ResponseEntity.ok(NotaResponse.from(service.atualizar(atualizarNotaRequest, id)));
         } catch (SecurityException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.UNAUTHORIZED);
         } catch (NotFoundException e) {
@@ -2,6 +2,8 @@ package com.senai.projetofinal.controller;
 
 import com.senai.projetofinal.controller.dto.request.LoginRequest;
 import com.senai.projetofinal.controller.dto.response.LoginResponse;
+import com.senai.projetofinal.infra.security.ChavesJwt;
+import com.senai.projetofinal.service.RevogacaoTokenService;
 import com.senai.projetofinal.service.TokenService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -16,10 +18,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.annotation.CurrentSecurityContext;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.Map;
 
 
 @RestController
@@ -29,6 +35,8 @@ import org.springframework.web.bind.annotation.RestController;
 public class TokenController {
 
     private final TokenService tokenService;
+    private final ChavesJwt chavesJwt;
+    private final RevogacaoTokenService revogacaoTokenService;
 
     private static long TEMPO_EXPIRACAO = 360000L;
 
@@ -54,6 +62,12 @@ public class TokenController {
                             examples = @ExampleObject(
                                     value = " \"Login não pode ser nulo ou vazio\" \n \"Senha não pode ser nula ou vazia\""
                             )
+                    )),
+            @ApiResponse(responseCode = "503", description = "Service Unavailable - Muitos logins simultâneos, tente novamente após o tempo do cabeçalho Retry-After",
+                    content = @Content(
+                            examples = @ExampleObject(
+                                    value = "Servidor ocupado, tente novamente em instantes"
+                            )
                     ))
     })
 
@@ -73,9 +87,35 @@ public class TokenController {
             return ResponseEntity.ok(response);
         } catch (BadCredentialsException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.UNAUTHORIZED);
-        } catch (Exception e) {
+        } catch (IllegalArgumentException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         }
 
     }
+
+    @Operation(
+            summary = "Lista as chaves públicas do JWT",
+            description = "Publica no formato JWKS as chaves aceitas na validação dos tokens, identificadas pelo kid."
+    )
+    @ApiResponse(responseCode = "200", description = "OK - Chaves públicas ativas")
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> chavesPublicas() {
+        return ResponseEntity.ok(chavesJwt.chavesPublicas());
+    }
+
+    @Operation(
+            summary = "Encerra a sessão",
+            description = "Revoga o token usado na requisição, que deixa de ser aceito antes de expirar."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "No Content - Token revogado"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Token ausente, inválido ou já revogado",
+                    content = @Content)
+    })
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            @Parameter(hidden = true) @CurrentSecurityContext(expression = "authentication.credentials") Jwt jwt) {
+        revogacaoTokenService.revogarToken(jwt);
+        return ResponseEntity.noContent().build();
+    }
 }
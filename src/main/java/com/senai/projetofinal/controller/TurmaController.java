@@ -2,11 +2,13 @@ package com.senai.projetofinal.controller;
 
 import com.senai.projetofinal.controller.dto.request.turma.AtualizarTurmaRequest;
 import com.senai.projetofinal.controller.dto.request.turma.InserirTurmaRequest;
+import com.senai.projetofinal.controller.dto.response.PontuacaoAlunoResponse;
 import com.senai.projetofinal.controller.dto.response.TurmaResponse;
-import com.senai.projetofinal.datasource.entity.TurmaEntity;
 import com.senai.projetofinal.infra.exception.error.NotFoundException;
+import com.senai.projetofinal.service.NotaService;
 import com.senai.projetofinal.service.TurmaService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -14,8 +16,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -28,6 +35,8 @@ public class TurmaController {
 
     private final TurmaService service;
 
+    private final NotaService notaService;
+
     @Operation(
             summary = "Listar todas as turmas",
             description = "Retorna uma lista de todas as turmas"
@@ -36,7 +45,7 @@ public class TurmaController {
             @ApiResponse(responseCode = "200", description = "Lista de turmas retornada com sucesso",
                     content = @Content(
                             mediaType = "application/json",
-                            schema = @Schema(implementation = TurmaEntity.class)
+                            schema = @Schema(implementation = TurmaResponse.class)
                     )),
             @ApiResponse(responseCode = "401", description = "Erro de autenticação",
                     content = @Content),
@@ -44,10 +53,11 @@ public class TurmaController {
                     content = @Content)
     })
 
+    @PreAuthorize("hasAnyRole('ADMIN', 'PEDAGOGICO')")
     @GetMapping
-    public ResponseEntity<List<TurmaEntity>> listarTodasTurmas(
-            @RequestHeader("Authorization") String token) {
-        List<TurmaEntity> listarTurmas = service.listarTodos(token.substring(7));
+    public ResponseEntity<Page<TurmaResponse>> listarTodasTurmas(
+            @ParameterObject @PageableDefault(size = 20, sort = "id") Pageable pageable) {
+        Page<TurmaResponse> listarTurmas = service.listarTodos(pageable);
         return ResponseEntity.ok().body(listarTurmas);
     }
 
@@ -59,7 +69,7 @@ public class TurmaController {
             @ApiResponse(responseCode = "200", description = "Turma encontrada",
                     content = @Content(
                             mediaType = "application/json",
-                            schema = @Schema(implementation = TurmaEntity.class)
+                            schema = @Schema(implementation = TurmaResponse.class)
                     )),
             @ApiResponse(responseCode = "404", description = "Turma não encontrada",
                     content = @Content(
@@ -70,12 +80,12 @@ public class TurmaController {
             @ApiResponse(responseCode = "401", description = "Erro de autenticação",
                     content = @Content)
     })
+    @PreAuthorize("hasAnyRole('ADMIN', 'PEDAGOGICO')")
     @GetMapping("/{id}")
     public ResponseEntity<?> buscarTurmaPorId(
-            @PathVariable Long id,
-            @RequestHeader("Authorization") String token) {
+            @PathVariable Long id) {
         try {
-            TurmaEntity turma = service.buscarPorId(id, token.substring(7));
+            TurmaResponse turma = TurmaResponse.from(service.buscarPorId(id));
             return ResponseEntity.ok(turma);
         } catch (Exception e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
@@ -101,12 +111,12 @@ public class TurmaController {
             @ApiResponse(responseCode = "401", description = "Erro de autenticação",
                     content = @Content)
     })
+    @PreAuthorize("hasAnyRole('ADMIN', 'PEDAGOGICO')")
     @PostMapping
     public ResponseEntity<?> criarTurma(
-            @RequestBody InserirTurmaRequest inserirTurmaRequest,
-            @RequestHeader("Authorization") String token) {
+            @RequestBody InserirTurmaRequest inserirTurmaRequest) {
         try {
-            TurmaResponse criarTurmaResponse = service.salvar(inserirTurmaRequest, token.substring(7));
+            TurmaResponse criarTurmaResponse = service.salvar(inserirTurmaRequest);
             return new ResponseEntity<>(criarTurmaResponse, HttpStatus.CREATED);
         } catch (Exception e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
@@ -128,12 +138,12 @@ public class TurmaController {
             @ApiResponse(responseCode = "401", description = "Erro de autenticação",
                     content = @Content)
     })
+    @PreAuthorize("hasRole('ADMIN')")
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deletarTurma(
-            @PathVariable Long id,
-            @RequestHeader("Authorization") String token) {
+            @PathVariable Long id) {
         try {
-            service.removerPorid(id, token.substring(7));
+            service.removerPorid(id);
             return ResponseEntity.noContent().build();
         } catch (Exception e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
@@ -165,17 +175,55 @@ public class TurmaController {
             @ApiResponse(responseCode = "401", description = "Erro de autenticação",
                     content = @Content)
     })
+    @PreAuthorize("hasAnyRole('ADMIN', 'PEDAGOGICO')")
     @PutMapping("/{id}")
     public ResponseEntity<?> atualizarTurma(
             @PathVariable Long id,
-            @RequestBody AtualizarTurmaRequest atualizarTurmaRequest,
-            @RequestHeader("Authorization") String token) {
+            @RequestBody AtualizarTurmaRequest atualizarTurmaRequest) {
         try {
-            return ResponseEntity.ok(service.atualizar(atualizarTurmaRequest, id, token.substring(7)));
+            return ResponseEntity.ok(TurmaResponse.from(service.atualizar(atualizarTurmaRequest, id)));
         } catch (NotFoundException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
         } catch (Exception e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         }
     }
+
+    @Operation(
+            summary = "Pontuação dos alunos da turma",
+            description = "Calcula a pontuação de todos os alunos da turma em uma única consulta"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK - Pontuações calculadas com sucesso!",
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = PontuacaoAlunoResponse.class)),
+                            examples = @ExampleObject(
+                                    value = "[{\"alunoId\": 1, \"alunoNome\": \"Maria\", \"pontuacao\": 85.00}]"
+                            )
+                    )),
+            @ApiResponse(responseCode = "401", description = "Unauthorized - Credenciais inválidas",
+                    content = @Content(
+                            examples = @ExampleObject(
+                                    value = "Usuário não autorizado"
+                            )
+                    )),
+            @ApiResponse(responseCode = "404", description = "Not Found - Turma não encontrada",
+                    content = @Content(
+                            examples = @ExampleObject(
+                                    value = "Turma não encontrada"
+                            )
+                    ))
+    })
+    @PreAuthorize("hasAnyRole('ADMIN', 'PEDAGOGICO', 'PROFESSOR')")
+    @GetMapping("/{id}/pontuacao")
+    public ResponseEntity<?> listarPontuacaoDaTurma(
+            @PathVariable Long id) {
+        try {
+            List<PontuacaoAlunoResponse> pontuacoes = notaService.listarPontuacaoPorTurmaId(id);
+            return ResponseEntity.ok(pontuacoes);
+        } catch (NotFoundException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+        }
+    }
 }
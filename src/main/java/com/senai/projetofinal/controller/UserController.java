@@ -4,6 +4,8 @@ import com.senai.projetofinal.controller.dto.response.UsuarioResponse;
 import com.senai.projetofinal.datasource.entity.AlunoEntity;
 import com.senai.projetofinal.datasource.entity.UsuarioEntity;
 import com.senai.projetofinal.infra.exception.error.NotFoundException;
+import com.senai.projetofinal.infra.security.UsuarioAutenticado;
+import com.senai.projetofinal.service.RevogacaoTokenService;
 import com.senai.projetofinal.service.UsuarioService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -16,6 +18,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -25,6 +29,7 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping(value = "usuarios")
 public class UserController {
     private final UsuarioService service;
+    private final RevogacaoTokenService revogacaoTokenService;
 
     @Operation(summary = "Buscar usuário por ID", description = "Busca um usuário específico pelo ID")
     @ApiResponses(value = {
@@ -37,7 +42,7 @@ public class UserController {
                     content = @Content)
     })
     @GetMapping("/{id}")
-    public ResponseEntity<?> buscarPorId(@PathVariable Long id,@RequestHeader("Authorization") String token) {
+    public ResponseEntity<?> buscarPorId(@PathVariable Long id) {
         try {
             UsuarioEntity entity = service.buscarUsuarioPorId(id);
             return UsuarioResponse.toResponseEntity(entity);
@@ -48,9 +53,9 @@ public class UserController {
         }
     }
     @GetMapping("/token")
-    public ResponseEntity<?> buscarPorId(@RequestHeader("Authorization") String token) {
+    public ResponseEntity<?> buscarPorId(@AuthenticationPrincipal UsuarioAutenticado usuarioAutenticado) {
         try {
-            UsuarioEntity entity = service.buscarUsuarioPorToken();
+            UsuarioEntity entity = service.buscarUsuarioPorToken(usuarioAutenticado);
             return UsuarioResponse.toResponseEntity(entity);
         } catch (NotFoundException e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
@@ -58,4 +63,23 @@ public class UserController {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         }
     }
+
+    @Operation(summary = "Revogar tokens do usuário", description = "Revoga todos os tokens do usuário emitidos até agora")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Tokens revogados com sucesso",
+                    content = @Content),
+            @ApiResponse(responseCode = "404", description = "Usuário não encontrado",
+                    content = @Content)
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/{id}/revogar-tokens")
+    public ResponseEntity<?> revogarTokens(@PathVariable Long id) {
+        try {
+            service.buscarUsuarioPorId(id);
+            revogacaoTokenService.revogarUsuario(id);
+            return ResponseEntity.noContent().build();
+        } catch (NotFoundException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.NOT_FOUND);
+        }
+    }
 }
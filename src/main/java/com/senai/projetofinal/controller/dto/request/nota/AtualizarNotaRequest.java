@@ -1,6 +1,8 @@
 package com.senai.projetofinal.controller.dto.request.nota;
 
+import java.math.BigDecimal;
+
 public record AtualizarNotaRequest(
-        String valor
+        BigDecimal valor
 ) {
 }
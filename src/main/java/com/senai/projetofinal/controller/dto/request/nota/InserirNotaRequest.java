@@ -1,9 +1,11 @@
 package com.senai.projetofinal.controller.dto.request.nota;
 
+import java.math.BigDecimal;
+
 public record InserirNotaRequest(
         Long aluno,
         Long docente,
         Long materia,
-        String valor
+        BigDecimal valor
 ) {
 }
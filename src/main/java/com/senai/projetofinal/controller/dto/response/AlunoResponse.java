@@ -1,13 +1,54 @@
 package com.senai.projetofinal.controller.dto.response;
 
+import com.senai.projetofinal.datasource.entity.AlunoEntity;
 import com.senai.projetofinal.datasource.entity.TurmaEntity;
-import com.senai.projetofinal.datasource.entity.UsuarioEntity;
 
 public record AlunoResponse(
         Long id,
         String nome,
+        String email,
         String dataNascimento,
-        UsuarioEntity usuario,
-        TurmaEntity turma
+        String genero,
+        String cpf,
+        String rg,
+        String estadoCivil,
+        String telefone,
+        String naturalidade,
+        String cep,
+        String cidade,
+        String estado,
+        String logradouro,
+        String numero,
+        String complemento,
+        String bairro,
+        String pontoReferencia,
+        Long usuarioId,
+        Long turmaId,
+        String turmaNome
 ) {
+    public static AlunoResponse from(AlunoEntity aluno) {
+        TurmaEntity turma = aluno.getTurma();
+        return new AlunoResponse(
+                aluno.getId(),
+                aluno.getNome(),
+                aluno.getEmail(),
+                aluno.getDataNascimento(),
+                aluno.getGenero(),
+                aluno.getCpf(),
+                aluno.getRg(),
+                aluno.getEstadoCivil(),
+                aluno.getTelefone(),
+                aluno.getNaturalidade(),
+                aluno.getCep(),
+                aluno.getCidade(),
+                aluno.getEstado(),
+                aluno.getLogradouro(),
+                aluno.getNumero(),
+                aluno.getComplemento(),
+                aluno.getBairro(),
+                aluno.getPontoReferencia(),
+                aluno.getUsuario() != null ? aluno.getUsuario().getId() : null,
+                turma != null ? turma.getId() : null,
+                turma != null ? turma.getNome() : null);
+    }
 }
@@ -1,7 +1,12 @@
 package com.senai.projetofinal.controller.dto.response;
 
+import com.senai.projetofinal.datasource.entity.CursoEntity;
+
 public record CursoResponse(
         Long id,
         String nome
 ) {
+    public static CursoResponse from(CursoEntity curso) {
+        return new CursoResponse(curso.getId(), curso.getNome());
+    }
 }
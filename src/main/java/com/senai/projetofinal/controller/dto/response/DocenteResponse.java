@@ -5,9 +5,10 @@ import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateDeserializer;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateSerializer;
-import com.senai.projetofinal.datasource.entity.UsuarioEntity;
+import com.senai.projetofinal.datasource.entity.DocenteEntity;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 public record DocenteResponse(
@@ -25,7 +26,6 @@ public record DocenteResponse(
         String estadoCivil,
         String telefone,
         String email,
-        String senha,
         String naturalidade,
         String cep,
         String cidade,
@@ -36,8 +36,32 @@ public record DocenteResponse(
         String bairro,
         String pontoReferencia,
         List<String> materias,
-        UsuarioEntity usuario
+        Long usuarioId
 ) {
+    public static DocenteResponse from(DocenteEntity docente) {
+        return new DocenteResponse(
+                docente.getId(),
+                docente.getNome(),
+                docente.getDataNascimento(),
+                docente.getGenero(),
+                docente.getCpf(),
+                docente.getRg(),
+                docente.getEstadoCivil(),
+                docente.getTelefone(),
+                docente.getEmail(),
+                docente.getNaturalidade(),
+                docente.getCep(),
+                docente.getCidade(),
+                docente.getEstado(),
+                docente.getLogradouro(),
+                docente.getNumero(),
+                docente.getComplemento(),
+                docente.getBairro(),
+                docente.getPontoReferencia(),
+                // Cópia, para a resposta não depender da sessão que carregou a coleção
+                docente.getMaterias() != null ? new ArrayList<>(docente.getMaterias()) : null,
+                docente.getUsuario() != null ? docente.getUsuario().getId() : null);
+    }
 }
 
 
@@ -0,0 +1,15 @@
+package com.senai.projetofinal.controller.dto.response;
+
+import java.util.List;
+
+public record ImportacaoAlunosResponse(
+        int importados,
+        List<ErroImportacao> erros
+) {
+
+    public record ErroImportacao(
+            int linha,
+            String mensagem
+    ) {
+    }
+}
@@ -0,0 +1,6 @@
+package com.senai.projetofinal.controller.dto.response;
+
+public record ImportacaoNotasResponse(
+        int importadas
+) {
+}
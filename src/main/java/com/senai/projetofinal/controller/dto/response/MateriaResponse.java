@@ -1,10 +1,16 @@
 package com.senai.projetofinal.controller.dto.response;
 
-import com.senai.projetofinal.datasource.entity.CursoEntity;
+import com.senai.projetofinal.datasource.entity.MateriaEntity;
 
 public record MateriaResponse(
         Long id,
         String nome,
-        CursoEntity curso
+        Long cursoId
 ) {
+    public static MateriaResponse from(MateriaEntity materia) {
+        return new MateriaResponse(
+                materia.getId(),
+                materia.getNome(),
+                materia.getCurso() != null ? materia.getCurso().getId() : null);
+    }
 }
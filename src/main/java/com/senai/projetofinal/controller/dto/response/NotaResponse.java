@@ -1,14 +1,28 @@
 package com.senai.projetofinal.controller.dto.response;
 
-import com.senai.projetofinal.datasource.entity.AlunoEntity;
-import com.senai.projetofinal.datasource.entity.DocenteEntity;
-import com.senai.projetofinal.datasource.entity.MateriaEntity;
+import com.senai.projetofinal.datasource.entity.NotaEntity;
+
+import java.math.BigDecimal;
 
 public record NotaResponse(
         Long id,
-        AlunoEntity aluno,
-        DocenteEntity docente,
-        MateriaEntity materia,
-        String valor
+        Long alunoId,
+        String alunoNome,
+        Long docenteId,
+        String docenteNome,
+        Long materiaId,
+        String materiaNome,
+        BigDecimal valor
 ) {
+    public static NotaResponse from(NotaEntity nota) {
+        return new NotaResponse(
+                nota.getId(),
+                nota.getAluno().getId(),
+                nota.getAluno().getNome(),
+                nota.getDocente().getId(),
+                nota.getDocente().getNome(),
+                nota.getMateria().getId(),
+                nota.getMateria().getNome(),
+                nota.getValor());
+    }
 }
@@ -0,0 +1,10 @@
+package com.senai.projetofinal.controller.dto.response;
+
+import java.math.BigDecimal;
+
+public record PontuacaoAlunoResponse(
+        Long alunoId,
+        String alunoNome,
+        BigDecimal pontuacao
+) {
+}
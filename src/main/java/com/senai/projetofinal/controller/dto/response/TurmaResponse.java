@@ -1,12 +1,22 @@
 package com.senai.projetofinal.controller.dto.response;
 
-import com.senai.projetofinal.datasource.entity.CursoEntity;
-import com.senai.projetofinal.datasource.entity.DocenteEntity;
+import com.senai.projetofinal.datasource.entity.TurmaEntity;
 
 public record TurmaResponse(
         Long id,
         String nome,
-        DocenteEntity docente,
-        CursoEntity curso
+        Long docenteId,
+        String docenteNome,
+        Long cursoId,
+        String cursoNome
 ) {
+    public static TurmaResponse from(TurmaEntity turma) {
+        return new TurmaResponse(
+                turma.getId(),
+                turma.getNome(),
+                turma.getDocente() != null ? turma.getDocente().getId() : null,
+                turma.getDocente() != null ? turma.getDocente().getNome() : null,
+                turma.getCurso() != null ? turma.getCurso().getId() : null,
+                turma.getCurso() != null ? turma.getCurso().getNome() : null);
+    }
 }
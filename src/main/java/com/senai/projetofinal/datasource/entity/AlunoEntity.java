@@ -5,11 +5,15 @@ import lombok.Data;
 
 @Entity
 @Data
-@Table(name = "aluno")
+@Table(name = "aluno", indexes = {
+        @Index(name = "idx_aluno_turma", columnList = "turma_id"),
+        @Index(name = "idx_aluno_usuario", columnList = "usuario_id")
+})
 public class AlunoEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "aluno_seq")
+    @SequenceGenerator(name = "aluno_seq", sequenceName = "aluno_seq", allocationSize = 50)
     private Long id;
 
     private String nome;
@@ -48,11 +52,11 @@ public class AlunoEntity {
 
     private String pontoReferencia;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "usuario_id")
     private UsuarioEntity usuario;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "turma_id")
     private TurmaEntity turma;
 }
\ No newline at end of file
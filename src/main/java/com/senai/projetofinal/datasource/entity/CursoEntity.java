@@ -4,12 +4,17 @@ import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
 
 @Entity
 @Data
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "curso")
 @Table(name = "curso")
 public class CursoEntity {
 
@@ -20,11 +25,13 @@ public class CursoEntity {
     @Column(unique = true)
     private String nome;
 
-    @OneToMany(mappedBy = "curso", fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "curso")
     @JsonBackReference
     private List<TurmaEntity> turmas;
 
-    @OneToMany(mappedBy = "curso", fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "curso")
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "curso.materias")
     @JsonManagedReference
     private List<MateriaEntity> materias;
 }
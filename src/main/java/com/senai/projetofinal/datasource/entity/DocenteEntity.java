@@ -6,13 +6,14 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
+import org.hibernate.annotations.BatchSize;
 import java.util.List;
 
 import java.time.LocalDate;
 
 @Entity
 @Data
-@Table(name = "docente")
+@Table(name = "docente", indexes = @Index(name = "idx_docente_usuario", columnList = "usuario_id"))
 public class DocenteEntity {
 
     @Id
@@ -55,14 +56,15 @@ public class DocenteEntity {
     private String bairro;
     private String pontoReferencia;
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection
+    @BatchSize(size = 50)
     @CollectionTable(name = "docente_materias", joinColumns = @JoinColumn(name = "docente_id"))
     @Column(name = "materia")
     private List<String> materias;
 
     private LocalDate dataEntrada = LocalDate.now();
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "usuario_id")
     private UsuarioEntity usuario;
 
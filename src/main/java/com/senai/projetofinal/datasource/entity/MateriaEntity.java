@@ -3,9 +3,13 @@ package com.senai.projetofinal.datasource.entity;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Data
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "materia")
 @Table(name = "materia")
 public class MateriaEntity {
 
@@ -16,7 +20,7 @@ public class MateriaEntity {
     @Column(unique = true)
     private String nome;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "curso_id")
     @JsonBackReference
     private CursoEntity curso;
@@ -3,27 +3,30 @@ package com.senai.projetofinal.datasource.entity;
 import jakarta.persistence.*;
 import lombok.Data;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 
 @Entity
 @Data
-@Table(name = "nota")
+@Table(name = "nota", indexes = @Index(name = "idx_nota_aluno", columnList = "aluno_id"))
 public class NotaEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "nota_seq")
+    @SequenceGenerator(name = "nota_seq", sequenceName = "nota_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private AlunoEntity aluno;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private DocenteEntity docente;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private MateriaEntity materia;
 
-    private String valor;
+    @Column(precision = 4, scale = 2)
+    private BigDecimal valor;
 
     private LocalDate data = LocalDate.now();
 
@@ -2,9 +2,13 @@ package com.senai.projetofinal.datasource.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Data
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "papel")
 @Table(name = "papel")
 public class PapelEntity {
 
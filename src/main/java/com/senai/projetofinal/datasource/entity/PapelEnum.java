@@ -16,6 +16,15 @@ public enum PapelEnum {
         this.nome = nome;
     }
 
+    public static PapelEnum fromNome(String nome) {
+        for (PapelEnum papel : values()) {
+            if (papel.nome.equals(nome)) {
+                return papel;
+            }
+        }
+        throw new IllegalArgumentException("Papel inválido: " + nome);
+    }
+
     @Override
     public String toString() {
         return nome;
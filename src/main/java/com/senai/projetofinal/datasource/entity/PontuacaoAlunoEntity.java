@@ -0,0 +1,44 @@
+package com.senai.projetofinal.datasource.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Resumo das notas de um aluno em uma matéria, mantido na mesma transação de cada
+ * escrita em {@code nota} e recalculado periodicamente pela reconstrução da pontuação.
+ */
+@Entity
+@Data
+@Table(name = "pontuacao_aluno")
+@IdClass(PontuacaoAlunoEntity.Chave.class)
+public class PontuacaoAlunoEntity {
+
+    @Id
+    @Column(name = "aluno_id")
+    private Long alunoId;
+
+    @Id
+    @Column(name = "materia_id")
+    private Long materiaId;
+
+    @Column(precision = 10, scale = 2, nullable = false)
+    private BigDecimal soma;
+
+    @Column(nullable = false)
+    private Long quantidadeNotas;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Chave implements Serializable {
+
+        private Long alunoId;
+
+        private Long materiaId;
+    }
+}
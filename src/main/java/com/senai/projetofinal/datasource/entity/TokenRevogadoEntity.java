@@ -0,0 +1,32 @@
+package com.senai.projetofinal.datasource.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * Revogação de um token pelo {@code jti} ou de todos os tokens de um usuário emitidos antes de
+ * {@code revogadoEm}. A linha pode ser apagada depois de {@code expiraEm}, quando nenhum token
+ * afetado ainda é válido.
+ */
+@Entity
+@Data
+@Table(name = "token_revogado", indexes = @Index(name = "idx_token_revogado_expira_em", columnList = "expira_em"))
+public class TokenRevogadoEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String jti;
+
+    @Column(name = "usuario_id")
+    private Long usuarioId;
+
+    @Column(name = "revogado_em", nullable = false)
+    private Instant revogadoEm;
+
+    @Column(name = "expira_em", nullable = false)
+    private Instant expiraEm;
+}
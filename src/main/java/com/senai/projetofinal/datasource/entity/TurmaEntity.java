@@ -3,13 +3,20 @@ package com.senai.projetofinal.datasource.entity;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
 
 @Entity
 @Data
-@Table(name = "turma")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "turma")
+@Table(name = "turma", indexes = {
+        @Index(name = "idx_turma_curso", columnList = "curso_id"),
+        @Index(name = "idx_turma_docente", columnList = "docente_id")
+})
 public class TurmaEntity {
 
     @Id
@@ -19,13 +26,13 @@ public class TurmaEntity {
     @Column(unique = true)
     private String nome;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private DocenteEntity docente;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private CursoEntity curso;
 
-    @OneToMany(mappedBy = "turma", fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "turma")
     @JsonBackReference
     private List<AlunoEntity> alunos;
 }
\ No newline at end of file
@@ -1,9 +1,9 @@
 package com.senai.projetofinal.datasource.entity;
 
 import com.senai.projetofinal.controller.dto.request.LoginRequest;
+import com.senai.projetofinal.infra.security.CodificadorSenhas;
 import jakarta.persistence.*;
 import lombok.Data;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 @Entity
 @Data
@@ -11,7 +11,8 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 public class UsuarioEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "usuario_seq")
+    @SequenceGenerator(name = "usuario_seq", sequenceName = "usuario_seq", allocationSize = 50)
     private Long id;
 
     private String nome;
@@ -25,11 +26,11 @@ public class UsuarioEntity {
     private String senha;
 
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private PapelEntity papel;
 
 
-    public boolean senhaValida(LoginRequest loginRequest, BCryptPasswordEncoder bCryptEncoder) {
-        return bCryptEncoder.matches(loginRequest.senha(), this.senha);
+    public boolean senhaValida(LoginRequest loginRequest, CodificadorSenhas codificadorSenhas) {
+        return codificadorSenhas.verificar(loginRequest.senha(), this.senha);
     }
 }
@@ -0,0 +1,10 @@
+package com.senai.projetofinal.datasource.projection;
+
+/**
+ * Curso da turma de um aluno, usado para validar matérias sem carregar o grafo do aluno.
+ */
+public record CursoDoAluno(
+        Long alunoId,
+        Long cursoId
+) {
+}
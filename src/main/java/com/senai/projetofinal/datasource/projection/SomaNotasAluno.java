@@ -0,0 +1,23 @@
+package com.senai.projetofinal.datasource.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Resultado agregado das notas de um aluno, calculado pelo banco em uma única consulta.
+ *
+ * @param alunoId            aluno ao qual as notas pertencem
+ * @param alunoNome          nome do aluno
+ * @param usuarioId          usuário vinculado ao aluno
+ * @param soma               soma dos valores das notas do aluno
+ * @param quantidadeNotas    quantidade de notas lançadas
+ * @param quantidadeMaterias quantidade de matérias do curso da turma do aluno
+ */
+public record SomaNotasAluno(
+        Long alunoId,
+        String alunoNome,
+        Long usuarioId,
+        BigDecimal soma,
+        Long quantidadeNotas,
+        Long quantidadeMaterias
+) {
+}
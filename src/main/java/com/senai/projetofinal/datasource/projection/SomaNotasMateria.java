@@ -0,0 +1,14 @@
+package com.senai.projetofinal.datasource.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Soma das notas de um aluno em uma matéria, calculada diretamente sobre {@code nota}.
+ */
+public record SomaNotasMateria(
+        Long alunoId,
+        Long materiaId,
+        BigDecimal soma,
+        Long quantidadeNotas
+) {
+}
@@ -1,12 +1,55 @@
 package com.senai.projetofinal.datasource.repository;
 
+import com.senai.projetofinal.controller.dto.response.AlunoResponse;
 import com.senai.projetofinal.datasource.entity.AlunoEntity;
+import com.senai.projetofinal.datasource.projection.CursoDoAluno;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.EntityGraph.EntityGraphType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface AlunoRepository extends JpaRepository<AlunoEntity, Long> {
 
-    boolean existsByNome(String nome);
+    String RESUMO = "SELECT new com.senai.projetofinal.controller.dto.response.AlunoResponse(" +
+            "a.id, a.nome, a.email, a.dataNascimento, a.genero, a.cpf, a.rg, a.estadoCivil, a.telefone, " +
+            "a.naturalidade, a.cep, a.cidade, a.estado, a.logradouro, a.numero, a.complemento, a.bairro, " +
+            "a.pontoReferencia, a.usuario.id, t.id, t.nome) " +
+            "FROM AlunoEntity a LEFT JOIN a.turma t";
+
+    @Override
+    @EntityGraph(attributePaths = {"usuario", "turma.curso"}, type = EntityGraphType.LOAD)
+    Optional<AlunoEntity> findById(Long id);
+
+    @Query(value = RESUMO, countQuery = "SELECT count(a) FROM AlunoEntity a")
+    Page<AlunoResponse> findAllResumidos(Pageable pageable);
+
+    @Query(RESUMO + " WHERE a.id > :id")
+    Slice<AlunoResponse> findResumidosAposId(@Param("id") Long id, Pageable pageable);
 
+    @Query("SELECT new com.senai.projetofinal.datasource.projection.CursoDoAluno(a.id, t.curso.id) " +
+            "FROM AlunoEntity a LEFT JOIN a.turma t WHERE a.id IN :ids")
+    List<CursoDoAluno> findCursosDosAlunos(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT a.nome FROM AlunoEntity a WHERE a.nome IN :nomes")
+    List<String> findNomesExistentes(@Param("nomes") Collection<String> nomes);
+
+    @Query("SELECT a.id FROM AlunoEntity a WHERE a.usuario.id = :usuarioId")
+    Optional<Long> findIdByUsuarioId(@Param("usuarioId") Long usuarioId);
+
+    @Modifying
+    @Query("UPDATE AlunoEntity a SET a.senha = :senha WHERE a.usuario.id = :usuarioId AND a.senha IS NOT NULL")
+    int atualizarSenhaPorUsuarioId(@Param("usuarioId") Long usuarioId, @Param("senha") String senha);
+
+    boolean existsByNome(String nome);
 }
@@ -1,18 +1,32 @@
 package com.senai.projetofinal.datasource.repository;
 
+import com.senai.projetofinal.controller.dto.response.CursoResponse;
 import com.senai.projetofinal.datasource.entity.CursoEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CursoRepository extends JpaRepository<CursoEntity, Long> {
 
+    String CURSO_DO_ALUNO = "SELECT new com.senai.projetofinal.controller.dto.response.CursoResponse(c.id, c.nome) " +
+            "FROM AlunoEntity a JOIN a.turma t JOIN t.curso c";
+
     boolean existsByNome(String nome);
 
-    @Query("SELECT c FROM CursoEntity c JOIN c.turmas t JOIN t.alunos a WHERE a.id = :idAluno")
-    List<CursoEntity> findCursosByAlunoTurma(@Param("idAluno") Long idAluno);
+    @Query(value = "SELECT new com.senai.projetofinal.controller.dto.response.CursoResponse(c.id, c.nome) FROM CursoEntity c",
+            countQuery = "SELECT count(c) FROM CursoEntity c")
+    Page<CursoResponse> findAllResumidos(Pageable pageable);
+
+    @Query(CURSO_DO_ALUNO + " WHERE a.id = :idAluno")
+    List<CursoResponse> findCursosByAlunoTurma(@Param("idAluno") Long idAluno);
+
+    @Query(CURSO_DO_ALUNO + " WHERE a.usuario.id = :usuarioId")
+    Optional<CursoResponse> findCursoByUsuarioDoAluno(@Param("usuarioId") Long usuarioId);
 }
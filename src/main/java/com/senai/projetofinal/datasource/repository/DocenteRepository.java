@@ -2,17 +2,43 @@ package com.senai.projetofinal.datasource.repository;
 
 import com.senai.projetofinal.datasource.entity.DocenteEntity;
 import com.senai.projetofinal.datasource.entity.PapelEnum;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.EntityGraph.EntityGraphType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface DocenteRepository extends JpaRepository<DocenteEntity, Long> {
 
+    @Override
+    @EntityGraph(attributePaths = "usuario.papel", type = EntityGraphType.LOAD)
+    Optional<DocenteEntity> findById(Long id);
+
+    @EntityGraph(attributePaths = {"usuario.papel", "materias"}, type = EntityGraphType.LOAD)
+    Optional<DocenteEntity> findComMateriasById(Long id);
+
     boolean existsByUsuarioId(Long usuarioId);
 
-    List<DocenteEntity> findByUsuario_Papel_Nome(PapelEnum papel);
+    Page<DocenteEntity> findByUsuario_Papel_Nome(PapelEnum papel, Pageable pageable);
+
+    @Query("SELECT d.id FROM DocenteEntity d WHERE d.id IN :ids AND d.usuario.papel.nome IN :papeis")
+    List<Long> findIdsComPapel(@Param("ids") Collection<Long> ids, @Param("papeis") Collection<PapelEnum> papeis);
+
+    @Query("SELECT d.id FROM DocenteEntity d WHERE d.usuario.id = :usuarioId")
+    Optional<Long> findIdByUsuarioId(@Param("usuarioId") Long usuarioId);
+
+    @Modifying
+    @Query("UPDATE DocenteEntity d SET d.senha = :senha WHERE d.usuario.id = :usuarioId AND d.senha IS NOT NULL")
+    int atualizarSenhaPorUsuarioId(@Param("usuarioId") Long usuarioId, @Param("senha") String senha);
 
     boolean existsByNome(String nome);
 
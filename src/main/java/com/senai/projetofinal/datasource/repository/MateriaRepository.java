@@ -1,15 +1,36 @@
 package com.senai.projetofinal.datasource.repository;
 
+import com.senai.projetofinal.controller.dto.response.MateriaResponse;
 import com.senai.projetofinal.datasource.entity.MateriaEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface MateriaRepository extends JpaRepository<MateriaEntity, Long> {
 
-    List<MateriaEntity> findMateriaByCursoId(Long curso_id);
+    String RESUMO = "SELECT new com.senai.projetofinal.controller.dto.response.MateriaResponse(m.id, m.nome, m.curso.id) " +
+            "FROM MateriaEntity m";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(value = RESUMO, countQuery = "SELECT count(m) FROM MateriaEntity m")
+    Page<MateriaResponse> findAllResumidas(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(RESUMO + " WHERE m.curso.id = :cursoId")
+    List<MateriaResponse> findMateriaByCursoId(@Param("cursoId") Long curso_id);
+
+    @Query(RESUMO + " WHERE m.id IN :ids")
+    List<MateriaResponse> findResumidasPorIds(@Param("ids") Collection<Long> ids);
 
     boolean existsByNome(String nome);
 }
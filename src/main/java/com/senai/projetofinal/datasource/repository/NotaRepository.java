@@ -1,15 +1,63 @@
 package com.senai.projetofinal.datasource.repository;
 
+import com.senai.projetofinal.controller.dto.response.NotaResponse;
 import com.senai.projetofinal.datasource.entity.NotaEntity;
+import com.senai.projetofinal.datasource.projection.SomaNotasAluno;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.EntityGraph.EntityGraphType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface NotaRepository extends JpaRepository<NotaEntity, Long> {
 
-    List<NotaEntity> findNotasByAlunoId(Long aluno_id);
+    String RESUMO = "SELECT new com.senai.projetofinal.controller.dto.response.NotaResponse(" +
+            "n.id, a.id, a.nome, d.id, d.nome, m.id, m.nome, n.valor) " +
+            "FROM NotaEntity n JOIN n.aluno a JOIN n.docente d JOIN n.materia m";
 
-    List<NotaEntity> findNotasByDocenteId(Long docente_id);
+    String SOMA_NOTAS = "SELECT new com.senai.projetofinal.datasource.projection.SomaNotasAluno(" +
+            "a.id, a.nome, a.usuario.id, COALESCE(SUM(p.soma), 0), COALESCE(SUM(p.quantidadeNotas), 0), " +
+            "(SELECT COUNT(m) FROM MateriaEntity m WHERE m.curso.id = t.curso.id)) " +
+            "FROM AlunoEntity a LEFT JOIN a.turma t LEFT JOIN PontuacaoAlunoEntity p ON p.alunoId = a.id";
+
+    String AGRUPADO_POR_ALUNO = " GROUP BY a.id, a.nome, a.usuario.id, t.curso.id";
+
+    @Override
+    @EntityGraph(attributePaths = {"aluno", "docente", "materia"}, type = EntityGraphType.LOAD)
+    Optional<NotaEntity> findById(Long id);
+
+    @Query(value = RESUMO, countQuery = "SELECT count(n) FROM NotaEntity n")
+    Page<NotaResponse> findAllResumidas(Pageable pageable);
+
+    @Query(RESUMO + " WHERE n.id > :id")
+    Slice<NotaResponse> findResumidasAposId(@Param("id") Long id, Pageable pageable);
+
+    @Query(RESUMO + " WHERE a.id = :alunoId")
+    List<NotaResponse> findNotasByAlunoId(@Param("alunoId") Long aluno_id);
+
+    @Query(RESUMO + " WHERE d.id = :docenteId")
+    List<NotaResponse> findNotasByDocenteId(@Param("docenteId") Long docente_id);
+
+    @Query(RESUMO + " WHERE a.usuario.id = :usuarioId")
+    List<NotaResponse> findNotasByUsuarioDoAluno(@Param("usuarioId") Long usuarioId);
+
+    @Query(SOMA_NOTAS + " WHERE a.id = :alunoId" + AGRUPADO_POR_ALUNO)
+    Optional<SomaNotasAluno> somarNotasPorAlunoId(@Param("alunoId") Long alunoId);
+
+    @Query(SOMA_NOTAS + " WHERE a.usuario.id = :usuarioId" + AGRUPADO_POR_ALUNO)
+    Optional<SomaNotasAluno> somarNotasPorUsuarioDoAluno(@Param("usuarioId") Long usuarioId);
+
+    @Query(SOMA_NOTAS + " WHERE t.id = :turmaId" + AGRUPADO_POR_ALUNO + " ORDER BY a.nome")
+    List<SomaNotasAluno> somarNotasPorTurmaId(@Param("turmaId") Long turmaId);
+
+    @Query(SOMA_NOTAS + " WHERE t.curso.id = :cursoId" + AGRUPADO_POR_ALUNO + " ORDER BY a.nome")
+    List<SomaNotasAluno> somarNotasPorCursoId(@Param("cursoId") Long cursoId);
 }
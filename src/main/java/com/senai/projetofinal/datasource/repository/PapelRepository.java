@@ -2,7 +2,10 @@ package com.senai.projetofinal.datasource.repository;
 
 import com.senai.projetofinal.datasource.entity.PapelEntity;
 import com.senai.projetofinal.datasource.entity.PapelEnum;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -10,5 +13,6 @@ import java.util.Optional;
 @Repository
 public interface PapelRepository extends JpaRepository<PapelEntity, Long> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<PapelEntity> findByNome(PapelEnum nome);
 }
@@ -0,0 +1,47 @@
+package com.senai.projetofinal.datasource.repository;
+
+import com.senai.projetofinal.datasource.entity.AlunoEntity;
+import com.senai.projetofinal.datasource.entity.PontuacaoAlunoEntity;
+import com.senai.projetofinal.datasource.projection.SomaNotasMateria;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface PontuacaoAlunoRepository extends JpaRepository<PontuacaoAlunoEntity, PontuacaoAlunoEntity.Chave> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM AlunoEntity a WHERE a.id BETWEEN :de AND :ate")
+    List<AlunoEntity> bloquearAlunos(@Param("de") Long de, @Param("ate") Long ate);
+
+    @Modifying
+    @Query("UPDATE PontuacaoAlunoEntity p SET p.soma = p.soma + :soma, p.quantidadeNotas = p.quantidadeNotas + :quantidade " +
+            "WHERE p.alunoId = :alunoId AND p.materiaId = :materiaId")
+    int somar(@Param("alunoId") Long alunoId, @Param("materiaId") Long materiaId,
+              @Param("soma") BigDecimal soma, @Param("quantidade") Long quantidade);
+
+    @Modifying
+    @Query("DELETE FROM PontuacaoAlunoEntity p " +
+            "WHERE p.alunoId = :alunoId AND p.materiaId = :materiaId AND p.quantidadeNotas <= 0")
+    int removerSeVazia(@Param("alunoId") Long alunoId, @Param("materiaId") Long materiaId);
+
+    List<PontuacaoAlunoEntity> findByAlunoIdBetween(Long de, Long ate);
+
+    @Query("SELECT new com.senai.projetofinal.datasource.projection.SomaNotasMateria(" +
+            "n.aluno.id, n.materia.id, SUM(n.valor), COUNT(n)) " +
+            "FROM NotaEntity n WHERE n.aluno.id BETWEEN :de AND :ate GROUP BY n.aluno.id, n.materia.id")
+    List<SomaNotasMateria> somarNotasPorAlunoIdEntre(@Param("de") Long de, @Param("ate") Long ate);
+
+    @Query("SELECT MIN(a.id) FROM AlunoEntity a")
+    Long menorAlunoId();
+
+    @Query("SELECT MAX(a.id) FROM AlunoEntity a")
+    Long maiorAlunoId();
+}
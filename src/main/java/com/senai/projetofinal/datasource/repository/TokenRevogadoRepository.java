@@ -0,0 +1,24 @@
+package com.senai.projetofinal.datasource.repository;
+
+import com.senai.projetofinal.datasource.entity.TokenRevogadoEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface TokenRevogadoRepository extends JpaRepository<TokenRevogadoEntity, Long> {
+
+    List<TokenRevogadoEntity> findByExpiraEmAfter(Instant instante);
+
+    @Query("SELECT t FROM TokenRevogadoEntity t WHERE t.revogadoEm >= :desde AND t.expiraEm > :instante")
+    List<TokenRevogadoEntity> findRevogadosDesde(@Param("desde") Instant desde, @Param("instante") Instant instante);
+
+    @Modifying
+    @Query("DELETE FROM TokenRevogadoEntity t WHERE t.expiraEm <= :instante")
+    int removerExpirados(@Param("instante") Instant instante);
+}
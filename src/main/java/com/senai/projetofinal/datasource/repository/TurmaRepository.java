@@ -1,13 +1,38 @@
 package com.senai.projetofinal.datasource.repository;
 
+import com.senai.projetofinal.controller.dto.response.TurmaResponse;
 import com.senai.projetofinal.datasource.entity.TurmaEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.EntityGraph.EntityGraphType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TurmaRepository extends JpaRepository<TurmaEntity, Long> {
 
+    @Override
+    @EntityGraph(attributePaths = {"docente", "curso"}, type = EntityGraphType.LOAD)
+    Optional<TurmaEntity> findById(Long id);
+
+    @Query(value = "SELECT new com.senai.projetofinal.controller.dto.response.TurmaResponse(t.id, t.nome, d.id, d.nome, c.id, c.nome) " +
+            "FROM TurmaEntity t LEFT JOIN t.docente d LEFT JOIN t.curso c",
+            countQuery = "SELECT count(t) FROM TurmaEntity t")
+    Page<TurmaResponse> findAllResumidas(Pageable pageable);
+
+    @Query("SELECT new com.senai.projetofinal.controller.dto.response.TurmaResponse(t.id, t.nome, d.id, d.nome, c.id, c.nome) " +
+            "FROM TurmaEntity t JOIN t.docente d LEFT JOIN t.curso c WHERE d.usuario.id = :usuarioId ORDER BY t.nome")
+    List<TurmaResponse> findResumidasByUsuarioDoDocente(@Param("usuarioId") Long usuarioId);
+
+    @Query("SELECT t.id FROM TurmaEntity t WHERE t.id IN :ids")
+    List<Long> findIdsExistentes(@Param("ids") Collection<Long> ids);
+
     boolean existsByNome(String nome);
 }
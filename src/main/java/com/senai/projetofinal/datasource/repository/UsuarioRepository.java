@@ -1,15 +1,56 @@
 package com.senai.projetofinal.datasource.repository;
 
 import com.senai.projetofinal.datasource.entity.UsuarioEntity;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.EntityGraph.EntityGraphType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 @Repository
 public interface UsuarioRepository extends JpaRepository<UsuarioEntity, Long> {
 
+    @Override
+    @EntityGraph(attributePaths = "papel", type = EntityGraphType.LOAD)
+    Optional<UsuarioEntity> findById(Long id);
+
     Optional<UsuarioEntity> findByLogin(String login);
-    Optional<UsuarioEntity> findByLoginOrEmail(String login,String email);
+
+    @Query("SELECT lower(u.login) FROM UsuarioEntity u WHERE lower(u.login) IN :chaves")
+    List<String> findChavesLoginExistentes(@Param("chaves") Collection<String> chaves);
+
+    @Modifying
+    @Query("UPDATE UsuarioEntity u SET u.senha = :senha WHERE u.id = :id")
+    int atualizarSenha(@Param("id") Long id, @Param("senha") String senha);
+
+    @EntityGraph(attributePaths = "papel", type = EntityGraphType.LOAD)
+    @Query("SELECT u FROM UsuarioEntity u WHERE lower(u.login) = :chave")
+    Optional<UsuarioEntity> findByChaveLogin(@Param("chave") String chave);
+
+    @EntityGraph(attributePaths = "papel", type = EntityGraphType.LOAD)
+    @Query("SELECT u FROM UsuarioEntity u WHERE lower(u.email) = :chave")
+    Optional<UsuarioEntity> findByChaveEmail(@Param("chave") String chave);
+
+    /**
+     * Resolve o identificador usado no login, sem diferenciar maiúsculas: procura primeiro pelo
+     * login e só então pelo email, cada um em uma consulta servida pelo índice único sobre
+     * {@code lower(login)} ou {@code lower(email)}. Se ele for o login de um usuário e o email de
+     * outro, vale o login.
+     */
+    default Optional<UsuarioEntity> findByIdentificador(String identificador) {
+        String chave = normalizar(identificador);
+        return findByChaveLogin(chave).or(() -> findByChaveEmail(chave));
+    }
+
+    static String normalizar(String identificador) {
+        return identificador.trim().toLowerCase(Locale.ROOT);
+    }
 
 }
@@ -1,16 +1,27 @@
 package com.senai.projetofinal.infra;
 
-import com.nimbusds.jose.jwk.JWK;
-import com.nimbusds.jose.jwk.JWKSet;
-import com.nimbusds.jose.jwk.RSAKey;
-import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
-import com.nimbusds.jose.jwk.source.JWKSource;
-import com.nimbusds.jose.proc.SecurityContext;
+import com.senai.projetofinal.infra.cache.CacheRespostas;
+import com.senai.projetofinal.infra.cache.CacheRespostasFilter;
+import com.senai.projetofinal.infra.cache.CacheRespostasProperties;
+import com.senai.projetofinal.infra.limite.LimitadorConcorrencia;
+import com.senai.projetofinal.infra.limite.LimitadorRequisicoes;
+import com.senai.projetofinal.infra.limite.LimiteConcorrenciaFilter;
+import com.senai.projetofinal.infra.limite.LimiteConcorrenciaProperties;
+import com.senai.projetofinal.infra.limite.LimiteRequisicoesFilter;
+import com.senai.projetofinal.infra.limite.LimiteRequisicoesProperties;
+import com.senai.projetofinal.infra.security.CachingJwtDecoder;
+import com.senai.projetofinal.infra.security.CalibradorBCrypt;
+import com.senai.projetofinal.infra.security.ChavesJwt;
+import com.senai.projetofinal.infra.security.ListaRevogacao;
+import com.senai.projetofinal.infra.security.RevogacaoJwtDecoder;
+import com.senai.projetofinal.infra.security.UsuarioAutenticadoConverter;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpMethod;
-import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -19,40 +30,67 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
 import org.springframework.security.web.SecurityFilterChain;
 
-import java.security.interfaces.RSAPrivateKey;
-import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
 
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
+@EnableConfigurationProperties({LimiteRequisicoesProperties.class, LimiteConcorrenciaProperties.class,
+        CacheRespostasProperties.class})
 public class SecurityConfig {
 
     @Value("${jwt.public.key}")
-    RSAPublicKey key;
+    Resource key;
 
     @Value("${jwt.private.key}")
-    RSAPrivateKey priv;
+    Resource priv;
+
+    @Value("${jwt.algoritmo:RS256}")
+    String algoritmoJwt;
+
+    @Value("${jwt.chaves-anteriores:}")
+    String[] chavesAnterioresJwt;
+
+    @Value("${jwt.cache.tamanho-maximo:10000}")
+    int tamanhoMaximoCacheJwt;
+
+    @Value("${jwt.cache.ttl:PT10M}")
+    Duration ttlCacheJwt;
+
+    @Value("${senha.bcrypt.custo:0}")
+    int custoBCrypt;
+
+    @Value("${senha.bcrypt.custo-minimo:10}")
+    int custoMinimoBCrypt;
+
+    @Value("${senha.bcrypt.orcamento:PT0.1S}")
+    Duration orcamentoBCrypt;
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, LimitadorRequisicoes limitadorRequisicoes,
+                                                   LimitadorConcorrencia limitadorConcorrencia,
+                                                   CacheRespostas cacheRespostas) throws Exception {
         http
                 .authorizeHttpRequests(auth -> auth
                         // Para permitir uso to swagger
                         .requestMatchers(HttpMethod.GET,"/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
                         .requestMatchers(HttpMethod.POST, "/login").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/.well-known/jwks.json").permitAll()
                         .anyRequest().authenticated()
                 )
                 .csrf(AbstractHttpConfigurer::disable)
                 .oauth2ResourceServer(oauth2 ->
-                        oauth2.jwt(Customizer.withDefaults())
+                        oauth2.jwt(jwt -> jwt.jwtAuthenticationConverter(new UsuarioAutenticadoConverter()))
                 )
                 .sessionManagement(session ->
                         session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
+                .addFilterBefore(new LimiteConcorrenciaFilter(limitadorConcorrencia), BearerTokenAuthenticationFilter.class)
+                .addFilterAfter(new LimiteRequisicoesFilter(limitadorRequisicoes), BearerTokenAuthenticationFilter.class)
+                .addFilterAfter(new CacheRespostasFilter(cacheRespostas), LimiteRequisicoesFilter.class)
         ;
 
         return http.build();
@@ -60,27 +98,37 @@ public class SecurityConfig {
     }
 
     @Bean
-    JwtDecoder jwtDecoder() {
-        return NimbusJwtDecoder.withPublicKey(this.key).build();
+    ChavesJwt chavesJwt() {
+        return ChavesJwt.carregar(algoritmoJwt, this.key, this.priv, chavesAnterioresJwt);
     }
 
     @Bean
-    JwtEncoder jwtEncoder() {
-        JWK jwk = new RSAKey.Builder(this.key)
-                .privateKey(this.priv)
-                .build();
-
-        JWKSource<SecurityContext> jwks = new ImmutableJWKSet<>(
-                new JWKSet(jwk)
+    CachingJwtDecoder cachingJwtDecoder(ChavesJwt chavesJwt) {
+        return new CachingJwtDecoder(
+                chavesJwt.decoder(),
+                tamanhoMaximoCacheJwt,
+                ttlCacheJwt
         );
+    }
+
+    @Bean
+    @Primary
+    JwtDecoder jwtDecoder(CachingJwtDecoder cachingJwtDecoder, ListaRevogacao listaRevogacao) {
+        return new RevogacaoJwtDecoder(cachingJwtDecoder, listaRevogacao);
+    }
 
-        return new NimbusJwtEncoder(jwks);
+    @Bean
+    JwtEncoder jwtEncoder(ChavesJwt chavesJwt) {
+        return chavesJwt.encoder();
     }
 
 
     @Bean
     public BCryptPasswordEncoder bCryptPasswordEncoder() {
-        return new BCryptPasswordEncoder();
+        int custo = custoBCrypt > 0
+                ? custoBCrypt
+                : new CalibradorBCrypt().calibrar(custoMinimoBCrypt, orcamentoBCrypt);
+        return new BCryptPasswordEncoder(custo);
     }
 
 }
\ No newline at end of file
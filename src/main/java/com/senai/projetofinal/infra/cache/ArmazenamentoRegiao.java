@@ -0,0 +1,135 @@
+package com.senai.projetofinal.infra.cache;
+
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Armazenamento de uma região do cache de segundo nível, limitado a {@code tamanhoMaximo}
+ * entradas com descarte da usada há mais tempo (LRU).
+ * <p>
+ * As entradas ficam divididas em segmentos pelo hash da chave, cada um com seu próprio lock, para
+ * que leituras de chaves diferentes não disputem o mesmo monitor. Com {@code tamanhoMaximo} zero
+ * ou negativo a região não tem limite, o que é necessário na região de timestamps das consultas.
+ */
+final class ArmazenamentoRegiao implements DomainDataStorageAccess {
+
+    private static final int SEGMENTOS = 16;
+
+    private final String nome;
+
+    private final int tamanhoMaximo;
+
+    private final Segmento[] segmentos;
+
+    private final LongAdder acertos = new LongAdder();
+
+    private final LongAdder faltas = new LongAdder();
+
+    private final LongAdder despejos = new LongAdder();
+
+    ArmazenamentoRegiao(String nome, int tamanhoMaximo) {
+        this.nome = nome;
+        this.tamanhoMaximo = tamanhoMaximo;
+
+        // Regiões pequenas ficam em um segmento só, para o limite não ser dividido em pedaços de poucas entradas
+        int quantidade = tamanhoMaximo <= 0 || tamanhoMaximo >= SEGMENTOS * 64 ? SEGMENTOS : 1;
+        this.segmentos = new Segmento[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            int limite = tamanhoMaximo <= 0 ? 0 : tamanhoMaximo / quantidade + (i < tamanhoMaximo % quantidade ? 1 : 0);
+            segmentos[i] = new Segmento(limite);
+        }
+    }
+
+    @Override
+    public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+        Object valor = segmento(key).obter(key);
+        (valor == null ? faltas : acertos).increment();
+        return valor;
+    }
+
+    @Override
+    public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+        segmento(key).colocar(key, value);
+    }
+
+    @Override
+    public boolean contains(Object key) {
+        return segmento(key).contem(key);
+    }
+
+    @Override
+    public void evictData() {
+        for (Segmento segmento : segmentos) {
+            segmento.limpar();
+        }
+    }
+
+    @Override
+    public void evictData(Object key) {
+        segmento(key).remover(key);
+    }
+
+    @Override
+    public void release() {
+        evictData();
+    }
+
+    EstatisticasRegiao estatisticas() {
+        int tamanho = 0;
+        for (Segmento segmento : segmentos) {
+            tamanho += segmento.tamanho();
+        }
+        return new EstatisticasRegiao(nome, tamanho, tamanhoMaximo, acertos.sum(), faltas.sum(), despejos.sum());
+    }
+
+    private Segmento segmento(Object chave) {
+        int hash = chave.hashCode();
+        return segmentos[((hash ^ (hash >>> 16)) & 0x7fffffff) % segmentos.length];
+    }
+
+    private final class Segmento {
+
+        private final LinkedHashMap<Object, Object> entradas;
+
+        Segmento(int limite) {
+            this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Object, Object> maisAntiga) {
+                    if (limite > 0 && size() > limite) {
+                        despejos.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        synchronized Object obter(Object chave) {
+            return entradas.get(chave);
+        }
+
+        synchronized void colocar(Object chave, Object valor) {
+            entradas.put(chave, valor);
+        }
+
+        synchronized boolean contem(Object chave) {
+            return entradas.containsKey(chave);
+        }
+
+        synchronized void remover(Object chave) {
+            entradas.remove(chave);
+        }
+
+        synchronized void limpar() {
+            entradas.clear();
+        }
+
+        synchronized int tamanho() {
+            return entradas.size();
+        }
+    }
+}
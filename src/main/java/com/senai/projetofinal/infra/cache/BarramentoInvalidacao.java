@@ -0,0 +1,288 @@
+package com.senai.projetofinal.infra.cache;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Propaga as invalidações dos caches em memória entre as instâncias da aplicação pelo
+ * {@code LISTEN/NOTIFY} do PostgreSQL.
+ * <p>
+ * Os services chamam {@link #publicar} depois de cada escrita. Os {@link OuvinteInvalidacao} da
+ * própria instância são avisados na hora; para as outras, os recursos entram em uma fila enviada
+ * só depois do commit e agrupada por {@code cache.invalidacao.intervalo}, de forma que uma rajada
+ * de escritas vira um único {@code pg_notify}. Cada instância mantém uma conexão em {@code LISTEN}
+ * e ignora as próprias notificações. A mensagem leva o instante do envio, usado para medir o
+ * atraso de propagação (supondo os relógios das instâncias sincronizados). Se a conexão de escuta
+ * cair, notificações podem ter sido perdidas, então ao reconectar todos os recursos são invalidados.
+ */
+@Component
+@Slf4j
+public class BarramentoInvalidacao implements DisposableBean {
+
+    public static final String CURSOS = "cursos";
+
+    public static final String MATERIAS = "materias";
+
+    public static final String TURMAS = "turmas";
+
+    public static final String PONTUACOES = "pontuacoes";
+
+    public static final String REVOGACOES = "revogacoes";
+
+    static final Set<String> TODOS = Set.of(CURSOS, MATERIAS, TURMAS, PONTUACOES, REVOGACOES);
+
+    private static final String SEPARADOR = ";";
+
+    private final List<OuvinteInvalidacao> ouvintes;
+
+    private final Notificador notificador;
+
+    private final boolean habilitado;
+
+    private final Duration intervalo;
+
+    private final LongSupplier relogio;
+
+    private final String origem = UUID.randomUUID().toString();
+
+    private final Set<String> pendentes = ConcurrentHashMap.newKeySet();
+
+    private final AtomicBoolean envioAgendado = new AtomicBoolean();
+
+    private final ScheduledExecutorService agendador;
+
+    private final LongAdder publicacoes = new LongAdder();
+
+    private final LongAdder notificacoesEnviadas = new LongAdder();
+
+    private final LongAdder notificacoesRecebidas = new LongAdder();
+
+    private final LongAdder atrasoTotal = new LongAdder();
+
+    private final AtomicLong atrasoMaximo = new AtomicLong();
+
+    private final AtomicLong ultimoAtraso = new AtomicLong();
+
+    private final LongAdder reconexoes = new LongAdder();
+
+    private volatile boolean escutando;
+
+    private EscutaNotificacoes escuta;
+
+    public BarramentoInvalidacao(List<OuvinteInvalidacao> ouvintes,
+                                 DataSource dataSource,
+                                 @Value("${cache.invalidacao.habilitado:true}") boolean habilitado,
+                                 @Value("${cache.invalidacao.canal:invalidacao_cache}") String canal,
+                                 @Value("${cache.invalidacao.intervalo:PT0.05S}") Duration intervalo,
+                                 @Value("${spring.datasource.url:}") String url,
+                                 @Value("${spring.datasource.username:}") String usuario,
+                                 @Value("${spring.datasource.password:}") String senha) {
+        this(ouvintes, payload -> notificar(dataSource, canal, payload),
+                habilitado && url.startsWith("jdbc:postgresql:"), intervalo, System::currentTimeMillis);
+
+        if (!canal.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalStateException("Canal de invalidação de cache inválido: " + canal);
+        }
+        if (this.habilitado) {
+            this.escuta = new EscutaNotificacoes(url, usuario, senha, canal, this);
+        }
+    }
+
+    BarramentoInvalidacao(List<OuvinteInvalidacao> ouvintes, Notificador notificador, boolean habilitado,
+                          Duration intervalo, LongSupplier relogio) {
+        this.ouvintes = ouvintes;
+        this.notificador = notificador;
+        this.habilitado = habilitado;
+        this.intervalo = intervalo;
+        this.relogio = relogio;
+        this.agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "invalidacao-cache-envio");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    void iniciar() {
+        if (escuta == null) {
+            log.info("Invalidação de cache entre instâncias desabilitada");
+            return;
+        }
+
+        Thread thread = new Thread(escuta, "invalidacao-cache-escuta");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Invalida os recursos nos caches desta instância e, depois do commit da transação atual (ou
+     * logo, se não houver uma), nas demais instâncias.
+     */
+    public void publicar(String... recursos) {
+        Set<String> alterados = new LinkedHashSet<>(Arrays.asList(recursos));
+        avisar(alterados, false);
+
+        if (!habilitado) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enfileirar(alterados);
+                }
+            });
+        } else {
+            enfileirar(alterados);
+        }
+    }
+
+    public EstatisticasInvalidacao estatisticas() {
+        long recebidas = notificacoesRecebidas.sum();
+        return new EstatisticasInvalidacao(habilitado, escutando, publicacoes.sum(), notificacoesEnviadas.sum(),
+                recebidas, recebidas == 0 ? 0 : atrasoTotal.sum() / recebidas, atrasoMaximo.get(), ultimoAtraso.get(),
+                reconexoes.sum());
+    }
+
+    void receber(String mensagem) {
+        String[] partes = mensagem.split(SEPARADOR, 3);
+        if (partes.length != 3 || partes[0].equals(origem)) {
+            return;
+        }
+
+        long atraso;
+        try {
+            atraso = Math.max(0, relogio.getAsLong() - Long.parseLong(partes[1]));
+        } catch (NumberFormatException e) {
+            log.warn("Notificação de invalidação de cache mal formada: {}", mensagem);
+            return;
+        }
+
+        notificacoesRecebidas.increment();
+        atrasoTotal.add(atraso);
+        atrasoMaximo.accumulateAndGet(atraso, Math::max);
+        ultimoAtraso.set(atraso);
+
+        Set<String> recursos = new LinkedHashSet<>(Arrays.asList(partes[2].split(",")));
+        log.debug("Invalidação de {} recebida de outra instância com {} ms de atraso", recursos, atraso);
+        avisar(recursos, true);
+    }
+
+    void conectado(boolean reconexao) {
+        escutando = true;
+        if (reconexao) {
+            reconexoes.increment();
+            log.info("Escuta de invalidações restabelecida, invalidando todos os caches");
+            avisar(TODOS, true);
+        }
+    }
+
+    void desconectado() {
+        escutando = false;
+    }
+
+    void enviarPendentes() {
+        envioAgendado.set(false);
+
+        List<String> lote = new ArrayList<>();
+        for (Iterator<String> iterator = pendentes.iterator(); iterator.hasNext(); ) {
+            lote.add(iterator.next());
+            iterator.remove();
+        }
+        if (lote.isEmpty()) {
+            return;
+        }
+
+        String mensagem = origem + SEPARADOR + relogio.getAsLong() + SEPARADOR + String.join(",", lote);
+        try {
+            notificador.notificar(mensagem);
+            notificacoesEnviadas.increment();
+        } catch (Exception e) {
+            log.warn("Não foi possível notificar a invalidação de {}, nova tentativa em 1 s: {}", lote, e.getMessage());
+            pendentes.addAll(lote);
+            if (!agendador.isShutdown() && envioAgendado.compareAndSet(false, true)) {
+                agendador.schedule(this::enviarPendentes, 1, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private void enfileirar(Set<String> recursos) {
+        publicacoes.increment();
+        pendentes.addAll(recursos);
+        if (envioAgendado.compareAndSet(false, true)) {
+            agendador.schedule(this::enviarPendentes, intervalo.toNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void avisar(Set<String> recursos, boolean remota) {
+        for (OuvinteInvalidacao ouvinte : ouvintes) {
+            try {
+                ouvinte.invalidar(recursos, remota);
+            } catch (RuntimeException e) {
+                log.error("Falha ao invalidar {} em {}", recursos, ouvinte.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    private static void notificar(DataSource dataSource, String canal, String mensagem) throws SQLException {
+        try (Connection conexao = dataSource.getConnection();
+             PreparedStatement statement = conexao.prepareStatement("SELECT pg_notify(?, ?)")) {
+            statement.setString(1, canal);
+            statement.setString(2, mensagem);
+            statement.execute();
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (escuta != null) {
+            escuta.parar();
+        }
+        agendador.shutdown();
+        agendador.awaitTermination(1, TimeUnit.SECONDS);
+        enviarPendentes();
+    }
+
+    @FunctionalInterface
+    interface Notificador {
+        void notificar(String mensagem) throws Exception;
+    }
+
+    /**
+     * @param publicacoes            escritas enfileiradas para as outras instâncias
+     * @param notificacoesEnviadas   {@code pg_notify} enviados, cada um agrupando as publicações do intervalo
+     * @param atrasoMedioMillis      atraso médio entre o envio em uma instância e o recebimento nesta
+     */
+    public record EstatisticasInvalidacao(boolean habilitado, boolean escutando, long publicacoes,
+                                          long notificacoesEnviadas, long notificacoesRecebidas,
+                                          long atrasoMedioMillis, long atrasoMaximoMillis, long ultimoAtrasoMillis,
+                                          long reconexoes) {
+    }
+}
@@ -0,0 +1,207 @@
+package com.senai.projetofinal.infra.cache;
+
+import com.senai.projetofinal.datasource.entity.PapelEnum;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Respostas JSON já serializadas das listagens que quase não mudam, guardadas por caminho,
+ * parâmetros e papel do usuário, junto com a forma comprimida em gzip quando valem a pena.
+ * <p>
+ * Os grupos têm os nomes dos recursos do {@link BarramentoInvalidacao}, que chama
+ * {@link #invalidar} depois de cada escrita nos dados de um grupo, nesta ou em outra instância.
+ * Cada grupo tem uma versão incrementada na invalidação: uma resposta montada a partir de uma
+ * leitura que começou antes da escrita é descartada em vez de guardada, e dentro de uma transação
+ * a invalidação se repete ao fim dela, quando a escrita já está visível para as outras conexões.
+ */
+@Component
+@Slf4j
+public class CacheRespostas implements OuvinteInvalidacao {
+
+    private final CacheRespostasProperties properties;
+
+    private final LongSupplier relogio;
+
+    private final Map<String, Grupo> grupos = new LinkedHashMap<>();
+
+    private final Map<Chave, RespostaCacheada> respostas = new ConcurrentHashMap<>();
+
+    public CacheRespostas(CacheRespostasProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    CacheRespostas(CacheRespostasProperties properties, LongSupplier relogio) {
+        this.properties = properties;
+        this.relogio = relogio;
+        properties.grupos().forEach((nome, caminhos) -> grupos.put(nome, new Grupo(nome,
+                caminhos.stream().map(String::trim).map(PathPatternParser.defaultInstance::parse).toList())));
+        log.info("Cache de respostas {} para os grupos {}",
+                properties.habilitado() ? "habilitado" : "desabilitado", properties.grupos());
+    }
+
+    /**
+     * Procura a resposta de uma requisição GET. Devolve {@code null} quando o caminho não pertence
+     * a nenhum grupo; caso contrário, a {@link Consulta} traz a resposta guardada, se houver, e é
+     * usada para guardar a resposta nova com {@link #armazenar}.
+     */
+    public Consulta consultar(String caminho, String parametros, PapelEnum papel) {
+        if (!properties.habilitado()) {
+            return null;
+        }
+
+        Grupo grupo = grupoDo(caminho);
+        if (grupo == null) {
+            return null;
+        }
+
+        Chave chave = new Chave(grupo.nome(), caminho, parametros == null ? "" : parametros, papel);
+        long versao = grupo.versao().get();
+        RespostaCacheada resposta = respostas.get(chave);
+
+        if (resposta != null && resposta.expiraEm() - relogio.getAsLong() <= 0) {
+            respostas.remove(chave, resposta);
+            resposta = null;
+        }
+
+        (resposta == null ? grupo.faltas() : grupo.acertos()).increment();
+        return new Consulta(chave, versao, resposta);
+    }
+
+    public void armazenar(Consulta consulta, String tipoConteudo, byte[] corpo) {
+        Grupo grupo = grupos.get(consulta.chave().grupo());
+        if (grupo.versao().get() != consulta.versao()) {
+            return;
+        }
+
+        byte[] gzip = corpo.length >= properties.gzipMinimo() ? comprimir(corpo) : null;
+        RespostaCacheada resposta = new RespostaCacheada(tipoConteudo, corpo, gzip,
+                relogio.getAsLong() + properties.ttl().toNanos());
+
+        abrirEspaco();
+        respostas.put(consulta.chave(), resposta);
+
+        // Uma invalidação entre a verificação acima e o put não pode deixar a resposta antiga no cache
+        if (grupo.versao().get() != consulta.versao()) {
+            respostas.remove(consulta.chave(), resposta);
+        }
+    }
+
+    @Override
+    public void invalidar(Set<String> recursos, boolean remota) {
+        invalidar(recursos.toArray(String[]::new));
+    }
+
+    public void invalidar(String... nomes) {
+        remover(nomes);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remover(nomes);
+                }
+            });
+        }
+    }
+
+    public List<EstatisticasRegiao> estatisticas() {
+        Map<String, Integer> tamanhos = new LinkedHashMap<>();
+        respostas.keySet().forEach(chave -> tamanhos.merge(chave.grupo(), 1, Integer::sum));
+        return grupos.values().stream()
+                .map(grupo -> new EstatisticasRegiao("respostas." + grupo.nome(), tamanhos.getOrDefault(grupo.nome(), 0),
+                        properties.tamanhoMaximo(), grupo.acertos().sum(), grupo.faltas().sum(), grupo.despejos().sum()))
+                .toList();
+    }
+
+    private void remover(String[] nomes) {
+        for (String nome : nomes) {
+            Grupo grupo = grupos.get(nome);
+            if (grupo != null) {
+                grupo.versao().incrementAndGet();
+                respostas.keySet().removeIf(chave -> chave.grupo().equals(nome));
+            }
+        }
+    }
+
+    private void abrirEspaco() {
+        if (respostas.size() < properties.tamanhoMaximo()) {
+            return;
+        }
+
+        long agora = relogio.getAsLong();
+        respostas.values().removeIf(resposta -> resposta.expiraEm() - agora <= 0);
+
+        // O cache guarda poucas listagens; sem expiradas, qualquer uma serve para abrir espaço
+        Iterator<Chave> chaves = respostas.keySet().iterator();
+        while (respostas.size() >= properties.tamanhoMaximo() && chaves.hasNext()) {
+            Chave chave = chaves.next();
+            chaves.remove();
+            grupos.get(chave.grupo()).despejos().increment();
+        }
+    }
+
+    private Grupo grupoDo(String caminho) {
+        PathContainer path = PathContainer.parsePath(caminho);
+        for (Grupo grupo : grupos.values()) {
+            for (PathPattern padrao : grupo.padroes()) {
+                if (padrao.matches(path)) {
+                    return grupo;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static byte[] comprimir(byte[] corpo) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(corpo.length / 4 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(corpo);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return saida.toByteArray();
+    }
+
+    /**
+     * Resultado de {@link #consultar}: a resposta guardada, ou {@code null}, e a versão do grupo
+     * no momento da consulta.
+     */
+    public record Consulta(Chave chave, long versao, RespostaCacheada resposta) {
+    }
+
+    public record Chave(String grupo, String caminho, String parametros, PapelEnum papel) {
+    }
+
+    /**
+     * @param gzip  corpo comprimido, ou {@code null} quando a resposta é pequena demais para compensar
+     */
+    public record RespostaCacheada(String tipoConteudo, byte[] corpo, byte[] gzip, long expiraEm) {
+    }
+
+    private record Grupo(String nome, List<PathPattern> padroes, AtomicLong versao,
+                         LongAdder acertos, LongAdder faltas, LongAdder despejos) {
+
+        Grupo(String nome, List<PathPattern> padroes) {
+            this(nome, padroes, new AtomicLong(), new LongAdder(), new LongAdder(), new LongAdder());
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.senai.projetofinal.infra.cache;
+
+import com.senai.projetofinal.infra.security.UsuarioAutenticado;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+/**
+ * Responde as listagens do {@link CacheRespostas} direto dos bytes guardados, sem passar pelo
+ * controller, e guarda as respostas 200 em JSON das que ainda não estão no cache. Roda depois da
+ * autenticação: a chave inclui o papel do usuário, e os endpoints cacheados só restringem o acesso
+ * por papel, então quem recebe a resposta guardada passaria pelo mesmo {@code @PreAuthorize}.
+ */
+public class CacheRespostasFilter extends OncePerRequestFilter {
+
+    static final String CABECALHO_CACHE = "X-Cache";
+
+    private final CacheRespostas cache;
+
+    public CacheRespostasFilter(CacheRespostas cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        if (autenticacao == null || !(autenticacao.getPrincipal() instanceof UsuarioAutenticado usuario)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String caminho = request.getRequestURI().substring(request.getContextPath().length());
+        CacheRespostas.Consulta consulta = cache.consultar(caminho, request.getQueryString(), usuario.papel());
+        if (consulta == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        if (consulta.resposta() != null) {
+            responder(request, response, consulta.resposta());
+            return;
+        }
+
+        ContentCachingResponseWrapper resposta = new ContentCachingResponseWrapper(response);
+        resposta.setHeader(CABECALHO_CACHE, "MISS");
+        try {
+            filterChain.doFilter(request, resposta);
+
+            // Respostas montadas com dados vencidos do DadosReferencia não são guardadas
+            if (resposta.getStatus() == HttpStatus.OK.value() && resposta.getContentType() != null
+                    && !DadosReferencia.OBSOLETO.equals(resposta.getHeader(CABECALHO_CACHE))
+                    && MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(resposta.getContentType()))) {
+                cache.armazenar(consulta, resposta.getContentType(), resposta.getContentAsByteArray());
+            }
+        } finally {
+            resposta.copyBodyToResponse();
+        }
+    }
+
+    private static void responder(HttpServletRequest request, HttpServletResponse response,
+                                  CacheRespostas.RespostaCacheada resposta) throws IOException {
+        String aceita = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = resposta.gzip() != null && aceita != null && aceita.contains("gzip");
+        byte[] corpo = gzip ? resposta.gzip() : resposta.corpo();
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setHeader(CABECALHO_CACHE, "HIT");
+        response.setContentType(resposta.tipoConteudo());
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(corpo.length);
+        response.getOutputStream().write(corpo);
+    }
+}
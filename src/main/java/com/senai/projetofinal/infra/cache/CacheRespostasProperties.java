@@ -0,0 +1,33 @@
+package com.senai.projetofinal.infra.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuração do {@link CacheRespostas}. Cada grupo reúne os caminhos cujas respostas são
+ * invalidadas juntas, por exemplo:
+ * <pre>
+ * cache.respostas.grupos.materias = /materias, /materias/cursos/*
+ * </pre>
+ *
+ * @param tamanhoMaximo  respostas guardadas no total, somando os grupos
+ * @param ttl            validade de uma resposta mesmo sem escrita, para alterações feitas fora da aplicação
+ * @param gzipMinimo     tamanho a partir do qual a resposta também é guardada comprimida
+ */
+@ConfigurationProperties(prefix = "cache.respostas")
+public record CacheRespostasProperties(
+        @DefaultValue("true") boolean habilitado,
+        @DefaultValue("500") int tamanhoMaximo,
+        @DefaultValue("PT10M") Duration ttl,
+        @DefaultValue("1024") int gzipMinimo,
+        Map<String, List<String>> grupos
+) {
+
+    public CacheRespostasProperties {
+        grupos = grupos == null ? Map.of() : grupos;
+    }
+}
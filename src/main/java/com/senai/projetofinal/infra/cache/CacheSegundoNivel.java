@@ -0,0 +1,67 @@
+package com.senai.projetofinal.infra.cache;
+
+import com.senai.projetofinal.datasource.entity.CursoEntity;
+import com.senai.projetofinal.datasource.entity.MateriaEntity;
+import com.senai.projetofinal.datasource.entity.TurmaEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Acesso às estatísticas do cache de segundo nível quando o provedor é o {@link RegioesCacheFactory}.
+ * <p>
+ * As escritas feitas nesta instância já são invalidadas pelo próprio Hibernate; as de outras
+ * instâncias chegam pelo {@link BarramentoInvalidacao} e descartam as regiões afetadas e o cache
+ * de consultas, cujos timestamps locais não sabem da escrita.
+ */
+@Component
+public class CacheSegundoNivel implements OuvinteInvalidacao {
+
+    private static final String MATERIAS_DO_CURSO = CursoEntity.class.getName() + ".materias";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public CacheSegundoNivel(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public List<EstatisticasRegiao> estatisticas() {
+        RegionFactory regionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getCache().getRegionFactory();
+        return regionFactory instanceof RegioesCacheFactory regioes ? regioes.estatisticas() : List.of();
+    }
+
+    @Override
+    public void invalidar(Set<String> recursos, boolean remota) {
+        if (!remota) {
+            return;
+        }
+
+        Cache cache = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache();
+        boolean alterouEntidade = false;
+
+        if (recursos.contains(BarramentoInvalidacao.CURSOS)) {
+            cache.evictEntityData(CursoEntity.class);
+            cache.evictCollectionData(MATERIAS_DO_CURSO);
+            alterouEntidade = true;
+        }
+        if (recursos.contains(BarramentoInvalidacao.MATERIAS)) {
+            cache.evictEntityData(MateriaEntity.class);
+            cache.evictCollectionData(MATERIAS_DO_CURSO);
+            alterouEntidade = true;
+        }
+        if (recursos.contains(BarramentoInvalidacao.TURMAS)) {
+            cache.evictEntityData(TurmaEntity.class);
+            alterouEntidade = true;
+        }
+
+        if (alterouEntidade) {
+            cache.evictQueryRegions();
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.senai.projetofinal.infra.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Cache das leituras de dados de referência (cursos e matérias), que quase nunca mudam, servido
+ * com stale-while-revalidate.
+ * <p>
+ * Um valor com menos de {@code cache.referencia.fresco} é devolvido direto. Depois disso, e até
+ * {@code cache.referencia.obsoleto-maximo}, ele continua sendo devolvido na hora enquanto uma
+ * leitura em segundo plano o substitui; se o banco estiver lento ou fora do ar, a atualização falha
+ * e o valor antigo segue sendo servido, com os cabeçalhos {@code X-Cache: STALE} e {@code Age}.
+ * Passado o limite, a leitura volta a depender do banco. As escritas invalidam o recurso pelo
+ * {@link BarramentoInvalidacao}, então o limite só vale para o que mudou fora da aplicação. As
+ * leituras ao banco passam pelo {@link LeiturasAgrupadas}.
+ */
+@Component
+@Slf4j
+public class DadosReferencia implements OuvinteInvalidacao, DisposableBean {
+
+    static final String OBSOLETO = "STALE";
+
+    private final LeiturasAgrupadas leituras;
+
+    private final boolean habilitado;
+
+    private final int tamanhoMaximo;
+
+    private final long fresco;
+
+    private final long obsoletoMaximo;
+
+    private final LongSupplier relogio;
+
+    private final Executor atualizador;
+
+    private final Map<Chave, Entrada> entradas = new ConcurrentHashMap<>();
+
+    private final Map<String, AtomicLong> versoes = new ConcurrentHashMap<>();
+
+    private final LongAdder acertos = new LongAdder();
+
+    private final LongAdder obsoletas = new LongAdder();
+
+    private final LongAdder faltas = new LongAdder();
+
+    private final LongAdder atualizacoes = new LongAdder();
+
+    private final LongAdder falhasAtualizacao = new LongAdder();
+
+    private final AtomicLong idadeMaximaServida = new AtomicLong();
+
+    @Autowired
+    public DadosReferencia(LeiturasAgrupadas leituras,
+                           @Value("${cache.referencia.habilitado:true}") boolean habilitado,
+                           @Value("${cache.referencia.tamanho-maximo:500}") int tamanhoMaximo,
+                           @Value("${cache.referencia.fresco:PT1M}") Duration fresco,
+                           @Value("${cache.referencia.obsoleto-maximo:PT15M}") Duration obsoletoMaximo) {
+        this(leituras, habilitado, tamanhoMaximo, fresco, obsoletoMaximo, System::nanoTime, novoAtualizador());
+    }
+
+    DadosReferencia(LeiturasAgrupadas leituras, boolean habilitado, int tamanhoMaximo, Duration fresco,
+                    Duration obsoletoMaximo, LongSupplier relogio, Executor atualizador) {
+        if (obsoletoMaximo.compareTo(fresco) < 0) {
+            throw new IllegalStateException("cache.referencia.obsoleto-maximo deve ser maior que cache.referencia.fresco");
+        }
+
+        this.leituras = leituras;
+        this.habilitado = habilitado;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.fresco = fresco.toNanos();
+        this.obsoletoMaximo = obsoletoMaximo.toNanos();
+        this.relogio = relogio;
+        this.atualizador = atualizador;
+    }
+
+    /**
+     * Devolve o valor guardado para o recurso e os parâmetros, atualizando-o em segundo plano se
+     * passou da validade, ou faz a leitura quando não há valor utilizável.
+     *
+     * @param recurso     recurso lido, como {@link BarramentoInvalidacao#CURSOS}
+     * @param leitura     consulta ao banco; o resultado é compartilhado entre threads e deve ser um DTO
+     * @param parametros  identificam a consulta dentro do recurso e precisam de {@code equals}
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T ler(String recurso, Supplier<T> leitura, Object... parametros) {
+        if (!habilitado) {
+            return leituras.executar(recurso, leitura, parametros);
+        }
+
+        Chave chave = new Chave(recurso, Arrays.asList(parametros));
+        Entrada entrada = entradas.get(chave);
+
+        if (entrada != null) {
+            long idade = relogio.getAsLong() - entrada.carregadoEm();
+            if (idade <= fresco) {
+                acertos.increment();
+                return (T) entrada.valor();
+            }
+            if (idade <= obsoletoMaximo) {
+                obsoletas.increment();
+                idadeMaximaServida.accumulateAndGet(idade, Math::max);
+                atualizarEmSegundoPlano(chave, entrada, leitura);
+                marcarObsoleta(idade);
+                return (T) entrada.valor();
+            }
+            entradas.remove(chave, entrada);
+        }
+
+        faltas.increment();
+        long versao = versao(recurso).get();
+        T valor = leituras.executar(recurso, leitura, parametros);
+        guardar(chave, versao, valor);
+        return valor;
+    }
+
+    @Override
+    public void invalidar(Set<String> recursos, boolean remota) {
+        remover(recursos);
+
+        if (!remota && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remover(recursos);
+                }
+            });
+        }
+    }
+
+    public EstatisticasReferencia estatisticas() {
+        return new EstatisticasReferencia(habilitado, entradas.size(), tamanhoMaximo, acertos.sum(), obsoletas.sum(),
+                faltas.sum(), atualizacoes.sum(), falhasAtualizacao.sum(),
+                TimeUnit.NANOSECONDS.toMillis(idadeMaximaServida.get()));
+    }
+
+    private void atualizarEmSegundoPlano(Chave chave, Entrada entrada, Supplier<?> leitura) {
+        if (!entrada.atualizando().compareAndSet(false, true)) {
+            return;
+        }
+
+        long versao = versao(chave.recurso()).get();
+        try {
+            atualizador.execute(() -> {
+                try {
+                    guardar(chave, versao, leituras.executar(chave.recurso(), leitura, chave.parametros().toArray()));
+                    atualizacoes.increment();
+                } catch (RuntimeException e) {
+                    falhasAtualizacao.increment();
+                    log.warn("Falha ao atualizar {} {}, servindo o valor anterior: {}",
+                            chave.recurso(), chave.parametros(), e.getMessage());
+                } finally {
+                    entrada.atualizando().set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            entrada.atualizando().set(false);
+        }
+    }
+
+    private void guardar(Chave chave, long versao, Object valor) {
+        AtomicLong versaoAtual = versao(chave.recurso());
+        if (versaoAtual.get() != versao) {
+            return;
+        }
+
+        abrirEspaco();
+        Entrada entrada = new Entrada(valor, relogio.getAsLong(), new AtomicBoolean());
+        entradas.put(chave, entrada);
+
+        // Uma invalidação entre a verificação acima e o put não pode deixar o valor antigo no cache
+        if (versaoAtual.get() != versao) {
+            entradas.remove(chave, entrada);
+        }
+    }
+
+    private void remover(Set<String> recursos) {
+        for (String recurso : recursos) {
+            versao(recurso).incrementAndGet();
+        }
+        entradas.keySet().removeIf(chave -> recursos.contains(chave.recurso()));
+    }
+
+    private void abrirEspaco() {
+        if (entradas.size() < tamanhoMaximo) {
+            return;
+        }
+
+        long agora = relogio.getAsLong();
+        entradas.values().removeIf(entrada -> agora - entrada.carregadoEm() > obsoletoMaximo);
+
+        Iterator<Chave> chaves = entradas.keySet().iterator();
+        while (entradas.size() >= tamanhoMaximo && chaves.hasNext()) {
+            chaves.next();
+            chaves.remove();
+        }
+    }
+
+    private AtomicLong versao(String recurso) {
+        return versoes.computeIfAbsent(recurso, r -> new AtomicLong());
+    }
+
+    private static void marcarObsoleta(long idade) {
+        RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+        if (atributos instanceof ServletRequestAttributes servlet && servlet.getResponse() != null) {
+            // Também impede o CacheRespostasFilter de guardar a resposta
+            servlet.getResponse().setHeader(CacheRespostasFilter.CABECALHO_CACHE, OBSOLETO);
+            servlet.getResponse().setHeader(HttpHeaders.AGE, String.valueOf(TimeUnit.NANOSECONDS.toSeconds(idade)));
+        }
+    }
+
+    private static ExecutorService novoAtualizador() {
+        return new ThreadPoolExecutor(1, 2, 30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(100), tarefa -> {
+            Thread thread = new Thread(tarefa, "dados-referencia-atualizacao");
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public void destroy() {
+        if (atualizador instanceof ExecutorService servico) {
+            servico.shutdownNow();
+        }
+    }
+
+    private record Chave(String recurso, List<Object> parametros) {
+    }
+
+    private record Entrada(Object valor, long carregadoEm, AtomicBoolean atualizando) {
+    }
+
+    /**
+     * @param obsoletas                 leituras respondidas com um valor vencido enquanto ele era atualizado
+     * @param falhasAtualizacao         atualizações em segundo plano que falharam, mantendo o valor anterior
+     * @param idadeMaximaServidaMillis  idade do valor mais antigo já servido
+     */
+    public record EstatisticasReferencia(boolean habilitado, int tamanho, int tamanhoMaximo, long acertos,
+                                         long obsoletas, long faltas, long atualizacoes, long falhasAtualizacao,
+                                         long idadeMaximaServidaMillis) {
+    }
+}
@@ -0,0 +1,88 @@
+package com.senai.projetofinal.infra.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Conexão dedicada que fica em {@code LISTEN} no canal do {@link BarramentoInvalidacao} e repassa
+ * as notificações recebidas. A conexão é aberta fora do pool para não ocupar uma conexão dele
+ * indefinidamente; se cair, é reaberta com espera crescente até 30 segundos.
+ */
+@Slf4j
+final class EscutaNotificacoes implements Runnable {
+
+    private static final int ESPERA_NOTIFICACOES_MILLIS = 1000;
+
+    private static final long ESPERA_MAXIMA_RECONEXAO_MILLIS = 30_000;
+
+    private final String url;
+
+    private final String usuario;
+
+    private final String senha;
+
+    private final String canal;
+
+    private final BarramentoInvalidacao barramento;
+
+    private volatile boolean ativa = true;
+
+    EscutaNotificacoes(String url, String usuario, String senha, String canal, BarramentoInvalidacao barramento) {
+        this.url = url;
+        this.usuario = usuario;
+        this.senha = senha;
+        this.canal = canal;
+        this.barramento = barramento;
+    }
+
+    @Override
+    public void run() {
+        long espera = ESPERA_NOTIFICACOES_MILLIS;
+        boolean reconexao = false;
+
+        while (ativa) {
+            try (Connection conexao = DriverManager.getConnection(url, usuario, senha)) {
+                try (Statement statement = conexao.createStatement()) {
+                    statement.execute("LISTEN " + canal);
+                }
+                log.info("Escutando invalidações de cache no canal {}", canal);
+                barramento.conectado(reconexao);
+                reconexao = true;
+                espera = ESPERA_NOTIFICACOES_MILLIS;
+
+                PGConnection postgres = conexao.unwrap(PGConnection.class);
+                while (ativa) {
+                    PGNotification[] notificacoes = postgres.getNotifications(ESPERA_NOTIFICACOES_MILLIS);
+                    if (notificacoes != null) {
+                        for (PGNotification notificacao : notificacoes) {
+                            barramento.receber(notificacao.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                barramento.desconectado();
+                if (!ativa) {
+                    return;
+                }
+                log.warn("Conexão de escuta de invalidações perdida, nova tentativa em {} ms: {}", espera, e.getMessage());
+                try {
+                    Thread.sleep(espera);
+                } catch (InterruptedException interrompida) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                espera = Math.min(espera * 2, ESPERA_MAXIMA_RECONEXAO_MILLIS);
+            }
+        }
+    }
+
+    void parar() {
+        ativa = false;
+    }
+}
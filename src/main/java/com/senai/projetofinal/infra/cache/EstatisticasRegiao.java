@@ -0,0 +1,17 @@
+package com.senai.projetofinal.infra.cache;
+
+/**
+ * Números de uma região do cache de segundo nível desde a subida da aplicação.
+ *
+ * @param tamanhoMaximo  limite de entradas da região, zero quando não há limite
+ * @param despejos       entradas descartadas para respeitar o limite
+ * @param taxaAcerto     fração das leituras encontradas no cache
+ */
+public record EstatisticasRegiao(String regiao, int tamanho, int tamanhoMaximo, long acertos, long faltas, long despejos,
+                                 double taxaAcerto) {
+
+    EstatisticasRegiao(String regiao, int tamanho, int tamanhoMaximo, long acertos, long faltas, long despejos) {
+        this(regiao, tamanho, tamanhoMaximo, acertos, faltas, despejos,
+                acertos + faltas == 0 ? 0 : (double) acertos / (acertos + faltas));
+    }
+}
@@ -0,0 +1,157 @@
+package com.senai.projetofinal.infra.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa leituras idênticas e simultâneas em uma única ida ao banco (single-flight).
+ * <p>
+ * A primeira chamada com uma chave executa a leitura na própria thread; as que chegam enquanto ela
+ * está em andamento esperam e recebem o mesmo resultado, ou a mesma exceção. Quem espera mais que
+ * {@code cache.agrupamento.espera-maxima} desiste e faz a própria leitura, para que uma consulta
+ * lenta não prenda todas as outras. Só devem passar por aqui leituras que devolvem DTOs, já que o
+ * resultado é compartilhado entre threads. Quando o {@link BarramentoInvalidacao} anuncia uma
+ * escrita no recurso, as leituras em andamento deixam de aceitar novas chamadas, que passam a ir
+ * ao banco de novo e enxergam o dado alterado.
+ */
+@Component
+@Slf4j
+public class LeiturasAgrupadas implements OuvinteInvalidacao {
+
+    private final boolean habilitado;
+
+    private final long esperaMaxima;
+
+    private final Map<Chave, CompletableFuture<Object>> emAndamento = new ConcurrentHashMap<>();
+
+    private final LongAdder executadas = new LongAdder();
+
+    private final LongAdder agrupadas = new LongAdder();
+
+    private final LongAdder expiradas = new LongAdder();
+
+    private final LongAdder erros = new LongAdder();
+
+    public LeiturasAgrupadas(@Value("${cache.agrupamento.habilitado:true}") boolean habilitado,
+                             @Value("${cache.agrupamento.espera-maxima:PT2S}") Duration esperaMaxima) {
+        this.habilitado = habilitado;
+        this.esperaMaxima = esperaMaxima.toNanos();
+    }
+
+    /**
+     * Executa a leitura ou, se uma leitura com o mesmo recurso e parâmetros já estiver em andamento,
+     * espera o resultado dela.
+     *
+     * @param recurso     recurso lido, como {@link BarramentoInvalidacao#CURSOS}
+     * @param leitura     consulta ao banco
+     * @param parametros  identificam a consulta dentro do recurso e precisam de {@code equals}
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T executar(String recurso, Supplier<T> leitura, Object... parametros) {
+        if (!habilitado) {
+            return leitura.get();
+        }
+
+        Chave chave = new Chave(recurso, Arrays.asList(parametros));
+        CompletableFuture<Object> nova = new CompletableFuture<>();
+        CompletableFuture<Object> atual = emAndamento.putIfAbsent(chave, nova);
+
+        if (atual == null) {
+            return (T) liderar(chave, nova, leitura);
+        }
+
+        agrupadas.increment();
+        try {
+            return (T) atual.get(esperaMaxima, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException erro) {
+                throw erro;
+            }
+            if (e.getCause() instanceof Error erro) {
+                throw erro;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            agrupadas.decrement();
+            expiradas.increment();
+            log.warn("Leitura de {} {} demorou mais de {} ms, consultando sem agrupar",
+                    recurso, chave.parametros(), TimeUnit.NANOSECONDS.toMillis(esperaMaxima));
+            executadas.increment();
+            return leitura.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido esperando a leitura de " + recurso, e);
+        }
+    }
+
+    @Override
+    public void invalidar(Set<String> recursos, boolean remota) {
+        desligar(recursos);
+
+        // A escrita local ainda não foi confirmada: leituras iniciadas até o commit também ficam de fora
+        if (!remota && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    desligar(recursos);
+                }
+            });
+        }
+    }
+
+    public EstatisticasAgrupamento estatisticas() {
+        long executadasAgora = executadas.sum();
+        long agrupadasAgora = agrupadas.sum();
+        long total = executadasAgora + agrupadasAgora;
+        return new EstatisticasAgrupamento(habilitado, executadasAgora, agrupadasAgora, expiradas.sum(), erros.sum(),
+                emAndamento.size(), total == 0 ? 0 : (double) agrupadasAgora / total);
+    }
+
+    private Object liderar(Chave chave, CompletableFuture<Object> resultado, Supplier<?> leitura) {
+        executadas.increment();
+        try {
+            Object valor = leitura.get();
+            resultado.complete(valor);
+            return valor;
+        } catch (RuntimeException | Error e) {
+            erros.increment();
+            resultado.completeExceptionally(e);
+            throw e;
+        } finally {
+            emAndamento.remove(chave, resultado);
+        }
+    }
+
+    private void desligar(Set<String> recursos) {
+        emAndamento.keySet().removeIf(chave -> recursos.contains(chave.recurso()));
+    }
+
+    private record Chave(String recurso, List<Object> parametros) {
+    }
+
+    /**
+     * @param executadas  leituras que foram ao banco
+     * @param agrupadas   chamadas atendidas pela leitura de outra, sem ir ao banco
+     * @param expiradas   chamadas que cansaram de esperar e consultaram sozinhas
+     * @param erros       leituras que terminaram em exceção, repassada a quem esperava por elas
+     */
+    public record EstatisticasAgrupamento(boolean habilitado, long executadas, long agrupadas, long expiradas,
+                                          long erros, int emAndamento, double taxaAgrupamento) {
+    }
+}
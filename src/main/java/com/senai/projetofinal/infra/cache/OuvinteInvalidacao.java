@@ -0,0 +1,16 @@
+package com.senai.projetofinal.infra.cache;
+
+import java.util.Set;
+
+/**
+ * Cache em memória que precisa descartar dados quando o {@link BarramentoInvalidacao} anuncia uma
+ * escrita.
+ */
+public interface OuvinteInvalidacao {
+
+    /**
+     * @param recursos  recursos alterados, como {@link BarramentoInvalidacao#CURSOS}
+     * @param remota    {@code true} quando a escrita foi feita em outra instância da aplicação
+     */
+    void invalidar(Set<String> recursos, boolean remota);
+}
@@ -0,0 +1,83 @@
+package com.senai.projetofinal.infra.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Provedor do cache de segundo nível do Hibernate em memória, com cada região limitada por
+ * {@link ArmazenamentoRegiao}. Configurado em {@code hibernate.cache.region.factory_class}; o
+ * limite de entradas vem de {@code cache.regiao.tamanho-maximo} e pode ser trocado por região com
+ * {@code cache.regiao.<nome>.tamanho-maximo}. A região de timestamps nunca descarta entradas,
+ * senão o cache de consultas poderia devolver resultados de tabelas já alteradas.
+ */
+@Slf4j
+public class RegioesCacheFactory extends RegionFactoryTemplate {
+
+    static final String TAMANHO_MAXIMO = "cache.regiao.tamanho-maximo";
+
+    static final int TAMANHO_MAXIMO_PADRAO = 1000;
+
+    private final Map<String, ArmazenamentoRegiao> regioes = new ConcurrentHashMap<>();
+
+    private Map<String, Object> configuracao = Map.of();
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+        this.configuracao = configValues;
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        regioes.values().forEach(ArmazenamentoRegiao::release);
+        regioes.clear();
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                   DomainDataRegionBuildingContext buildingContext) {
+        return criar(regionConfig.getRegionName(), tamanhoMaximo(regionConfig.getRegionName()));
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        return criar(regionName, tamanhoMaximo(regionName));
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        return criar(regionName, 0);
+    }
+
+    public List<EstatisticasRegiao> estatisticas() {
+        return regioes.values().stream()
+                .map(ArmazenamentoRegiao::estatisticas)
+                .sorted(Comparator.comparing(EstatisticasRegiao::regiao))
+                .toList();
+    }
+
+    private ArmazenamentoRegiao criar(String nome, int tamanhoMaximo) {
+        if (tamanhoMaximo > 0) {
+            log.info("Região {} do cache de segundo nível limitada a {} entradas", nome, tamanhoMaximo);
+        } else {
+            log.info("Região {} do cache de segundo nível sem limite de entradas", nome);
+        }
+        return regioes.computeIfAbsent(nome, regiao -> new ArmazenamentoRegiao(regiao, tamanhoMaximo));
+    }
+
+    private int tamanhoMaximo(String regiao) {
+        Object valor = configuracao.getOrDefault("cache.regiao." + regiao + ".tamanho-maximo",
+                configuracao.getOrDefault(TAMANHO_MAXIMO, TAMANHO_MAXIMO_PADRAO));
+        return valor instanceof Number numero ? numero.intValue() : Integer.parseInt(valor.toString().trim());
+    }
+}
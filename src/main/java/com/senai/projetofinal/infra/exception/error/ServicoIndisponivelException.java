@@ -0,0 +1,17 @@
+package com.senai.projetofinal.infra.exception.error;
+
+import java.time.Duration;
+
+public class ServicoIndisponivelException extends RuntimeException {
+
+    private final Duration tentarNovamenteEm;
+
+    public ServicoIndisponivelException(String message, Duration tentarNovamenteEm) {
+        super(message);
+        this.tentarNovamenteEm = tentarNovamenteEm;
+    }
+
+    public Duration getTentarNovamenteEm() {
+        return tentarNovamenteEm;
+    }
+}
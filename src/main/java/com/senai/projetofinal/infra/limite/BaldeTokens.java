@@ -0,0 +1,57 @@
+package com.senai.projetofinal.infra.limite;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Balde de tokens sem lock, implementado como GCRA: em vez de guardar os tokens e o instante da
+ * última recarga, guarda só o instante teórico em que o balde estará cheio de novo, atualizado por
+ * compare-and-set. Cada requisição avança esse instante em {@code periodo / capacidade}; a
+ * requisição é recusada se ele passar de um {@code periodo} à frente do relógio.
+ */
+final class BaldeTokens {
+
+    private final int capacidade;
+
+    private final long intervaloNanos;
+
+    private final long toleranciaNanos;
+
+    private final AtomicLong cheioEm;
+
+    BaldeTokens(int capacidade, long periodoNanos, long agora) {
+        this.capacidade = capacidade;
+        this.intervaloNanos = Math.max(1, periodoNanos / capacidade);
+        this.toleranciaNanos = intervaloNanos * capacidade;
+        this.cheioEm = new AtomicLong(agora);
+    }
+
+    Consumo consumir(long agora) {
+        while (true) {
+            long atual = cheioEm.get();
+            long novo = Math.max(atual, agora) + intervaloNanos;
+            long ocupado = novo - agora;
+
+            if (ocupado > toleranciaNanos) {
+                return new Consumo(false, capacidade, 0, atual - agora, ocupado - toleranciaNanos);
+            }
+
+            if (cheioEm.compareAndSet(atual, novo)) {
+                return new Consumo(true, capacidade, (int) ((toleranciaNanos - ocupado) / intervaloNanos), ocupado, 0);
+            }
+        }
+    }
+
+    boolean cheio(long agora) {
+        return cheioEm.get() - agora <= 0;
+    }
+
+    /**
+     * @param aceito                requisição dentro do limite
+     * @param limite                capacidade do balde
+     * @param restantes             requisições que ainda cabem sem esperar
+     * @param cheioEmNanos          tempo até o balde encher de novo
+     * @param tentarNovamenteNanos  espera até a próxima requisição caber, quando recusada
+     */
+    record Consumo(boolean aceito, int limite, int restantes, long cheioEmNanos, long tentarNovamenteNanos) {
+    }
+}
@@ -0,0 +1,229 @@
+package com.senai.projetofinal.infra.limite;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Limite adaptativo de requisições simultâneas, no estilo do gradiente do Netflix
+ * concurrency-limits.
+ * <p>
+ * O limite é recalculado a cada requisição concluída comparando duas médias móveis da latência:
+ * uma curta, que reflete a carga atual, e uma longa, de referência. Enquanto a latência recente
+ * fica dentro da {@code tolerancia} o limite cresce devagar (raiz quadrada do limite por vez);
+ * quando ela sobe porque as requisições estão esperando por threads ou conexões do banco, o
+ * limite cai na proporção do aumento. Requisições além do limite são recusadas na entrada, em vez
+ * de aumentarem a fila. Se a concorrência medida estiver abaixo da metade do limite, a amostra não
+ * diz nada sobre a capacidade e o limite não muda. A estimativa é trocada inteira por
+ * compare-and-set, sem bloquear as threads que concluem requisições ao mesmo tempo.
+ * <p>
+ * Cada {@link PrioridadeRequisicao} só pode ocupar uma fração do limite, de forma que as de
+ * prioridade baixa são descartadas antes e sobra espaço para as de prioridade alta.
+ */
+@Component
+@Slf4j
+public class LimitadorConcorrencia {
+
+    private final LimiteConcorrenciaProperties properties;
+
+    private final LongSupplier relogio;
+
+    private final List<Regra> regrasAlta;
+
+    private final List<Regra> regrasBaixa;
+
+    private final List<Regra> regrasSemAmostra;
+
+    private final AtomicInteger emAndamento = new AtomicInteger();
+
+    private final Map<PrioridadeRequisicao, Contadores> contadores = new EnumMap<>(PrioridadeRequisicao.class);
+
+    private final AtomicReference<Estimativa> estimativa;
+
+    public LimitadorConcorrencia(LimiteConcorrenciaProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    LimitadorConcorrencia(LimiteConcorrenciaProperties properties, LongSupplier relogio) {
+        this.properties = properties;
+        this.relogio = relogio;
+        this.regrasAlta = properties.prioridadeAlta().stream().map(Regra::de).toList();
+        this.regrasBaixa = properties.prioridadeBaixa().stream().map(Regra::de).toList();
+        this.regrasSemAmostra = properties.semAmostra().stream().map(Regra::de).toList();
+        this.estimativa = new AtomicReference<>(new Estimativa(properties.limiteInicial(), 0, 0, 0));
+        for (PrioridadeRequisicao prioridade : PrioridadeRequisicao.values()) {
+            contadores.put(prioridade, new Contadores(new LongAdder(), new LongAdder()));
+        }
+        log.info("Limite de concorrência adaptativo {}: inicial {}, entre {} e {}",
+                properties.habilitado() ? "habilitado" : "desabilitado",
+                properties.limiteInicial(), properties.limiteMinimo(), properties.limiteMaximo());
+    }
+
+    public boolean isHabilitado() {
+        return properties.habilitado();
+    }
+
+    public PrioridadeRequisicao prioridadeDe(String metodo, String caminho) {
+        PathContainer path = PathContainer.parsePath(caminho);
+        if (regrasAlta.stream().anyMatch(regra -> regra.casa(metodo, path))) {
+            return PrioridadeRequisicao.ALTA;
+        }
+        if (regrasBaixa.stream().anyMatch(regra -> regra.casa(metodo, path))) {
+            return PrioridadeRequisicao.BAIXA;
+        }
+        return PrioridadeRequisicao.NORMAL;
+    }
+
+    public boolean amostrar(String metodo, String caminho) {
+        PathContainer path = PathContainer.parsePath(caminho);
+        return regrasSemAmostra.stream().noneMatch(regra -> regra.casa(metodo, path));
+    }
+
+    /**
+     * Reserva uma vaga para a requisição. Devolve {@code null} quando a prioridade dela já ocupa
+     * toda a sua fração do limite; caso contrário, a {@link Permissao} deve ser concluída ao fim
+     * da requisição.
+     */
+    public Permissao adquirir(PrioridadeRequisicao prioridade) {
+        int maximo = Math.max(1, (int) (getLimite() * properties.fracao(prioridade)));
+        Contadores contador = contadores.get(prioridade);
+
+        while (true) {
+            int atual = emAndamento.get();
+            if (atual >= maximo) {
+                contador.recusadas().increment();
+                return null;
+            }
+            if (emAndamento.compareAndSet(atual, atual + 1)) {
+                contador.aceitas().increment();
+                return new Permissao(relogio.getAsLong(), atual + 1);
+            }
+        }
+    }
+
+    public int getLimite() {
+        return (int) estimativa.get().limite();
+    }
+
+    public Estado estado() {
+        Map<PrioridadeRequisicao, LimitadorRequisicoes.Metricas> metricas = new LinkedHashMap<>();
+        contadores.forEach((prioridade, contador) -> metricas.put(prioridade,
+                new LimitadorRequisicoes.Metricas(contador.aceitas().sum(), contador.recusadas().sum())));
+        Estimativa atual = estimativa.get();
+        return new Estado((int) atual.limite(), emAndamento.get(), atual.amostras(), metricas);
+    }
+
+    void registrar(long latencia, int emAndamentoNoInicio) {
+        while (true) {
+            Estimativa atual = estimativa.get();
+            Estimativa nova = proxima(atual, latencia, emAndamentoNoInicio);
+            if (estimativa.compareAndSet(atual, nova)) {
+                if ((int) nova.limite() != (int) atual.limite()) {
+                    log.debug("Limite de concorrência {} -> {} (latência recente {} µs, referência {} µs)",
+                            (int) atual.limite(), (int) nova.limite(),
+                            (long) nova.latenciaCurta() / 1000, (long) nova.latenciaLonga() / 1000);
+                }
+                return;
+            }
+        }
+    }
+
+    private Estimativa proxima(Estimativa atual, long latencia, int emAndamentoNoInicio) {
+        long amostras = atual.amostras() + 1;
+        double latenciaCurta = latencia;
+        double latenciaLonga = latencia;
+        if (amostras > 1) {
+            latenciaCurta = atual.latenciaCurta()
+                    + (latencia - atual.latenciaCurta()) / Math.min(amostras, properties.janelaCurta());
+            latenciaLonga = atual.latenciaLonga()
+                    + (latencia - atual.latenciaLonga()) / Math.min(amostras, properties.janelaLonga());
+        }
+
+        // Depois de um período longo de lentidão a referência fica alta demais; ela desce aos poucos
+        // para o limite não voltar a crescer sobre uma latência que já não é a normal
+        if (latenciaLonga / latenciaCurta > 2) {
+            latenciaLonga *= 0.95;
+        }
+
+        double limite = atual.limite();
+        if (emAndamentoNoInicio >= limite / 2) {
+            double gradiente = Math.max(0.5, Math.min(1.0, properties.tolerancia() * latenciaLonga / latenciaCurta));
+            double novoLimite = limite * gradiente + Math.sqrt(limite);
+            novoLimite = limite * (1 - properties.suavizacao()) + novoLimite * properties.suavizacao();
+            limite = Math.max(properties.limiteMinimo(), Math.min(properties.limiteMaximo(), novoLimite));
+        }
+
+        return new Estimativa(limite, latenciaCurta, latenciaLonga, amostras);
+    }
+
+    /**
+     * Vaga ocupada por uma requisição em andamento.
+     */
+    public final class Permissao {
+
+        private final long inicio;
+
+        private final int emAndamentoNoInicio;
+
+        private boolean concluida;
+
+        private Permissao(long inicio, int emAndamentoNoInicio) {
+            this.inicio = inicio;
+            this.emAndamentoNoInicio = emAndamentoNoInicio;
+        }
+
+        /**
+         * Libera a vaga e, se {@code amostrar}, usa a latência da requisição para recalcular o
+         * limite. Requisições que não chegaram a fazer o trabalho normal (recusadas, servidas do
+         * cache) não devem ser amostradas, ou a latência de referência cai e o limite sobe demais.
+         */
+        public void concluir(boolean amostrar) {
+            if (concluida) {
+                return;
+            }
+            concluida = true;
+            emAndamento.decrementAndGet();
+            if (amostrar) {
+                registrar(relogio.getAsLong() - inicio, emAndamentoNoInicio);
+            }
+        }
+    }
+
+    /**
+     * @param amostras  requisições concluídas cuja latência entrou no cálculo do limite
+     */
+    public record Estado(int limite, int emAndamento, long amostras,
+                         Map<PrioridadeRequisicao, LimitadorRequisicoes.Metricas> prioridades) {
+    }
+
+    private record Contadores(LongAdder aceitas, LongAdder recusadas) {
+    }
+
+    private record Estimativa(double limite, double latenciaCurta, double latenciaLonga, long amostras) {
+    }
+
+    private record Regra(String metodo, PathPattern padrao) {
+
+        static Regra de(String regra) {
+            String[] partes = regra.trim().split("\\s+", 2);
+            return partes.length == 2
+                    ? new Regra(partes[0].toUpperCase(), PathPatternParser.defaultInstance.parse(partes[1]))
+                    : new Regra(null, PathPatternParser.defaultInstance.parse(partes[0]));
+        }
+
+        boolean casa(String metodo, PathContainer caminho) {
+            return (this.metodo == null || this.metodo.equalsIgnoreCase(metodo)) && padrao.matches(caminho);
+        }
+    }
+}
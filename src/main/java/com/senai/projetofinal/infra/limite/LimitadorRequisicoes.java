@@ -0,0 +1,126 @@
+package com.senai.projetofinal.infra.limite;
+
+import com.senai.projetofinal.datasource.entity.PapelEnum;
+import com.senai.projetofinal.infra.security.UsuarioAutenticado;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.server.PathContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Aplica os {@link LimiteRequisicoesProperties limites por grupo de endpoints} a cada usuário.
+ * <p>
+ * Os baldes ficam em um {@link ConcurrentHashMap} com chave (grupo, papel, usuário): a busca não
+ * trava e o consumo é um compare-and-set no próprio balde, então usuários diferentes nunca
+ * disputam o mesmo lock. Baldes que voltaram a ficar cheios são descartados periodicamente.
+ */
+@Component
+@Slf4j
+public class LimitadorRequisicoes {
+
+    private final List<GrupoLimitado> grupos;
+
+    private final Map<Chave, BaldeTokens> baldes = new ConcurrentHashMap<>();
+
+    private final LongSupplier relogio;
+
+    public LimitadorRequisicoes(LimiteRequisicoesProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    LimitadorRequisicoes(LimiteRequisicoesProperties properties, LongSupplier relogio) {
+        this.relogio = relogio;
+        this.grupos = properties.grupos().entrySet().stream()
+                .map(grupo -> new GrupoLimitado(grupo.getKey(), grupo.getValue(),
+                        grupo.getValue().caminhos().stream().map(PathPatternParser.defaultInstance::parse).toList()))
+                .toList();
+        grupos.forEach(grupo -> log.info("Limite de requisições do grupo {}: {} por {} ({} por papel) em {}",
+                grupo.nome(), grupo.config().capacidade(), grupo.config().periodo(),
+                grupo.config().capacidadePorPapel(), grupo.config().caminhos()));
+    }
+
+    /**
+     * Consome uma requisição do balde do usuário no grupo do caminho. Devolve {@code null} quando
+     * o caminho não pertence a nenhum grupo ou o papel do usuário não tem limite.
+     */
+    public BaldeTokens.Consumo consumir(String caminho, UsuarioAutenticado usuario) {
+        GrupoLimitado grupo = grupoDo(caminho);
+        if (grupo == null) {
+            return null;
+        }
+
+        int capacidade = grupo.config().capacidade(usuario.papel());
+        if (capacidade <= 0) {
+            return null;
+        }
+
+        long agora = relogio.getAsLong();
+        BaldeTokens balde = baldes.computeIfAbsent(new Chave(grupo.nome(), usuario.papel(), usuario.id()),
+                chave -> new BaldeTokens(capacidade, grupo.config().periodo().toNanos(), agora));
+        BaldeTokens.Consumo consumo = balde.consumir(agora);
+
+        if (consumo.aceito()) {
+            grupo.aceitas().increment();
+        } else {
+            grupo.recusadas().increment();
+            log.debug("Requisição do usuário {} recusada pelo limite do grupo {}", usuario.id(), grupo.nome());
+        }
+        return consumo;
+    }
+
+    public Map<String, Metricas> metricas() {
+        Map<String, Metricas> metricas = new LinkedHashMap<>();
+        grupos.forEach(grupo -> metricas.put(grupo.nome(),
+                new Metricas(grupo.aceitas().sum(), grupo.recusadas().sum())));
+        return metricas;
+    }
+
+    @Scheduled(fixedDelayString = "${limite.limpeza:PT5M}")
+    public void descartarBaldesCheios() {
+        long agora = relogio.getAsLong();
+        baldes.values().removeIf(balde -> balde.cheio(agora));
+    }
+
+    int quantidadeBaldes() {
+        return baldes.size();
+    }
+
+    private GrupoLimitado grupoDo(String caminho) {
+        if (grupos.isEmpty()) {
+            return null;
+        }
+
+        PathContainer path = PathContainer.parsePath(caminho);
+        for (GrupoLimitado grupo : grupos) {
+            for (PathPattern padrao : grupo.padroes()) {
+                if (padrao.matches(path)) {
+                    return grupo;
+                }
+            }
+        }
+        return null;
+    }
+
+    public record Metricas(long aceitas, long recusadas) {
+    }
+
+    private record Chave(String grupo, PapelEnum papel, Long usuarioId) {
+    }
+
+    private record GrupoLimitado(String nome, LimiteRequisicoesProperties.Grupo config, List<PathPattern> padroes,
+                                 LongAdder aceitas, LongAdder recusadas) {
+
+        GrupoLimitado(String nome, LimiteRequisicoesProperties.Grupo config, List<PathPattern> padroes) {
+            this(nome, config, padroes, new LongAdder(), new LongAdder());
+        }
+    }
+}
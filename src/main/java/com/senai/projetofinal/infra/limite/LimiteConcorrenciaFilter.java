@@ -0,0 +1,66 @@
+package com.senai.projetofinal.infra.limite;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Roda antes da autenticação e aplica o {@link LimitadorConcorrencia}: a requisição que não cabe
+ * no limite da sua prioridade recebe 503 com {@code Retry-After} imediatamente, sem decodificar
+ * o token nem ocupar uma conexão do banco. Só a latência das requisições que chegaram a um
+ * controller entra no cálculo do limite: as barradas na autenticação ou no limite por usuário e
+ * as servidas pelo cache de respostas terminam rápido demais para dizer algo sobre a capacidade.
+ */
+public class LimiteConcorrenciaFilter extends OncePerRequestFilter {
+
+    private final LimitadorConcorrencia limitador;
+
+    public LimiteConcorrenciaFilter(LimitadorConcorrencia limitador) {
+        this.limitador = limitador;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !limitador.isHabilitado();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String caminho = request.getRequestURI().substring(request.getContextPath().length());
+        LimitadorConcorrencia.Permissao permissao = limitador.adquirir(limitador.prioridadeDe(request.getMethod(), caminho));
+
+        if (permissao == null) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write("Servidor sobrecarregado, tente novamente em instantes");
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permissao.concluir(limitador.amostrar(request.getMethod(), caminho) && chegouAoController(request, response));
+        }
+    }
+
+    private static boolean chegouAoController(HttpServletRequest request, HttpServletResponse response) {
+        int status = response.getStatus();
+        return request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod
+                && status != HttpStatus.UNAUTHORIZED.value()
+                && status != HttpStatus.FORBIDDEN.value()
+                && status != HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+}
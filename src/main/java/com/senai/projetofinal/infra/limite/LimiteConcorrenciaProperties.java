@@ -0,0 +1,57 @@
+package com.senai.projetofinal.infra.limite;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Configuração do {@link LimitadorConcorrencia}. As regras de prioridade têm a forma
+ * {@code MÉTODO /caminho} ou só {@code /caminho} (qualquer método), por exemplo:
+ * <pre>
+ * concorrencia.prioridade-alta = POST /login, PUT /notas/**
+ * concorrencia.prioridade-baixa = GET /notas, GET /dashboard
+ * </pre>
+ * Requisições que não casam com nenhuma regra têm prioridade normal. As regras de
+ * {@code concorrencia.sem-amostra} têm a mesma forma e indicam requisições que ocupam vaga, mas cuja
+ * latência não entra no cálculo do limite, como o login, dominado pelo custo do BCrypt.
+ *
+ * @param limiteInicial  requisições simultâneas permitidas antes das primeiras medições
+ * @param tolerancia     quanto a latência recente pode superar a de referência sem reduzir o limite
+ * @param suavizacao     peso de cada novo cálculo sobre o limite atual
+ * @param janelaCurta    amostras na média da latência recente
+ * @param janelaLonga    amostras na média da latência de referência
+ * @param fracaoNormal   fração do limite que as requisições de prioridade normal podem ocupar
+ * @param fracaoBaixa    fração do limite que as requisições de prioridade baixa podem ocupar
+ */
+@ConfigurationProperties(prefix = "concorrencia")
+public record LimiteConcorrenciaProperties(
+        @DefaultValue("true") boolean habilitado,
+        @DefaultValue("20") int limiteInicial,
+        @DefaultValue("4") int limiteMinimo,
+        @DefaultValue("200") int limiteMaximo,
+        @DefaultValue("1.5") double tolerancia,
+        @DefaultValue("0.2") double suavizacao,
+        @DefaultValue("10") int janelaCurta,
+        @DefaultValue("600") int janelaLonga,
+        @DefaultValue("0.9") double fracaoNormal,
+        @DefaultValue("0.7") double fracaoBaixa,
+        List<String> prioridadeAlta,
+        List<String> prioridadeBaixa,
+        List<String> semAmostra
+) {
+
+    public LimiteConcorrenciaProperties {
+        prioridadeAlta = prioridadeAlta == null ? List.of() : prioridadeAlta;
+        prioridadeBaixa = prioridadeBaixa == null ? List.of() : prioridadeBaixa;
+        semAmostra = semAmostra == null ? List.of() : semAmostra;
+    }
+
+    double fracao(PrioridadeRequisicao prioridade) {
+        return switch (prioridade) {
+            case ALTA -> 1.0;
+            case NORMAL -> fracaoNormal;
+            case BAIXA -> fracaoBaixa;
+        };
+    }
+}
@@ -0,0 +1,74 @@
+package com.senai.projetofinal.infra.limite;
+
+import com.senai.projetofinal.infra.security.UsuarioAutenticado;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Roda depois da autenticação pelo JWT e aplica o {@link LimitadorRequisicoes} ao usuário da
+ * requisição. Responde com os cabeçalhos {@code RateLimit-Limit}, {@code RateLimit-Remaining} e
+ * {@code RateLimit-Reset} e, ao recusar, com 429 e {@code Retry-After}. Requisições anônimas
+ * passam direto: o login já é limitado pelo codificador de senhas.
+ */
+public class LimiteRequisicoesFilter extends OncePerRequestFilter {
+
+    static final String LIMITE = "RateLimit-Limit";
+
+    static final String RESTANTES = "RateLimit-Remaining";
+
+    static final String RESET = "RateLimit-Reset";
+
+    private final LimitadorRequisicoes limitador;
+
+    public LimiteRequisicoesFilter(LimitadorRequisicoes limitador) {
+        this.limitador = limitador;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+
+        if (autenticacao == null || !(autenticacao.getPrincipal() instanceof UsuarioAutenticado usuario)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        BaldeTokens.Consumo consumo = limitador.consumir(request.getRequestURI().substring(request.getContextPath().length()), usuario);
+        if (consumo == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        response.setHeader(LIMITE, String.valueOf(consumo.limite()));
+        response.setHeader(RESTANTES, String.valueOf(consumo.restantes()));
+        response.setHeader(RESET, String.valueOf(segundos(consumo.cheioEmNanos())));
+
+        if (!consumo.aceito()) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, segundos(consumo.tentarNovamenteNanos()))));
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write("Limite de requisições excedido, tente novamente em instantes");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private static long segundos(long nanos) {
+        return nanos <= 0 ? 0 : (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+}
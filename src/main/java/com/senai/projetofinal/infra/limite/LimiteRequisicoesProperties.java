@@ -0,0 +1,48 @@
+package com.senai.projetofinal.infra.limite;
+
+import com.senai.projetofinal.datasource.entity.PapelEnum;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Limites de requisições por grupo de endpoints, por exemplo:
+ * <pre>
+ * limite.grupos.notas.caminhos = /notas/**
+ * limite.grupos.notas.capacidade = 120
+ * limite.grupos.notas.periodo = PT1M
+ * limite.grupos.notas.capacidade-por-papel.ADMIN = 600
+ * </pre>
+ * Cada usuário tem um balde por grupo, com a capacidade do seu papel (ou a capacidade padrão do
+ * grupo) recarregada continuamente ao longo do período.
+ */
+@ConfigurationProperties(prefix = "limite")
+public record LimiteRequisicoesProperties(
+        @DefaultValue("PT5M") Duration limpeza,
+        Map<String, Grupo> grupos
+) {
+
+    public LimiteRequisicoesProperties {
+        grupos = grupos == null ? Map.of() : grupos;
+    }
+
+    public record Grupo(
+            List<String> caminhos,
+            int capacidade,
+            @DefaultValue("PT1M") Duration periodo,
+            Map<PapelEnum, Integer> capacidadePorPapel
+    ) {
+
+        public Grupo {
+            caminhos = caminhos == null ? List.of() : caminhos;
+            capacidadePorPapel = capacidadePorPapel == null ? Map.of() : capacidadePorPapel;
+        }
+
+        int capacidade(PapelEnum papel) {
+            return capacidadePorPapel.getOrDefault(papel, capacidade);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.senai.projetofinal.infra.limite;
+
+/**
+ * Classe de prioridade de uma requisição no {@link LimitadorConcorrencia}. Quanto menor a
+ * prioridade, menor a fração do limite de concorrência que a requisição pode ocupar, então as de
+ * baixa prioridade são descartadas primeiro quando o servidor satura.
+ */
+public enum PrioridadeRequisicao {
+    ALTA,
+    NORMAL,
+    BAIXA
+}
@@ -0,0 +1,169 @@
+package com.senai.projetofinal.infra.security;
+
+import com.senai.projetofinal.infra.cache.EstatisticasRegiao;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Guarda os JWTs já validados pelo {@link JwtDecoder} delegado, para que um mesmo token
+ * não tenha a assinatura verificada a cada requisição.
+ * <p>
+ * A chave é o hash SHA-256 do token. Cada entrada vale até o menor entre o {@code exp}
+ * do token e o TTL configurado, e a cache descarta a entrada menos usada ao atingir
+ * o tamanho máximo. As entradas ficam divididas em segmentos pelo hash da chave, cada um com
+ * seu próprio lock, como no {@link com.senai.projetofinal.infra.cache.ArmazenamentoRegiao},
+ * para que as requisições autenticadas não disputem um único monitor.
+ */
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private static final int SEGMENTOS = 16;
+
+    private final JwtDecoder delegate;
+
+    private final int tamanhoMaximo;
+
+    private final Duration ttl;
+
+    private final Clock clock;
+
+    private final Segmento[] segmentos;
+
+    private final LongAdder acertos = new LongAdder();
+
+    private final LongAdder falhas = new LongAdder();
+
+    private final LongAdder despejos = new LongAdder();
+
+    public CachingJwtDecoder(JwtDecoder delegate, int tamanhoMaximo, Duration ttl) {
+        this(delegate, tamanhoMaximo, ttl, Clock.systemUTC());
+    }
+
+    CachingJwtDecoder(JwtDecoder delegate, int tamanhoMaximo, Duration ttl, Clock clock) {
+        this.delegate = delegate;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.ttl = ttl;
+        this.clock = clock;
+
+        // Caches pequenas ficam em um segmento só, para o limite não ser dividido em pedaços de poucas entradas
+        int quantidade = tamanhoMaximo >= SEGMENTOS * 64 ? SEGMENTOS : 1;
+        this.segmentos = new Segmento[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            segmentos[i] = new Segmento(tamanhoMaximo / quantidade + (i < tamanhoMaximo % quantidade ? 1 : 0));
+        }
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String chave = hash(token);
+        Instant agora = clock.instant();
+        Segmento segmento = segmento(chave);
+
+        Entrada entrada = segmento.obter(chave, agora);
+        if (entrada != null) {
+            acertos.increment();
+            return entrada.jwt();
+        }
+
+        falhas.increment();
+        Jwt jwt = delegate.decode(token);
+
+        Instant validaAte = agora.plus(ttl);
+        if (jwt.getExpiresAt() != null && jwt.getExpiresAt().isBefore(validaAte)) {
+            validaAte = jwt.getExpiresAt();
+        }
+
+        if (agora.isBefore(validaAte)) {
+            segmento.colocar(chave, new Entrada(jwt, validaAte));
+        }
+
+        return jwt;
+    }
+
+    public long getAcertos() {
+        return acertos.sum();
+    }
+
+    public long getFalhas() {
+        return falhas.sum();
+    }
+
+    public int getTamanho() {
+        int tamanho = 0;
+        for (Segmento segmento : segmentos) {
+            tamanho += segmento.tamanho();
+        }
+        return tamanho;
+    }
+
+    public EstatisticasRegiao estatisticas() {
+        long acertosAgora = acertos.sum();
+        long falhasAgora = falhas.sum();
+        return new EstatisticasRegiao("jwt", getTamanho(), tamanhoMaximo, acertosAgora, falhasAgora, despejos.sum(),
+                acertosAgora + falhasAgora == 0 ? 0 : (double) acertosAgora / (acertosAgora + falhasAgora));
+    }
+
+    private Segmento segmento(String chave) {
+        int hash = chave.hashCode();
+        return segmentos[((hash ^ (hash >>> 16)) & 0x7fffffff) % segmentos.length];
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 não disponível", e);
+        }
+    }
+
+    private record Entrada(Jwt jwt, Instant validaAte) {
+    }
+
+    private final class Segmento {
+
+        private final LinkedHashMap<String, Entrada> entradas;
+
+        Segmento(int limite) {
+            this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entrada> maisAntiga) {
+                    if (size() > limite) {
+                        despejos.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        synchronized Entrada obter(String chave, Instant agora) {
+            Entrada entrada = entradas.get(chave);
+            if (entrada != null && !agora.isBefore(entrada.validaAte())) {
+                entradas.remove(chave);
+                return null;
+            }
+            return entrada;
+        }
+
+        synchronized void colocar(String chave, Entrada entrada) {
+            entradas.put(chave, entrada);
+        }
+
+        synchronized int tamanho() {
+            return entradas.size();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.senai.projetofinal.infra.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Escolhe o custo do BCrypt para o hardware em que a aplicação está rodando: mede uma
+ * verificação no custo mínimo e sobe o custo enquanto a estimativa, que dobra a cada nível,
+ * couber no orçamento de latência.
+ */
+@Slf4j
+public class CalibradorBCrypt {
+
+    static final int CUSTO_MAXIMO = 20;
+
+    private static final String SENHA_CALIBRACAO = "calibracao-bcrypt";
+
+    private final IntToLongFunction medirNanos;
+
+    public CalibradorBCrypt() {
+        this(CalibradorBCrypt::medir);
+    }
+
+    CalibradorBCrypt(IntToLongFunction medirNanos) {
+        this.medirNanos = medirNanos;
+    }
+
+    public int calibrar(int custoMinimo, Duration orcamento) {
+        long nanos = medirNanos.applyAsLong(custoMinimo);
+        int custo = custoMinimo;
+
+        while (custo < CUSTO_MAXIMO && nanos * 2 <= orcamento.toNanos()) {
+            custo++;
+            nanos *= 2;
+        }
+
+        log.info("Custo do BCrypt calibrado em {} (verificação estimada em {} ms, orçamento de {} ms)",
+                custo, nanos / 1_000_000, orcamento.toMillis());
+        return custo;
+    }
+
+    private static long medir(int custo) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(custo);
+        String senhaCodificada = encoder.encode(SENHA_CALIBRACAO);
+
+        long melhor = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long inicio = System.nanoTime();
+            encoder.matches(SENHA_CALIBRACAO, senhaCodificada);
+            melhor = Math.min(melhor, System.nanoTime() - inicio);
+        }
+        return melhor;
+    }
+}
@@ -0,0 +1,194 @@
+package com.senai.projetofinal.infra.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.KeySpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Chaves usadas para assinar e validar os JWTs.
+ * <p>
+ * Os tokens são assinados com a chave atual no algoritmo configurado (RS256 ou ES256) e levam no
+ * cabeçalho o {@code kid} da chave, o thumbprint RFC 7638. A validação aceita a chave atual e as
+ * chaves públicas anteriores, então trocar a chave não invalida os tokens já emitidos: a chave
+ * antiga fica em {@code jwt.chaves-anteriores} até o último token assinado com ela expirar.
+ * Um par ES256 pode ser gerado com:
+ * <pre>
+ * openssl ecparam -name prime256v1 -genkey -noout | openssl pkcs8 -topk8 -nocrypt -out app-ec.key
+ * openssl ec -in app-ec.key -pubout -out app-ec.pub
+ * </pre>
+ */
+@Slf4j
+public class ChavesJwt {
+
+    private static final Set<JWSAlgorithm> ALGORITMOS_ACEITOS = Set.of(JWSAlgorithm.RS256, JWSAlgorithm.ES256);
+
+    @Getter
+    private final SignatureAlgorithm algoritmo;
+
+    private final JWK chaveAtual;
+
+    private final JWKSet chavesPublicas;
+
+    public ChavesJwt(SignatureAlgorithm algoritmo, KeyPair chaveAtual, List<PublicKey> chavesAnteriores) {
+        if (algoritmo != SignatureAlgorithm.RS256 && algoritmo != SignatureAlgorithm.ES256) {
+            throw new IllegalStateException("Algoritmo de assinatura do JWT não suportado: " + algoritmo);
+        }
+
+        this.algoritmo = algoritmo;
+        this.chaveAtual = jwk(algoritmo, chaveAtual.getPublic(), chaveAtual.getPrivate());
+
+        List<JWK> publicas = new ArrayList<>();
+        publicas.add(this.chaveAtual.toPublicJWK());
+        for (PublicKey anterior : chavesAnteriores) {
+            JWK jwk = jwk(algoritmoDa(anterior), anterior, null);
+            if (publicas.stream().noneMatch(chave -> chave.getKeyID().equals(jwk.getKeyID()))) {
+                publicas.add(jwk);
+            }
+        }
+        this.chavesPublicas = new JWKSet(publicas);
+
+        log.info("JWT assinado com {} pela chave {}, {} chave(s) aceita(s) na validação",
+                algoritmo, this.chaveAtual.getKeyID(), publicas.size());
+    }
+
+    public static ChavesJwt carregar(String algoritmo, Resource chavePublica, Resource chavePrivada,
+                                     String[] chavesAnteriores) {
+        SignatureAlgorithm assinatura = SignatureAlgorithm.from(algoritmo.trim().toUpperCase());
+        if (assinatura == null) {
+            throw new IllegalStateException("Algoritmo de assinatura do JWT desconhecido: " + algoritmo);
+        }
+
+        String tipo = assinatura == SignatureAlgorithm.ES256 ? "EC" : "RSA";
+        KeyPair atual = new KeyPair(
+                (PublicKey) lerChave(chavePublica, tipo, true),
+                (PrivateKey) lerChave(chavePrivada, tipo, false)
+        );
+
+        ResourceLoader resourceLoader = new DefaultResourceLoader();
+        List<PublicKey> anteriores = new ArrayList<>();
+        for (String local : chavesAnteriores) {
+            if (local.isBlank()) {
+                continue;
+            }
+            Resource recurso = resourceLoader.getResource(local.trim());
+            anteriores.add(lerChavePublica(recurso));
+        }
+
+        return new ChavesJwt(assinatura, atual, anteriores);
+    }
+
+    public JwtEncoder encoder() {
+        return new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(chaveAtual)));
+    }
+
+    public JwtDecoder decoder() {
+        DefaultJWTProcessor<SecurityContext> processador = new DefaultJWTProcessor<>();
+        processador.setJWSKeySelector(new JWSVerificationKeySelector<>(
+                ALGORITMOS_ACEITOS, new ImmutableJWKSet<>(chavesPublicas)));
+        // As claims são validadas pelos validadores do NimbusJwtDecoder, como no NimbusJwtDecoder.withPublicKey
+        processador.setJWTClaimsSetVerifier((claims, contexto) -> {
+        });
+        return new NimbusJwtDecoder(processador);
+    }
+
+    public JwsHeader cabecalho() {
+        return JwsHeader.with(algoritmo).build();
+    }
+
+    public Map<String, Object> chavesPublicas() {
+        return chavesPublicas.toJSONObject(true);
+    }
+
+    private static JWK jwk(SignatureAlgorithm algoritmo, PublicKey publica, PrivateKey privada) {
+        try {
+            if (algoritmo == SignatureAlgorithm.RS256 && publica instanceof RSAPublicKey rsa
+                    && (privada == null || privada instanceof RSAPrivateKey)) {
+                RSAKey.Builder chave = new RSAKey.Builder(rsa)
+                        .keyUse(KeyUse.SIGNATURE)
+                        .algorithm(JWSAlgorithm.RS256)
+                        .keyIDFromThumbprint();
+                return privada == null ? chave.build() : chave.privateKey(privada).build();
+            }
+
+            if (algoritmo == SignatureAlgorithm.ES256 && publica instanceof ECPublicKey ec
+                    && (privada == null || privada instanceof ECPrivateKey)
+                    && Curve.P_256.equals(Curve.forECParameterSpec(ec.getParams()))) {
+                ECKey.Builder chave = new ECKey.Builder(Curve.P_256, ec)
+                        .keyUse(KeyUse.SIGNATURE)
+                        .algorithm(JWSAlgorithm.ES256)
+                        .keyIDFromThumbprint();
+                return privada == null ? chave.build() : chave.privateKey(privada).build();
+            }
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Não foi possível calcular o kid da chave do JWT", e);
+        }
+
+        throw new IllegalStateException("Chave do JWT incompatível com o algoritmo " + algoritmo);
+    }
+
+    private static SignatureAlgorithm algoritmoDa(PublicKey chave) {
+        return chave instanceof ECPublicKey ? SignatureAlgorithm.ES256 : SignatureAlgorithm.RS256;
+    }
+
+    private static PublicKey lerChavePublica(Resource recurso) {
+        try {
+            return (PublicKey) lerChave(recurso, "RSA", true);
+        } catch (IllegalStateException e) {
+            return (PublicKey) lerChave(recurso, "EC", true);
+        }
+    }
+
+    private static Object lerChave(Resource recurso, String tipo, boolean publica) {
+        try {
+            String pem = recurso.getContentAsString(StandardCharsets.UTF_8)
+                    .replaceAll("-----[A-Z ]+-----", "")
+                    .replaceAll("\\s", "");
+            byte[] der = Base64.getDecoder().decode(pem);
+            KeyFactory fabrica = KeyFactory.getInstance(tipo);
+            KeySpec spec = publica ? new X509EncodedKeySpec(der) : new PKCS8EncodedKeySpec(der);
+            return publica ? fabrica.generatePublic(spec) : fabrica.generatePrivate(spec);
+        } catch (IOException | GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Não foi possível ler a chave " + tipo + " do JWT em " + recurso, e);
+        }
+    }
+}
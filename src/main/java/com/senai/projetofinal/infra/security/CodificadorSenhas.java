@@ -0,0 +1,143 @@
+package com.senai.projetofinal.infra.security;
+
+import com.senai.projetofinal.infra.exception.error.ServicoIndisponivelException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Codifica e verifica senhas com BCrypt em um pool fixo de threads, por padrão do tamanho do
+ * número de processadores, para que o custo do BCrypt não ocupe as threads de requisição.
+ * <p>
+ * A fila do pool é limitada. Quando está cheia, {@link #verificar} e {@link #codificar(String)}
+ * recusam na hora com {@link ServicoIndisponivelException}, e o login responde 503 em vez de
+ * enfileirar mais trabalho. {@link #codificar(List)}, usado nas importações em lote, roda em um
+ * pool separado, por padrão com metade dos processadores, para que uma importação grande não ocupe
+ * a fila dos logins. Ele não é recusado: a senha que não couber na fila do lote é codificada na
+ * própria thread que chamou.
+ */
+@Component
+@Slf4j
+public class CodificadorSenhas implements DisposableBean {
+
+    private final BCryptPasswordEncoder bCryptPasswordEncoder;
+
+    private final ThreadPoolExecutor executor;
+
+    private final ThreadPoolExecutor executorLote;
+
+    private final Duration tentarNovamenteEm;
+
+    private final LongAdder recusadas = new LongAdder();
+
+    public CodificadorSenhas(BCryptPasswordEncoder bCryptPasswordEncoder,
+                             @Value("${senha.codificacao.threads:0}") int threads,
+                             @Value("${senha.codificacao.fila:64}") int fila,
+                             @Value("${senha.codificacao.lote.threads:0}") int threadsLote,
+                             @Value("${senha.codificacao.lote.fila:256}") int filaLote,
+                             @Value("${senha.codificacao.retry-after:PT1S}") Duration tentarNovamenteEm) {
+        int processadores = Runtime.getRuntime().availableProcessors();
+        int tamanho = threads > 0 ? threads : processadores;
+        int tamanhoLote = threadsLote > 0 ? threadsLote : Math.max(1, processadores / 2);
+
+        this.bCryptPasswordEncoder = bCryptPasswordEncoder;
+        this.tentarNovamenteEm = tentarNovamenteEm;
+        this.executor = new ThreadPoolExecutor(tamanho, tamanho, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fila), fabrica("codificador-senhas-"), new ThreadPoolExecutor.AbortPolicy());
+        this.executorLote = new ThreadPoolExecutor(tamanhoLote, tamanhoLote, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(filaLote), fabrica("codificador-senhas-lote-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        log.info("Codificador de senhas com {} threads e fila de {}, lotes com {} threads e fila de {}",
+                tamanho, fila, tamanhoLote, filaLote);
+    }
+
+    public boolean verificar(String senha, String senhaCodificada) {
+        return executar(() -> bCryptPasswordEncoder.matches(senha, senhaCodificada));
+    }
+
+    public String codificar(String senha) {
+        return executar(() -> bCryptPasswordEncoder.encode(senha));
+    }
+
+    public boolean precisaRecodificar(String senhaCodificada) {
+        return bCryptPasswordEncoder.upgradeEncoding(senhaCodificada);
+    }
+
+    public List<String> codificar(List<String> senhas) {
+        List<CompletableFuture<String>> codificadas = new ArrayList<>(senhas.size());
+        for (String senha : senhas) {
+            codificadas.add(CompletableFuture.supplyAsync(() -> bCryptPasswordEncoder.encode(senha), executorLote));
+        }
+
+        return codificadas.stream()
+                .map(CodificadorSenhas::aguardar)
+                .toList();
+    }
+
+    private <T> T executar(Supplier<T> tarefa) {
+        CompletableFuture<T> execucao;
+        try {
+            execucao = CompletableFuture.supplyAsync(tarefa, executor);
+        } catch (RejectedExecutionException e) {
+            recusadas.increment();
+            log.warn("Fila do codificador de senhas cheia, tarefa recusada ({} recusadas até agora)", recusadas.sum());
+            throw new ServicoIndisponivelException("Servidor ocupado, tente novamente em instantes", tentarNovamenteEm);
+        }
+
+        return aguardar(execucao);
+    }
+
+    // join() embrulha o erro da tarefa em CompletionException; quem chamou deve receber o erro original
+    private static <T> T aguardar(CompletableFuture<T> execucao) {
+        try {
+            return execucao.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException erro) {
+                throw erro;
+            }
+            if (e.getCause() instanceof Error erro) {
+                throw erro;
+            }
+            throw e;
+        }
+    }
+
+    private static ThreadFactory fabrica(String prefixo) {
+        AtomicInteger contador = new AtomicInteger();
+        return tarefa -> {
+            Thread thread = new Thread(tarefa, prefixo + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public long getRecusadas() {
+        return recusadas.sum();
+    }
+
+    int tamanhoFila() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+        executorLote.shutdown();
+    }
+}
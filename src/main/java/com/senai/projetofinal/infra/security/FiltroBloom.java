@@ -0,0 +1,79 @@
+package com.senai.projetofinal.infra.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de tamanho fixo sobre hashes de 64 bits. Não tem falsos negativos: se
+ * {@link #talvezContenha(long)} devolve {@code false}, o valor nunca foi adicionado. As posições
+ * dos bits vêm de dois hashes de 32 bits combinados (Kirsch-Mitzenmacher).
+ */
+final class FiltroBloom {
+
+    private final AtomicLongArray bits;
+
+    private final int totalBits;
+
+    private final int funcoes;
+
+    FiltroBloom(int capacidade, double falsosPositivos) {
+        int n = Math.max(capacidade, 1);
+        double ln2 = Math.log(2);
+        long m = (long) Math.ceil(-n * Math.log(falsosPositivos) / (ln2 * ln2));
+        this.totalBits = (int) Math.max(64, Math.min(m, Integer.MAX_VALUE - 64));
+        this.bits = new AtomicLongArray((totalBits + 63) >>> 6);
+        this.funcoes = Math.max(1, (int) Math.round((double) totalBits / n * ln2));
+    }
+
+    void adicionar(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= funcoes; i++) {
+            int bit = posicao(h1 + i * h2);
+            long mascara = 1L << bit;
+            bits.getAndAccumulate(bit >>> 6, mascara, (atual, novo) -> atual | novo);
+        }
+    }
+
+    boolean talvezContenha(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= funcoes; i++) {
+            int bit = posicao(h1 + i * h2);
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int getTotalBits() {
+        return totalBits;
+    }
+
+    private int posicao(int combinado) {
+        return (combinado < 0 ? ~combinado : combinado) % totalBits;
+    }
+
+    static long hash(CharSequence valor) {
+        // FNV-1a de 64 bits seguido da finalização do MurmurHash3 para espalhar os bits
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < valor.length(); i++) {
+            hash ^= valor.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return misturar(hash);
+    }
+
+    static long hash(long valor) {
+        return misturar(valor ^ 0x9e3779b97f4a7c15L);
+    }
+
+    private static long misturar(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
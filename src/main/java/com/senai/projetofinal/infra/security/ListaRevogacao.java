@@ -0,0 +1,125 @@
+package com.senai.projetofinal.infra.security;
+
+import com.senai.projetofinal.datasource.entity.TokenRevogadoEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tokens revogados, consultados em memória a cada requisição.
+ * <p>
+ * Um token é revogado pelo {@code jti} (logout) ou pelo usuário, caso em que todos os tokens dele
+ * emitidos até o instante da revogação deixam de valer (troca de senha). A consulta passa primeiro
+ * por um {@link FiltroBloom}: quase todos os tokens não estão revogados e são liberados sem tocar
+ * nos mapas exatos, que só confirmam os positivos. As revogações saem da lista quando o último
+ * token afetado expira; como o filtro não remove valores, ele é reconstruído na poda.
+ */
+@Component
+@Slf4j
+public class ListaRevogacao {
+
+    static final double FALSOS_POSITIVOS = 0.01;
+
+    private final int capacidadeMinima;
+
+    private final Map<String, Instant> tokens = new ConcurrentHashMap<>();
+
+    private final Map<Long, RevogacaoUsuario> usuarios = new ConcurrentHashMap<>();
+
+    private volatile FiltroBloom filtro;
+
+    public ListaRevogacao(@Value("${jwt.revogacao.capacidade:10000}") int capacidadeMinima) {
+        this.capacidadeMinima = capacidadeMinima;
+        this.filtro = new FiltroBloom(capacidadeMinima, FALSOS_POSITIVOS);
+    }
+
+    public boolean revogado(Jwt jwt) {
+        return revogado(jwt.getId(), Long.valueOf(jwt.getSubject()), jwt.getIssuedAt());
+    }
+
+    boolean revogado(String jti, Long usuarioId, Instant emitidoEm) {
+        FiltroBloom filtroAtual = filtro;
+
+        if (jti != null && filtroAtual.talvezContenha(FiltroBloom.hash(jti)) && tokens.containsKey(jti)) {
+            return true;
+        }
+
+        if (usuarioId != null && filtroAtual.talvezContenha(FiltroBloom.hash(usuarioId))) {
+            RevogacaoUsuario revogacao = usuarios.get(usuarioId);
+            return revogacao != null && (emitidoEm == null || emitidoEm.isBefore(revogacao.revogadoEm()));
+        }
+
+        return false;
+    }
+
+    public synchronized void revogarToken(String jti, Instant expiraEm) {
+        tokens.merge(jti, expiraEm, (atual, nova) -> atual.isAfter(nova) ? atual : nova);
+        filtro.adicionar(FiltroBloom.hash(jti));
+        redimensionarSeNecessario();
+    }
+
+    public synchronized void revogarUsuario(Long usuarioId, Instant revogadoEm, Instant expiraEm) {
+        usuarios.merge(usuarioId, new RevogacaoUsuario(revogadoEm, expiraEm), RevogacaoUsuario::maisRecente);
+        filtro.adicionar(FiltroBloom.hash(usuarioId));
+        redimensionarSeNecessario();
+    }
+
+    public void registrar(TokenRevogadoEntity revogacao) {
+        if (revogacao.getJti() != null) {
+            revogarToken(revogacao.getJti(), revogacao.getExpiraEm());
+        } else {
+            revogarUsuario(revogacao.getUsuarioId(), revogacao.getRevogadoEm(), revogacao.getExpiraEm());
+        }
+    }
+
+    /**
+     * Remove as revogações cujos tokens já expiraram e reconstrói o filtro só com as restantes.
+     */
+    public synchronized void podar(Instant agora) {
+        int antes = tamanho();
+        tokens.values().removeIf(expiraEm -> !expiraEm.isAfter(agora));
+        usuarios.values().removeIf(revogacao -> !revogacao.expiraEm().isAfter(agora));
+        reconstruirFiltro();
+
+        if (antes != tamanho()) {
+            log.info("{} revogações de token expiradas removidas, {} ativas", antes - tamanho(), tamanho());
+        }
+    }
+
+    public int tamanho() {
+        return tokens.size() + usuarios.size();
+    }
+
+    private void redimensionarSeNecessario() {
+        if (tamanho() > capacidadeFiltro()) {
+            reconstruirFiltro();
+        }
+    }
+
+    private void reconstruirFiltro() {
+        FiltroBloom novo = new FiltroBloom(Math.max(capacidadeMinima, tamanho() * 2), FALSOS_POSITIVOS);
+        tokens.keySet().forEach(jti -> novo.adicionar(FiltroBloom.hash(jti)));
+        usuarios.keySet().forEach(usuarioId -> novo.adicionar(FiltroBloom.hash(usuarioId)));
+        filtro = novo;
+    }
+
+    private int capacidadeFiltro() {
+        // Inverso do dimensionamento do FiltroBloom: m = -n ln(p) / ln(2)^2
+        double ln2 = Math.log(2);
+        return (int) (filtro.getTotalBits() * ln2 * ln2 / -Math.log(FALSOS_POSITIVOS));
+    }
+
+    private record RevogacaoUsuario(Instant revogadoEm, Instant expiraEm) {
+
+        RevogacaoUsuario maisRecente(RevogacaoUsuario outra) {
+            return new RevogacaoUsuario(
+                    revogadoEm.isAfter(outra.revogadoEm) ? revogadoEm : outra.revogadoEm,
+                    expiraEm.isAfter(outra.expiraEm) ? expiraEm : outra.expiraEm);
+        }
+    }
+}
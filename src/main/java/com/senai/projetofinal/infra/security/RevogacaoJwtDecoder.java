@@ -0,0 +1,33 @@
+package com.senai.projetofinal.infra.security;
+
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * Recusa os tokens revogados depois da validação do {@link JwtDecoder} delegado. Fica por fora do
+ * {@link CachingJwtDecoder} para que um token revogado já presente na cache também seja recusado.
+ */
+public class RevogacaoJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+
+    private final ListaRevogacao listaRevogacao;
+
+    public RevogacaoJwtDecoder(JwtDecoder delegate, ListaRevogacao listaRevogacao) {
+        this.delegate = delegate;
+        this.listaRevogacao = listaRevogacao;
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        Jwt jwt = delegate.decode(token);
+
+        if (listaRevogacao.revogado(jwt)) {
+            throw new BadJwtException("Token revogado");
+        }
+
+        return jwt;
+    }
+}
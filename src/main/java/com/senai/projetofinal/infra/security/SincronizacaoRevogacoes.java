@@ -0,0 +1,81 @@
+package com.senai.projetofinal.infra.security;
+
+import com.senai.projetofinal.datasource.entity.TokenRevogadoEntity;
+import com.senai.projetofinal.datasource.repository.TokenRevogadoRepository;
+import com.senai.projetofinal.infra.cache.BarramentoInvalidacao;
+import com.senai.projetofinal.infra.cache.OuvinteInvalidacao;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Mantém a {@link ListaRevogacao} desta instância igual à tabela {@code token_revogado}.
+ * <p>
+ * A lista é carregada inteira na subida. Depois, quando o {@link BarramentoInvalidacao} avisa que
+ * outra instância revogou tokens, são lidas as linhas revogadas desde a última leitura, menos
+ * {@code jwt.revogacao.margem-recarga} para cobrir transações confirmadas fora de ordem e relógios
+ * diferentes entre as instâncias. Se a escuta do barramento cair, a reconexão avisa todos os
+ * recursos e a leitura cobre tudo o que foi revogado durante a queda. Como uma falha na leitura
+ * não avança o marco, a próxima recarga tenta de novo o mesmo intervalo.
+ */
+@Component
+@Slf4j
+public class SincronizacaoRevogacoes implements OuvinteInvalidacao {
+
+    private final TokenRevogadoRepository repository;
+
+    private final ListaRevogacao listaRevogacao;
+
+    private final Duration margem;
+
+    private final Clock relogio;
+
+    private Instant ultimaLeitura;
+
+    @Autowired
+    public SincronizacaoRevogacoes(TokenRevogadoRepository repository, ListaRevogacao listaRevogacao,
+                                   @Value("${jwt.revogacao.margem-recarga:PT1M}") Duration margem) {
+        this(repository, listaRevogacao, margem, Clock.systemUTC());
+    }
+
+    SincronizacaoRevogacoes(TokenRevogadoRepository repository, ListaRevogacao listaRevogacao, Duration margem,
+                            Clock relogio) {
+        this.repository = repository;
+        this.listaRevogacao = listaRevogacao;
+        this.margem = margem;
+        this.relogio = relogio;
+    }
+
+    @PostConstruct
+    public synchronized void carregar() {
+        Instant agora = relogio.instant();
+        List<TokenRevogadoEntity> revogacoes = repository.findByExpiraEmAfter(agora);
+        revogacoes.forEach(listaRevogacao::registrar);
+        ultimaLeitura = agora;
+        log.info("{} revogações de token ativas carregadas", revogacoes.size());
+    }
+
+    @Override
+    public void invalidar(Set<String> recursos, boolean remota) {
+        // As revogações locais já entraram na lista quando foram gravadas
+        if (remota && recursos.contains(BarramentoInvalidacao.REVOGACOES)) {
+            recarregar();
+        }
+    }
+
+    synchronized void recarregar() {
+        Instant agora = relogio.instant();
+        List<TokenRevogadoEntity> revogacoes = repository.findRevogadosDesde(ultimaLeitura.minus(margem), agora);
+        revogacoes.forEach(listaRevogacao::registrar);
+        ultimaLeitura = agora;
+        log.debug("{} revogações de token lidas de outras instâncias", revogacoes.size());
+    }
+}
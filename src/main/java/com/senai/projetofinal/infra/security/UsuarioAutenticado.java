@@ -0,0 +1,48 @@
+package com.senai.projetofinal.infra.security;
+
+import com.senai.projetofinal.datasource.entity.PapelEnum;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.Arrays;
+
+/**
+ * Usuário da requisição atual, montado uma única vez a partir do JWT já validado
+ * pelo filtro do resource server.
+ * <p>
+ * {@code alunoId} e {@code docenteId} vêm dos claims {@code aluno_id} e {@code docente_id},
+ * presentes quando o usuário tem esse perfil, e permitem checar se um recurso é do próprio
+ * usuário sem consultar o banco. São nulos em tokens emitidos antes desses claims existirem.
+ */
+public record UsuarioAutenticado(
+        Long id,
+        PapelEnum papel,
+        Long alunoId,
+        Long docenteId
+) {
+
+    public static final String CLAIM_ALUNO = "aluno_id";
+
+    public static final String CLAIM_DOCENTE = "docente_id";
+
+    public UsuarioAutenticado(Long id, PapelEnum papel) {
+        this(id, papel, null, null);
+    }
+
+    public static UsuarioAutenticado from(Jwt jwt) {
+        return new UsuarioAutenticado(
+                Long.valueOf(jwt.getSubject()),
+                PapelEnum.fromNome(jwt.getClaimAsString("scope")),
+                idDoClaim(jwt, CLAIM_ALUNO),
+                idDoClaim(jwt, CLAIM_DOCENTE)
+        );
+    }
+
+    public boolean possuiPapel(PapelEnum... papeis) {
+        return Arrays.asList(papeis).contains(papel);
+    }
+
+    private static Long idDoClaim(Jwt jwt, String claim) {
+        Object valor = jwt.getClaims().get(claim);
+        return valor instanceof Number numero ? numero.longValue() : null;
+    }
+}
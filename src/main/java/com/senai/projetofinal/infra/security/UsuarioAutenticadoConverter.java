@@ -0,0 +1,28 @@
+package com.senai.projetofinal.infra.security;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.List;
+
+/**
+ * Converte o JWT validado em um {@link UsuarioAutenticadoToken}, para que controllers e services
+ * recebam o usuário sem decodificar o token novamente.
+ * <p>
+ * O claim {@code scope} vira a authority {@code ROLE_<PAPEL>}, usada pelas regras
+ * {@code @PreAuthorize("hasRole(...)")} dos controllers.
+ */
+public class UsuarioAutenticadoConverter implements Converter<Jwt, AbstractAuthenticationToken> {
+
+    @Override
+    public AbstractAuthenticationToken convert(Jwt jwt) {
+        UsuarioAutenticado usuario = UsuarioAutenticado.from(jwt);
+        return new UsuarioAutenticadoToken(
+                usuario,
+                jwt,
+                List.of(new SimpleGrantedAuthority("ROLE_" + usuario.papel().name()))
+        );
+    }
+}
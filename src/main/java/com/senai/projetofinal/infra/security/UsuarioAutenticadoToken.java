@@ -0,0 +1,36 @@
+package com.senai.projetofinal.infra.security;
+
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.util.Collection;
+
+public class UsuarioAutenticadoToken extends AbstractAuthenticationToken {
+
+    private final UsuarioAutenticado usuario;
+
+    private final Jwt jwt;
+
+    public UsuarioAutenticadoToken(UsuarioAutenticado usuario, Jwt jwt, Collection<? extends GrantedAuthority> authorities) {
+        super(authorities);
+        this.usuario = usuario;
+        this.jwt = jwt;
+        setAuthenticated(true);
+    }
+
+    @Override
+    public UsuarioAutenticado getPrincipal() {
+        return usuario;
+    }
+
+    @Override
+    public Jwt getCredentials() {
+        return jwt;
+    }
+
+    @Override
+    public String getName() {
+        return jwt.getSubject();
+    }
+}
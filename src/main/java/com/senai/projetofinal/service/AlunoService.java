@@ -4,19 +4,36 @@ import com.senai.projetofinal.controller.dto.request.InserirLoginRequest;
 import com.senai.projetofinal.controller.dto.request.aluno.AtualizarAlunoRequest;
 import com.senai.projetofinal.controller.dto.request.aluno.InserirAlunoRequest;
 import com.senai.projetofinal.controller.dto.response.AlunoResponse;
+import com.senai.projetofinal.controller.dto.response.ImportacaoAlunosResponse;
 import com.senai.projetofinal.datasource.entity.AlunoEntity;
+import com.senai.projetofinal.datasource.entity.PapelEntity;
+import com.senai.projetofinal.datasource.entity.PapelEnum;
 import com.senai.projetofinal.datasource.entity.TurmaEntity;
 import com.senai.projetofinal.datasource.entity.UsuarioEntity;
 import com.senai.projetofinal.datasource.repository.AlunoRepository;
+import com.senai.projetofinal.datasource.repository.PapelRepository;
 import com.senai.projetofinal.datasource.repository.TurmaRepository;
 import com.senai.projetofinal.datasource.repository.UsuarioRepository;
+import com.senai.projetofinal.infra.cache.BarramentoInvalidacao;
 import com.senai.projetofinal.infra.exception.error.NotFoundException;
+import com.senai.projetofinal.infra.security.CodificadorSenhas;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.List;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.stream.Collectors;
 
 
 @AllArgsConstructor
@@ -24,45 +41,50 @@ import java.util.List;
 @Slf4j
 public class AlunoService {
 
-    private final AlunoRepository repository;
+    private static final int MAXIMO_IMPORTACAO = 10_000;
+
+    private static final int TAMANHO_LOTE_IMPORTACAO = 500;
+
+    private static final List<String> COLUNAS_OBRIGATORIAS_CSV = List.of("nome", "email", "senha", "turma");
 
-    private final BCryptPasswordEncoder bCryptPasswordEncoder;
+    private final AlunoRepository repository;
 
     private final UsuarioRepository usuarioRepository;
 
     private final TurmaRepository turmaRepository;
 
-    private final TokenService tokenService;
-
     private final UsuarioService usuarioService;
 
-    public List<AlunoEntity> listarTodos(String token) {
-        String role = tokenService.buscaCampo(token, "scope");
+    private final PapelRepository papelRepository;
 
-        if (!"admin".equals(role) && !"pedagogico".equals(role)) {
-            log.error("Usuário não autorizado: {}", role);
-            throw new SecurityException("Usuário não autorizado");
-        }
+    private final CodificadorSenhas codificadorSenhas;
 
-        List<AlunoEntity> alunos = repository.findAll();
+    private final TransactionTemplate transactionTemplate;
 
-        if (alunos.isEmpty()) {
+    private final RevogacaoTokenService revogacaoTokenService;
+
+    private final BarramentoInvalidacao barramentoInvalidacao;
+
+    public Page<AlunoResponse> listarTodos(Pageable pageable) {
+        Page<AlunoResponse> alunos = repository.findAllResumidos(pageable);
+
+        if (alunos.getTotalElements() == 0) {
             log.info("Nenhum aluno encontrado");
             throw new NotFoundException("Nenhum aluno encontrado");
         }
 
         log.info("Todos os alunos listados");
-        return repository.findAll();
+        return alunos;
     }
 
-    public AlunoEntity buscarPorId(Long id, String token) {
-        String role = tokenService.buscaCampo(token, "scope");
+    public Slice<AlunoResponse> listarAposId(Long aposId, int tamanho) {
+        Slice<AlunoResponse> alunos = repository.findResumidosAposId(aposId, PageRequest.of(0, tamanho, Sort.by("id")));
 
-        if (!"admin".equals(role) && !"pedagogico".equals(role)) {
-            log.error("Usuário não autorizado: {}", role);
-            throw new SecurityException("Usuário não autorizado");
-        }
+        log.info("Alunos listados após o id {}", aposId);
+        return alunos;
+    }
 
+    public AlunoEntity buscarPorId(Long id) {
         log.info("Aluno com id {} encontrado", id);
         return repository.findById(id).orElseThrow(() -> {
             log.error("Aluno não encontrado");
@@ -70,14 +92,7 @@ public class AlunoService {
         });
     }
 
-    public AlunoResponse salvar(InserirAlunoRequest inserirAlunoRequest, String token) {
-        String role = tokenService.buscaCampo(token, "scope");
-
-        if (!"admin".equals(role) && !"pedagogico".equals(role)) {
-            log.error("Usuário não autorizado: {}", role);
-            throw new SecurityException("Usuário não autorizado");
-        }
-
+    public AlunoResponse salvar(InserirAlunoRequest inserirAlunoRequest) {
         if (inserirAlunoRequest.nome() == null || inserirAlunoRequest.nome().isBlank()) {
             log.error("Nome não pode ser nulo ou vazio");
             throw new IllegalArgumentException("Nome não pode ser nulo ou vazio");
@@ -94,62 +109,122 @@ public class AlunoService {
                     return new NotFoundException("Turma não encontrada");
                 });
 
-        AlunoEntity aluno = new AlunoEntity();
-
-        aluno.setNome(inserirAlunoRequest.nome());
-        aluno.setEmail(inserirAlunoRequest.email());
-        aluno.setSenha(bCryptPasswordEncoder.encode(inserirAlunoRequest.senha()));
-        aluno.setDataNascimento(inserirAlunoRequest.dataNascimento());
-        aluno.setGenero(inserirAlunoRequest.genero());
-        aluno.setCpf(inserirAlunoRequest.cpf());
-        aluno.setRg(inserirAlunoRequest.rg());
-        aluno.setEstadoCivil(inserirAlunoRequest.estadoCivil());
-        aluno.setTelefone(inserirAlunoRequest.telefone());
-        aluno.setNaturalidade(inserirAlunoRequest.naturalidade());
-        aluno.setCep(inserirAlunoRequest.cep());
-        aluno.setCidade(inserirAlunoRequest.cidade());
-        aluno.setEstado(inserirAlunoRequest.estado());
-        aluno.setLogradouro(inserirAlunoRequest.logradouro());
-        aluno.setNumero(inserirAlunoRequest.numero());
-        aluno.setComplemento(inserirAlunoRequest.complemento());
-        aluno.setBairro(inserirAlunoRequest.bairro());
-        aluno.setPontoReferencia(inserirAlunoRequest.pontoReferencia());
-        aluno.setTurma(turma);
-
         UsuarioEntity user =  usuarioService.cadastraNovoLogin(new InserirLoginRequest(
                 inserirAlunoRequest.email(),
                 inserirAlunoRequest.senha(),
                 "Aluno"
-        ), token);
+        ));
 
-        aluno.setUsuario(user);
+        AlunoEntity aluno = novoAluno(inserirAlunoRequest, turma, user);
 
         AlunoEntity alunoSalvo = repository.save(aluno);
+        // A pontuação por turma e por curso lista os alunos
+        barramentoInvalidacao.publicar(BarramentoInvalidacao.PONTUACOES);
 
         log.info("Salvando aluno com o nome {}", inserirAlunoRequest.nome());
 
-        return new AlunoResponse(
-                alunoSalvo.getId(),
-                alunoSalvo.getNome(),
-                alunoSalvo.getDataNascimento(),
-                alunoSalvo.getUsuario(),
-                alunoSalvo.getTurma());
+        return AlunoResponse.from(alunoSalvo);
     }
 
-    public void removerPorId(Long id, String token) {
-        String role = tokenService.buscaCampo(token, "scope");
+    public ImportacaoAlunosResponse importarLote(List<InserirAlunoRequest> alunos) {
+        if (alunos == null || alunos.isEmpty()) {
+            log.error("Nenhum aluno informado para importação");
+            throw new IllegalArgumentException("Nenhum aluno informado para importação");
+        }
 
-        if (!"admin".equals(role)) {
-            log.error("Apenas um admin pode remover um aluno");
-            throw new SecurityException("Apenas um admin pode remover um aluno");
+        if (alunos.size() > MAXIMO_IMPORTACAO) {
+            log.error("Importação com {} alunos excede o limite de {}", alunos.size(), MAXIMO_IMPORTACAO);
+            throw new IllegalArgumentException("Importação limitada a " + MAXIMO_IMPORTACAO + " alunos");
         }
 
+        Importacao importacao = new Importacao(papelAluno());
+        for (int i = 0; i < alunos.size(); i++) {
+            importacao.adicionar(i + 1, alunos.get(i));
+        }
+        return importacao.concluir();
+    }
+
+    public ImportacaoAlunosResponse importarCsv(Reader csv) {
+        try (BufferedReader leitor = new BufferedReader(csv)) {
+            String cabecalho = leitor.readLine();
+            if (cabecalho == null) {
+                log.error("Arquivo CSV vazio");
+                throw new IllegalArgumentException("Arquivo CSV vazio");
+            }
+
+            String separador = cabecalho.contains(";") ? ";" : ",";
+            Map<String, Integer> colunas = new HashMap<>();
+            String[] nomesColunas = cabecalho.split(separador, -1);
+            for (int i = 0; i < nomesColunas.length; i++) {
+                colunas.put(nomesColunas[i].trim().toLowerCase(), i);
+            }
+
+            if (!colunas.keySet().containsAll(COLUNAS_OBRIGATORIAS_CSV)) {
+                log.error("Cabeçalho CSV inválido: {}", cabecalho);
+                throw new IllegalArgumentException("O cabeçalho do CSV deve conter as colunas " + String.join(separador, COLUNAS_OBRIGATORIAS_CSV));
+            }
+
+            Importacao importacao = new Importacao(papelAluno());
+            String linha;
+            int numeroLinha = 1;
+            while ((linha = leitor.readLine()) != null) {
+                numeroLinha++;
+                if (linha.isBlank()) {
+                    continue;
+                }
+
+                String[] campos = linha.split(separador, -1);
+                if (campos.length != nomesColunas.length) {
+                    log.error("Linha {} do CSV inválida: {}", numeroLinha, linha);
+                    importacao.registrarErro(numeroLinha, "Linha do CSV inválida");
+                    continue;
+                }
+
+                Long turma;
+                try {
+                    turma = Long.valueOf(campos[colunas.get("turma")].trim());
+                } catch (NumberFormatException e) {
+                    importacao.registrarErro(numeroLinha, "Turma não encontrada");
+                    continue;
+                }
+
+                importacao.adicionar(numeroLinha, new InserirAlunoRequest(
+                        campo(campos, colunas, "nome"),
+                        campo(campos, colunas, "email"),
+                        campo(campos, colunas, "senha"),
+                        campo(campos, colunas, "dataNascimento"),
+                        campo(campos, colunas, "genero"),
+                        campo(campos, colunas, "cpf"),
+                        campo(campos, colunas, "rg"),
+                        campo(campos, colunas, "estadoCivil"),
+                        campo(campos, colunas, "telefone"),
+                        campo(campos, colunas, "naturalidade"),
+                        campo(campos, colunas, "cep"),
+                        campo(campos, colunas, "cidade"),
+                        campo(campos, colunas, "estado"),
+                        campo(campos, colunas, "logradouro"),
+                        campo(campos, colunas, "numero"),
+                        campo(campos, colunas, "complemento"),
+                        campo(campos, colunas, "bairro"),
+                        campo(campos, colunas, "pontoReferencia"),
+                        null,
+                        turma));
+            }
+
+            return importacao.concluir();
+        } catch (IOException e) {
+            log.error("Erro ao ler o CSV de alunos", e);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void removerPorId(Long id) {
         if (!repository.existsById(id)) {
             log.error("Nenhum aluno encontrado com o id passado");
             throw new NotFoundException("Nenhum aluno encontrado com o id passado");
         }
 
-        AlunoEntity aluno = buscarPorId(id, token);
+        AlunoEntity aluno = buscarPorId(id);
         UsuarioEntity user = aluno.getUsuario();
 
 
@@ -157,17 +232,11 @@ public class AlunoService {
         log.info("Removendo aluno com id {}", id);
         repository.deleteById(id);
         usuarioRepository.deleteById(user.getId());
+        barramentoInvalidacao.publicar(BarramentoInvalidacao.PONTUACOES);
     }
 
-    public AlunoEntity atualizar(AtualizarAlunoRequest atualizarAlunoRequest, Long id, String token) {
-        String role = tokenService.buscaCampo(token, "scope");
-
-        if (!"admin".equals(role) && !"pedagogico".equals(role)) {
-            log.error("Usuário não autorizado: {}", role);
-            throw new SecurityException("Usuário não autorizado");
-        }
-
-        AlunoEntity entity = buscarPorId(id, token);
+    public AlunoEntity atualizar(AtualizarAlunoRequest atualizarAlunoRequest, Long id) {
+        AlunoEntity entity = buscarPorId(id);
 
         if (atualizarAlunoRequest.nome() == null || atualizarAlunoRequest.nome().isBlank()) {
             log.error("Nome não pode ser nulo ou vazio");
@@ -182,9 +251,11 @@ public class AlunoService {
 
         log.info("Atualizando aluno com o id {}", id);
 
+        String senhaCodificada = codificadorSenhas.codificar(atualizarAlunoRequest.senha());
+
         entity.setNome(atualizarAlunoRequest.nome());
         entity.setEmail(atualizarAlunoRequest.email());
-        entity.setSenha(bCryptPasswordEncoder.encode(atualizarAlunoRequest.senha()));
+        entity.setSenha(senhaCodificada);
         entity.setDataNascimento(atualizarAlunoRequest.dataNascimento());
         entity.setGenero(atualizarAlunoRequest.genero());
         entity.setCpf(atualizarAlunoRequest.cpf());
@@ -202,14 +273,174 @@ public class AlunoService {
         entity.setPontoReferencia(atualizarAlunoRequest.pontoReferencia());
         entity.setTurma(turma);
 
-        AlunoEntity aluno = buscarPorId(id, token);
-        UsuarioEntity user = aluno.getUsuario();
+        UsuarioEntity user = entity.getUsuario();
 
         user.setLogin(atualizarAlunoRequest.email());
-        user.setSenha(bCryptPasswordEncoder.encode(atualizarAlunoRequest.senha()));
+        user.setSenha(senhaCodificada);
         usuarioRepository.save(user);
 
+        repository.save(entity);
+        revogacaoTokenService.revogarUsuario(user.getId());
+        // O nome e a turma do aluno aparecem na pontuação por turma e por curso
+        barramentoInvalidacao.publicar(BarramentoInvalidacao.PONTUACOES);
+        return entity;
+    }
+
+    private AlunoEntity novoAluno(InserirAlunoRequest inserirAlunoRequest, TurmaEntity turma, UsuarioEntity usuario) {
+        AlunoEntity aluno = new AlunoEntity();
+
+        aluno.setNome(inserirAlunoRequest.nome());
+        aluno.setEmail(inserirAlunoRequest.email());
+        aluno.setSenha(usuario.getSenha());
+        aluno.setDataNascimento(inserirAlunoRequest.dataNascimento());
+        aluno.setGenero(inserirAlunoRequest.genero());
+        aluno.setCpf(inserirAlunoRequest.cpf());
+        aluno.setRg(inserirAlunoRequest.rg());
+        aluno.setEstadoCivil(inserirAlunoRequest.estadoCivil());
+        aluno.setTelefone(inserirAlunoRequest.telefone());
+        aluno.setNaturalidade(inserirAlunoRequest.naturalidade());
+        aluno.setCep(inserirAlunoRequest.cep());
+        aluno.setCidade(inserirAlunoRequest.cidade());
+        aluno.setEstado(inserirAlunoRequest.estado());
+        aluno.setLogradouro(inserirAlunoRequest.logradouro());
+        aluno.setNumero(inserirAlunoRequest.numero());
+        aluno.setComplemento(inserirAlunoRequest.complemento());
+        aluno.setBairro(inserirAlunoRequest.bairro());
+        aluno.setPontoReferencia(inserirAlunoRequest.pontoReferencia());
+        aluno.setTurma(turma);
+        aluno.setUsuario(usuario);
+
+        return aluno;
+    }
 
-        return repository.save(entity);
+    private PapelEntity papelAluno() {
+        return papelRepository.findByNome(PapelEnum.ALUNO)
+                .orElseThrow(() -> new RuntimeException("Papel inválido ou inexistente"));
+    }
+
+    private static String campo(String[] campos, Map<String, Integer> colunas, String coluna) {
+        Integer indice = colunas.get(coluna.toLowerCase());
+        return indice == null ? null : campos[indice].trim();
+    }
+
+    private static boolean vazio(String valor) {
+        return valor == null || valor.isBlank();
+    }
+
+    /**
+     * Acumula as linhas de uma importação e grava a cada lote de alunos:
+     * nomes, logins e turmas são conferidos com uma consulta {@code IN} por lote, as senhas são
+     * codificadas em paralelo fora da transação e usuários e alunos são inseridos em batch.
+     * Linhas inválidas são reportadas e não impedem a gravação das demais.
+     */
+    private class Importacao {
+
+        private final PapelEntity papel;
+
+        private final Set<String> nomes = new HashSet<>();
+
+        private final Set<String> logins = new HashSet<>();
+
+        private final Map<Integer, InserirAlunoRequest> pendentes = new LinkedHashMap<>();
+
+        private final List<ImportacaoAlunosResponse.ErroImportacao> erros = new ArrayList<>();
+
+        private int importados;
+
+        Importacao(PapelEntity papel) {
+            this.papel = papel;
+        }
+
+        void adicionar(int linha, InserirAlunoRequest aluno) {
+            if (vazio(aluno.nome())) {
+                registrarErro(linha, "Nome não pode ser nulo ou vazio");
+            } else if (vazio(aluno.email())) {
+                registrarErro(linha, "Login não pode ser nulo ou vazio");
+            } else if (vazio(aluno.senha())) {
+                registrarErro(linha, "Senha não pode ser nula ou vazia");
+            } else if (aluno.turma() == null) {
+                registrarErro(linha, "Turma não encontrada");
+            } else {
+                pendentes.put(linha, aluno);
+                if (pendentes.size() == TAMANHO_LOTE_IMPORTACAO) {
+                    gravarPendentes();
+                }
+            }
+        }
+
+        void registrarErro(int linha, String mensagem) {
+            erros.add(new ImportacaoAlunosResponse.ErroImportacao(linha, mensagem));
+        }
+
+        ImportacaoAlunosResponse concluir() {
+            gravarPendentes();
+            if (importados > 0) {
+                barramentoInvalidacao.publicar(BarramentoInvalidacao.PONTUACOES);
+            }
+            erros.sort(Comparator.comparingInt(ImportacaoAlunosResponse.ErroImportacao::linha));
+            log.info("{} alunos importados, {} linhas com erro", importados, erros.size());
+            return new ImportacaoAlunosResponse(importados, erros);
+        }
+
+        private void gravarPendentes() {
+            if (pendentes.isEmpty()) {
+                return;
+            }
+
+            Set<String> nomesExistentes = new HashSet<>(repository.findNomesExistentes(
+                    pendentes.values().stream().map(InserirAlunoRequest::nome).toList()));
+            Set<String> loginsExistentes = new HashSet<>(usuarioRepository.findChavesLoginExistentes(
+                    pendentes.values().stream().map(aluno -> UsuarioRepository.normalizar(aluno.email())).toList()));
+            Set<Long> turmasExistentes = new HashSet<>(turmaRepository.findIdsExistentes(
+                    pendentes.values().stream().map(InserirAlunoRequest::turma).collect(Collectors.toSet())));
+
+            Map<Integer, InserirAlunoRequest> validos = new LinkedHashMap<>();
+            pendentes.forEach((linha, aluno) -> {
+                String chaveLogin = UsuarioRepository.normalizar(aluno.email());
+                if (!turmasExistentes.contains(aluno.turma())) {
+                    registrarErro(linha, "Turma não encontrada");
+                } else if (nomesExistentes.contains(aluno.nome()) || nomes.contains(aluno.nome())) {
+                    registrarErro(linha, "Um aluno já existe com o nome passado");
+                } else if (loginsExistentes.contains(chaveLogin) || logins.contains(chaveLogin)) {
+                    registrarErro(linha, "Nome de Login já existe");
+                } else {
+                    nomes.add(aluno.nome());
+                    logins.add(chaveLogin);
+                    validos.put(linha, aluno);
+                }
+            });
+            pendentes.clear();
+
+            if (validos.isEmpty()) {
+                return;
+            }
+
+            List<String> senhas = codificadorSenhas.codificar(
+                    validos.values().stream().map(InserirAlunoRequest::senha).toList());
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    List<UsuarioEntity> usuarios = new ArrayList<>(validos.size());
+                    List<AlunoEntity> alunos = new ArrayList<>(validos.size());
+                    int i = 0;
+
+                    for (InserirAlunoRequest aluno : validos.values()) {
+                        UsuarioEntity usuario = new UsuarioEntity();
+                        usuario.setLogin(aluno.email());
+                        usuario.setSenha(senhas.get(i++));
+                        usuario.setPapel(papel);
+                        usuarios.add(usuario);
+                        alunos.add(novoAluno(aluno, turmaRepository.getReferenceById(aluno.turma()), usuario));
+                    }
+
+                    usuarioRepository.saveAll(usuarios);
+                    repository.saveAll(alunos);
+                });
+                importados += validos.size();
+            } catch (DataIntegrityViolationException e) {
+                log.error("Lote de {} alunos não gravado por conflito de dados", validos.size(), e);
+                validos.keySet().forEach(linha -> registrarErro(linha, "Aluno não gravado: conflito com um cadastro simultâneo"));
+            }
+        }
     }
 }
@@ -5,13 +5,17 @@ import com.senai.projetofinal.controller.dto.request.curso.InserirCursoRequest;
 import com.senai.projetofinal.controller.dto.response.CursoResponse;
 import com.senai.projetofinal.datasource.entity.CursoEntity;
 import com.senai.projetofinal.datasource.repository.CursoRepository;
+import com.senai.projetofinal.infra.cache.BarramentoInvalidacao;
+import com.senai.projetofinal.infra.cache.DadosReferencia;
 import com.senai.projetofinal.infra.exception.error.NotFoundException;
 import com.senai.projetofinal.infra.exception.error.SecurityException;
+import com.senai.projetofinal.infra.security.UsuarioAutenticado;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -19,39 +23,30 @@ public class CursoService {
 
     private final CursoRepository repository;
 
-    private final TokenService tokenService;
+    private final BarramentoInvalidacao barramentoInvalidacao;
 
-    public CursoService(CursoRepository cursoRepository, TokenService tokenService) {
+    private final DadosReferencia dadosReferencia;
+
+    public CursoService(CursoRepository cursoRepository, BarramentoInvalidacao barramentoInvalidacao, DadosReferencia dadosReferencia) {
         this.repository = cursoRepository;
-        this.tokenService = tokenService;
+        this.barramentoInvalidacao = barramentoInvalidacao;
+        this.dadosReferencia = dadosReferencia;
     }
 
-    public List<CursoEntity> listarTodos(String token) {
-        String role = tokenService.buscaCampo(token, "scope");
-
-        if (!"admin".equals(role) && !"pedagogico".equals(role)) {
-            log.error("Usuário não autorizado: {}", role);
-            throw new SecurityException("Usuário não autorizado");
-        }
+    public Page<CursoResponse> listarTodos(Pageable pageable) {
+        Page<CursoResponse> cursos = dadosReferencia.ler(BarramentoInvalidacao.CURSOS,
+                () -> repository.findAllResumidos(pageable), "listarTodos", pageable);
 
-        List<CursoEntity> cursos = repository.findAll();
-
-        if(cursos.isEmpty()) {
+        if (cursos.getTotalElements() == 0) {
             log.info("Não há cursos cadastrados");
             throw new NotFoundException("Não há cursos cadastrados");
         }
 
         log.info("todos os cursos listados");
-        return repository.findAll();
+        return cursos;
     }
 
-    public CursoEntity buscarPorId(Long id, String token) {
-        String role = tokenService.buscaCampo(token, "scope");
-
-        if (!"admin".equals(role) && !"pedagogico".equals(role)) {
-            log.error("Usuário não autorizado: {}", role);
-            throw new SecurityException("Usuário não autorizado");
-        }
+    public CursoEntity buscarPorId(Long id) {
         log.info("curso com id {} buscado", id);
         return repository.findById(id).orElseThrow(() -> {
             log.error("Curso não encontrado");
@@ -59,14 +54,7 @@ public class CursoService {
         });
     }
 
-    public CursoResponse salvar(InserirCursoRequest inserirCursoRequest, String token) {
-        String role = tokenService.buscaCampo(token, "scope");
-
-        if (!"admin".equals(role) && !"pedagogico".equals(role)) {
-            log.error("Usuário não autorizado: {}", role);
-            throw new SecurityException("Usuário não autorizado");
-        }
-
+    public CursoResponse salvar(InserirCursoRequest inserirCursoRequest) {
         if (inserirCursoRequest.nome() == null || inserirCursoRequest.nome().isBlank()) {
             log.error("Nome não pode ser nulo ou vazio");
             throw new IllegalArgumentException("Nome não pode ser nulo ou vazio");
@@ -81,6 +69,7 @@ public class CursoService {
         curso.setNome(inserirCursoRequest.nome());
 
         CursoEntity cursoSalvo = repository.save(curso);
+        barramentoInvalidacao.publicar(BarramentoInvalidacao.CURSOS);
         log.info("Salvando curso com o nome {}", inserirCursoRequest.nome());
 
         return new CursoResponse(
@@ -89,13 +78,7 @@ public class CursoService {
         );
     }
 
-    public void removerPorId(Long id, String token) {
-        String role = tokenService.buscaCampo(token, "scope");
-        if (!"admin".equals(role)) {
-            log.error("Apenas um usuário admin pode deletar cursos");
-            throw new SecurityException("Apenas um usuário admin pode deletar cursos");
-        }
-
+    public void removerPorId(Long id) {
         if (!repository.existsById(id)) {
             log.error("Nenhum curso encontrado com o id passado");
             throw new NotFoundException("Nenhum curso encontrado com o id passado");
@@ -103,17 +86,11 @@ public class CursoService {
 
         log.info("Removendo curso com o id {}", id);
         repository.deleteById(id);
+        barramentoInvalidacao.publicar(BarramentoInvalidacao.CURSOS, BarramentoInvalidacao.TURMAS);
     }
 
-    public CursoEntity atualizar(AtualizarCursoRequest atualizarCursoRequest, Long id, String token) {
-        String role = tokenService.buscaCampo(token, "scope");
-
-        if (!"admin".equals(role) && !"pedagogico".equals(role)) {
-            log.error("Usuário não autorizado: {}", role);
-            throw new SecurityException("Usuário não autorizado");
-        }
-
-        CursoEntity entity = buscarPorId(id, token);
+    public CursoEntity atualizar(AtualizarCursoRequest atualizarCursoRequest, Long id) {
+        CursoEntity entity = buscarPorId(id);
 
         if (atualizarCursoRequest.nome() == null || atualizarCursoRequest.nome().isBlank()) {
             log.error("Nome não pode ser nulo ou vazio");
@@ -127,31 +104,33 @@ public class CursoService {
 
         log.info("Atualizando curso com o id {}", entity.getId());
         entity.setNome(atualizarCursoRequest.nome());
-        return repository.save(entity);
+        CursoEntity cursoAtualizado = repository.save(entity);
+        // O nome do curso também aparece na listagem de turmas
+        barramentoInvalidacao.publicar(BarramentoInvalidacao.CURSOS, BarramentoInvalidacao.TURMAS);
+        return cursoAtualizado;
     }
 
-    public List<CursoResponse> listarCursosPorAlunoId(Long idAluno, String token) {
-        String role = tokenService.buscaCampo(token, "scope");
-
-        if (!"admin".equals(role) && !"pedagogico".equals(role)) {
-            log.error("Usuário não autorizado: {}", role);
-            throw new SecurityException("Usuário não autorizado");
-        }
-
+    public List<CursoResponse> listarCursosPorAlunoId(Long idAluno) {
         if (idAluno == null) {
             log.error("ID do aluno não pode ser nulo ou vazio");
             throw new IllegalArgumentException("ID do aluno não pode ser nulo ou vazio");
         }
 
-        List<CursoEntity> cursos = repository.findCursosByAlunoTurma(idAluno);
+        List<CursoResponse> cursos = repository.findCursosByAlunoTurma(idAluno);
 
         if (cursos.isEmpty()) {
             log.error("Aluno não encontrado");
             throw new NotFoundException("Aluno não encontrado");
         }
 
-        return cursos.stream()
-                .map(curso -> new CursoResponse(curso.getId(), curso.getNome()))
-                .collect(Collectors.toList());
+        return cursos;
+    }
+
+    public CursoResponse buscarMeuCurso(UsuarioAutenticado usuarioAutenticado) {
+        return repository.findCursoByUsuarioDoAluno(usuarioAutenticado.id())
+                .orElseThrow(() -> {
+                    log.error("Nenhum curso encontrado para o usuário {}", usuarioAutenticado.id());
+                    return new NotFoundException("Nenhum curso encontrado para o aluno");
+                });
     }
 }
@@ -9,13 +9,16 @@ import com.senai.projetofinal.datasource.entity.PapelEnum;
 import com.senai.projetofinal.datasource.entity.UsuarioEntity;
 import com.senai.projetofinal.datasource.repository.DocenteRepository;
 import com.senai.projetofinal.datasource.repository.UsuarioRepository;
+import com.senai.projetofinal.infra.cache.BarramentoInvalidacao;
 import com.senai.projetofinal.infra.exception.error.NotFoundException;
+import com.senai.projetofinal.infra.security.CodificadorSenhas;
+import com.senai.projetofinal.infra.security.UsuarioAutenticado;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
-
-import java.util.List;
+import org.springframework.transaction.annotation.Transactional;
 
 
 @AllArgsConstructor
@@ -24,52 +27,41 @@ import java.util.List;
 public class DocenteService {
 
     private final DocenteRepository repository;
-    private final BCryptPasswordEncoder bCryptPasswordEncoder;
+    private final CodificadorSenhas codificadorSenhas;
     private final UsuarioRepository usuarioRepository;
-    private final TokenService tokenService;
     private final UsuarioService usuarioService;
+    private final RevogacaoTokenService revogacaoTokenService;
+    private final BarramentoInvalidacao barramentoInvalidacao;
 
 
-    public List<DocenteEntity> listarTodos(String token) {
-        String role = tokenService.buscaCampo(token, "scope");
-
-        if (!"admin".equals(role) && !"pedagogico".equals(role) && !"recruiter".equals(role)) {
-            log.error("Usuário não autorizado: {}", role);
-            throw new SecurityException("Usuário não autorizado");
-        }
+    @Transactional(readOnly = true)
+    public Page<DocenteResponse> listarTodos(Pageable pageable, UsuarioAutenticado usuarioAutenticado) {
+        Page<DocenteEntity> docentes;
 
-        List<DocenteEntity> docentes;
-
-        if ("pedagogico".equals(role) || "recruiter".equals(role)) {
+        if (usuarioAutenticado.possuiPapel(PapelEnum.PEDAGOGICO, PapelEnum.RECRUITER)) {
             log.info("Todos os professores listados");
-            docentes = repository.findByUsuario_Papel_Nome(PapelEnum.PROFESSOR);
-            if (docentes.isEmpty()) {
+            docentes = repository.findByUsuario_Papel_Nome(PapelEnum.PROFESSOR, pageable);
+            if (docentes.getTotalElements() == 0) {
                 log.info("Não há professores cadastrados");
                 throw new NotFoundException("Não há professores cadastrados");
             }
         } else {
             log.info("Todos os docentes listados");
-            docentes = repository.findAll();
+            docentes = repository.findAll(pageable);
         }
 
-        if (docentes.isEmpty()) {
+        if (docentes.getTotalElements() == 0) {
             log.info("Não há docentes cadastrados");
             throw new NotFoundException("Não há docentes cadastrados");
         }
 
-        return docentes;
+        return docentes.map(DocenteResponse::from);
     }
 
-    public DocenteEntity buscarPorId(Long id, String token) {
-        String role = tokenService.buscaCampo(token, "scope");
-
-        if (!"admin".equals(role) && !"pedagogico".equals(role) && !"recruiter".equals(role)) {
-            log.error("Usuário não autorizado: {}", role);
-            throw new SecurityException("Usuário não autorizado");
-        }
-        DocenteEntity docente = repository.findById(id).orElseThrow(() -> new NotFoundException("Nenhum docente com o ID passado foi encontrado"));
+    public DocenteEntity buscarPorId(Long id, UsuarioAutenticado usuarioAutenticado) {
+        DocenteEntity docente = repository.findComMateriasById(id).orElseThrow(() -> new NotFoundException("Nenhum docente com o ID passado foi encontrado"));
 
-        if ("pedagogico".equals(role) || "recruiter".equals(role)) {
+        if (usuarioAutenticado.possuiPapel(PapelEnum.PEDAGOGICO, PapelEnum.RECRUITER)) {
             if (docente.getUsuario().getPapel().getNome() == PapelEnum.PROFESSOR) {
                 log.info("Professor com id {} encontrado", id);
                 return docente;
@@ -83,14 +75,7 @@ public class DocenteService {
         }
     }
 
-    public DocenteResponse salvar(InserirDocenteRequest inserirDocenteRequest, String token) {
-        String role = tokenService.buscaCampo(token, "scope");
-
-        if (!"admin".equals(role) && !"pedagogico".equals(role) && !"recruiter".equals(role)) {
-            log.error("Usuário não autorizado: {}", role);
-            throw new SecurityException("Usuário não autorizado");
-        }
-
+    public DocenteResponse salvar(InserirDocenteRequest inserirDocenteRequest) {
         if (inserirDocenteRequest.nome() == null || inserirDocenteRequest.nome().isBlank()) {
             log.error("Nome não pode ser nulo ou vazioooo");
             throw new IllegalArgumentException("Nome não pode ser nulo ou vazio");
@@ -123,13 +108,7 @@ public class DocenteService {
                 inserirDocenteRequest.email(),
                 inserirDocenteRequest.senha(),
                 "professor"
-        ), token);
-
-
-        if (("pedagogico".equals(role) || "recruiter".equals(role))) {
-            log.error("Usuário pedagogico ou recruiter só pode salvar um docente com o papel professor");
-            throw new SecurityException("Usuário pedagogico ou recruiter só pode salvar um docente com o papel professor");
-        }
+        ));
 
 
         DocenteEntity docente = new DocenteEntity();
@@ -157,42 +136,15 @@ public class DocenteService {
         DocenteEntity docenteSalvo = repository.save(docente);
 
         log.info("Salvando docente com o nome {}", inserirDocenteRequest.nome());
-        return new DocenteResponse(
-                docenteSalvo.getId(),
-                docenteSalvo.getNome(),
-                docenteSalvo.getDataNascimento(),
-                docenteSalvo.getGenero(),
-                docenteSalvo.getCpf(),
-                docenteSalvo.getRg(),
-                docenteSalvo.getEstadoCivil(),
-                docenteSalvo.getTelefone(),
-                docenteSalvo.getEmail(),
-                docenteSalvo.getSenha(),
-                docenteSalvo.getNaturalidade(),
-                docenteSalvo.getCep(),
-                docenteSalvo.getCidade(),
-                docenteSalvo.getEstado(),
-                docenteSalvo.getLogradouro(),
-                docenteSalvo.getNumero(),
-                docenteSalvo.getComplemento(),
-                docenteSalvo.getBairro(),
-                docenteSalvo.getPontoReferencia(),
-                docenteSalvo.getMaterias(),
-                docenteSalvo.getUsuario()
-        );
+        return DocenteResponse.from(docenteSalvo);
     }
 
-    public void removerPorId(Long id, String token) {
-        String role = tokenService.buscaCampo(token, "scope");
-        if (!"admin".equals(role)) {
-            throw new SecurityException("Apenas um usuário admin pode deletar docentes");
-        }
-
+    public void removerPorId(Long id, UsuarioAutenticado usuarioAutenticado) {
         if (!repository.existsById(id)) {
             throw new NotFoundException("Nenhum docente encontrado com o id passado");
         }
 
-        DocenteEntity docente = buscarPorId(id, token);
+        DocenteEntity docente = buscarPorId(id, usuarioAutenticado);
         UsuarioEntity user = docente.getUsuario();
 
 
@@ -200,17 +152,11 @@ public class DocenteService {
         repository.deleteById(id);
         log.info("Removendo usuario vinculado ao docente com o id {}", id);
         usuarioRepository.deleteById(user.getId());
+        barramentoInvalidacao.publicar(BarramentoInvalidacao.TURMAS);
     }
 
-    public DocenteEntity atualizar(AtualizarDocenteRequest atualizarDocenteRequest, Long id, String token) {
-        String role = tokenService.buscaCampo(token, "scope");
-
-        if (!"admin".equals(role) && !"pedagogico".equals(role) && !"recruiter".equals(role)) {
-            log.error("Usuário não autorizado: {}", role);
-            throw new SecurityException("Tentativa de atualizar não autorizada");
-        }
-
-        DocenteEntity entity = buscarPorId(id, token);
+    public DocenteEntity atualizar(AtualizarDocenteRequest atualizarDocenteRequest, Long id, UsuarioAutenticado usuarioAutenticado) {
+        DocenteEntity entity = buscarPorId(id, usuarioAutenticado);
 
         if (atualizarDocenteRequest.nome() == null || atualizarDocenteRequest.nome().isBlank()) {
             log.error("Nome não pode ser nulo ou vazio");
@@ -249,14 +195,16 @@ public class DocenteService {
         entity.setPontoReferencia(atualizarDocenteRequest.pontoReferencia());
         entity.setMaterias(atualizarDocenteRequest.materias());
 
-        DocenteEntity docente = buscarPorId(id, token);
-        UsuarioEntity user = docente.getUsuario();
+        UsuarioEntity user = entity.getUsuario();
 
         user.setLogin(atualizarDocenteRequest.email());
-        user.setSenha(bCryptPasswordEncoder.encode(atualizarDocenteRequest.senha()));
+        user.setSenha(codificadorSenhas.codificar(atualizarDocenteRequest.senha()));
         usuarioRepository.save(user);
 
-
-        return repository.save(entity);
+        repository.save(entity);
+        revogacaoTokenService.revogarUsuario(user.getId());
+        // O nome do docente também aparece na listagem de turmas
+        barramentoInvalidacao.publicar(BarramentoInvalidacao.TURMAS);
+        return entity;
     }
 }
@@ -7,8 +7,12 @@ import com.senai.projetofinal.datasource.entity.CursoEntity;
 import com.senai.projetofinal.datasource.entity.MateriaEntity;
 import com.senai.projetofinal.datasource.repository.CursoRepository;
 import com.senai.projetofinal.datasource.repository.MateriaRepository;
+import com.senai.projetofinal.infra.cache.BarramentoInvalidacao;
+import com.senai.projetofinal.infra.cache.DadosReferencia;
 import com.senai.projetofinal.infra.exception.error.NotFoundException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -21,42 +25,32 @@ public class MateriaService {
 
     private final CursoRepository cursoRepository;
 
-    private final TokenService tokenService;
+    private final BarramentoInvalidacao barramentoInvalidacao;
 
-    public MateriaService(MateriaRepository repository, CursoRepository cursoRepository, TokenService tokenService) {
+    private final DadosReferencia dadosReferencia;
+
+    public MateriaService(MateriaRepository repository, CursoRepository cursoRepository, BarramentoInvalidacao barramentoInvalidacao, DadosReferencia dadosReferencia) {
         this.repository = repository;
         this.cursoRepository = cursoRepository;
-        this.tokenService = tokenService;
+        this.barramentoInvalidacao = barramentoInvalidacao;
+        this.dadosReferencia = dadosReferencia;
     }
 
-    public List<MateriaEntity> listarTodos(String token) {
-        String role = tokenService.buscaCampo(token, "scope");
-
-        if (!"admin".equals(role) && !"pedagogico".equals(role)) {
-            log.error("Usuário não autorizado: {}", role);
-            throw new SecurityException("Usuário não autorizado");
-        }
+    public Page<MateriaResponse> listarTodos(Pageable pageable) {
+        Page<MateriaResponse> materias = dadosReferencia.ler(BarramentoInvalidacao.MATERIAS,
+                () -> repository.findAllResumidas(pageable), "listarTodos", pageable);
 
-        List<MateriaEntity> materias = repository.findAll();
-
-        if (materias.isEmpty()) {
+        if (materias.getTotalElements() == 0) {
             log.info("Nenhuma matéria encontrada");
             throw new NotFoundException("Nenhuma matéria encontrada");
         }
 
         log.info("Todas as matérias listadas");
 
-        return repository.findAll();
+        return materias;
     }
 
-    public MateriaEntity buscarPorId(Long id, String token) {
-        String role = tokenService.buscaCampo(token, "scope");
-
-        if (!"admin".equals(role) && !"pedagogico".equals(role)) {
-            log.error("Usuário não autorizado: {}", role);
-            throw new SecurityException("Usuário não autorizado");
-        }
-
+    public MateriaEntity buscarPorId(Long id) {
         log.info("Matéria com id {} encontrada", id);
         return repository.findById(id).orElseThrow(() -> {
             log.error("Matéria não encontrada com o id: {}", id);
@@ -64,15 +58,9 @@ public class MateriaService {
         });
     }
 
-    public List<MateriaEntity> buscarMateriasPorCursoId(Long curso_id, String token) {
-        String role = tokenService.buscaCampo(token, "scope");
-
-        if (!"admin".equals(role) && !"pedagogico".equals(role)) {
-            log.error("Usuário não autorizado: {}", role);
-            throw new SecurityException("Usuário não autorizado");
-        }
-
-        List<MateriaEntity> materiasPorCurso = repository.findMateriaByCursoId(curso_id);
+    public List<MateriaResponse> buscarMateriasPorCursoId(Long curso_id) {
+        List<MateriaResponse> materiasPorCurso = dadosReferencia.ler(BarramentoInvalidacao.MATERIAS,
+                () -> repository.findMateriaByCursoId(curso_id), "porCurso", curso_id);
 
         if (materiasPorCurso.isEmpty()) {
             log.error("Nenhuma matéria encontrada para o id de curso: {}", curso_id);
@@ -84,14 +72,7 @@ public class MateriaService {
         return materiasPorCurso;
     }
 
-    public MateriaResponse salvar(InserirMateriaRequest inserirMateriaRequest, String token) {
-        String role = tokenService.buscaCampo(token, "scope");
-
-        if (!"admin".equals(role) && !"pedagogico".equals(role)) {
-            log.error("Usuário não autorizado: {}", role);
-            throw new SecurityException("Usuário não autorizado");
-        }
-
+    public MateriaResponse salvar(InserirMateriaRequest inserirMateriaRequest) {
         if (inserirMateriaRequest.nome() == null || inserirMateriaRequest.nome().isBlank()) {
             log.error("Nome não pode ser nulo ou vazio");
             throw new IllegalArgumentException("Nome não pode ser nulo ou vazio");
@@ -113,23 +94,15 @@ public class MateriaService {
         materia.setCurso(curso);
 
         MateriaEntity materiaSalva = repository.save(materia);
+        // A média da pontuação divide pelo número de matérias do curso
+        barramentoInvalidacao.publicar(BarramentoInvalidacao.MATERIAS, BarramentoInvalidacao.PONTUACOES);
 
         log.info("Salvando matéria com o nome {}", inserirMateriaRequest.nome());
 
-        return new MateriaResponse(
-                materiaSalva.getId(),
-                materiaSalva.getNome(),
-                materiaSalva.getCurso());
+        return MateriaResponse.from(materiaSalva);
     }
 
-    public void removerPorId(Long id, String token) {
-        String role = tokenService.buscaCampo(token, "scope");
-
-        if (!"admin".equals(role)) {
-            log.error("Apenas um usuário admin pode remover uma matéria");
-            throw new SecurityException("Apenas um usuário admin pode remover uma matéria");
-        }
-
+    public void removerPorId(Long id) {
         if (!repository.existsById(id)) {
             log.error("Nenhuma matéria encontrada com o id: {}", id);
             throw new NotFoundException("Nenhuma matéria encontrada com o id passado");
@@ -137,17 +110,11 @@ public class MateriaService {
 
         log.info("Removendo matéria com o id {}", id);
         repository.deleteById(id);
+        barramentoInvalidacao.publicar(BarramentoInvalidacao.MATERIAS, BarramentoInvalidacao.PONTUACOES);
     }
 
-    public MateriaEntity atualizar(AtualizarMateriaRequest atualizarMateriaRequest, Long id, String token) {
-        String role = tokenService.buscaCampo(token, "scope");
-
-        if (!"admin".equals(role) && !"pedagogico".equals(role)) {
-            log.error("Usuário não autorizado: {}", role);
-            throw new SecurityException("Usuário não autorizado");
-        }
-
-        MateriaEntity entity = buscarPorId(id, token);
+    public MateriaEntity atualizar(AtualizarMateriaRequest atualizarMateriaRequest, Long id) {
+        MateriaEntity entity = buscarPorId(id);
 
         if (atualizarMateriaRequest.nome() == null || atualizarMateriaRequest.nome().isBlank()) {
             log.error("Nome não pode ser nulo ou vazio");
@@ -168,6 +135,8 @@ public class MateriaService {
         log.info("Atualizando matéria com o id {}", entity.getId());
         entity.setNome(atualizarMateriaRequest.nome());
         entity.setCurso(curso);
-        return repository.save(entity);
+        MateriaEntity materiaAtualizada = repository.save(entity);
+        barramentoInvalidacao.publicar(BarramentoInvalidacao.MATERIAS, BarramentoInvalidacao.PONTUACOES);
+        return materiaAtualizada;
     }
 }
@@ -2,18 +2,32 @@ package com.senai.projetofinal.service;
 
 import com.senai.projetofinal.controller.dto.request.nota.AtualizarNotaRequest;
 import com.senai.projetofinal.controller.dto.request.nota.InserirNotaRequest;
+import com.senai.projetofinal.controller.dto.response.ImportacaoNotasResponse;
 import com.senai.projetofinal.controller.dto.response.NotaResponse;
+import com.senai.projetofinal.controller.dto.response.PontuacaoAlunoResponse;
 import com.senai.projetofinal.datasource.entity.*;
+import com.senai.projetofinal.datasource.projection.SomaNotasAluno;
 import com.senai.projetofinal.datasource.repository.*;
+import com.senai.projetofinal.infra.cache.BarramentoInvalidacao;
 import com.senai.projetofinal.infra.exception.error.NotFoundException;
+import com.senai.projetofinal.infra.security.UsuarioAutenticado;
+import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
+import java.util.*;
 
 @Service
 @Slf4j
@@ -29,45 +43,53 @@ public class NotaService {
 
     private final TurmaRepository turmaRepository;
 
-    private final TokenService tokenService;
+    private final CursoRepository cursoRepository;
 
-    public NotaService(NotaRepository repository, AlunoRepository alunoRepository, AlunoService alunoService, DocenteRepository docenteRepository, MateriaRepository materiaRepository, TurmaRepository turmaRepository, TokenService tokenService) {
+    private final PontuacaoService pontuacaoService;
+
+    private final EntityManager entityManager;
+
+    private final BarramentoInvalidacao barramentoInvalidacao;
+
+    private static final BigDecimal VALOR_MAXIMO = BigDecimal.TEN;
+
+    private static final int MAXIMO_IMPORTACAO = 10_000;
+
+    private static final int TAMANHO_LOTE_IMPORTACAO = 500;
+
+    public NotaService(NotaRepository repository, AlunoRepository alunoRepository, AlunoService alunoService, DocenteRepository docenteRepository, MateriaRepository materiaRepository, TurmaRepository turmaRepository, CursoRepository cursoRepository, PontuacaoService pontuacaoService, EntityManager entityManager, BarramentoInvalidacao barramentoInvalidacao) {
         this.repository = repository;
         this.alunoRepository = alunoRepository;
         this.docenteRepository = docenteRepository;
         this.materiaRepository = materiaRepository;
         this.turmaRepository = turmaRepository;
-        this.tokenService = tokenService;
+        this.cursoRepository = cursoRepository;
+        this.pontuacaoService = pontuacaoService;
+        this.entityManager = entityManager;
+        this.barramentoInvalidacao = barramentoInvalidacao;
     }
 
-    public List<NotaEntity> listarTodos(String token) {
-        String role = tokenService.buscaCampo(token, "scope");
+    public Page<NotaResponse> listarTodos(Pageable pageable) {
+        Page<NotaResponse> notas = repository.findAllResumidas(pageable);
 
-        if (!"admin".equals(role) && !"pedagogico".equals(role)) {
-            log.error("Usuário não autorizado: {}", role);
-            throw new SecurityException("Usuário não autorizado");
-        }
-
-        List<NotaEntity> notas = repository.findAll();
-
-        if (notas.isEmpty()) {
+        if (notas.getTotalElements() == 0) {
             log.info("Nenhuma nota encontrada");
             throw new NotFoundException("Nenhuma nota encontrada");
         }
 
         log.info("Todas as notas listada");
 
-        return repository.findAll();
+        return notas;
     }
 
-    public NotaEntity buscarPorId(Long id, String token) {
-        String role = tokenService.buscaCampo(token, "scope");
+    public Slice<NotaResponse> listarAposId(Long aposId, int tamanho) {
+        Slice<NotaResponse> notas = repository.findResumidasAposId(aposId, PageRequest.of(0, tamanho, Sort.by("id")));
 
-        if (!"admin".equals(role) && !"pedagogico".equals(role) && !"professor".equals(role)) {
-            log.error("Usuário não autorizado: {}", role);
-            throw new SecurityException("Usuário não autorizado");
-        }
+        log.info("Notas listadas após o id {}", aposId);
+        return notas;
+    }
 
+    public NotaEntity buscarPorId(Long id) {
         log.info("Nota com id {} encontrada", id);
         return repository.findById(id).orElseThrow(() -> {
             log.error("Nota não encontrada com o id: {}", id);
@@ -75,33 +97,19 @@ public class NotaService {
         });
     }
 
-    public List<NotaEntity> buscarNotasPorAlunoId(Long aluno_id, String token) {
-        String role = tokenService.buscaCampo(token, "scope");
-
-        if (!"admin".equals(role) && !"pedagogico".equals(role) && !"professor".equals(role) && !"aluno".equals(role)) {
-            log.error("Usuário não autorizado: {}", role);
-            throw new SecurityException("Usuário não autorizado");
-        }
-
-        Long usuario = Long.valueOf(tokenService.buscaCampo(token, "sub"));
-
-        AlunoEntity aluno = alunoRepository.findById(aluno_id)
-                .orElseThrow(() -> {
-                    log.error("Aluno não encontrado com o id: {}", aluno_id);
-                    return new NotFoundException("Aluno não encontrado");
-                });
-
-        Long usuarioAluno = aluno.getUsuario().getId();
-
-        if ("admin".equals(role) || "pedagogico".equals(role) || "professor".equals(role)) {
-            log.error("Usuário não autorizado: {}", role);
+    public List<NotaResponse> buscarNotasPorAlunoId(Long aluno_id, UsuarioAutenticado usuarioAutenticado) {
+        if (usuarioAutenticado.possuiPapel(PapelEnum.ADMIN, PapelEnum.PEDAGOGICO, PapelEnum.PROFESSOR)) {
+            if (!alunoRepository.existsById(aluno_id)) {
+                log.error("Aluno não encontrado com o id: {}", aluno_id);
+                throw new NotFoundException("Aluno não encontrado");
+            }
             return repository.findNotasByAlunoId(aluno_id);
-        } else if (!Objects.equals(usuario, usuarioAluno)) {
+        } else if (!Objects.equals(alunoDoUsuario(usuarioAutenticado), aluno_id)) {
             log.error("Apenas notas com o seu Id podem ser acessadas");
             throw new SecurityException("Apenas notas com o seu Id podem ser acessadas");
         }
 
-        List<NotaEntity> notasPorAluno = repository.findNotasByAlunoId(aluno_id);
+        List<NotaResponse> notasPorAluno = repository.findNotasByAlunoId(aluno_id);
 
         if (notasPorAluno.isEmpty()) {
             log.error("Nenhuma nota encontrada para o id de aluno passado");
@@ -112,33 +120,31 @@ public class NotaService {
         return notasPorAluno;
     }
 
-    public List<NotaEntity> buscarNotasPorDocenteId(Long docente_id, String token) {
-        String role = tokenService.buscaCampo(token, "scope");
+    public List<NotaResponse> buscarMinhasNotas(UsuarioAutenticado usuarioAutenticado) {
+        List<NotaResponse> notas = repository.findNotasByUsuarioDoAluno(usuarioAutenticado.id());
 
-        if (!"admin".equals(role) && !"pedagogico".equals(role) && !"professor".equals(role)) {
-            log.error("Usuário não autorizado: {}", role);
-            throw new SecurityException("Usuário não autorizado");
+        if (notas.isEmpty()) {
+            log.error("Nenhuma nota encontrada para o usuário {}", usuarioAutenticado.id());
+            throw new NotFoundException("Nenhuma nota encontrada");
         }
 
-        Long usuario = Long.valueOf(tokenService.buscaCampo(token, "sub"));
-
-        DocenteEntity docente = docenteRepository.findById(docente_id)
-                .orElseThrow(() -> {
-                    log.error("Docente não encontrado");
-                    return new NotFoundException("Docente não encontrado");
-                });
-
-        Long usuarioDocente = docente.getUsuario().getId();
+        log.info("Notas do aluno do usuário {} listadas", usuarioAutenticado.id());
+        return notas;
+    }
 
-        if ("admin".equals(role) || "pedagogico".equals(role)) {
-            log.error("Usuário não autorizado: {}", role);
+    public List<NotaResponse> buscarNotasPorDocenteId(Long docente_id, UsuarioAutenticado usuarioAutenticado) {
+        if (usuarioAutenticado.possuiPapel(PapelEnum.ADMIN, PapelEnum.PEDAGOGICO)) {
+            if (!docenteRepository.existsById(docente_id)) {
+                log.error("Docente não encontrado");
+                throw new NotFoundException("Docente não encontrado");
+            }
             return repository.findNotasByDocenteId(docente_id);
-        } else if (!Objects.equals(usuario, usuarioDocente)) {
+        } else if (!Objects.equals(docenteDoUsuario(usuarioAutenticado), docente_id)) {
             log.error("Apenas notas com o seu Id podem ser acessadas");
             throw new SecurityException("Apenas notas com o seu Id podem ser acessadas");
         }
 
-        List<NotaEntity> notasPorDocente = repository.findNotasByDocenteId(docente_id);
+        List<NotaResponse> notasPorDocente = repository.findNotasByDocenteId(docente_id);
 
         if (notasPorDocente.isEmpty()) {
             log.error("Nenhuma nota encontrada para o id de docente passado");
@@ -150,18 +156,9 @@ public class NotaService {
     }
 
 
-    public NotaResponse salvar(InserirNotaRequest inserirNotaRequest, String token) {
-        String role = tokenService.buscaCampo(token, "scope");
-
-        if (!"admin".equals(role) && !"pedagogico".equals(role) && !"professor".equals(role)) {
-            log.error("Usuário não autorizado: {}", role);
-            throw new SecurityException("Usuário não autorizado");
-        }
-
-        if (inserirNotaRequest.valor() == null || inserirNotaRequest.valor().isBlank()) {
-            log.error("Valor não pode ser nulo ou vazio");
-            throw new IllegalArgumentException("Valor não pode ser nulo ou vazio");
-        }
+    @Transactional
+    public NotaResponse salvar(InserirNotaRequest inserirNotaRequest) {
+        validarValor(inserirNotaRequest.valor());
 
         AlunoEntity aluno = alunoRepository.findById(inserirNotaRequest.aluno())
                 .orElseThrow(() -> {
@@ -199,109 +196,289 @@ public class NotaService {
         nota.setAluno(aluno);
         nota.setDocente(docente);
         nota.setMateria(materia);
-        nota.setValor(inserirNotaRequest.valor());
+        nota.setValor(inserirNotaRequest.valor().setScale(2));
 
         NotaEntity notaSalva = repository.save(nota);
+        pontuacaoService.registrar(aluno.getId(), materia.getId(), notaSalva.getValor(), 1);
+        barramentoInvalidacao.publicar(BarramentoInvalidacao.PONTUACOES);
 
         log.info("Salvando nota do aluno {}", notaSalva.getAluno().getNome());
 
-        return new NotaResponse(
-                notaSalva.getId(),
-                notaSalva.getAluno(),
-                notaSalva.getDocente(),
-                notaSalva.getMateria(),
-                notaSalva.getValor());
+        return NotaResponse.from(notaSalva);
     }
 
-    public void removerPorId(Long id, String token) {
-        String role = tokenService.buscaCampo(token, "scope");
+    @Transactional
+    public void removerPorId(Long id) {
+        NotaEntity nota = repository.findById(id).orElseThrow(() -> {
+            log.error("Nenhuma nota encontrada com o id: {}", id);
+            return new NotFoundException("Nenhuma nota encontrada com o id passado");
+        });
+
+        log.info("Removendo nota com o id {}", id);
+        repository.delete(nota);
+
+        BigDecimal valor = nota.getValor() != null ? nota.getValor() : BigDecimal.ZERO;
+        pontuacaoService.registrar(nota.getAluno().getId(), nota.getMateria().getId(), valor.negate(), -1);
+        barramentoInvalidacao.publicar(BarramentoInvalidacao.PONTUACOES);
+    }
 
-        if (!"admin".equals(role)) {
-            log.error("Apenas um usuário admin pode remover uma nota");
-            throw new SecurityException("Apenas um usuário admin pode remover uma nota");
+    @Transactional
+    public ImportacaoNotasResponse importarLote(List<InserirNotaRequest> notas) {
+        if (notas == null || notas.isEmpty()) {
+            log.error("Nenhuma nota informada para importação");
+            throw new IllegalArgumentException("Nenhuma nota informada para importação");
         }
 
-        if (!repository.existsById(id)) {
-            log.error("Nenhuma nota encontrada com o id: {}", id);
-            throw new NotFoundException("Nenhuma nota encontrada com o id passado");
+        if (notas.size() > MAXIMO_IMPORTACAO) {
+            log.error("Importação com {} notas excede o limite de {}", notas.size(), MAXIMO_IMPORTACAO);
+            throw new IllegalArgumentException("Importação limitada a " + MAXIMO_IMPORTACAO + " notas");
         }
 
-        log.info("Removendo nota com o id {}", id);
-        repository.deleteById(id);
-    }
+        Set<Long> alunoIds = new HashSet<>();
+        Set<Long> docenteIds = new HashSet<>();
+        Set<Long> materiaIds = new HashSet<>();
+
+        for (int i = 0; i < notas.size(); i++) {
+            InserirNotaRequest nota = notas.get(i);
+            if (nota.aluno() == null || nota.docente() == null || nota.materia() == null) {
+                throw new IllegalArgumentException("Nota " + (i + 1) + ": aluno, docente e matéria são obrigatórios");
+            }
+
+            try {
+                validarValor(nota.valor());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Nota " + (i + 1) + ": " + e.getMessage());
+            }
+
+            alunoIds.add(nota.aluno());
+            docenteIds.add(nota.docente());
+            materiaIds.add(nota.materia());
+        }
+
+        Map<Long, Long> cursoPorAluno = new HashMap<>();
+        alunoRepository.findCursosDosAlunos(alunoIds)
+                .forEach(cursoDoAluno -> cursoPorAluno.put(cursoDoAluno.alunoId(), cursoDoAluno.cursoId()));
+
+        Set<Long> docentesPermitidos = new HashSet<>(
+                docenteRepository.findIdsComPapel(docenteIds, List.of(PapelEnum.PROFESSOR, PapelEnum.ADMIN)));
+
+        Map<Long, Long> cursoPorMateria = new HashMap<>();
+        materiaRepository.findResumidasPorIds(materiaIds)
+                .forEach(materia -> cursoPorMateria.put(materia.id(), materia.cursoId()));
+
+        for (int i = 0; i < notas.size(); i++) {
+            InserirNotaRequest nota = notas.get(i);
 
-    public NotaEntity atualizar(AtualizarNotaRequest atualizarNotaRequest, Long id, String token) {
-        String role = tokenService.buscaCampo(token, "scope");
+            if (!cursoPorAluno.containsKey(nota.aluno())) {
+                log.error("Aluno {} da nota {} não encontrado", nota.aluno(), i + 1);
+                throw new NotFoundException("Nota " + (i + 1) + ": Aluno não encontrado");
+            }
 
-        if (!"admin".equals(role) && !"pedagogico".equals(role) && !"professor".equals(role)) {
-            log.error("Usuário não autorizado: {}", role);
-            throw new SecurityException("Usuário não autorizado");
+            if (!docentesPermitidos.contains(nota.docente())) {
+                log.error("Docente {} da nota {} não encontrado ou sem papel de admin ou professor", nota.docente(), i + 1);
+                throw new SecurityException("Nota " + (i + 1) + ": O docente não foi encontrado ou não é um usuário admin ou professor");
+            }
+
+            if (!cursoPorMateria.containsKey(nota.materia())) {
+                log.error("Matéria {} da nota {} não encontrada", nota.materia(), i + 1);
+                throw new NotFoundException("Nota " + (i + 1) + ": Matéria não encontrada");
+            }
+
+            Long cursoDoAluno = cursoPorAluno.get(nota.aluno());
+            if (cursoDoAluno == null || !cursoDoAluno.equals(cursoPorMateria.get(nota.materia()))) {
+                log.error("Matéria {} da nota {} não pertence ao curso do aluno {}", nota.materia(), i + 1, nota.aluno());
+                throw new IllegalArgumentException("Nota " + (i + 1) + ": A matéria não pertence ao curso da turma que o aluno está matriculado");
+            }
         }
 
-        NotaEntity entity = buscarPorId(id, token);
+        // Ordenadas por aluno: registrar trava a linha do aluno, e duas importações simultâneas
+        // precisam travar na mesma ordem para não entrar em deadlock
+        Map<PontuacaoAlunoEntity.Chave, BigDecimal> somas = new TreeMap<>(
+                Comparator.comparing(PontuacaoAlunoEntity.Chave::getAlunoId)
+                        .thenComparing(PontuacaoAlunoEntity.Chave::getMateriaId));
+        Map<PontuacaoAlunoEntity.Chave, Long> quantidades = new HashMap<>();
+
+        for (int inicio = 0; inicio < notas.size(); inicio += TAMANHO_LOTE_IMPORTACAO) {
+            List<NotaEntity> lote = new ArrayList<>(TAMANHO_LOTE_IMPORTACAO);
+
+            for (InserirNotaRequest nota : notas.subList(inicio, Math.min(inicio + TAMANHO_LOTE_IMPORTACAO, notas.size()))) {
+                NotaEntity entity = new NotaEntity();
+                entity.setAluno(alunoRepository.getReferenceById(nota.aluno()));
+                entity.setDocente(docenteRepository.getReferenceById(nota.docente()));
+                entity.setMateria(materiaRepository.getReferenceById(nota.materia()));
+                entity.setValor(nota.valor().setScale(2));
+                lote.add(entity);
+
+                PontuacaoAlunoEntity.Chave chave = new PontuacaoAlunoEntity.Chave(nota.aluno(), nota.materia());
+                somas.merge(chave, entity.getValor(), BigDecimal::add);
+                quantidades.merge(chave, 1L, Long::sum);
+            }
+
+            repository.saveAll(lote);
+            repository.flush();
+            entityManager.clear();
+        }
 
-        if (atualizarNotaRequest.valor() == null || atualizarNotaRequest.valor().isBlank()) {
-            log.error("Valor não pode ser nulo ou vazio");
-            throw new IllegalArgumentException("Valor não pode ser nulo ou vazio");
+        somas.forEach((chave, soma) ->
+                pontuacaoService.registrar(chave.getAlunoId(), chave.getMateriaId(), soma, quantidades.get(chave)));
+        barramentoInvalidacao.publicar(BarramentoInvalidacao.PONTUACOES);
+
+        log.info("{} notas importadas", notas.size());
+        return new ImportacaoNotasResponse(notas.size());
+    }
+
+    @Transactional
+    public ImportacaoNotasResponse importarCsv(Reader csv) {
+        List<InserirNotaRequest> notas = new ArrayList<>();
+
+        try (BufferedReader leitor = new BufferedReader(csv)) {
+            String cabecalho = leitor.readLine();
+            if (cabecalho == null) {
+                log.error("Arquivo CSV vazio");
+                throw new IllegalArgumentException("Arquivo CSV vazio");
+            }
+
+            String separador = cabecalho.contains(";") ? ";" : ",";
+            if (!cabecalho.replace(" ", "").equalsIgnoreCase(String.join(separador, "aluno", "docente", "materia", "valor"))) {
+                log.error("Cabeçalho CSV inválido: {}", cabecalho);
+                throw new IllegalArgumentException("O cabeçalho do CSV deve ser aluno" + separador + "docente" + separador + "materia" + separador + "valor");
+            }
+
+            String linha;
+            int numeroLinha = 1;
+            while ((linha = leitor.readLine()) != null) {
+                numeroLinha++;
+                if (linha.isBlank()) {
+                    continue;
+                }
+
+                if (notas.size() == MAXIMO_IMPORTACAO) {
+                    log.error("Arquivo CSV excede o limite de {} notas", MAXIMO_IMPORTACAO);
+                    throw new IllegalArgumentException("Importação limitada a " + MAXIMO_IMPORTACAO + " notas");
+                }
+
+                String[] campos = linha.split(separador, -1);
+                try {
+                    notas.add(new InserirNotaRequest(
+                            Long.valueOf(campos[0].trim()),
+                            Long.valueOf(campos[1].trim()),
+                            Long.valueOf(campos[2].trim()),
+                            new BigDecimal(campos[3].trim().replace(',', '.'))));
+                } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                    log.error("Linha {} do CSV inválida: {}", numeroLinha, linha);
+                    throw new IllegalArgumentException("Linha " + numeroLinha + " do CSV inválida");
+                }
+            }
+        } catch (IOException e) {
+            log.error("Erro ao ler o CSV de notas", e);
+            throw new UncheckedIOException(e);
         }
 
-        log.info("Atualizando nota com o id {}", entity.getId());
-        entity.setValor(atualizarNotaRequest.valor());
-        return repository.save(entity);
+        return importarLote(notas);
     }
 
+    @Transactional
+    public NotaEntity atualizar(AtualizarNotaRequest atualizarNotaRequest, Long id) {
+        NotaEntity entity = buscarPorId(id);
 
-    public BigDecimal calcularPontuacao(Long aluno_id, String token) {
-        String role = tokenService.buscaCampo(token, "scope");
+        validarValor(atualizarNotaRequest.valor());
 
-        if (!"admin".equals(role) && !"pedagogico".equals(role) && !"professor".equals(role) && !"aluno".equals(role)) {
-            log.error("Usuário não autorizado: {}", role);
-            throw new SecurityException("Usuário não autorizado");
-        }
+        log.info("Atualizando nota com o id {}", entity.getId());
+        BigDecimal valorAnterior = entity.getValor() != null ? entity.getValor() : BigDecimal.ZERO;
+        BigDecimal diferenca = atualizarNotaRequest.valor().subtract(valorAnterior);
+        entity.setValor(atualizarNotaRequest.valor().setScale(2));
+        repository.save(entity);
+        pontuacaoService.registrar(entity.getAluno().getId(), entity.getMateria().getId(), diferenca, 0);
+        barramentoInvalidacao.publicar(BarramentoInvalidacao.PONTUACOES);
+        return entity;
+    }
 
-        Long usuario = Long.valueOf(tokenService.buscaCampo(token, "sub"));
 
-        AlunoEntity aluno = alunoRepository.findById(aluno_id)
+    public BigDecimal calcularPontuacao(Long aluno_id, UsuarioAutenticado usuarioAutenticado) {
+        if (usuarioAutenticado.papel() == PapelEnum.ALUNO && !Objects.equals(alunoDoUsuario(usuarioAutenticado), aluno_id)) {
+            log.error("Apenas pontuação com o seu Id podem ser acessadas");
+            throw new SecurityException("Apenas pontuação com o seu Id podem ser acessadas");
+        }
+
+        SomaNotasAluno somaNotas = repository.somarNotasPorAlunoId(aluno_id)
                 .orElseThrow(() -> {
                     log.error("Aluno não encontrado");
                     return new NotFoundException("Aluno não encontrado");
                 });
 
-        Long usuarioAluno = aluno.getUsuario().getId();
+        return pontuacao(somaNotas);
+    }
 
+    public BigDecimal calcularMinhaPontuacao(UsuarioAutenticado usuarioAutenticado) {
+        SomaNotasAluno somaNotas = repository.somarNotasPorUsuarioDoAluno(usuarioAutenticado.id())
+                .orElseThrow(() -> {
+                    log.error("Aluno não encontrado para o usuário {}", usuarioAutenticado.id());
+                    return new NotFoundException("Aluno não encontrado");
+                });
 
-        if ("aluno".equals(role) && !Objects.equals(usuario, usuarioAluno)) {
-            log.error("Apenas pontuação com o seu Id podem ser acessadas");
-            throw new SecurityException("Apenas pontuação com o seu Id podem ser acessadas");
-        }
+        return pontuacao(somaNotas);
+    }
+
+    // Tokens emitidos antes dos claims aluno_id/docente_id caem na busca só do id
+    private Long alunoDoUsuario(UsuarioAutenticado usuarioAutenticado) {
+        return usuarioAutenticado.alunoId() != null
+                ? usuarioAutenticado.alunoId()
+                : alunoRepository.findIdByUsuarioId(usuarioAutenticado.id()).orElse(null);
+    }
+
+    private Long docenteDoUsuario(UsuarioAutenticado usuarioAutenticado) {
+        return usuarioAutenticado.docenteId() != null
+                ? usuarioAutenticado.docenteId()
+                : docenteRepository.findIdByUsuarioId(usuarioAutenticado.id()).orElse(null);
+    }
 
-        List<NotaEntity> notasPorAluno = buscarNotasPorAlunoId(aluno_id, token);
-        CursoEntity cursoTurma = buscarCursoPorTurmaId(aluno.getTurma().getId());
+    public List<PontuacaoAlunoResponse> listarPontuacaoPorTurmaId(Long turma_id) {
+        if (!turmaRepository.existsById(turma_id)) {
+            log.error("Turma não encontrada com o id: {}", turma_id);
+            throw new NotFoundException("Turma não encontrada");
+        }
 
-        int totalMaterias = cursoTurma.getMaterias().size();
+        log.info("Pontuação dos alunos da turma {} calculada", turma_id);
+        return repository.somarNotasPorTurmaId(turma_id).stream()
+                .map(somaNotas -> new PontuacaoAlunoResponse(somaNotas.alunoId(), somaNotas.alunoNome(), pontuacao(somaNotas)))
+                .toList();
+    }
 
-        BigDecimal soma = BigDecimal.ZERO;
-        for (NotaEntity nota : notasPorAluno) {
-            BigDecimal valorNota = new BigDecimal(nota.getValor());
-            soma = soma.add(valorNota);
+    public List<PontuacaoAlunoResponse> listarPontuacaoPorCursoId(Long curso_id) {
+        if (!cursoRepository.existsById(curso_id)) {
+            log.error("Curso não encontrado com o id: {}", curso_id);
+            throw new NotFoundException("Curso não encontrado");
         }
 
-        if (notasPorAluno.isEmpty()) {
+        log.info("Pontuação dos alunos do curso {} calculada", curso_id);
+        return repository.somarNotasPorCursoId(curso_id).stream()
+                .map(somaNotas -> new PontuacaoAlunoResponse(somaNotas.alunoId(), somaNotas.alunoNome(), pontuacao(somaNotas)))
+                .toList();
+    }
+
+    private BigDecimal pontuacao(SomaNotasAluno somaNotas) {
+        if (somaNotas.quantidadeNotas() == 0 || somaNotas.quantidadeMaterias() == 0) {
             return BigDecimal.ZERO;
         }
 
-        BigDecimal media = soma.divide(BigDecimal.valueOf(totalMaterias), RoundingMode.HALF_UP);
+        BigDecimal media = somaNotas.soma().divide(BigDecimal.valueOf(somaNotas.quantidadeMaterias()), RoundingMode.HALF_UP);
         return media.multiply(BigDecimal.TEN);
     }
 
-    public CursoEntity buscarCursoPorTurmaId(Long turmaId) {
-        Optional<TurmaEntity> turma = turmaRepository.findById(turmaId);
+    private void validarValor(BigDecimal valor) {
+        if (valor == null) {
+            log.error("Valor não pode ser nulo");
+            throw new IllegalArgumentException("Valor não pode ser nulo");
+        }
 
-        if (turma.isEmpty()) {
-            log.error("Turma não encontrada com o id: {}", turmaId);
-            throw new NotFoundException("Turma não encontrada");
+        if (valor.compareTo(BigDecimal.ZERO) < 0 || valor.compareTo(VALOR_MAXIMO) > 0) {
+            log.error("Valor {} fora do intervalo de 0 a 10", valor);
+            throw new IllegalArgumentException("Valor deve estar entre 0 e 10");
         }
 
-        return turma.get().getCurso();
+        if (valor.stripTrailingZeros().scale() > 2) {
+            log.error("Valor {} com mais de duas casas decimais", valor);
+            throw new IllegalArgumentException("Valor deve ter no máximo duas casas decimais");
+        }
     }
 }
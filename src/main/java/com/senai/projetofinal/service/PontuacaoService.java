@@ -0,0 +1,166 @@
+package com.senai.projetofinal.service;
+
+import com.senai.projetofinal.datasource.entity.PontuacaoAlunoEntity;
+import com.senai.projetofinal.datasource.projection.SomaNotasMateria;
+import com.senai.projetofinal.datasource.repository.PontuacaoAlunoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Mantém a tabela {@code pontuacao_aluno}, que guarda soma e quantidade de notas por aluno
+ * e matéria para que a pontuação seja lida sem varrer {@code nota}.
+ * <p>
+ * Toda escrita de nota chama {@link #registrar} na mesma transação, sob lock da linha do
+ * aluno. A reconstrução periódica refaz o resumo a partir de {@code nota} em lotes paralelos
+ * de ids de aluno, corrigindo e reportando qualquer divergência.
+ */
+@Service
+@Slf4j
+public class PontuacaoService {
+
+    private final PontuacaoAlunoRepository repository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int tamanhoLote;
+
+    private final int paralelismo;
+
+    public PontuacaoService(PontuacaoAlunoRepository repository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${pontuacao.reconstrucao.tamanho-lote:500}") int tamanhoLote,
+                            @Value("${pontuacao.reconstrucao.paralelismo:4}") int paralelismo) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tamanhoLote = tamanhoLote;
+        this.paralelismo = paralelismo;
+    }
+
+    @Transactional
+    public void registrar(Long alunoId, Long materiaId, BigDecimal soma, long quantidade) {
+        repository.bloquearAlunos(alunoId, alunoId);
+
+        if (repository.somar(alunoId, materiaId, soma, quantidade) > 0) {
+            if (quantidade < 0) {
+                repository.removerSeVazia(alunoId, materiaId);
+            }
+            return;
+        }
+
+        if (quantidade <= 0) {
+            log.warn("Pontuação do aluno {} na matéria {} não encontrada, será corrigida na próxima reconstrução", alunoId, materiaId);
+            return;
+        }
+
+        PontuacaoAlunoEntity pontuacao = new PontuacaoAlunoEntity();
+        pontuacao.setAlunoId(alunoId);
+        pontuacao.setMateriaId(materiaId);
+        pontuacao.setSoma(soma);
+        pontuacao.setQuantidadeNotas(quantidade);
+        repository.save(pontuacao);
+    }
+
+    @Scheduled(cron = "${pontuacao.reconstrucao.cron:0 0 3 * * *}")
+    public void reconstruirAgendado() {
+        reconstruir();
+    }
+
+    public RelatorioReconstrucao reconstruir() {
+        Long menor = repository.menorAlunoId();
+        Long maior = repository.maiorAlunoId();
+
+        if (menor == null) {
+            log.info("Nenhum aluno cadastrado, reconstrução da pontuação ignorada");
+            return new RelatorioReconstrucao(0, 0, 0);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(paralelismo);
+        try {
+            List<CompletableFuture<RelatorioReconstrucao>> lotes = new ArrayList<>();
+            for (long de = menor; de <= maior; de += tamanhoLote) {
+                long inicio = de;
+                long fim = Math.min(de + tamanhoLote - 1, maior);
+                lotes.add(CompletableFuture.supplyAsync(
+                        () -> transactionTemplate.execute(status -> reconstruirLote(inicio, fim)), executor));
+            }
+
+            RelatorioReconstrucao relatorio = lotes.stream()
+                    .map(CompletableFuture::join)
+                    .reduce(new RelatorioReconstrucao(0, 0, 0), RelatorioReconstrucao::somar);
+
+            if (relatorio.divergencias() > 0) {
+                log.warn("Reconstrução da pontuação corrigiu {} divergências em {} linhas ({} lotes)",
+                        relatorio.divergencias(), relatorio.linhasVerificadas(), relatorio.lotes());
+            } else {
+                log.info("Reconstrução da pontuação sem divergências em {} linhas ({} lotes)",
+                        relatorio.linhasVerificadas(), relatorio.lotes());
+            }
+            return relatorio;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private RelatorioReconstrucao reconstruirLote(long de, long ate) {
+        repository.bloquearAlunos(de, ate);
+
+        Map<PontuacaoAlunoEntity.Chave, PontuacaoAlunoEntity> atuais = new HashMap<>();
+        for (PontuacaoAlunoEntity pontuacao : repository.findByAlunoIdBetween(de, ate)) {
+            atuais.put(new PontuacaoAlunoEntity.Chave(pontuacao.getAlunoId(), pontuacao.getMateriaId()), pontuacao);
+        }
+
+        List<SomaNotasMateria> esperadas = repository.somarNotasPorAlunoIdEntre(de, ate);
+        long divergencias = 0;
+
+        for (SomaNotasMateria esperada : esperadas) {
+            PontuacaoAlunoEntity atual = atuais.remove(new PontuacaoAlunoEntity.Chave(esperada.alunoId(), esperada.materiaId()));
+
+            if (atual == null) {
+                atual = new PontuacaoAlunoEntity();
+                atual.setAlunoId(esperada.alunoId());
+                atual.setMateriaId(esperada.materiaId());
+            } else if (atual.getSoma().compareTo(esperada.soma()) == 0
+                    && atual.getQuantidadeNotas().equals(esperada.quantidadeNotas())) {
+                continue;
+            }
+
+            log.warn("Pontuação do aluno {} na matéria {} divergente, recalculada", esperada.alunoId(), esperada.materiaId());
+            atual.setSoma(esperada.soma());
+            atual.setQuantidadeNotas(esperada.quantidadeNotas());
+            repository.save(atual);
+            divergencias++;
+        }
+
+        for (PontuacaoAlunoEntity sobra : atuais.values()) {
+            log.warn("Pontuação do aluno {} na matéria {} sem notas, removida", sobra.getAlunoId(), sobra.getMateriaId());
+            repository.delete(sobra);
+            divergencias++;
+        }
+
+        return new RelatorioReconstrucao(1, esperadas.size() + atuais.size(), divergencias);
+    }
+
+    public record RelatorioReconstrucao(int lotes, long linhasVerificadas, long divergencias) {
+
+        RelatorioReconstrucao somar(RelatorioReconstrucao outro) {
+            return new RelatorioReconstrucao(
+                    lotes + outro.lotes,
+                    linhasVerificadas + outro.linhasVerificadas,
+                    divergencias + outro.divergencias);
+        }
+    }
+}
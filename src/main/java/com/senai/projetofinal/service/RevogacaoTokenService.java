@@ -0,0 +1,75 @@
+package com.senai.projetofinal.service;
+
+import com.senai.projetofinal.datasource.entity.TokenRevogadoEntity;
+import com.senai.projetofinal.datasource.repository.TokenRevogadoRepository;
+import com.senai.projetofinal.infra.cache.BarramentoInvalidacao;
+import com.senai.projetofinal.infra.security.ListaRevogacao;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Grava as revogações de token na tabela {@code token_revogado} e mantém a {@link ListaRevogacao}
+ * em memória, que é quem responde a cada requisição. Cada revogação é publicada no
+ * {@link BarramentoInvalidacao} para que as outras instâncias a leiam da tabela, pela
+ * {@link com.senai.projetofinal.infra.security.SincronizacaoRevogacoes}. A lista é podada
+ * periodicamente junto com as linhas expiradas.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RevogacaoTokenService {
+
+    private final TokenRevogadoRepository repository;
+
+    private final ListaRevogacao listaRevogacao;
+
+    private final BarramentoInvalidacao barramentoInvalidacao;
+
+    public void revogarToken(Jwt jwt) {
+        if (jwt.getId() == null) {
+            // Tokens emitidos antes do jti só podem ser revogados junto com os demais do usuário
+            revogarUsuario(Long.valueOf(jwt.getSubject()));
+            return;
+        }
+
+        TokenRevogadoEntity revogacao = new TokenRevogadoEntity();
+        revogacao.setJti(jwt.getId());
+        revogacao.setUsuarioId(Long.valueOf(jwt.getSubject()));
+        revogacao.setRevogadoEm(Instant.now());
+        revogacao.setExpiraEm(jwt.getExpiresAt());
+        registrar(repository.save(revogacao));
+        log.info("Token {} do usuário {} revogado", jwt.getId(), jwt.getSubject());
+    }
+
+    public void revogarUsuario(Long usuarioId) {
+        // O iat do JWT tem precisão de segundos; tokens emitidos no mesmo segundo da revogação continuam válidos
+        Instant agora = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+        TokenRevogadoEntity revogacao = new TokenRevogadoEntity();
+        revogacao.setUsuarioId(usuarioId);
+        revogacao.setRevogadoEm(agora);
+        revogacao.setExpiraEm(agora.plusSeconds(TokenService.TEMPO_EXPIRACAO));
+        registrar(repository.save(revogacao));
+        log.info("Tokens do usuário {} emitidos até {} revogados", usuarioId, agora);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revogacao.limpeza:PT10M}")
+    @Transactional
+    public void limparExpirados() {
+        Instant agora = Instant.now();
+        repository.removerExpirados(agora);
+        listaRevogacao.podar(agora);
+    }
+
+    private void registrar(TokenRevogadoEntity revogacao) {
+        listaRevogacao.registrar(revogacao);
+        barramentoInvalidacao.publicar(BarramentoInvalidacao.REVOGACOES);
+    }
+}
@@ -2,30 +2,38 @@ package com.senai.projetofinal.service;
 
 import com.senai.projetofinal.controller.dto.request.LoginRequest;
 import com.senai.projetofinal.controller.dto.response.LoginResponse;
+import com.senai.projetofinal.datasource.entity.PapelEnum;
 import com.senai.projetofinal.datasource.entity.UsuarioEntity;
+import com.senai.projetofinal.datasource.repository.AlunoRepository;
+import com.senai.projetofinal.datasource.repository.DocenteRepository;
 import com.senai.projetofinal.datasource.repository.UsuarioRepository;
+import com.senai.projetofinal.infra.security.ChavesJwt;
+import com.senai.projetofinal.infra.security.CodificadorSenhas;
+import com.senai.projetofinal.infra.security.UsuarioAutenticado;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.oauth2.jwt.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.RequestBody;
 
 import java.time.Instant;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class TokenService {
 
-    private final BCryptPasswordEncoder bCryptPasswordEncoder;
-    private final JwtDecoder jwtDecoder;
+    private final CodificadorSenhas codificadorSenhas;
     private final JwtEncoder jwtEncoder;
+    private final ChavesJwt chavesJwt;
     private final UsuarioRepository usuarioRepository;
+    private final AlunoRepository alunoRepository;
+    private final DocenteRepository docenteRepository;
+    private final UsuarioService usuarioService;
 
-    private static long TEMPO_EXPIRACAO = 36000L;
+    static final long TEMPO_EXPIRACAO = 36000L;
 
     public LoginResponse gerarToken(
             @RequestBody LoginRequest loginRequest
@@ -39,7 +47,7 @@ public class TokenService {
         }
 
         UsuarioEntity usuarioEntity = usuarioRepository
-                .findByLoginOrEmail(loginRequest.login(),loginRequest.login())
+                .findByIdentificador(loginRequest.login())
                 .orElseThrow(
                         () ->{
                             log.error("Usuário incorreto");
@@ -47,46 +55,53 @@ public class TokenService {
                         }
                 );
 
-        if (!usuarioEntity.senhaValida(loginRequest, bCryptPasswordEncoder)){
+        if (!usuarioEntity.senhaValida(loginRequest, codificadorSenhas)){
             log.error("Senha incorreta");
             throw new BadCredentialsException("Senha incorreta");
         }
 
+        recodificarSenhaSeNecessario(usuarioEntity, loginRequest.senha());
+
         Instant now = Instant.now();
 
-        String scope = String.valueOf(usuarioEntity.getPapel().getNome());
+        PapelEnum papel = usuarioEntity.getPapel().getNome();
+        String scope = String.valueOf(papel);
 
-        JwtClaimsSet claims = JwtClaimsSet.builder()
+        JwtClaimsSet.Builder claims = JwtClaimsSet.builder()
                 .issuer("sistema-escolar")
                 .issuedAt(now)
                 .expiresAt(now.plusSeconds(TEMPO_EXPIRACAO))
                 .subject(usuarioEntity.getId().toString())
-                .claim("scope", scope)
-                .build();
+                .id(UUID.randomUUID().toString())
+                .claim("scope", scope);
+
+        // Ids de domínio no token: a checagem de "dados do próprio usuário" vira comparação de claims
+        if (papel == PapelEnum.ALUNO) {
+            alunoRepository.findIdByUsuarioId(usuarioEntity.getId())
+                    .ifPresent(alunoId -> claims.claim(UsuarioAutenticado.CLAIM_ALUNO, alunoId));
+        } else {
+            docenteRepository.findIdByUsuarioId(usuarioEntity.getId())
+                    .ifPresent(docenteId -> claims.claim(UsuarioAutenticado.CLAIM_DOCENTE, docenteId));
+        }
 
         var valorJWT = jwtEncoder.encode(
-                        JwtEncoderParameters.from(claims)
+                        JwtEncoderParameters.from(chavesJwt.cabecalho(), claims.build())
                 )
                 .getTokenValue();
 
         return new LoginResponse(valorJWT, TEMPO_EXPIRACAO);
     }
 
+    private void recodificarSenhaSeNecessario(UsuarioEntity usuarioEntity, String senha) {
+        if (!codificadorSenhas.precisaRecodificar(usuarioEntity.getSenha())) {
+            return;
+        }
 
-    public static Jwt getTokenJwt() {
-        return (Jwt) SecurityContextHolder.getContext()
-                .getAuthentication()
-                .getCredentials();
-    }
-    public String buscaCampo(String token, String claim) {
-        return jwtDecoder
-                .decode(token)
-                .getClaims()
-                .get(claim)
-                .toString();
-    }
-
-    public static Long getUserIdFromToken() {
-        return Long.valueOf(getTokenJwt().getSubject());
+        try {
+            usuarioService.atualizarSenhaCodificada(usuarioEntity.getId(), codificadorSenhas.codificar(senha));
+            log.info("Senha do usuário {} recodificada com o custo atual do BCrypt", usuarioEntity.getId());
+        } catch (RuntimeException e) {
+            log.warn("Senha do usuário {} não recodificada, será tentado no próximo login", usuarioEntity.getId(), e);
+        }
     }
 }
@@ -10,8 +10,12 @@ import com.senai.projetofinal.datasource.repository.CursoRepository;
 import com.senai.projetofinal.datasource.repository.DocenteRepository;
 import com.senai.projetofinal.datasource.repository.TurmaRepository;
 import com.senai.projetofinal.datasource.repository.UsuarioRepository;
+import com.senai.projetofinal.infra.cache.BarramentoInvalidacao;
 import com.senai.projetofinal.infra.exception.error.NotFoundException;
+import com.senai.projetofinal.infra.security.UsuarioAutenticado;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -28,44 +32,43 @@ public class TurmaService {
 
     private final CursoRepository cursoRepository;
 
-    private final TokenService tokenService;
+    private final BarramentoInvalidacao barramentoInvalidacao;
 
-    public TurmaService(TurmaRepository repository, UsuarioRepository usuarioRepository, DocenteRepository docenteRepository, CursoRepository cursoRepository, TokenService tokenService) {
+    public TurmaService(TurmaRepository repository, UsuarioRepository usuarioRepository, DocenteRepository docenteRepository, CursoRepository cursoRepository,
+                        BarramentoInvalidacao barramentoInvalidacao) {
         this.repository = repository;
         this.usuarioRepository = usuarioRepository;
         this.docenteRepository = docenteRepository;
         this.cursoRepository = cursoRepository;
-        this.tokenService = tokenService;
+        this.barramentoInvalidacao = barramentoInvalidacao;
     }
 
-    public List<TurmaEntity> listarTodos(String token) {
-        String role = tokenService.buscaCampo(token, "scope");
+    public Page<TurmaResponse> listarTodos(Pageable pageable) {
+        Page<TurmaResponse> turmas = repository.findAllResumidas(pageable);
 
-        if (!"admin".equals(role) && !"pedagogico".equals(role)) {
-            log.error("Usuário não autorizado: {}", role);
-            throw new SecurityException("Usuário não autorizado");
-        }
-
-        List<TurmaEntity> turmas = repository.findAll();
-
-        if (turmas.isEmpty()) {
+        if (turmas.getTotalElements() == 0) {
             log.info("Nenhuma turma encontrada");
             throw new NotFoundException("Nenhuma turma encontrada");
         }
 
         log.info("Todas as turmas listadas");
 
-        return repository.findAll();
+        return turmas;
     }
 
-    public TurmaEntity buscarPorId(Long id, String token) {
-        String role = tokenService.buscaCampo(token, "scope");
+    public List<TurmaResponse> listarMinhasTurmas(UsuarioAutenticado usuarioAutenticado) {
+        List<TurmaResponse> turmas = repository.findResumidasByUsuarioDoDocente(usuarioAutenticado.id());
 
-        if (!"admin".equals(role) && !"pedagogico".equals(role)) {
-            log.error("Usuário não autorizado: {}", role);
-            throw new SecurityException("Usuário não autorizado");
+        if (turmas.isEmpty()) {
+            log.error("Nenhuma turma encontrada para o usuário {}", usuarioAutenticado.id());
+            throw new NotFoundException("Nenhuma turma encontrada");
         }
 
+        log.info("Turmas do docente do usuário {} listadas", usuarioAutenticado.id());
+        return turmas;
+    }
+
+    public TurmaEntity buscarPorId(Long id) {
         log.info("Turma com o id {} encontrada", id);
         return repository.findById(id).orElseThrow(() -> {
             log.error("Turma não encontrada");
@@ -73,14 +76,7 @@ public class TurmaService {
         });
     }
 
-    public TurmaResponse salvar(InserirTurmaRequest inserirTurmaRequest, String token) {
-        String role = tokenService.buscaCampo(token, "scope");
-
-        if (!"admin".equals(role) && !"pedagogico".equals(role)) {
-            log.error("Usuário não autorizado: {}", role);
-            throw new SecurityException("Usuário não autorizado");
-        }
-
+    public TurmaResponse salvar(InserirTurmaRequest inserirTurmaRequest) {
         if (inserirTurmaRequest.nome() == null || inserirTurmaRequest.nome().isBlank()) {
             log.error("Nome não pode ser nulo ou vazio");
             throw new IllegalArgumentException("Nome não pode ser nulo ou vazio");
@@ -116,25 +112,14 @@ public class TurmaService {
         turma.setCurso(curso);
 
         TurmaEntity turmaSalva = repository.save(turma);
+        barramentoInvalidacao.publicar(BarramentoInvalidacao.TURMAS);
 
         log.info("Salvando turma com o nome {}", turmaSalva.getNome());
 
-        return new TurmaResponse(
-                turmaSalva.getId(),
-                turmaSalva.getNome(),
-                turmaSalva.getDocente(),
-                turmaSalva.getCurso()
-        );
+        return TurmaResponse.from(turmaSalva);
     }
 
-    public void removerPorid(Long id, String token) {
-        String role = tokenService.buscaCampo(token, "scope");
-
-        if (!"admin".equals(role)) {
-            log.error("Apenas um admin pode remover uma turma");
-            throw new SecurityException("Apenas um admin pode remover uma turma");
-        }
-
+    public void removerPorid(Long id) {
         if (!repository.existsById(id)) {
             log.error("Nenhuma turma encontrada com o id: {}", id);
             throw new NotFoundException("Nenhuma turma encontrada com o id passado");
@@ -142,16 +127,10 @@ public class TurmaService {
 
         log.info("Removendo turma com o id {}", id);
         repository.deleteById(id);
+        barramentoInvalidacao.publicar(BarramentoInvalidacao.TURMAS, BarramentoInvalidacao.PONTUACOES);
     }
 
-    public TurmaEntity atualizar(AtualizarTurmaRequest atualizarTurmaRequest, Long id, String token) {
-        String role = tokenService.buscaCampo(token, "scope");
-
-        if (!"admin".equals(role) && !"pedagogico".equals(role)) {
-            log.error("Usuário não autorizado: {}", role);
-            throw new SecurityException("Usuário não autorizado");
-        }
-
+    public TurmaEntity atualizar(AtualizarTurmaRequest atualizarTurmaRequest, Long id) {
         if (!repository.existsById(id)) {
             log.error("Nenhuma turma encontrada com o id: {}", id);
             throw new NotFoundException("Nenhuma turma encontrada com o id passado");
@@ -167,7 +146,7 @@ public class TurmaService {
             throw new IllegalArgumentException("Uma turma já existe com o nome passado");
         }
 
-        TurmaEntity entity = buscarPorId(id, token);
+        TurmaEntity entity = buscarPorId(id);
 
         CursoEntity curso = cursoRepository.findById(atualizarTurmaRequest.curso())
                 .orElseThrow(() -> {
@@ -193,6 +172,8 @@ public class TurmaService {
         entity.setNome(atualizarTurmaRequest.nome());
         entity.setDocente(docente);
         entity.setCurso(curso);
-        return repository.save(entity);
+        repository.save(entity);
+        barramentoInvalidacao.publicar(BarramentoInvalidacao.TURMAS, BarramentoInvalidacao.PONTUACOES);
+        return entity;
     }
 }
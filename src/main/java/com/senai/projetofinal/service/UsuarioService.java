@@ -3,15 +3,18 @@ package com.senai.projetofinal.service;
 import com.senai.projetofinal.controller.dto.request.InserirLoginRequest;
 import com.senai.projetofinal.datasource.entity.PapelEnum;
 import com.senai.projetofinal.datasource.entity.UsuarioEntity;
+import com.senai.projetofinal.datasource.repository.AlunoRepository;
+import com.senai.projetofinal.datasource.repository.DocenteRepository;
 import com.senai.projetofinal.datasource.repository.PapelRepository;
 import com.senai.projetofinal.datasource.repository.UsuarioRepository;
 import com.senai.projetofinal.infra.exception.error.NotFoundException;
+import com.senai.projetofinal.infra.security.CodificadorSenhas;
+import com.senai.projetofinal.infra.security.UsuarioAutenticado;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestHeader;
 
 import java.util.List;
 import java.util.Optional;
@@ -21,22 +24,14 @@ import java.util.Optional;
 @Slf4j
 public class UsuarioService {
 
-    private final BCryptPasswordEncoder bCryptPasswordEncoder;
+    private final CodificadorSenhas codificadorSenhas;
     private final UsuarioRepository usuarioRepository;
     private final PapelRepository papelRepository;
-    private final TokenService tokenService;
+    private final AlunoRepository alunoRepository;
+    private final DocenteRepository docenteRepository;
 
     public UsuarioEntity cadastraNovoLogin(
-            @RequestBody InserirLoginRequest inserirLoginRequest,
-            @RequestHeader("Authorization") String token) {
-
-        String role = tokenService.buscaCampo(token, "scope");
-
-        if (!"admin".equals(role)) {
-            log.error("Usuário não autorizado: {}", role);
-            throw new SecurityException("Apenas um admin pode cadastrar novos usuários");
-        }
-
+            @RequestBody InserirLoginRequest inserirLoginRequest) {
         if (inserirLoginRequest.nomeLogin() == null || inserirLoginRequest.nomeLogin().isBlank()) {
             log.error("Nome não pode ser nulo ou vazio");
             throw new IllegalArgumentException("Login não pode ser nulo ou vazio");
@@ -47,7 +42,7 @@ public class UsuarioService {
             throw new IllegalArgumentException("Senha não pode ser nula ou vazia");
         }
 
-        boolean loginExiste = usuarioRepository.findByLogin(inserirLoginRequest.nomeLogin())
+        boolean loginExiste = usuarioRepository.findByChaveLogin(UsuarioRepository.normalizar(inserirLoginRequest.nomeLogin()))
                 .isPresent();
 
         if (loginExiste) {
@@ -58,7 +53,7 @@ public class UsuarioService {
         UsuarioEntity usuario = new UsuarioEntity();
         usuario.setLogin(inserirLoginRequest.nomeLogin());
         usuario.setSenha(
-                bCryptPasswordEncoder.encode(inserirLoginRequest.senha())
+                codificadorSenhas.codificar(inserirLoginRequest.senha())
         );
         usuario.setPapel(
                 papelRepository.findByNome(PapelEnum.valueOf(inserirLoginRequest.nomePapel().toUpperCase()))
@@ -70,11 +65,18 @@ public class UsuarioService {
         return usuario;
     }
 
+    @Transactional
+    public void atualizarSenhaCodificada(Long usuarioId, String senhaCodificada) {
+        usuarioRepository.atualizarSenha(usuarioId, senhaCodificada);
+        alunoRepository.atualizarSenhaPorUsuarioId(usuarioId, senhaCodificada);
+        docenteRepository.atualizarSenhaPorUsuarioId(usuarioId, senhaCodificada);
+    }
+
     public UsuarioEntity buscarUsuarioPorId(Long id) {
         return usuarioRepository.findById(id).orElseThrow(() -> new NotFoundException("Usuário não encontrado"));
     }
 
-    public UsuarioEntity buscarUsuarioPorToken(){
-        return this.buscarUsuarioPorId(TokenService.getUserIdFromToken());
+    public UsuarioEntity buscarUsuarioPorToken(UsuarioAutenticado usuarioAutenticado){
+        return this.buscarUsuarioPorId(usuarioAutenticado.id());
     }
 }
@@ -0,0 +1,16 @@
+-- Converte nota.valor de texto para NUMERIC(4,2) nos bancos criados antes da mudança.
+-- Em bancos novos a tabela ainda não existe neste ponto e é criada pelo Hibernate (ddl-auto=update).
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'nota' AND column_name = 'valor' AND data_type <> 'numeric') THEN
+        ALTER TABLE nota
+            ALTER COLUMN valor TYPE NUMERIC(4, 2)
+            USING NULLIF(TRIM(REPLACE(valor, ',', '.')), '')::NUMERIC(4, 2);
+    END IF;
+
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'nota') THEN
+        CREATE INDEX IF NOT EXISTS idx_nota_aluno ON nota (aluno_id);
+    END IF;
+END
+$$;
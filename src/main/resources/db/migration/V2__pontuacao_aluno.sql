@@ -0,0 +1,22 @@
+-- Resumo de notas por aluno e matéria, mantido pelo NotaService a cada escrita em nota.
+CREATE TABLE IF NOT EXISTS pontuacao_aluno (
+    aluno_id         BIGINT         NOT NULL,
+    materia_id       BIGINT         NOT NULL,
+    soma             NUMERIC(10, 2) NOT NULL,
+    quantidade_notas BIGINT         NOT NULL,
+    PRIMARY KEY (aluno_id, materia_id)
+);
+
+-- Popula o resumo a partir das notas já existentes.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'nota') THEN
+        INSERT INTO pontuacao_aluno (aluno_id, materia_id, soma, quantidade_notas)
+        SELECT aluno_id, materia_id, COALESCE(SUM(valor), 0), COUNT(*)
+        FROM nota
+        WHERE aluno_id IS NOT NULL AND materia_id IS NOT NULL
+        GROUP BY aluno_id, materia_id
+        ON CONFLICT (aluno_id, materia_id) DO NOTHING;
+    END IF;
+END
+$$;
@@ -0,0 +1,11 @@
+-- nota.id passa a vir de uma sequence com incremento 50 (allocationSize do Hibernate),
+-- o que permite inserts em lote via JDBC batch. A sequence começa acima do maior id atual.
+CREATE SEQUENCE IF NOT EXISTS nota_seq START WITH 1 INCREMENT BY 50;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'nota') THEN
+        PERFORM setval('nota_seq', COALESCE((SELECT MAX(id) FROM nota), 0) + 50);
+    END IF;
+END
+$$;
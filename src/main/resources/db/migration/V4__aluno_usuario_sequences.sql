@@ -0,0 +1,16 @@
+-- aluno.id e usuario.id passam a vir de sequences com incremento 50 (allocationSize do Hibernate),
+-- para que a matrícula em lote grave usuários e alunos via JDBC batch.
+CREATE SEQUENCE IF NOT EXISTS aluno_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS usuario_seq START WITH 1 INCREMENT BY 50;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'aluno') THEN
+        PERFORM setval('aluno_seq', COALESCE((SELECT MAX(id) FROM aluno), 0) + 50);
+    END IF;
+
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'usuario') THEN
+        PERFORM setval('usuario_seq', COALESCE((SELECT MAX(id) FROM usuario), 0) + 50);
+    END IF;
+END
+$$;
@@ -0,0 +1,26 @@
+-- Índices únicos sobre login e email normalizados (lower), usados na busca do login sem diferenciar
+-- maiúsculas. A tabela usuario já existe: as migrações rodam depois do Hibernate (FlywayConfig).
+-- Logins ou emails repetidos sem diferenciar maiúsculas interrompem a migração e precisam ser
+-- corrigidos antes de a aplicação subir.
+DO $$
+DECLARE
+    logins_repetidos TEXT;
+    emails_repetidos TEXT;
+BEGIN
+    SELECT string_agg(chave, ', ' ORDER BY chave) INTO logins_repetidos
+    FROM (SELECT lower(login) AS chave FROM usuario
+          WHERE login IS NOT NULL GROUP BY lower(login) HAVING COUNT(*) > 1) repetidos;
+
+    SELECT string_agg(chave, ', ' ORDER BY chave) INTO emails_repetidos
+    FROM (SELECT lower(email) AS chave FROM usuario
+          WHERE email IS NOT NULL GROUP BY lower(email) HAVING COUNT(*) > 1) repetidos;
+
+    IF logins_repetidos IS NOT NULL OR emails_repetidos IS NOT NULL THEN
+        RAISE EXCEPTION 'Usuários repetidos sem diferenciar maiúsculas. Logins: %. Emails: %',
+            COALESCE(logins_repetidos, 'nenhum'), COALESCE(emails_repetidos, 'nenhum');
+    END IF;
+END
+$$;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_usuario_login_normalizado ON usuario (lower(login));
+CREATE UNIQUE INDEX IF NOT EXISTS ux_usuario_email_normalizado ON usuario (lower(email));
@@ -0,0 +1,125 @@
+package com.senai.projetofinal.datasource.repository;
+
+import com.senai.projetofinal.datasource.entity.PapelEntity;
+import com.senai.projetofinal.datasource.entity.PapelEnum;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Mede a latência da busca do usuário no login com 100 mil usuários em um Postgres real,
+ * comparando o antigo {@code login = ? OR email = ?} com a busca por identificador normalizado,
+ * entrando pelo login (uma consulta) e pelo email (login e depois email).
+ * Só roda quando a URL do banco é informada:
+ * <pre>
+ * docker run --rm -d -p 5432:5432 -e POSTGRES_PASSWORD=postgres postgres:16
+ * mvn test -Dtest=BuscaLoginBenchmarkTest -Dbenchmark.postgres.url=jdbc:postgresql://localhost:5432/postgres
+ * </pre>
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=${benchmark.postgres.url}",
+        "spring.datasource.username=${benchmark.postgres.usuario:postgres}",
+        "spring.datasource.password=${benchmark.postgres.senha:postgres}",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfSystemProperty(named = "benchmark.postgres.url", matches = ".+")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Slf4j
+class BuscaLoginBenchmarkTest {
+
+    static final int USUARIOS = 100_000;
+
+    static final int BUSCAS = 2_000;
+
+    @Autowired
+    UsuarioRepository usuarioRepository;
+
+    @Autowired
+    PapelRepository papelRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    final Random random = new Random(42);
+
+    @BeforeAll
+    void setUp() throws Exception {
+        PapelEntity papel = new PapelEntity();
+        papel.setNome(PapelEnum.ALUNO);
+        papel = papelRepository.save(papel);
+
+        jdbcTemplate.update("INSERT INTO usuario (id, login, email, senha, papel_id) "
+                + "SELECT g, 'usuario' || g, 'usuario' || g || '@escola.com', 'x', ? FROM generate_series(1, ?) g",
+                papel.getId(), USUARIOS);
+        jdbcTemplate.execute(new ClassPathResource("db/migration/V5__usuario_indices_normalizados.sql").getContentAsString(StandardCharsets.UTF_8));
+        jdbcTemplate.execute("ANALYZE usuario");
+    }
+
+    @Test
+    void buscarUsuarioNoLogin() {
+        // when
+        List<Long> antigo = medir(email -> jdbcTemplate.queryForList(
+                "SELECT id FROM usuario WHERE login = ? OR email = ?", Long.class, email, email));
+        List<Long> porLogin = medir(email -> usuarioRepository.findByIdentificador(
+                email.substring(0, email.indexOf('@')).toUpperCase()).orElseThrow());
+        List<Long> porEmail = medir(email -> usuarioRepository.findByIdentificador(email.toUpperCase()).orElseThrow());
+
+        // then
+        log.info("login = ? OR email = ?: p50 {} µs, p99 {} µs", percentil(antigo, 0.50), percentil(antigo, 0.99));
+        log.info("identificador pelo login: p50 {} µs, p99 {} µs", percentil(porLogin, 0.50), percentil(porLogin, 0.99));
+        log.info("identificador pelo email: p50 {} µs, p99 {} µs", percentil(porEmail, 0.50), percentil(porEmail, 0.99));
+        jdbcTemplate.queryForList("EXPLAIN SELECT id FROM usuario WHERE lower(login) = 'usuario1'", String.class)
+                .forEach(linha -> log.info("plano pelo login: {}", linha));
+        jdbcTemplate.queryForList("EXPLAIN SELECT id FROM usuario WHERE lower(email) = 'usuario1@escola.com'", String.class)
+                .forEach(linha -> log.info("plano pelo email: {}", linha));
+        assertTrue(percentil(porLogin, 0.50) > 0);
+    }
+
+    private List<Long> medir(Consumer<String> busca) {
+        for (int i = 0; i < 200; i++) {
+            busca.accept(emailAleatorio());
+        }
+
+        List<Long> latencias = new ArrayList<>(BUSCAS);
+        for (int i = 0; i < BUSCAS; i++) {
+            String email = emailAleatorio();
+            long inicio = System.nanoTime();
+            busca.accept(email);
+            latencias.add(System.nanoTime() - inicio);
+        }
+        Collections.sort(latencias);
+        return latencias;
+    }
+
+    private String emailAleatorio() {
+        return "usuario" + (random.nextInt(USUARIOS) + 1) + "@escola.com";
+    }
+
+    private static long percentil(List<Long> ordenadas, double percentil) {
+        int indice = (int) Math.ceil(percentil * ordenadas.size()) - 1;
+        return TimeUnit.NANOSECONDS.toMicros(ordenadas.get(Math.max(indice, 0)));
+    }
+}
@@ -0,0 +1,166 @@
+package com.senai.projetofinal.datasource.repository;
+
+import com.senai.projetofinal.datasource.entity.CursoEntity;
+import com.senai.projetofinal.datasource.entity.MateriaEntity;
+import com.senai.projetofinal.datasource.entity.PapelEntity;
+import com.senai.projetofinal.datasource.entity.PapelEnum;
+import com.senai.projetofinal.infra.cache.CacheSegundoNivel;
+import com.senai.projetofinal.infra.cache.EstatisticasRegiao;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.flyway.enabled=false"
+})
+@Import(CacheSegundoNivel.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CacheSegundoNivelTest {
+
+    @Autowired
+    PapelRepository papelRepository;
+
+    @Autowired
+    CursoRepository cursoRepository;
+
+    @Autowired
+    MateriaRepository materiaRepository;
+
+    @Autowired
+    CacheSegundoNivel cacheSegundoNivel;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    TransactionTemplate transacao;
+
+    Statistics estatisticas;
+
+    Long cursoId;
+
+    Long materiaId;
+
+    @BeforeAll
+    void setUp() {
+        if (papelRepository.findByNome(PapelEnum.PEDAGOGICO).isEmpty()) {
+            PapelEntity papel = new PapelEntity();
+            papel.setNome(PapelEnum.PEDAGOGICO);
+            papelRepository.save(papel);
+        }
+
+        CursoEntity curso = new CursoEntity();
+        curso.setNome("Curso Cache");
+        cursoId = cursoRepository.save(curso).getId();
+
+        materiaId = materia("Geografia Cache").getId();
+    }
+
+    @BeforeEach
+    void limparEstatisticas() {
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+    }
+
+    @Test
+    void papelPeloNomeVemDoCacheDeConsultas() {
+        // given
+        papelRepository.findByNome(PapelEnum.PEDAGOGICO);
+        estatisticas.clear();
+
+        // when
+        PapelEntity papel = papelRepository.findByNome(PapelEnum.PEDAGOGICO).orElseThrow();
+
+        // then
+        assertEquals(PapelEnum.PEDAGOGICO, papel.getNome());
+        assertEquals(0, estatisticas.getPrepareStatementCount());
+        assertEquals(1, estatisticas.getQueryCacheHitCount());
+    }
+
+    @Test
+    void atualizacaoPeloRepositorioInvalidaAEntidade() {
+        // given
+        materiaRepository.findById(materiaId);
+        estatisticas.clear();
+        assertEquals("Geografia Cache", materiaRepository.findById(materiaId).orElseThrow().getNome());
+        assertEquals(0, estatisticas.getPrepareStatementCount());
+
+        // when
+        MateriaEntity materia = materiaRepository.findById(materiaId).orElseThrow();
+        materia.setNome("Geografia Cache Atualizada");
+        materiaRepository.save(materia);
+
+        // then
+        assertEquals("Geografia Cache Atualizada", materiaRepository.findById(materiaId).orElseThrow().getNome());
+    }
+
+    @Test
+    void novaMateriaInvalidaAColecaoDoCurso() {
+        // given
+        int antes = quantidadeMaterias();
+
+        // when
+        materia("História Cache");
+
+        // then
+        assertEquals(antes + 1, quantidadeMaterias());
+    }
+
+    @Test
+    void buscarCursoNaoCarregaAsMaterias() {
+        // given
+        cursoRepository.findById(cursoId);
+        estatisticas.clear();
+
+        // when
+        CursoEntity curso = cursoRepository.findById(cursoId).orElseThrow();
+
+        // then
+        assertFalse(Hibernate.isInitialized(curso.getMaterias()));
+        assertEquals(0, estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void expoeEstatisticasPorRegiao() {
+        // given
+        cursoRepository.findById(cursoId);
+
+        // when
+        cursoRepository.findById(cursoId);
+
+        // then
+        EstatisticasRegiao curso = cacheSegundoNivel.estatisticas().stream()
+                .filter(regiao -> regiao.regiao().equals("curso"))
+                .findFirst().orElseThrow();
+        assertTrue(curso.acertos() > 0);
+        assertTrue(curso.taxaAcerto() > 0);
+        assertEquals(1000, curso.tamanhoMaximo());
+    }
+
+    private int quantidadeMaterias() {
+        return transacao.execute(status -> cursoRepository.findById(cursoId).orElseThrow().getMaterias().size());
+    }
+
+    private MateriaEntity materia(String nome) {
+        MateriaEntity materia = new MateriaEntity();
+        materia.setNome(nome);
+        materia.setCurso(cursoRepository.getReferenceById(cursoId));
+        return materiaRepository.save(materia);
+    }
+}
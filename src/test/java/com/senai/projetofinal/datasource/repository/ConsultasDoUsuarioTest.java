@@ -0,0 +1,188 @@
+package com.senai.projetofinal.datasource.repository;
+
+import com.senai.projetofinal.controller.dto.response.CursoResponse;
+import com.senai.projetofinal.controller.dto.response.NotaResponse;
+import com.senai.projetofinal.controller.dto.response.TurmaResponse;
+import com.senai.projetofinal.datasource.entity.*;
+import com.senai.projetofinal.datasource.projection.SomaNotasAluno;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.flyway.enabled=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ConsultasDoUsuarioTest {
+
+    @Autowired
+    PapelRepository papelRepository;
+
+    @Autowired
+    UsuarioRepository usuarioRepository;
+
+    @Autowired
+    DocenteRepository docenteRepository;
+
+    @Autowired
+    CursoRepository cursoRepository;
+
+    @Autowired
+    MateriaRepository materiaRepository;
+
+    @Autowired
+    TurmaRepository turmaRepository;
+
+    @Autowired
+    AlunoRepository alunoRepository;
+
+    @Autowired
+    NotaRepository notaRepository;
+
+    @Autowired
+    PontuacaoAlunoRepository pontuacaoAlunoRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    Statistics estatisticas;
+
+    Long usuarioAlunoId;
+
+    Long usuarioDocenteId;
+
+    Long alunoId;
+
+    Long cursoId;
+
+    @BeforeAll
+    void setUp() {
+        UsuarioEntity usuarioDocente = usuario("docente.me", PapelEnum.PROFESSOR);
+        usuarioDocenteId = usuarioDocente.getId();
+        DocenteEntity docente = new DocenteEntity();
+        docente.setNome("Docente Me");
+        docente.setCpf("docente.me");
+        docente.setUsuario(usuarioDocente);
+        docente = docenteRepository.save(docente);
+
+        CursoEntity curso = new CursoEntity();
+        curso.setNome("Curso Me");
+        curso = cursoRepository.save(curso);
+        cursoId = curso.getId();
+
+        MateriaEntity materia = new MateriaEntity();
+        materia.setNome("Química");
+        materia.setCurso(curso);
+        materia = materiaRepository.save(materia);
+
+        TurmaEntity turma = new TurmaEntity();
+        turma.setNome("Turma Me");
+        turma.setDocente(docente);
+        turma.setCurso(curso);
+        turma = turmaRepository.save(turma);
+
+        UsuarioEntity usuarioAluno = usuario("aluno.me", PapelEnum.ALUNO);
+        usuarioAlunoId = usuarioAluno.getId();
+        AlunoEntity aluno = new AlunoEntity();
+        aluno.setNome("Aluno Me");
+        aluno.setUsuario(usuarioAluno);
+        aluno.setTurma(turma);
+        alunoId = alunoRepository.save(aluno).getId();
+
+        NotaEntity nota = new NotaEntity();
+        nota.setAluno(aluno);
+        nota.setDocente(docente);
+        nota.setMateria(materia);
+        nota.setValor(new BigDecimal("8.00"));
+        notaRepository.save(nota);
+
+        PontuacaoAlunoEntity pontuacao = new PontuacaoAlunoEntity();
+        pontuacao.setAlunoId(alunoId);
+        pontuacao.setMateriaId(materia.getId());
+        pontuacao.setSoma(new BigDecimal("8.00"));
+        pontuacao.setQuantidadeNotas(1L);
+        pontuacaoAlunoRepository.save(pontuacao);
+    }
+
+    @BeforeEach
+    void limparEstatisticas() {
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+    }
+
+    @Test
+    void notasDoAlunoPeloUsuario() {
+        // when
+        List<NotaResponse> notas = notaRepository.findNotasByUsuarioDoAluno(usuarioAlunoId);
+
+        // then
+        assertEquals(1, notas.size());
+        assertEquals(alunoId, notas.get(0).alunoId());
+        assertEquals("Química", notas.get(0).materiaNome());
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void pontuacaoDoAlunoPeloUsuario() {
+        // when
+        SomaNotasAluno somaNotas = notaRepository.somarNotasPorUsuarioDoAluno(usuarioAlunoId).orElseThrow();
+
+        // then
+        assertEquals(alunoId, somaNotas.alunoId());
+        assertEquals(0, new BigDecimal("8.00").compareTo(somaNotas.soma()));
+        assertEquals(1L, somaNotas.quantidadeMaterias());
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void cursoDoAlunoPeloUsuario() {
+        // when
+        CursoResponse curso = cursoRepository.findCursoByUsuarioDoAluno(usuarioAlunoId).orElseThrow();
+
+        // then
+        assertEquals(new CursoResponse(cursoId, "Curso Me"), curso);
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+        assertEquals(List.of(curso), cursoRepository.findCursosByAlunoTurma(alunoId));
+    }
+
+    @Test
+    void turmasDoDocentePeloUsuario() {
+        // when
+        List<TurmaResponse> turmas = turmaRepository.findResumidasByUsuarioDoDocente(usuarioDocenteId);
+
+        // then
+        assertEquals(1, turmas.size());
+        assertEquals("Turma Me", turmas.get(0).nome());
+        assertEquals("Curso Me", turmas.get(0).cursoNome());
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+        assertTrue(turmaRepository.findResumidasByUsuarioDoDocente(usuarioAlunoId).isEmpty());
+    }
+
+    private UsuarioEntity usuario(String login, PapelEnum nomePapel) {
+        PapelEntity papel = new PapelEntity();
+        papel.setNome(nomePapel);
+        papel = papelRepository.save(papel);
+
+        UsuarioEntity usuario = new UsuarioEntity();
+        usuario.setLogin(login);
+        usuario.setSenha("senha");
+        usuario.setPapel(papel);
+        return usuarioRepository.save(usuario);
+    }
+}
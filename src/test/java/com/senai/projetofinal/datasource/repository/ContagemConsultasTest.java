@@ -0,0 +1,243 @@
+package com.senai.projetofinal.datasource.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.senai.projetofinal.controller.dto.response.AlunoResponse;
+import com.senai.projetofinal.controller.dto.response.DocenteResponse;
+import com.senai.projetofinal.controller.dto.response.NotaResponse;
+import com.senai.projetofinal.datasource.entity.*;
+import com.senai.projetofinal.datasource.projection.SomaNotasAluno;
+import com.senai.projetofinal.service.PontuacaoService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Conta os statements SQL que cada consulta usada pelos endpoints de listagem e busca
+ * dispara, incluindo a serialização da resposta fora da sessão, como acontece em produção
+ * com {@code spring.jpa.open-in-view=false}.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.flyway.enabled=false"
+})
+@Import(PontuacaoService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ContagemConsultasTest {
+
+    @Autowired
+    PapelRepository papelRepository;
+
+    @Autowired
+    UsuarioRepository usuarioRepository;
+
+    @Autowired
+    DocenteRepository docenteRepository;
+
+    @Autowired
+    CursoRepository cursoRepository;
+
+    @Autowired
+    MateriaRepository materiaRepository;
+
+    @Autowired
+    TurmaRepository turmaRepository;
+
+    @Autowired
+    AlunoRepository alunoRepository;
+
+    @Autowired
+    NotaRepository notaRepository;
+
+    @Autowired
+    PontuacaoService pontuacaoService;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    TransactionTemplate transacao;
+
+    final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    static final PageRequest PAGINA = PageRequest.of(0, 20, Sort.by("id"));
+
+    Long turmaId;
+
+    Long cursoId;
+
+    Long alunoId;
+
+    Long notaId;
+
+    @BeforeAll
+    void setUp() {
+        PapelEntity papelProfessor = papel(PapelEnum.PROFESSOR);
+        PapelEntity papelAluno = papel(PapelEnum.ALUNO);
+
+        DocenteEntity docente = new DocenteEntity();
+        docente.setNome("Docente Teste");
+        docente.setCpf("12345678900");
+        docente.setMaterias(List.of("Matemática", "Física"));
+        docente.setUsuario(usuario("professor", papelProfessor));
+        docente = docenteRepository.save(docente);
+
+        CursoEntity curso = new CursoEntity();
+        curso.setNome("Curso Teste");
+        curso = cursoRepository.save(curso);
+
+        MateriaEntity matematica = materia("Matemática", curso);
+        MateriaEntity fisica = materia("Física", curso);
+
+        TurmaEntity turma = new TurmaEntity();
+        turma.setNome("Turma Teste");
+        turma.setDocente(docente);
+        turma.setCurso(curso);
+        turma = turmaRepository.save(turma);
+        turmaId = turma.getId();
+        cursoId = curso.getId();
+
+        for (int i = 0; i < 5; i++) {
+            AlunoEntity aluno = new AlunoEntity();
+            aluno.setNome("Aluno " + i);
+            aluno.setTurma(turma);
+            aluno.setUsuario(usuario("aluno" + i, papelAluno));
+            aluno = alunoRepository.save(aluno);
+            alunoId = aluno.getId();
+
+            for (MateriaEntity materia : List.of(matematica, fisica)) {
+                NotaEntity nota = new NotaEntity();
+                nota.setAluno(aluno);
+                nota.setDocente(docente);
+                nota.setMateria(materia);
+                nota.setValor(new BigDecimal("8"));
+                notaId = notaRepository.save(nota).getId();
+            }
+        }
+
+        pontuacaoService.reconstruir();
+    }
+
+    @Test
+    void listarNotas() {
+        assertEquals(1, contarConsultas(() -> notaRepository.findAllResumidas(PAGINA)));
+    }
+
+    @Test
+    void listarNotasAposId() {
+        assertEquals(1, contarConsultas(() -> notaRepository.findResumidasAposId(0L, PAGINA)));
+    }
+
+    @Test
+    void buscarNotaPorId() {
+        assertEquals(1, contarConsultas(() -> NotaResponse.from(notaRepository.findById(notaId).orElseThrow())));
+    }
+
+    @Test
+    void listarNotasPorAluno() {
+        assertEquals(1, contarConsultas(() -> notaRepository.findNotasByAlunoId(alunoId)));
+    }
+
+    @Test
+    void calcularPontuacao() {
+        assertEquals(1, contarConsultas(() -> notaRepository.somarNotasPorAlunoId(alunoId).orElseThrow()));
+    }
+
+    @Test
+    void calcularPontuacaoDaTurma() {
+        assertEquals(1, contarConsultas(() -> notaRepository.somarNotasPorTurmaId(turmaId)));
+    }
+
+    @Test
+    void somarNotasDoCurso() {
+        List<SomaNotasAluno> somas = notaRepository.somarNotasPorCursoId(cursoId);
+
+        assertEquals(5, somas.size());
+        assertTrue(somas.stream().allMatch(soma -> soma.quantidadeNotas() == 2 && soma.quantidadeMaterias() == 2));
+    }
+
+    @Test
+    void somarNotasDoAluno() {
+        SomaNotasAluno somaNotas = notaRepository.somarNotasPorAlunoId(alunoId).orElseThrow();
+
+        assertEquals(0, new BigDecimal("16").compareTo(somaNotas.soma()));
+        assertEquals(2, somaNotas.quantidadeNotas());
+        assertEquals(2, somaNotas.quantidadeMaterias());
+    }
+
+    @Test
+    void listarAlunos() {
+        assertEquals(1, contarConsultas(() -> alunoRepository.findAllResumidos(PAGINA)));
+    }
+
+    @Test
+    void buscarAlunoPorId() {
+        assertEquals(1, contarConsultas(() -> AlunoResponse.from(alunoRepository.findById(alunoId).orElseThrow())));
+    }
+
+    @Test
+    void listarTurmas() {
+        assertEquals(1, contarConsultas(() -> turmaRepository.findAllResumidas(PAGINA)));
+    }
+
+    @Test
+    void listarDocentes() {
+        // DocenteService.listarTodos roda em uma transação somente leitura, e as matérias vêm em lote
+        assertEquals(2, contarConsultas(() -> transacao.execute(status ->
+                docenteRepository.findAll(PAGINA).map(DocenteResponse::from))));
+    }
+
+    @Test
+    void listarCursos() {
+        assertEquals(1, contarConsultas(() -> cursoRepository.findAllResumidos(PAGINA)));
+    }
+
+    private long contarConsultas(Supplier<Object> endpoint) {
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        Object resposta = endpoint.get();
+        assertDoesNotThrow(() -> objectMapper.writeValueAsString(resposta));
+
+        return estatisticas.getPrepareStatementCount();
+    }
+
+    private PapelEntity papel(PapelEnum nome) {
+        PapelEntity papel = new PapelEntity();
+        papel.setNome(nome);
+        return papelRepository.save(papel);
+    }
+
+    private UsuarioEntity usuario(String login, PapelEntity papel) {
+        UsuarioEntity usuario = new UsuarioEntity();
+        usuario.setLogin(login);
+        usuario.setSenha("senha");
+        usuario.setPapel(papel);
+        return usuarioRepository.save(usuario);
+    }
+
+    private MateriaEntity materia(String nome, CursoEntity curso) {
+        MateriaEntity materia = new MateriaEntity();
+        materia.setNome(nome);
+        materia.setCurso(curso);
+        return materiaRepository.save(materia);
+    }
+}
@@ -0,0 +1,134 @@
+package com.senai.projetofinal.datasource.repository;
+
+import com.senai.projetofinal.datasource.entity.PapelEntity;
+import com.senai.projetofinal.datasource.entity.PapelEnum;
+import com.senai.projetofinal.datasource.entity.UsuarioEntity;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.flyway.enabled=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class UsuarioRepositoryTest {
+
+    @Autowired
+    UsuarioRepository usuarioRepository;
+
+    @Autowired
+    PapelRepository papelRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    Long usuarioId;
+
+    Long usuarioEmailId;
+
+    @BeforeAll
+    void setUp() {
+        PapelEntity papel = new PapelEntity();
+        papel.setNome(PapelEnum.PEDAGOGICO);
+        papel = papelRepository.save(papel);
+
+        UsuarioEntity usuario = new UsuarioEntity();
+        usuario.setLogin("Pedagogico.Identificador");
+        usuario.setEmail("Pedagogico@Escola.com");
+        usuario.setSenha("senha");
+        usuario.setPapel(papel);
+        usuarioId = usuarioRepository.save(usuario).getId();
+
+        UsuarioEntity outro = new UsuarioEntity();
+        outro.setLogin("outro.usuario");
+        outro.setEmail("Pedagogico.Identificador");
+        outro.setSenha("senha");
+        outro.setPapel(papel);
+        usuarioEmailId = usuarioRepository.save(outro).getId();
+    }
+
+    @Test
+    void buscarPorLoginSemDiferenciarMaiusculas() {
+        // when
+        UsuarioEntity usuario = usuarioRepository.findByIdentificador(" pedagogico.IDENTIFICADOR ").orElseThrow();
+
+        // then
+        assertEquals(usuarioId, usuario.getId());
+        assertEquals(PapelEnum.PEDAGOGICO, usuario.getPapel().getNome());
+    }
+
+    @Test
+    void buscarPorEmailSemDiferenciarMaiusculas() {
+        // when
+        UsuarioEntity usuario = usuarioRepository.findByIdentificador("PEDAGOGICO@escola.com").orElseThrow();
+
+        // then
+        assertEquals(usuarioId, usuario.getId());
+    }
+
+    @Test
+    void buscarPorLoginUsaUmaConsulta() {
+        // given
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        // when
+        UsuarioEntity usuario = usuarioRepository.findByIdentificador("outro.usuario").orElseThrow();
+
+        // then
+        assertEquals(usuarioEmailId, usuario.getId());
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void buscarPorEmailConsultaLoginEDepoisEmail() {
+        // given
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        // when
+        UsuarioEntity usuario = usuarioRepository.findByIdentificador("pedagogico@escola.com").orElseThrow();
+
+        // then
+        assertEquals(usuarioId, usuario.getId());
+        assertEquals(2, estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void loginTemPrioridadeSobreEmailDeOutroUsuario() {
+        // when
+        UsuarioEntity usuario = usuarioRepository.findByIdentificador("pedagogico.identificador").orElseThrow();
+
+        // then
+        assertEquals(usuarioId, usuario.getId());
+    }
+
+    @Test
+    void identificadorInexistente() {
+        assertTrue(usuarioRepository.findByIdentificador("ninguem").isEmpty());
+    }
+
+    @Test
+    void chavesDeLoginExistentes() {
+        // when
+        List<String> existentes = usuarioRepository.findChavesLoginExistentes(
+                List.of("pedagogico.identificador", "ninguem"));
+
+        // then
+        assertEquals(List.of("pedagogico.identificador"), existentes);
+    }
+}
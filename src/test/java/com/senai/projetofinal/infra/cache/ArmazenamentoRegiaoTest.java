@@ -0,0 +1,78 @@
+package com.senai.projetofinal.infra.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArmazenamentoRegiaoTest {
+
+    @Test
+    void descartaAEntradaUsadaHaMaisTempo() {
+        // given
+        ArmazenamentoRegiao regiao = new ArmazenamentoRegiao("materia", 2);
+        regiao.putIntoCache(1L, "um", null);
+        regiao.putIntoCache(2L, "dois", null);
+        regiao.getFromCache(1L, null);
+
+        // when
+        regiao.putIntoCache(3L, "três", null);
+
+        // then
+        assertTrue(regiao.contains(1L));
+        assertFalse(regiao.contains(2L));
+        assertTrue(regiao.contains(3L));
+        assertEquals(1, regiao.estatisticas().despejos());
+    }
+
+    @Test
+    void regiaoGrandeRespeitaOLimiteSomandoOsSegmentos() {
+        // given
+        ArmazenamentoRegiao regiao = new ArmazenamentoRegiao("turma", 2000);
+
+        // when
+        for (long i = 0; i < 5000; i++) {
+            regiao.putIntoCache(i, i, null);
+        }
+
+        // then
+        EstatisticasRegiao estatisticas = regiao.estatisticas();
+        assertTrue(estatisticas.tamanho() <= 2000);
+        assertEquals(5000 - estatisticas.tamanho(), estatisticas.despejos());
+    }
+
+    @Test
+    void semLimiteNaoDescarta() {
+        // given
+        ArmazenamentoRegiao regiao = new ArmazenamentoRegiao("default-update-timestamps-region", 0);
+
+        // when
+        for (long i = 0; i < 5000; i++) {
+            regiao.putIntoCache(i, i, null);
+        }
+
+        // then
+        assertEquals(5000, regiao.estatisticas().tamanho());
+        assertEquals(0, regiao.estatisticas().despejos());
+    }
+
+    @Test
+    void contaAcertosEFaltas() {
+        // given
+        ArmazenamentoRegiao regiao = new ArmazenamentoRegiao("papel", 16);
+        regiao.putIntoCache("ADMIN", 1L, null);
+
+        // when
+        regiao.getFromCache("ADMIN", null);
+        regiao.getFromCache("ADMIN", null);
+        regiao.getFromCache("ALUNO", null);
+        regiao.evictData("ADMIN");
+        regiao.getFromCache("ADMIN", null);
+
+        // then
+        EstatisticasRegiao estatisticas = regiao.estatisticas();
+        assertEquals(2, estatisticas.acertos());
+        assertEquals(2, estatisticas.faltas());
+        assertEquals(0.5, estatisticas.taxaAcerto());
+        assertEquals(0, estatisticas.tamanho());
+    }
+}
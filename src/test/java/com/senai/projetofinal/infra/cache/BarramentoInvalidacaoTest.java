@@ -0,0 +1,191 @@
+package com.senai.projetofinal.infra.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BarramentoInvalidacaoTest {
+
+    final AtomicLong relogio = new AtomicLong(1_000);
+
+    final List<String> enviadas = new CopyOnWriteArrayList<>();
+
+    final List<Invalidacao> recebidas = new ArrayList<>();
+
+    final OuvinteInvalidacao ouvinte = (recursos, remota) -> recebidas.add(new Invalidacao(recursos, remota));
+
+    BarramentoInvalidacao barramento;
+
+    BarramentoInvalidacao barramento(Duration intervalo) {
+        barramento = new BarramentoInvalidacao(List.of(ouvinte), enviadas::add, true, intervalo, relogio::get);
+        return barramento;
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        barramento.destroy();
+    }
+
+    @Test
+    void avisaOsCachesLocaisNaHora() {
+        // given
+        BarramentoInvalidacao barramento = barramento(Duration.ofHours(1));
+
+        // when
+        barramento.publicar(BarramentoInvalidacao.TURMAS);
+
+        // then
+        assertEquals(List.of(new Invalidacao(Set.of(BarramentoInvalidacao.TURMAS), false)), recebidas);
+        assertTrue(enviadas.isEmpty());
+    }
+
+    @Test
+    void agrupaAsPublicacoesDoIntervaloEmUmaNotificacao() {
+        // given
+        BarramentoInvalidacao barramento = barramento(Duration.ofHours(1));
+        barramento.publicar(BarramentoInvalidacao.CURSOS, BarramentoInvalidacao.TURMAS);
+        barramento.publicar(BarramentoInvalidacao.TURMAS);
+        barramento.publicar(BarramentoInvalidacao.MATERIAS);
+
+        // when
+        barramento.enviarPendentes();
+
+        // then
+        assertEquals(1, enviadas.size());
+        String[] partes = enviadas.get(0).split(";");
+        assertEquals("1000", partes[1]);
+        assertEquals(Set.of(BarramentoInvalidacao.CURSOS, BarramentoInvalidacao.TURMAS, BarramentoInvalidacao.MATERIAS),
+                Set.of(partes[2].split(",")));
+        assertEquals(3, barramento.estatisticas().publicacoes());
+        assertEquals(1, barramento.estatisticas().notificacoesEnviadas());
+    }
+
+    @Test
+    void enviaDepoisDoIntervalo() throws InterruptedException {
+        // given
+        BarramentoInvalidacao barramento = barramento(Duration.ofMillis(10));
+
+        // when
+        barramento.publicar(BarramentoInvalidacao.MATERIAS);
+
+        // then
+        for (int i = 0; i < 200 && enviadas.isEmpty(); i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, enviadas.size());
+    }
+
+    @Test
+    void reenviaQuandoANotificacaoFalha() {
+        // given
+        List<String> entregues = new ArrayList<>();
+        boolean[] falhar = {true};
+        barramento = new BarramentoInvalidacao(List.of(ouvinte), mensagem -> {
+            if (falhar[0]) {
+                throw new IllegalStateException("sem conexão");
+            }
+            entregues.add(mensagem);
+        }, true, Duration.ofHours(1), relogio::get);
+        barramento.publicar(BarramentoInvalidacao.CURSOS);
+
+        // when
+        barramento.enviarPendentes();
+        falhar[0] = false;
+        barramento.enviarPendentes();
+
+        // then
+        assertEquals(1, entregues.size());
+        assertTrue(entregues.get(0).endsWith(";" + BarramentoInvalidacao.CURSOS));
+    }
+
+    @Test
+    void ignoraAsPropriasNotificacoes() {
+        // given
+        BarramentoInvalidacao barramento = barramento(Duration.ofHours(1));
+        barramento.publicar(BarramentoInvalidacao.CURSOS);
+        barramento.enviarPendentes();
+        recebidas.clear();
+
+        // when
+        barramento.receber(enviadas.get(0));
+
+        // then
+        assertTrue(recebidas.isEmpty());
+        assertEquals(0, barramento.estatisticas().notificacoesRecebidas());
+    }
+
+    @Test
+    void aplicaAsNotificacoesDeOutrasInstanciasEMedeOAtraso() {
+        // given
+        BarramentoInvalidacao barramento = barramento(Duration.ofHours(1));
+        relogio.set(1_025);
+
+        // when
+        barramento.receber("outra;1000;materias,turmas");
+        barramento.receber("outra;1020;cursos");
+
+        // then
+        assertEquals(List.of(
+                new Invalidacao(Set.of(BarramentoInvalidacao.MATERIAS, BarramentoInvalidacao.TURMAS), true),
+                new Invalidacao(Set.of(BarramentoInvalidacao.CURSOS), true)), recebidas);
+        BarramentoInvalidacao.EstatisticasInvalidacao estatisticas = barramento.estatisticas();
+        assertEquals(2, estatisticas.notificacoesRecebidas());
+        assertEquals(15, estatisticas.atrasoMedioMillis());
+        assertEquals(25, estatisticas.atrasoMaximoMillis());
+        assertEquals(5, estatisticas.ultimoAtrasoMillis());
+    }
+
+    @Test
+    void descartaNotificacaoMalFormada() {
+        // given
+        BarramentoInvalidacao barramento = barramento(Duration.ofHours(1));
+
+        // when
+        barramento.receber("outra;agora;cursos");
+        barramento.receber("sem separador");
+
+        // then
+        assertTrue(recebidas.isEmpty());
+    }
+
+    @Test
+    void invalidaTudoAoReconectar() {
+        // given
+        BarramentoInvalidacao barramento = barramento(Duration.ofHours(1));
+        barramento.conectado(false);
+        barramento.desconectado();
+
+        // when
+        barramento.conectado(true);
+
+        // then
+        assertEquals(List.of(new Invalidacao(BarramentoInvalidacao.TODOS, true)), recebidas);
+        assertTrue(barramento.estatisticas().escutando());
+        assertEquals(1, barramento.estatisticas().reconexoes());
+    }
+
+    @Test
+    void desabilitadoSoAvisaOsCachesLocais() {
+        // given
+        barramento = new BarramentoInvalidacao(List.of(ouvinte), enviadas::add, false, Duration.ZERO, relogio::get);
+
+        // when
+        barramento.publicar(BarramentoInvalidacao.TURMAS);
+        barramento.enviarPendentes();
+
+        // then
+        assertEquals(1, recebidas.size());
+        assertTrue(enviadas.isEmpty());
+    }
+
+    record Invalidacao(Set<String> recursos, boolean remota) {
+    }
+}
@@ -0,0 +1,132 @@
+package com.senai.projetofinal.infra.cache;
+
+import com.senai.projetofinal.datasource.entity.PapelEnum;
+import com.senai.projetofinal.infra.security.UsuarioAutenticado;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheRespostasFilterTest {
+
+    final String json = "{\"content\":[" + "{\"id\":1,\"nome\":\"Turma A\"},".repeat(60) + "{}]}";
+
+    final CacheRespostas cache = new CacheRespostas(new CacheRespostasProperties(true, 100, Duration.ofMinutes(10), 1024,
+            Map.of(BarramentoInvalidacao.TURMAS, List.of("/turmas"))));
+
+    final CacheRespostasFilter filter = new CacheRespostasFilter(cache);
+
+    final AtomicInteger chamadasController = new AtomicInteger();
+
+    boolean dadosObsoletos;
+
+    final HttpServlet controller = new HttpServlet() {
+        @Override
+        protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            chamadasController.incrementAndGet();
+            if (dadosObsoletos) {
+                response.setHeader(CacheRespostasFilter.CABECALHO_CACHE, DadosReferencia.OBSOLETO);
+            }
+            response.setContentType("application/json");
+            response.getOutputStream().write(json.getBytes(StandardCharsets.UTF_8));
+        }
+    };
+
+    @BeforeEach
+    void autenticar() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new TestingAuthenticationToken(new UsuarioAutenticado(1L, PapelEnum.ADMIN), null));
+    }
+
+    @AfterEach
+    void limparContexto() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void segundaLeituraVemDoCacheSemChamarOController() throws Exception {
+        // when
+        MockHttpServletResponse primeira = executar("GET", "/turmas", false);
+        MockHttpServletResponse segunda = executar("GET", "/turmas", false);
+
+        // then
+        assertEquals(1, chamadasController.get());
+        assertEquals("MISS", primeira.getHeader(CacheRespostasFilter.CABECALHO_CACHE));
+        assertEquals(json, primeira.getContentAsString());
+        assertEquals("HIT", segunda.getHeader(CacheRespostasFilter.CABECALHO_CACHE));
+        assertEquals(json, segunda.getContentAsString());
+        assertEquals("Accept-Encoding", segunda.getHeader("Vary"));
+    }
+
+    @Test
+    void entregaAFormaComprimidaQuandoOClienteAceita() throws Exception {
+        // given
+        executar("GET", "/turmas", false);
+
+        // when
+        MockHttpServletResponse response = executar("GET", "/turmas", true);
+
+        // then
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertEquals(json, new String(gzip.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void escritasELeiturasAnonimasNaoPassamPeloCache() throws Exception {
+        // when
+        executar("POST", "/turmas", false);
+        SecurityContextHolder.clearContext();
+        executar("GET", "/turmas", false);
+        MockHttpServletResponse response = executar("GET", "/turmas", false);
+
+        // then
+        assertEquals(3, chamadasController.get());
+        assertNull(response.getHeader(CacheRespostasFilter.CABECALHO_CACHE));
+    }
+
+    @Test
+    void respostaComDadosObsoletosNaoEGuardada() throws Exception {
+        // given
+        dadosObsoletos = true;
+        MockHttpServletResponse primeira = executar("GET", "/turmas", false);
+        dadosObsoletos = false;
+
+        // when
+        MockHttpServletResponse segunda = executar("GET", "/turmas", false);
+
+        // then
+        assertEquals(2, chamadasController.get());
+        assertEquals(DadosReferencia.OBSOLETO, primeira.getHeader(CacheRespostasFilter.CABECALHO_CACHE));
+        assertEquals("MISS", segunda.getHeader(CacheRespostasFilter.CABECALHO_CACHE));
+    }
+
+    private MockHttpServletResponse executar(String metodo, String caminho, boolean gzip) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(metodo, caminho);
+        if (gzip) {
+            request.addHeader("Accept-Encoding", "gzip, deflate");
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain(controller));
+        return response;
+    }
+}
@@ -0,0 +1,117 @@
+package com.senai.projetofinal.infra.cache;
+
+import com.senai.projetofinal.datasource.entity.PapelEnum;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheRespostasTest {
+
+    final AtomicLong relogio = new AtomicLong();
+
+    final byte[] corpo = "{\"content\":[]}".getBytes(StandardCharsets.UTF_8);
+
+    CacheRespostas cache(int tamanhoMaximo) {
+        return new CacheRespostas(new CacheRespostasProperties(true, tamanhoMaximo, Duration.ofMinutes(10), 1024, Map.of(
+                BarramentoInvalidacao.MATERIAS, List.of("/materias", "/materias/cursos/*"),
+                BarramentoInvalidacao.TURMAS, List.of("/turmas"))), relogio::get);
+    }
+
+    @Test
+    void guardaPorCaminhoParametrosEPapel() {
+        // given
+        CacheRespostas cache = cache(100);
+        cache.armazenar(cache.consultar("/materias", "page=0", PapelEnum.ADMIN), "application/json", corpo);
+
+        // when / then
+        assertArrayEquals(corpo, cache.consultar("/materias", "page=0", PapelEnum.ADMIN).resposta().corpo());
+        assertNull(cache.consultar("/materias", "page=1", PapelEnum.ADMIN).resposta());
+        assertNull(cache.consultar("/materias", "page=0", PapelEnum.PEDAGOGICO).resposta());
+        assertNull(cache.consultar("/materias/1", null, PapelEnum.ADMIN));
+    }
+
+    @Test
+    void invalidarRemoveSoOGrupo() {
+        // given
+        CacheRespostas cache = cache(100);
+        cache.armazenar(cache.consultar("/materias/cursos/1", null, PapelEnum.ADMIN), "application/json", corpo);
+        cache.armazenar(cache.consultar("/turmas", null, PapelEnum.ADMIN), "application/json", corpo);
+
+        // when
+        cache.invalidar(BarramentoInvalidacao.MATERIAS);
+
+        // then
+        assertNull(cache.consultar("/materias/cursos/1", null, PapelEnum.ADMIN).resposta());
+        assertNotNull(cache.consultar("/turmas", null, PapelEnum.ADMIN).resposta());
+    }
+
+    @Test
+    void descartaRespostaLidaAntesDaInvalidacao() {
+        // given
+        CacheRespostas cache = cache(100);
+        CacheRespostas.Consulta consulta = cache.consultar("/turmas", null, PapelEnum.ADMIN);
+
+        // when
+        cache.invalidar(BarramentoInvalidacao.TURMAS);
+        cache.armazenar(consulta, "application/json", corpo);
+
+        // then
+        assertNull(cache.consultar("/turmas", null, PapelEnum.ADMIN).resposta());
+    }
+
+    @Test
+    void expiraDepoisDoTtl() {
+        // given
+        CacheRespostas cache = cache(100);
+        cache.armazenar(cache.consultar("/turmas", null, PapelEnum.ADMIN), "application/json", corpo);
+
+        // when
+        relogio.addAndGet(Duration.ofMinutes(10).toNanos());
+
+        // then
+        assertNull(cache.consultar("/turmas", null, PapelEnum.ADMIN).resposta());
+    }
+
+    @Test
+    void comprimeSoRespostasGrandes() {
+        // given
+        CacheRespostas cache = cache(100);
+        byte[] grande = "{\"nome\":\"Matemática\"},".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+        // when
+        cache.armazenar(cache.consultar("/materias", "page=0", PapelEnum.ADMIN), "application/json", corpo);
+        cache.armazenar(cache.consultar("/materias", "page=1", PapelEnum.ADMIN), "application/json", grande);
+
+        // then
+        assertNull(cache.consultar("/materias", "page=0", PapelEnum.ADMIN).resposta().gzip());
+        byte[] gzip = cache.consultar("/materias", "page=1", PapelEnum.ADMIN).resposta().gzip();
+        assertTrue(gzip.length < grande.length);
+    }
+
+    @Test
+    void respeitaOTamanhoMaximoEContaAcertos() {
+        // given
+        CacheRespostas cache = cache(2);
+
+        // when
+        for (int pagina = 0; pagina < 3; pagina++) {
+            cache.armazenar(cache.consultar("/materias", "page=" + pagina, PapelEnum.ADMIN), "application/json", corpo);
+        }
+        cache.consultar("/materias", "page=2", PapelEnum.ADMIN);
+
+        // then
+        EstatisticasRegiao materias = cache.estatisticas().stream()
+                .filter(regiao -> regiao.regiao().equals("respostas.materias"))
+                .findFirst().orElseThrow();
+        assertEquals(2, materias.tamanho());
+        assertEquals(1, materias.despejos());
+        assertEquals(1, materias.acertos());
+        assertEquals(3, materias.faltas());
+    }
+}
@@ -0,0 +1,179 @@
+package com.senai.projetofinal.infra.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DadosReferenciaTest {
+
+    final AtomicLong relogio = new AtomicLong();
+
+    final List<Runnable> atualizacoesPendentes = new ArrayList<>();
+
+    final AtomicInteger consultas = new AtomicInteger();
+
+    boolean bancoFora;
+
+    final Supplier<List<String>> cursos = () -> {
+        if (bancoFora) {
+            throw new IllegalStateException("Connection is not available, request timed out after 30000ms");
+        }
+        return List.of("Curso " + consultas.incrementAndGet());
+    };
+
+    final DadosReferencia dados = new DadosReferencia(new LeiturasAgrupadas(true, Duration.ofSeconds(2)), true, 100,
+            Duration.ofMinutes(1), Duration.ofMinutes(15), relogio::get, atualizacoesPendentes::add);
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    List<String> ler() {
+        return dados.ler(BarramentoInvalidacao.CURSOS, cursos, "listarTodos", 0);
+    }
+
+    void avancar(Duration tempo) {
+        relogio.addAndGet(tempo.toNanos());
+    }
+
+    void executarAtualizacoes() {
+        List<Runnable> pendentes = new ArrayList<>(atualizacoesPendentes);
+        atualizacoesPendentes.clear();
+        pendentes.forEach(Runnable::run);
+    }
+
+    @Test
+    void valorFrescoNaoVaiAoBanco() {
+        // given
+        ler();
+        avancar(Duration.ofSeconds(59));
+
+        // when
+        List<String> retorno = ler();
+
+        // then
+        assertEquals(List.of("Curso 1"), retorno);
+        assertEquals(1, consultas.get());
+        assertTrue(atualizacoesPendentes.isEmpty());
+        assertEquals(1, dados.estatisticas().acertos());
+    }
+
+    @Test
+    void valorVencidoEServidoNaHoraEAtualizadoEmSegundoPlano() {
+        // given
+        ler();
+        avancar(Duration.ofMinutes(2));
+
+        // when
+        List<String> vencido = ler();
+        ler();
+        executarAtualizacoes();
+
+        // then
+        assertEquals(List.of("Curso 1"), vencido);
+        assertEquals(List.of("Curso 2"), ler());
+        assertEquals(2, consultas.get());
+        DadosReferencia.EstatisticasReferencia estatisticas = dados.estatisticas();
+        assertEquals(2, estatisticas.obsoletas());
+        assertEquals(1, estatisticas.atualizacoes());
+        assertEquals(120_000, estatisticas.idadeMaximaServidaMillis());
+    }
+
+    @Test
+    void comOBancoForaContinuaServindoOValorAnterior() {
+        // given
+        ler();
+        bancoFora = true;
+        avancar(Duration.ofMinutes(5));
+
+        // when
+        List<String> retorno = ler();
+        executarAtualizacoes();
+        avancar(Duration.ofMinutes(5));
+        List<String> maisTarde = ler();
+
+        // then
+        assertEquals(List.of("Curso 1"), retorno);
+        assertEquals(List.of("Curso 1"), maisTarde);
+        assertEquals(1, dados.estatisticas().falhasAtualizacao());
+        assertEquals(1, atualizacoesPendentes.size());
+    }
+
+    @Test
+    void passadoOLimiteAFalhaDoBancoChegaAoChamador() {
+        // given
+        ler();
+        bancoFora = true;
+        avancar(Duration.ofMinutes(16));
+
+        // when / then
+        assertThrows(IllegalStateException.class, this::ler);
+        assertEquals(0, dados.estatisticas().tamanho());
+    }
+
+    @Test
+    void marcaARespostaComoVencida() {
+        // given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), response));
+        ler();
+        avancar(Duration.ofSeconds(90));
+
+        // when
+        ler();
+
+        // then
+        assertEquals(DadosReferencia.OBSOLETO, response.getHeader(CacheRespostasFilter.CABECALHO_CACHE));
+        assertEquals("90", response.getHeader("Age"));
+    }
+
+    @Test
+    void escritaDescartaOValorEAtualizacaoEmAndamento() {
+        // given
+        ler();
+        avancar(Duration.ofMinutes(2));
+        ler();
+
+        // when
+        dados.invalidar(Set.of(BarramentoInvalidacao.CURSOS), true);
+        executarAtualizacoes();
+
+        // then
+        assertEquals(0, dados.estatisticas().tamanho());
+        assertEquals(List.of("Curso 3"), ler());
+    }
+
+    @Test
+    void escritaEmOutroRecursoNaoDescartaOValor() {
+        // given
+        ler();
+
+        // when
+        dados.invalidar(Set.of(BarramentoInvalidacao.TURMAS), false);
+
+        // then
+        assertEquals(List.of("Curso 1"), ler());
+        assertEquals(1, consultas.get());
+    }
+
+    @Test
+    void limiteMenorQueAValidadeEInvalido() {
+        // when / then
+        assertThrows(IllegalStateException.class, () -> new DadosReferencia(new LeiturasAgrupadas(true, Duration.ofSeconds(2)),
+                true, 100, Duration.ofMinutes(10), Duration.ofMinutes(1), relogio::get, Runnable::run));
+    }
+}
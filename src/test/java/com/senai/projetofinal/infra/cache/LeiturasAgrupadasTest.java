@@ -0,0 +1,180 @@
+package com.senai.projetofinal.infra.cache;
+
+import com.senai.projetofinal.infra.exception.error.NotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeiturasAgrupadasTest {
+
+    final ExecutorService executor = Executors.newCachedThreadPool();
+
+    final AtomicInteger consultas = new AtomicInteger();
+
+    final CountDownLatch liberar = new CountDownLatch(1);
+
+    final CountDownLatch iniciada = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        liberar.countDown();
+        executor.shutdownNow();
+    }
+
+    Supplier<List<String>> consultaLenta(List<String> resultado) {
+        return () -> {
+            consultas.incrementAndGet();
+            iniciada.countDown();
+            try {
+                liberar.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return resultado;
+        };
+    }
+
+    Future<List<String>> ler(LeiturasAgrupadas leituras, Supplier<List<String>> consulta, Object... parametros) {
+        return executor.submit(() -> leituras.executar(BarramentoInvalidacao.CURSOS, consulta, parametros));
+    }
+
+    void esperarAgrupadas(LeiturasAgrupadas leituras, long quantidade) throws InterruptedException {
+        for (int i = 0; i < 500 && leituras.estatisticas().agrupadas() < quantidade; i++) {
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    void leiturasIguaisSimultaneasVaoUmaVezAoBanco() throws Exception {
+        // given
+        LeiturasAgrupadas leituras = new LeiturasAgrupadas(true, Duration.ofSeconds(5));
+        List<String> cursos = List.of("Curso A");
+        Future<List<String>> primeira = ler(leituras, consultaLenta(cursos), 0);
+        assertTrue(iniciada.await(5, TimeUnit.SECONDS));
+
+        List<Future<List<String>>> seguintes = new ArrayList<>();
+        for (int i = 0; i < 39; i++) {
+            seguintes.add(ler(leituras, consultaLenta(cursos), 0));
+        }
+        esperarAgrupadas(leituras, 39);
+
+        // when
+        liberar.countDown();
+
+        // then
+        assertSame(cursos, primeira.get(5, TimeUnit.SECONDS));
+        for (Future<List<String>> seguinte : seguintes) {
+            assertSame(cursos, seguinte.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, consultas.get());
+        LeiturasAgrupadas.EstatisticasAgrupamento estatisticas = leituras.estatisticas();
+        assertEquals(1, estatisticas.executadas());
+        assertEquals(39, estatisticas.agrupadas());
+        assertEquals(0, estatisticas.emAndamento());
+        assertEquals(0.975, estatisticas.taxaAgrupamento(), 0.0001);
+    }
+
+    @Test
+    void parametrosDiferentesNaoSeAgrupam() {
+        // given
+        LeiturasAgrupadas leituras = new LeiturasAgrupadas(true, Duration.ofSeconds(5));
+
+        // when
+        leituras.executar(BarramentoInvalidacao.MATERIAS, () -> consultas.incrementAndGet(), "porCurso", 1L);
+        leituras.executar(BarramentoInvalidacao.MATERIAS, () -> consultas.incrementAndGet(), "porCurso", 2L);
+        leituras.executar(BarramentoInvalidacao.MATERIAS, () -> consultas.incrementAndGet(), "porCurso", 1L);
+
+        // then
+        assertEquals(3, consultas.get());
+        assertEquals(0, leituras.estatisticas().agrupadas());
+    }
+
+    @Test
+    void repassaAExcecaoParaQuemEsperava() throws Exception {
+        // given
+        LeiturasAgrupadas leituras = new LeiturasAgrupadas(true, Duration.ofSeconds(5));
+        NotFoundException erro = new NotFoundException("Não há cursos cadastrados");
+        Supplier<List<String>> falha = () -> {
+            consultaLenta(List.of()).get();
+            throw erro;
+        };
+        Future<List<String>> primeira = ler(leituras, falha, 0);
+        assertTrue(iniciada.await(5, TimeUnit.SECONDS));
+        Future<List<String>> segunda = ler(leituras, falha, 0);
+        esperarAgrupadas(leituras, 1);
+
+        // when
+        liberar.countDown();
+
+        // then
+        Exception naPrimeira = assertThrows(Exception.class, () -> primeira.get(5, TimeUnit.SECONDS));
+        Exception naSegunda = assertThrows(Exception.class, () -> segunda.get(5, TimeUnit.SECONDS));
+        assertSame(erro, naPrimeira.getCause());
+        assertSame(erro, naSegunda.getCause());
+        assertEquals(1, consultas.get());
+        assertEquals(1, leituras.estatisticas().erros());
+    }
+
+    @Test
+    void quemCansaDeEsperarConsultaSozinho() throws Exception {
+        // given
+        LeiturasAgrupadas leituras = new LeiturasAgrupadas(true, Duration.ofMillis(20));
+        ler(leituras, consultaLenta(List.of("lenta")), 0);
+        assertTrue(iniciada.await(5, TimeUnit.SECONDS));
+
+        // when
+        List<String> retorno = leituras.executar(BarramentoInvalidacao.CURSOS, () -> List.of("própria"), 0);
+
+        // then
+        assertEquals(List.of("própria"), retorno);
+        LeiturasAgrupadas.EstatisticasAgrupamento estatisticas = leituras.estatisticas();
+        assertEquals(1, estatisticas.expiradas());
+        assertEquals(0, estatisticas.agrupadas());
+        assertEquals(2, estatisticas.executadas());
+    }
+
+    @Test
+    void escritaNoRecursoImpedeNovasChamadasDeSeJuntarALeituraAntiga() throws Exception {
+        // given
+        LeiturasAgrupadas leituras = new LeiturasAgrupadas(true, Duration.ofSeconds(5));
+        Future<List<String>> antiga = ler(leituras, consultaLenta(List.of("antes")), 0);
+        assertTrue(iniciada.await(5, TimeUnit.SECONDS));
+
+        // when
+        leituras.invalidar(Set.of(BarramentoInvalidacao.CURSOS), false);
+        List<String> nova = leituras.executar(BarramentoInvalidacao.CURSOS, () -> List.of("depois"), 0);
+
+        // then
+        assertEquals(List.of("depois"), nova);
+        liberar.countDown();
+        assertEquals(List.of("antes"), antiga.get(5, TimeUnit.SECONDS));
+        assertEquals(0, leituras.estatisticas().agrupadas());
+    }
+
+    @Test
+    void desabilitadoSempreConsulta() {
+        // given
+        LeiturasAgrupadas leituras = new LeiturasAgrupadas(false, Duration.ofSeconds(5));
+
+        // when
+        leituras.executar(BarramentoInvalidacao.CURSOS, () -> consultas.incrementAndGet(), 0);
+        leituras.executar(BarramentoInvalidacao.CURSOS, () -> consultas.incrementAndGet(), 0);
+
+        // then
+        assertEquals(2, consultas.get());
+        assertEquals(0, leituras.estatisticas().executadas());
+    }
+}
@@ -0,0 +1,181 @@
+package com.senai.projetofinal.infra.limite;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LimitadorConcorrenciaTest {
+
+    final AtomicLong relogio = new AtomicLong();
+
+    LimitadorConcorrencia limitador(int limiteInicial) {
+        return new LimitadorConcorrencia(new LimiteConcorrenciaProperties(true, limiteInicial, 4, 200, 1.5, 0.2, 10, 600,
+                0.9, 0.5, List.of("POST /login", "PUT /notas/**"), List.of("GET /notas", "GET /cursos/*/pontuacao"),
+                List.of("POST /login")),
+                relogio::get);
+    }
+
+    @Test
+    void classificaPrioridadePorMetodoECaminho() {
+        // given
+        LimitadorConcorrencia limitador = limitador(20);
+
+        // when / then
+        assertEquals(PrioridadeRequisicao.ALTA, limitador.prioridadeDe("POST", "/login"));
+        assertEquals(PrioridadeRequisicao.ALTA, limitador.prioridadeDe("PUT", "/notas/1"));
+        assertEquals(PrioridadeRequisicao.BAIXA, limitador.prioridadeDe("GET", "/notas"));
+        assertEquals(PrioridadeRequisicao.BAIXA, limitador.prioridadeDe("GET", "/cursos/3/pontuacao"));
+        assertEquals(PrioridadeRequisicao.NORMAL, limitador.prioridadeDe("GET", "/notas/1"));
+        assertEquals(PrioridadeRequisicao.NORMAL, limitador.prioridadeDe("GET", "/login"));
+    }
+
+    @Test
+    void descartaPrioridadeBaixaAntesDaAlta() {
+        // given
+        LimitadorConcorrencia limitador = limitador(10);
+        List<LimitadorConcorrencia.Permissao> permissoes = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            permissoes.add(limitador.adquirir(PrioridadeRequisicao.BAIXA));
+        }
+        LimitadorConcorrencia.Permissao baixaAlemDaFracao = limitador.adquirir(PrioridadeRequisicao.BAIXA);
+        for (int i = 0; i < 4; i++) {
+            permissoes.add(limitador.adquirir(PrioridadeRequisicao.NORMAL));
+        }
+        LimitadorConcorrencia.Permissao normalAlemDaFracao = limitador.adquirir(PrioridadeRequisicao.NORMAL);
+        LimitadorConcorrencia.Permissao alta = limitador.adquirir(PrioridadeRequisicao.ALTA);
+        LimitadorConcorrencia.Permissao altaAlemDoLimite = limitador.adquirir(PrioridadeRequisicao.ALTA);
+
+        // then
+        assertTrue(permissoes.stream().allMatch(permissao -> permissao != null));
+        assertNull(baixaAlemDaFracao);
+        assertNull(normalAlemDaFracao);
+        assertNotNull(alta);
+        assertNull(altaAlemDoLimite);
+        LimitadorConcorrencia.Estado estado = limitador.estado();
+        assertEquals(10, estado.emAndamento());
+        assertEquals(new LimitadorRequisicoes.Metricas(5, 1), estado.prioridades().get(PrioridadeRequisicao.BAIXA));
+        assertEquals(new LimitadorRequisicoes.Metricas(1, 1), estado.prioridades().get(PrioridadeRequisicao.ALTA));
+    }
+
+    @Test
+    void concluirLiberaAVagaUmaVezSo() {
+        // given
+        LimitadorConcorrencia limitador = limitador(10);
+        LimitadorConcorrencia.Permissao permissao = limitador.adquirir(PrioridadeRequisicao.NORMAL);
+
+        // when
+        permissao.concluir(true);
+        permissao.concluir(true);
+
+        // then
+        assertEquals(0, limitador.estado().emAndamento());
+    }
+
+    @Test
+    void aumentaOLimiteComLatenciaEstavelESaturado() {
+        // given
+        LimitadorConcorrencia limitador = limitador(20);
+
+        // when
+        for (int i = 0; i < 50; i++) {
+            limitador.registrar(TimeUnit.MILLISECONDS.toNanos(10), limitador.getLimite());
+        }
+
+        // then
+        assertTrue(limitador.getLimite() > 20);
+    }
+
+    @Test
+    void reduzOLimiteQuandoALatenciaSobe() {
+        // given
+        LimitadorConcorrencia limitador = limitador(50);
+        for (int i = 0; i < 200; i++) {
+            limitador.registrar(TimeUnit.MILLISECONDS.toNanos(10), limitador.getLimite());
+        }
+        int antes = limitador.getLimite();
+
+        // when
+        for (int i = 0; i < 50; i++) {
+            limitador.registrar(TimeUnit.MILLISECONDS.toNanos(100), limitador.getLimite());
+        }
+
+        // then
+        assertTrue(limitador.getLimite() < antes / 2, antes + " -> " + limitador.getLimite());
+        assertTrue(limitador.getLimite() >= 4);
+    }
+
+    @Test
+    void ignoraAmostrasComPoucaConcorrencia() {
+        // given
+        LimitadorConcorrencia limitador = limitador(20);
+
+        // when
+        for (int i = 0; i < 50; i++) {
+            limitador.registrar(TimeUnit.MILLISECONDS.toNanos(10 + i * 10L), 3);
+        }
+
+        // then
+        assertEquals(20, limitador.getLimite());
+    }
+
+    @Test
+    void concluirSemAmostraSoLiberaAVaga() {
+        // given
+        LimitadorConcorrencia limitador = limitador(10);
+        LimitadorConcorrencia.Permissao permissao = limitador.adquirir(PrioridadeRequisicao.NORMAL);
+
+        // when
+        permissao.concluir(false);
+
+        // then
+        assertEquals(0, limitador.estado().emAndamento());
+        assertEquals(0, limitador.estado().amostras());
+    }
+
+    @Test
+    void loginNaoEAmostrado() {
+        // given
+        LimitadorConcorrencia limitador = limitador(10);
+
+        // when / then
+        assertFalse(limitador.amostrar("POST", "/login"));
+        assertTrue(limitador.amostrar("GET", "/login"));
+        assertTrue(limitador.amostrar("GET", "/notas"));
+    }
+
+    @Test
+    void registrarSimultaneoNaoPerdeAmostras() throws Exception {
+        // given
+        LimitadorConcorrencia limitador = limitador(20);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> tarefas = new ArrayList<>();
+
+        // when
+        for (int t = 0; t < 8; t++) {
+            tarefas.add(executor.submit(() -> {
+                for (int i = 0; i < 1_000; i++) {
+                    limitador.registrar(TimeUnit.MILLISECONDS.toNanos(10), limitador.getLimite());
+                }
+            }));
+        }
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // then
+        assertEquals(8_000, limitador.estado().amostras());
+        assertTrue(limitador.getLimite() > 20);
+        assertTrue(limitador.getLimite() <= 200);
+    }
+}
@@ -0,0 +1,165 @@
+package com.senai.projetofinal.infra.limite;
+
+import com.senai.projetofinal.datasource.entity.PapelEnum;
+import com.senai.projetofinal.infra.security.UsuarioAutenticado;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LimitadorRequisicoesTest {
+
+    final AtomicLong relogio = new AtomicLong(1_000_000_000L);
+
+    final UsuarioAutenticado aluno = new UsuarioAutenticado(1L, PapelEnum.ALUNO);
+
+    final UsuarioAutenticado outroAluno = new UsuarioAutenticado(2L, PapelEnum.ALUNO);
+
+    final UsuarioAutenticado admin = new UsuarioAutenticado(3L, PapelEnum.ADMIN);
+
+    LimitadorRequisicoes limitador(int capacidade, Map<PapelEnum, Integer> capacidadePorPapel) {
+        LimiteRequisicoesProperties properties = new LimiteRequisicoesProperties(Duration.ofMinutes(5), Map.of(
+                "notas", new LimiteRequisicoesProperties.Grupo(
+                        List.of("/notas/**"), capacidade, Duration.ofMinutes(1), capacidadePorPapel)));
+        return new LimitadorRequisicoes(properties, relogio::get);
+    }
+
+    @Test
+    void aceitaRajadaAteACapacidadeERecusaADepois() {
+        // given
+        LimitadorRequisicoes limitador = limitador(3, Map.of());
+
+        // when
+        BaldeTokens.Consumo primeiro = limitador.consumir("/notas/1", aluno);
+        limitador.consumir("/notas/2", aluno);
+        BaldeTokens.Consumo terceiro = limitador.consumir("/notas", aluno);
+        BaldeTokens.Consumo quarto = limitador.consumir("/notas/1", aluno);
+
+        // then
+        assertTrue(primeiro.aceito());
+        assertEquals(3, primeiro.limite());
+        assertEquals(2, primeiro.restantes());
+        assertTrue(terceiro.aceito());
+        assertEquals(0, terceiro.restantes());
+        assertFalse(quarto.aceito());
+        assertEquals(TimeUnit.SECONDS.toNanos(20), quarto.tentarNovamenteNanos());
+        assertEquals(TimeUnit.SECONDS.toNanos(60), quarto.cheioEmNanos());
+    }
+
+    @Test
+    void recarregaAoLongoDoPeriodo() {
+        // given
+        LimitadorRequisicoes limitador = limitador(3, Map.of());
+        for (int i = 0; i < 3; i++) {
+            limitador.consumir("/notas", aluno);
+        }
+
+        // when
+        relogio.addAndGet(TimeUnit.SECONDS.toNanos(20));
+        BaldeTokens.Consumo depoisDeUmIntervalo = limitador.consumir("/notas", aluno);
+        BaldeTokens.Consumo seguinte = limitador.consumir("/notas", aluno);
+
+        // then
+        assertTrue(depoisDeUmIntervalo.aceito());
+        assertFalse(seguinte.aceito());
+    }
+
+    @Test
+    void separaBaldesPorUsuarioEPapel() {
+        // given
+        LimitadorRequisicoes limitador = limitador(1, Map.of(PapelEnum.ADMIN, 2));
+
+        // when
+        limitador.consumir("/notas", aluno);
+        BaldeTokens.Consumo alunoDeNovo = limitador.consumir("/notas", aluno);
+        BaldeTokens.Consumo outro = limitador.consumir("/notas", outroAluno);
+        BaldeTokens.Consumo adminPrimeiro = limitador.consumir("/notas", admin);
+        BaldeTokens.Consumo adminSegundo = limitador.consumir("/notas", admin);
+
+        // then
+        assertFalse(alunoDeNovo.aceito());
+        assertTrue(outro.aceito());
+        assertEquals(2, adminPrimeiro.limite());
+        assertTrue(adminSegundo.aceito());
+    }
+
+    @Test
+    void ignoraCaminhosForaDosGruposEPapeisSemLimite() {
+        // given
+        LimitadorRequisicoes limitador = limitador(1, Map.of(PapelEnum.ADMIN, 0));
+
+        // when / then
+        assertNull(limitador.consumir("/cursos", aluno));
+        assertNull(limitador.consumir("/notas", admin));
+        assertEquals(0, limitador.quantidadeBaldes());
+    }
+
+    @Test
+    void contaAceitasERecusadasPorGrupo() {
+        // given
+        LimitadorRequisicoes limitador = limitador(2, Map.of());
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            limitador.consumir("/notas", aluno);
+        }
+
+        // then
+        assertEquals(Map.of("notas", new LimitadorRequisicoes.Metricas(2, 3)), limitador.metricas());
+    }
+
+    @Test
+    void descartaSoBaldesQueVoltaramAFicarCheios() {
+        // given
+        LimitadorRequisicoes limitador = limitador(3, Map.of());
+        limitador.consumir("/notas", aluno);
+        relogio.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        limitador.consumir("/notas", outroAluno);
+
+        // when
+        relogio.addAndGet(TimeUnit.SECONDS.toNanos(15));
+        limitador.descartarBaldesCheios();
+
+        // then
+        assertEquals(1, limitador.quantidadeBaldes());
+    }
+
+    @Test
+    void naoAceitaMaisQueACapacidadeSobConcorrencia() throws InterruptedException {
+        // given
+        LimitadorRequisicoes limitador = limitador(100, Map.of());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch largada = new CountDownLatch(1);
+        AtomicInteger aceitas = new AtomicInteger();
+
+        // when
+        for (int i = 0; i < 1000; i++) {
+            executor.execute(() -> {
+                try {
+                    largada.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (limitador.consumir("/notas", aluno).aceito()) {
+                    aceitas.incrementAndGet();
+                }
+            });
+        }
+        largada.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // then
+        assertEquals(100, aceitas.get());
+        assertEquals(new LimitadorRequisicoes.Metricas(100, 900), limitador.metricas().get("notas"));
+    }
+}
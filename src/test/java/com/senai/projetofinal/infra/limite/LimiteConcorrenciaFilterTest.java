@@ -0,0 +1,89 @@
+package com.senai.projetofinal.infra.limite;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LimiteConcorrenciaFilterTest {
+
+    final LimitadorConcorrencia limitador = new LimitadorConcorrencia(new LimiteConcorrenciaProperties(
+            true, 4, 4, 200, 1.5, 0.2, 10, 600, 0.9, 0.5, List.of("POST /login"), List.of("GET /notas"),
+            List.of("POST /login")));
+
+    final LimiteConcorrenciaFilter filter = new LimiteConcorrenciaFilter(limitador);
+
+    // Nunca chamado: as etapas da cadeia respondem sem seguir adiante
+    final HttpServlet servlet = new HttpServlet() {
+    };
+
+    @Test
+    void recusaComServiceUnavailableQuandoAPrioridadeEstaCheia() throws Exception {
+        // given
+        limitador.adquirir(PrioridadeRequisicao.BAIXA);
+        limitador.adquirir(PrioridadeRequisicao.BAIXA);
+
+        // when
+        MockHttpServletResponse lista = executar("GET", "/notas");
+        MockHttpServletResponse login = executar("POST", "/login");
+
+        // then
+        assertEquals(503, lista.getStatus());
+        assertEquals("1", lista.getHeader("Retry-After"));
+        assertEquals("Servidor sobrecarregado, tente novamente em instantes", lista.getContentAsString());
+        assertEquals(200, login.getStatus());
+    }
+
+    @Test
+    void liberaAVagaAoFimDaRequisicao() throws Exception {
+        // when
+        MockHttpServletResponse response = executar("GET", "/notas");
+
+        // then
+        assertEquals(200, response.getStatus());
+        assertEquals(0, limitador.estado().emAndamento());
+    }
+
+    @Test
+    void amostraSoAsRequisicoesQueChegaramAoController() throws Exception {
+        // when
+        executar("GET", "/notas", controller(200));
+        executar("GET", "/notas", controller(401));
+        executar("GET", "/notas", controller(429));
+        executar("POST", "/login", controller(200));
+        // Resposta servida pelo cache ou recusada na autenticação não passa por nenhum controller
+        executar("GET", "/notas");
+
+        // then
+        assertEquals(1, limitador.estado().amostras());
+        assertEquals(0, limitador.estado().emAndamento());
+    }
+
+    private static Filter controller(int status) throws NoSuchMethodException {
+        HandlerMethod handler = new HandlerMethod(new Object(), Object.class.getMethod("toString"));
+        return (request, response, chain) -> {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, handler);
+            ((HttpServletResponse) response).setStatus(status);
+        };
+    }
+
+    private MockHttpServletResponse executar(String metodo, String caminho) throws Exception {
+        return executar(metodo, caminho, (request, response, chain) -> {
+        });
+    }
+
+    private MockHttpServletResponse executar(String metodo, String caminho, Filter resto) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(metodo, caminho), response, new MockFilterChain(servlet, resto));
+        return response;
+    }
+}
@@ -0,0 +1,71 @@
+package com.senai.projetofinal.infra.limite;
+
+import com.senai.projetofinal.datasource.entity.PapelEnum;
+import com.senai.projetofinal.infra.security.UsuarioAutenticado;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LimiteRequisicoesFilterTest {
+
+    final LimiteRequisicoesFilter filter = new LimiteRequisicoesFilter(new LimitadorRequisicoes(
+            new LimiteRequisicoesProperties(Duration.ofMinutes(5), Map.of(
+                    "notas", new LimiteRequisicoesProperties.Grupo(
+                            List.of("/notas/**"), 1, Duration.ofMinutes(1), Map.of())))));
+
+    @AfterEach
+    void limparContexto() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void informaOLimiteERecusaComTooManyRequests() throws Exception {
+        // given
+        SecurityContextHolder.getContext().setAuthentication(
+                new TestingAuthenticationToken(new UsuarioAutenticado(1L, PapelEnum.ALUNO), null));
+
+        // when
+        MockHttpServletResponse primeira = executar("/notas/1");
+        MockHttpServletResponse segunda = executar("/notas/1");
+
+        // then
+        assertEquals(200, primeira.getStatus());
+        assertEquals("1", primeira.getHeader(LimiteRequisicoesFilter.LIMITE));
+        assertEquals("0", primeira.getHeader(LimiteRequisicoesFilter.RESTANTES));
+        assertEquals("60", primeira.getHeader(LimiteRequisicoesFilter.RESET));
+        assertEquals(429, segunda.getStatus());
+        assertEquals("60", segunda.getHeader("Retry-After"));
+        assertEquals("Limite de requisições excedido, tente novamente em instantes", segunda.getContentAsString());
+    }
+
+    @Test
+    void ignoraRequisicoesAnonimasECaminhosSemLimite() throws Exception {
+        // when
+        MockHttpServletResponse anonima = executar("/notas/1");
+        SecurityContextHolder.getContext().setAuthentication(
+                new TestingAuthenticationToken(new UsuarioAutenticado(1L, PapelEnum.ALUNO), null));
+        MockHttpServletResponse semLimite = executar("/cursos");
+
+        // then
+        assertEquals(200, anonima.getStatus());
+        assertNull(anonima.getHeader(LimiteRequisicoesFilter.LIMITE));
+        assertEquals(200, semLimite.getStatus());
+        assertNull(semLimite.getHeader(LimiteRequisicoesFilter.LIMITE));
+    }
+
+    private MockHttpServletResponse executar(String caminho) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", caminho), response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,89 @@
+package com.senai.projetofinal.infra.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+
+import java.security.KeyPair;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara o custo de assinar e de validar um JWT com RS256 e com ES256, no formato de um
+ * micro-benchmark: aquecimento seguido de várias rodadas medidas, guardando a melhor.
+ * Só roda quando pedido:
+ * <pre>
+ * mvn test -Dtest=AssinaturaJwtBenchmarkTest -Dbenchmark.jwt=true
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "benchmark.jwt", matches = "true")
+@Slf4j
+class AssinaturaJwtBenchmarkTest {
+
+    static final int AQUECIMENTO = 2_000;
+
+    static final int RODADAS = 5;
+
+    static final int OPERACOES_POR_RODADA = 2_000;
+
+    @Test
+    void rs256() {
+        medir(new ChavesJwt(SignatureAlgorithm.RS256, ChavesJwtTest.gerar("RSA"), List.of()));
+    }
+
+    @Test
+    void es256() {
+        medir(new ChavesJwt(SignatureAlgorithm.ES256, ChavesJwtTest.gerar("EC"), List.of()));
+    }
+
+    private void medir(ChavesJwt chaves) {
+        JwtEncoder encoder = chaves.encoder();
+        // Sem o cache do CachingJwtDecoder, para medir a verificação da assinatura
+        JwtDecoder decoder = chaves.decoder();
+        String token = assinar(encoder, chaves);
+
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            decoder.decode(assinar(encoder, chaves));
+        }
+
+        long assinatura = Long.MAX_VALUE;
+        long validacao = Long.MAX_VALUE;
+        for (int rodada = 0; rodada < RODADAS; rodada++) {
+            long inicio = System.nanoTime();
+            for (int i = 0; i < OPERACOES_POR_RODADA; i++) {
+                assinar(encoder, chaves);
+            }
+            assinatura = Math.min(assinatura, (System.nanoTime() - inicio) / OPERACOES_POR_RODADA);
+
+            inicio = System.nanoTime();
+            for (int i = 0; i < OPERACOES_POR_RODADA; i++) {
+                decoder.decode(token);
+            }
+            validacao = Math.min(validacao, (System.nanoTime() - inicio) / OPERACOES_POR_RODADA);
+        }
+
+        log.info("{}: assinatura {} µs/op, validação {} µs/op, token com {} bytes", chaves.getAlgoritmo(),
+                TimeUnit.NANOSECONDS.toMicros(assinatura), TimeUnit.NANOSECONDS.toMicros(validacao), token.length());
+        assertTrue(assinatura > 0 && validacao > 0);
+    }
+
+    private static String assinar(JwtEncoder encoder, ChavesJwt chaves) {
+        Instant agora = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer("sistema-escolar")
+                .issuedAt(agora)
+                .expiresAt(agora.plusSeconds(36000))
+                .subject("1")
+                .claim("scope", "ADM")
+                .build();
+        return encoder.encode(JwtEncoderParameters.from(chaves.cabecalho(), claims)).getTokenValue();
+    }
+}
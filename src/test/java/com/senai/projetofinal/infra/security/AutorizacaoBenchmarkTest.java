@@ -0,0 +1,106 @@
+package com.senai.projetofinal.infra.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compara o custo da decisão de autorização por requisição antes e depois das regras com
+ * {@code @PreAuthorize}. Antes, cada método de service decodificava o token de novo para ler o
+ * {@code scope} e comparava strings; depois, o papel vem do {@link UsuarioAutenticadoConverter},
+ * executado uma vez no filtro, e a regra é avaliada pelo {@link PreAuthorizeAuthorizationManager}.
+ * A validação do token pelo filtro acontece nos dois casos e fica fora da medida. Só roda quando
+ * pedido:
+ * <pre>
+ * mvn test -Dtest=AutorizacaoBenchmarkTest -Dbenchmark.autorizacao=true
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "benchmark.autorizacao", matches = "true")
+@Slf4j
+class AutorizacaoBenchmarkTest {
+
+    static final int AQUECIMENTO = 5_000;
+
+    static final int RODADAS = 5;
+
+    static final int OPERACOES_POR_RODADA = 5_000;
+
+    @Test
+    void autorizacaoPorRequisicao() throws Exception {
+        ChavesJwt chaves = new ChavesJwt(SignatureAlgorithm.RS256, ChavesJwtTest.gerar("RSA"), List.of());
+        JwtDecoder decoder = chaves.decoder();
+        Instant agora = Instant.now();
+        String token = chaves.encoder().encode(JwtEncoderParameters.from(chaves.cabecalho(), JwtClaimsSet.builder()
+                .issuer("sistema-escolar")
+                .issuedAt(agora)
+                .expiresAt(agora.plusSeconds(36000))
+                .subject("1")
+                .claim("scope", "pedagogico")
+                .build())).getTokenValue();
+        Jwt jwt = decoder.decode(token);
+
+        UsuarioAutenticadoConverter converter = new UsuarioAutenticadoConverter();
+        PreAuthorizeAuthorizationManager regras = new PreAuthorizeAuthorizationManager();
+        SimpleMethodInvocation chamada = new SimpleMethodInvocation(new Protegido(),
+                Protegido.class.getMethod("listar"));
+
+        Runnable antes = () -> {
+            String papel = decoder.decode(token).getClaims().get("scope").toString();
+            if (!"admin".equals(papel) && !"pedagogico".equals(papel)) {
+                throw new SecurityException("Usuário não autorizado");
+            }
+        };
+        Runnable depois = () -> {
+            AbstractAuthenticationToken autenticacao = converter.convert(jwt);
+            AuthorizationDecision decisao = regras.check(() -> autenticacao, chamada);
+            if (decisao == null || !decisao.isGranted()) {
+                throw new SecurityException("Usuário não autorizado");
+            }
+        };
+
+        long nanosAntes = medir(antes);
+        long nanosDepois = medir(depois);
+
+        log.info("Autorização por requisição: {} ns/op decodificando o token no service, {} ns/op com @PreAuthorize",
+                nanosAntes, nanosDepois);
+        assertTrue(nanosDepois < nanosAntes);
+    }
+
+    private static long medir(Runnable autorizacao) {
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            autorizacao.run();
+        }
+
+        long melhor = Long.MAX_VALUE;
+        for (int rodada = 0; rodada < RODADAS; rodada++) {
+            long inicio = System.nanoTime();
+            for (int i = 0; i < OPERACOES_POR_RODADA; i++) {
+                autorizacao.run();
+            }
+            melhor = Math.min(melhor, (System.nanoTime() - inicio) / OPERACOES_POR_RODADA);
+        }
+        return melhor;
+    }
+
+    static class Protegido {
+
+        @PreAuthorize("hasAnyRole('ADMIN', 'PEDAGOGICO')")
+        public void listar() {
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.senai.projetofinal.infra.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingJwtDecoderTest {
+
+    @Mock
+    JwtDecoder delegate;
+
+    static final Instant AGORA = Instant.parse("2024-01-01T10:00:00Z");
+
+    static Jwt jwt(Instant expiraEm) {
+        return Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("1")
+                .claim("scope", "admin")
+                .issuedAt(AGORA.minusSeconds(60))
+                .expiresAt(expiraEm)
+                .build();
+    }
+
+    @Test
+    void reutilizaTokenJaValidado() {
+        // given
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 10, Duration.ofMinutes(10),
+                Clock.fixed(AGORA, ZoneOffset.UTC));
+        Jwt jwt = jwt(AGORA.plusSeconds(3600));
+        when(delegate.decode("abc")).thenReturn(jwt);
+
+        // when
+        Jwt primeiro = decoder.decode("abc");
+        Jwt segundo = decoder.decode("abc");
+
+        // then
+        assertSame(primeiro, segundo);
+        verify(delegate, times(1)).decode("abc");
+        assertEquals(1, decoder.getAcertos());
+        assertEquals(1, decoder.getFalhas());
+    }
+
+    @Test
+    void naoAceitaTokenDepoisDoExp() {
+        // given
+        MutableClock clock = new MutableClock(AGORA);
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 10, Duration.ofHours(1), clock);
+        when(delegate.decode("abc")).thenReturn(jwt(AGORA.plusSeconds(30)));
+
+        // when
+        decoder.decode("abc");
+        clock.agora = AGORA.plusSeconds(30);
+        decoder.decode("abc");
+
+        // then
+        verify(delegate, times(2)).decode("abc");
+        assertEquals(0, decoder.getAcertos());
+    }
+
+    @Test
+    void descartaEntradaMaisAntigaAoAtingirTamanhoMaximo() {
+        // given
+        CachingJwtDecoder decoder = new CachingJwtDecoder(delegate, 2, Duration.ofMinutes(10),
+                Clock.fixed(AGORA, ZoneOffset.UTC));
+        when(delegate.decode(anyString())).thenReturn(jwt(AGORA.plusSeconds(3600)));
+
+        // when
+        decoder.decode("a");
+        decoder.decode("b");
+        decoder.decode("c");
+        decoder.decode("a");
+
+        // then
+        assertEquals(2, decoder.getTamanho());
+        verify(delegate, times(2)).decode("a");
+        assertEquals(2, decoder.estatisticas().despejos());
+        assertEquals(4, decoder.estatisticas().faltas());
+    }
+
+    static class MutableClock extends Clock {
+
+        Instant agora;
+
+        MutableClock(Instant agora) {
+            this.agora = agora;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return agora;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.senai.projetofinal.infra.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalibradorBCryptTest {
+
+    @Test
+    void sobeOCustoEnquantoCouberNoOrcamento() {
+        // given
+        CalibradorBCrypt calibrador = new CalibradorBCrypt(custo -> Duration.ofMillis(20).toNanos());
+
+        // when
+        int custo = calibrador.calibrar(10, Duration.ofMillis(100));
+
+        // then
+        assertEquals(12, custo);
+    }
+
+    @Test
+    void mantemOCustoMinimoEmHardwareLento() {
+        // given
+        CalibradorBCrypt calibrador = new CalibradorBCrypt(custo -> Duration.ofMillis(300).toNanos());
+
+        // when
+        int custo = calibrador.calibrar(10, Duration.ofMillis(100));
+
+        // then
+        assertEquals(10, custo);
+    }
+
+    @Test
+    void naoPassaDoCustoMaximo() {
+        // given
+        CalibradorBCrypt calibrador = new CalibradorBCrypt(custo -> 1L);
+
+        // when
+        int custo = calibrador.calibrar(10, Duration.ofSeconds(10));
+
+        // then
+        assertEquals(CalibradorBCrypt.CUSTO_MAXIMO, custo);
+    }
+}
@@ -0,0 +1,142 @@
+package com.senai.projetofinal.infra.security;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChavesJwtTest {
+
+    final KeyPair parRsa = gerar("RSA");
+
+    final KeyPair parEc = gerar("EC");
+
+    @Test
+    void assinarEValidarComES256() {
+        // given
+        ChavesJwt chaves = new ChavesJwt(SignatureAlgorithm.ES256, parEc, List.of());
+
+        // when
+        String token = assinar(chaves.encoder(), chaves);
+        Jwt jwt = chaves.decoder().decode(token);
+
+        // then
+        assertEquals("ES256", jwt.getHeaders().get("alg"));
+        assertNotNull(jwt.getHeaders().get("kid"));
+        assertEquals("1", jwt.getSubject());
+    }
+
+    @Test
+    void tokensDaChaveAnteriorContinuamValidosAposARotacao() {
+        // given
+        ChavesJwt antes = new ChavesJwt(SignatureAlgorithm.RS256, parRsa, List.of());
+        String tokenAntigo = assinar(antes.encoder(), antes);
+        ChavesJwt depois = new ChavesJwt(SignatureAlgorithm.ES256, parEc, List.of(parRsa.getPublic()));
+
+        // when
+        Jwt antigo = depois.decoder().decode(tokenAntigo);
+        Jwt novo = depois.decoder().decode(assinar(depois.encoder(), depois));
+
+        // then
+        assertEquals("RS256", antigo.getHeaders().get("alg"));
+        assertEquals("ES256", novo.getHeaders().get("alg"));
+        assertNotEquals(antigo.getHeaders().get("kid"), novo.getHeaders().get("kid"));
+    }
+
+    @Test
+    void tokenSemKidAindaEValidado() {
+        // given
+        ChavesJwt chaves = new ChavesJwt(SignatureAlgorithm.RS256, parRsa, List.of());
+        JwtEncoder encoderSemKid = new NimbusJwtEncoder(new ImmutableJWKSet<>(new JWKSet(
+                new RSAKey.Builder((RSAPublicKey) parRsa.getPublic()).privateKey(parRsa.getPrivate()).build())));
+
+        // when
+        Jwt jwt = chaves.decoder().decode(encoderSemKid.encode(JwtEncoderParameters.from(claims())).getTokenValue());
+
+        // then
+        assertNull(jwt.getHeaders().get("kid"));
+        assertEquals("1", jwt.getSubject());
+    }
+
+    @Test
+    void chaveIncompativelComOAlgoritmo() {
+        // when
+        IllegalStateException erro = assertThrows(IllegalStateException.class,
+                () -> new ChavesJwt(SignatureAlgorithm.ES256, parRsa, List.of()));
+
+        // then
+        assertEquals("Chave do JWT incompatível com o algoritmo ES256", erro.getMessage());
+    }
+
+    @Test
+    void publicarSomenteChavesPublicas() {
+        // given
+        ChavesJwt chaves = new ChavesJwt(SignatureAlgorithm.ES256, parEc, List.of(parRsa.getPublic()));
+
+        // when
+        Map<String, Object> jwks = chaves.chavesPublicas();
+
+        // then
+        List<?> keys = (List<?>) jwks.get("keys");
+        assertEquals(2, keys.size());
+        keys.forEach(chave -> assertFalse(((Map<?, ?>) chave).containsKey("d")));
+    }
+
+    @Test
+    void carregarChavesDoClasspath() {
+        // when
+        ChavesJwt chaves = ChavesJwt.carregar("rs256", new ClassPathResource("app.pub"),
+                new ClassPathResource("app.key"), new String[]{"", "classpath:app.pub"});
+
+        // then
+        assertEquals(SignatureAlgorithm.RS256, chaves.getAlgoritmo());
+        assertEquals(1, ((List<?>) chaves.chavesPublicas().get("keys")).size());
+        assertEquals("1", chaves.decoder().decode(assinar(chaves.encoder(), chaves)).getSubject());
+    }
+
+    private static String assinar(JwtEncoder encoder, ChavesJwt chaves) {
+        return encoder.encode(JwtEncoderParameters.from(chaves.cabecalho(), claims())).getTokenValue();
+    }
+
+    private static JwtClaimsSet claims() {
+        Instant agora = Instant.now();
+        return JwtClaimsSet.builder()
+                .issuer("sistema-escolar")
+                .issuedAt(agora)
+                .expiresAt(agora.plusSeconds(60))
+                .subject("1")
+                .claim("scope", "ADM")
+                .build();
+    }
+
+    static KeyPair gerar(String tipo) {
+        try {
+            KeyPairGenerator gerador = KeyPairGenerator.getInstance(tipo);
+            if (tipo.equals("EC")) {
+                gerador.initialize(new ECGenParameterSpec("secp256r1"));
+            } else {
+                gerador.initialize(2048);
+            }
+            return gerador.generateKeyPair();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.senai.projetofinal.infra.security;
+
+import com.senai.projetofinal.infra.exception.error.ServicoIndisponivelException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CodificadorSenhasTest {
+
+    @Mock
+    BCryptPasswordEncoder encoderLento;
+
+    final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+
+    @Test
+    void verificarSenha() {
+        // given
+        CodificadorSenhas codificador = new CodificadorSenhas(encoder, 2, 4, 1, 4, Duration.ofSeconds(1));
+        String senhaCodificada = encoder.encode("1234");
+
+        // when
+        boolean valida = codificador.verificar("1234", senhaCodificada);
+        boolean invalida = codificador.verificar("4321", senhaCodificada);
+
+        // then
+        assertTrue(valida);
+        assertFalse(invalida);
+        codificador.destroy();
+    }
+
+    @Test
+    void verificarRecusaQuandoAFilaEstaCheia() throws Exception {
+        // given
+        CountDownLatch iniciou = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(encoderLento.matches(any(), any())).thenAnswer(invocacao -> {
+            iniciou.countDown();
+            liberar.await();
+            return true;
+        });
+        CodificadorSenhas codificador = new CodificadorSenhas(encoderLento, 1, 1, 1, 4, Duration.ofSeconds(2));
+
+        CompletableFuture<Boolean> emExecucao = CompletableFuture.supplyAsync(() -> codificador.verificar("a", "hash"));
+        iniciou.await();
+        CompletableFuture<Boolean> naFila = CompletableFuture.supplyAsync(() -> codificador.verificar("b", "hash"));
+        while (codificador.tamanhoFila() == 0) {
+            Thread.onSpinWait();
+        }
+
+        // when
+        ServicoIndisponivelException erro = assertThrows(ServicoIndisponivelException.class,
+                () -> codificador.verificar("c", "hash"));
+        liberar.countDown();
+
+        // then
+        assertEquals(Duration.ofSeconds(2), erro.getTentarNovamenteEm());
+        assertEquals(1, codificador.getRecusadas());
+        assertTrue(emExecucao.get());
+        assertTrue(naFila.get());
+        codificador.destroy();
+    }
+
+    @Test
+    void codificarNaoRecusaComAFilaCheia() {
+        // given
+        CodificadorSenhas codificador = new CodificadorSenhas(encoder, 1, 1, 1, 4, Duration.ofSeconds(1));
+        List<String> senhas = List.of("s1", "s2", "s3", "s4", "s5");
+
+        // when
+        List<String> codificadas = codificador.codificar(senhas);
+
+        // then
+        assertEquals(5, codificadas.size());
+        for (int i = 0; i < senhas.size(); i++) {
+            assertTrue(encoder.matches(senhas.get(i), codificadas.get(i)));
+        }
+        assertEquals(0, codificador.getRecusadas());
+        codificador.destroy();
+    }
+
+    @Test
+    void codificarEmLoteNaoOcupaAFilaDoLogin() throws Exception {
+        // given
+        CountDownLatch iniciou = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(encoderLento.encode(any())).thenAnswer(invocacao -> {
+            iniciou.countDown();
+            liberar.await();
+            return "hash";
+        });
+        when(encoderLento.matches(any(), any())).thenReturn(true);
+        CodificadorSenhas codificador = new CodificadorSenhas(encoderLento, 1, 1, 1, 4, Duration.ofSeconds(1));
+        CompletableFuture<List<String>> importacao = CompletableFuture.supplyAsync(
+                () -> codificador.codificar(List.of("s1", "s2", "s3", "s4", "s5", "s6")));
+        iniciou.await();
+
+        // when
+        boolean valida = codificador.verificar("1234", "hash");
+        boolean outraValida = codificador.verificar("1234", "hash");
+        liberar.countDown();
+
+        // then
+        assertTrue(valida);
+        assertTrue(outraValida);
+        assertEquals(0, codificador.getRecusadas());
+        assertEquals(6, importacao.get().size());
+        codificador.destroy();
+    }
+
+    @Test
+    void repassaOErroOriginalDaCodificacao() {
+        // given
+        CodificadorSenhas codificador = new CodificadorSenhas(encoder, 1, 1, 1, 4, Duration.ofSeconds(1));
+
+        // when / then
+        assertThrows(IllegalArgumentException.class, () -> codificador.codificar((String) null));
+        assertThrows(IllegalArgumentException.class, () -> codificador.codificar(Arrays.asList("s1", null)));
+        codificador.destroy();
+    }
+
+    @Test
+    void precisaRecodificarSenhasComCustoMenor() {
+        // given
+        CodificadorSenhas codificador = new CodificadorSenhas(new BCryptPasswordEncoder(5), 1, 1, 1, 4, Duration.ofSeconds(1));
+
+        // when
+        boolean custoMenor = codificador.precisaRecodificar(encoder.encode("1234"));
+        boolean custoAtual = codificador.precisaRecodificar(codificador.codificar("1234"));
+
+        // then
+        assertTrue(custoMenor);
+        assertFalse(custoAtual);
+        codificador.destroy();
+    }
+}
@@ -0,0 +1,122 @@
+package com.senai.projetofinal.infra.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ListaRevogacaoTest {
+
+    final Instant agora = Instant.parse("2026-01-10T12:00:00Z");
+
+    @Test
+    void revogarTokenPeloJti() {
+        // given
+        ListaRevogacao lista = new ListaRevogacao(100);
+
+        // when
+        lista.revogarToken("jti-1", agora.plusSeconds(60));
+
+        // then
+        assertTrue(lista.revogado("jti-1", 1L, agora));
+        assertFalse(lista.revogado("jti-2", 1L, agora));
+    }
+
+    @Test
+    void revogarUsuarioAlcancaSoTokensEmitidosAntes() {
+        // given
+        ListaRevogacao lista = new ListaRevogacao(100);
+
+        // when
+        lista.revogarUsuario(1L, agora, agora.plusSeconds(36000));
+
+        // then
+        assertTrue(lista.revogado("jti-antigo", 1L, agora.minusSeconds(1)));
+        assertFalse(lista.revogado("jti-novo", 1L, agora));
+        assertFalse(lista.revogado("jti-outro", 2L, agora.minusSeconds(1)));
+    }
+
+    @Test
+    void podarRemoveRevogacoesExpiradas() {
+        // given
+        ListaRevogacao lista = new ListaRevogacao(100);
+        lista.revogarToken("expirado", agora.minusSeconds(1));
+        lista.revogarToken("ativo", agora.plusSeconds(60));
+        lista.revogarUsuario(1L, agora.minusSeconds(36001), agora.minusSeconds(1));
+
+        // when
+        lista.podar(agora);
+
+        // then
+        assertEquals(1, lista.tamanho());
+        assertFalse(lista.revogado("expirado", 2L, agora));
+        assertFalse(lista.revogado("outro", 1L, agora.minusSeconds(40000)));
+        assertTrue(lista.revogado("ativo", 2L, agora));
+    }
+
+    @Test
+    void filtroCresceAlemDaCapacidadeSemPerderRevogacoes() {
+        // given
+        ListaRevogacao lista = new ListaRevogacao(16);
+
+        // when
+        for (int i = 0; i < 1_000; i++) {
+            lista.revogarToken("jti-" + i, agora.plusSeconds(60));
+        }
+
+        // then
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(lista.revogado("jti-" + i, 1L, agora));
+        }
+        assertFalse(lista.revogado("jti-1000", 1L, agora));
+    }
+
+    @Test
+    void filtroBloomSemFalsosNegativos() {
+        // given
+        FiltroBloom filtro = new FiltroBloom(10_000, ListaRevogacao.FALSOS_POSITIVOS);
+        for (int i = 0; i < 10_000; i++) {
+            filtro.adicionar(FiltroBloom.hash("revogado-" + i));
+        }
+
+        // when
+        int falsosPositivos = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filtro.talvezContenha(FiltroBloom.hash(UUID.randomUUID().toString()))) {
+                falsosPositivos++;
+            }
+        }
+
+        // then
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filtro.talvezContenha(FiltroBloom.hash("revogado-" + i)));
+        }
+        assertTrue(falsosPositivos < 2_000, "falsos positivos: " + falsosPositivos);
+    }
+
+    @Test
+    void decoderRecusaTokenRevogado() {
+        // given
+        ListaRevogacao lista = new ListaRevogacao(100);
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("1")
+                .jti("jti-1")
+                .issuedAt(agora)
+                .expiresAt(agora.plusSeconds(60))
+                .build();
+        RevogacaoJwtDecoder decoder = new RevogacaoJwtDecoder(token -> jwt, lista);
+        assertSame(jwt, decoder.decode("token"));
+
+        // when
+        lista.revogarToken("jti-1", agora.plusSeconds(60));
+
+        // then
+        BadJwtException erro = assertThrows(BadJwtException.class, () -> decoder.decode("token"));
+        assertEquals("Token revogado", erro.getMessage());
+    }
+}
@@ -0,0 +1,68 @@
+package com.senai.projetofinal.infra.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Mede o custo da consulta de revogação feita a cada requisição, com 10 mil tokens e mil usuários
+ * revogados, para tokens não revogados (o caso comum) e revogados. Só roda quando pedido:
+ * <pre>
+ * mvn test -Dtest=RevogacaoBenchmarkTest -Dbenchmark.revogacao=true
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "benchmark.revogacao", matches = "true")
+@Slf4j
+class RevogacaoBenchmarkTest {
+
+    static final int CONSULTAS = 2_000_000;
+
+    @Test
+    void consultarRevogacao() {
+        Instant agora = Instant.now();
+        ListaRevogacao lista = new ListaRevogacao(10_000);
+        String[] revogados = new String[10_000];
+        for (int i = 0; i < revogados.length; i++) {
+            revogados[i] = UUID.randomUUID().toString();
+            lista.revogarToken(revogados[i], agora.plusSeconds(36000));
+        }
+        for (long usuario = 1; usuario <= 1_000; usuario++) {
+            lista.revogarUsuario(usuario, agora.minusSeconds(60), agora.plusSeconds(36000));
+        }
+        String[] validos = new String[1_024];
+        for (int i = 0; i < validos.length; i++) {
+            validos[i] = UUID.randomUUID().toString();
+        }
+
+        long naoRevogados = medir(lista, validos, 5_000L, agora);
+        long comRevogados = medir(lista, revogados, 5_000L, agora);
+
+        log.info("Consulta de revogação: {} ns/op para tokens válidos, {} ns/op para tokens revogados",
+                naoRevogados, comRevogados);
+        assertTrue(naoRevogados < 1_000);
+    }
+
+    private static long medir(ListaRevogacao lista, String[] jtis, long usuarioBase, Instant agora) {
+        int revogados = 0;
+        for (int i = 0; i < CONSULTAS; i++) {
+            if (lista.revogado(jtis[i % jtis.length], usuarioBase + (i & 1023), agora)) {
+                revogados++;
+            }
+        }
+
+        long inicio = System.nanoTime();
+        for (int i = 0; i < CONSULTAS; i++) {
+            if (lista.revogado(jtis[i % jtis.length], usuarioBase + (i & 1023), agora)) {
+                revogados++;
+            }
+        }
+        long nanos = (System.nanoTime() - inicio) / CONSULTAS;
+        assertTrue(revogados >= 0);
+        return nanos;
+    }
+}
@@ -0,0 +1,113 @@
+package com.senai.projetofinal.infra.security;
+
+import com.senai.projetofinal.datasource.entity.TokenRevogadoEntity;
+import com.senai.projetofinal.datasource.repository.TokenRevogadoRepository;
+import com.senai.projetofinal.infra.cache.BarramentoInvalidacao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SincronizacaoRevogacoesTest {
+
+    static final Instant SUBIDA = Instant.parse("2026-01-10T12:00:00Z");
+
+    @Mock
+    TokenRevogadoRepository repository;
+
+    @Mock
+    Clock relogio;
+
+    ListaRevogacao listaRevogacao;
+
+    SincronizacaoRevogacoes sincronizacao;
+
+    @BeforeEach
+    void setUp() {
+        listaRevogacao = new ListaRevogacao(100);
+        sincronizacao = new SincronizacaoRevogacoes(repository, listaRevogacao, Duration.ofMinutes(1), relogio);
+    }
+
+    @Test
+    void carregarRevogacoesAtivas() {
+        // given
+        when(relogio.instant()).thenReturn(SUBIDA);
+        when(repository.findByExpiraEmAfter(SUBIDA)).thenReturn(List.of(revogacao("jti-1")));
+
+        // when
+        sincronizacao.carregar();
+
+        // then
+        assertEquals(1, listaRevogacao.tamanho());
+        assertTrue(listaRevogacao.revogado("jti-1", 1L, SUBIDA));
+    }
+
+    @Test
+    void revogacaoEmOutraInstanciaLeAsLinhasNovas() {
+        // given
+        Instant depois = SUBIDA.plusSeconds(30);
+        when(relogio.instant()).thenReturn(SUBIDA, depois);
+        when(repository.findByExpiraEmAfter(SUBIDA)).thenReturn(List.of());
+        when(repository.findRevogadosDesde(SUBIDA.minus(Duration.ofMinutes(1)), depois))
+                .thenReturn(List.of(revogacao("jti-2")));
+        sincronizacao.carregar();
+
+        // when
+        sincronizacao.invalidar(Set.of(BarramentoInvalidacao.REVOGACOES), true);
+
+        // then
+        assertTrue(listaRevogacao.revogado("jti-2", 1L, SUBIDA));
+    }
+
+    @Test
+    void falhaNaLeituraNaoAvancaOMarco() {
+        // given
+        Instant primeira = SUBIDA.plusSeconds(30);
+        Instant segunda = SUBIDA.plusSeconds(90);
+        Instant desde = SUBIDA.minus(Duration.ofMinutes(1));
+        when(relogio.instant()).thenReturn(SUBIDA, primeira, segunda);
+        when(repository.findByExpiraEmAfter(SUBIDA)).thenReturn(List.of());
+        when(repository.findRevogadosDesde(desde, primeira)).thenThrow(new IllegalStateException("banco fora"));
+        when(repository.findRevogadosDesde(desde, segunda)).thenReturn(List.of(revogacao("jti-3")));
+        sincronizacao.carregar();
+
+        // when
+        assertThrows(IllegalStateException.class,
+                () -> sincronizacao.invalidar(Set.of(BarramentoInvalidacao.REVOGACOES), true));
+        sincronizacao.invalidar(Set.of(BarramentoInvalidacao.REVOGACOES), true);
+
+        // then
+        assertTrue(listaRevogacao.revogado("jti-3", 1L, SUBIDA));
+    }
+
+    @Test
+    void ignoraRevogacoesLocaisEOutrosRecursos() {
+        // when
+        sincronizacao.invalidar(Set.of(BarramentoInvalidacao.REVOGACOES), false);
+        sincronizacao.invalidar(Set.of(BarramentoInvalidacao.CURSOS), true);
+
+        // then
+        verify(repository, never()).findRevogadosDesde(any(), any());
+    }
+
+    private static TokenRevogadoEntity revogacao(String jti) {
+        TokenRevogadoEntity revogacao = new TokenRevogadoEntity();
+        revogacao.setJti(jti);
+        revogacao.setUsuarioId(1L);
+        revogacao.setRevogadoEm(SUBIDA);
+        revogacao.setExpiraEm(SUBIDA.plusSeconds(3600));
+        return revogacao;
+    }
+}
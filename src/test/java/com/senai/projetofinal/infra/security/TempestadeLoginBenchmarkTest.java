@@ -0,0 +1,99 @@
+package com.senai.projetofinal.infra.security;
+
+import com.senai.projetofinal.infra.exception.error.ServicoIndisponivelException;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Simula uma tempestade de logins em um pool do tamanho do pool padrão do Tomcat e mede a
+ * vazão de logins e a latência de requisições baratas atendidas pelo mesmo pool, com o BCrypt
+ * rodando nas threads de requisição e no {@link CodificadorSenhas}. Só roda quando pedido:
+ * <pre>
+ * mvn test -Dtest=TempestadeLoginBenchmarkTest -Dbenchmark.login=true
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "benchmark.login", matches = "true")
+@Slf4j
+class TempestadeLoginBenchmarkTest {
+
+    static final int THREADS_REQUISICAO = 200;
+
+    static final int LOGINS = 2_000;
+
+    static final int REQUISICOES_BARATAS = 500;
+
+    final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+
+    final String senhaCodificada = encoder.encode("1234");
+
+    @Test
+    void bcryptNasThreadsDeRequisicao() throws Exception {
+        medir("threads de requisição", () -> encoder.matches("1234", senhaCodificada));
+    }
+
+    @Test
+    void bcryptNoCodificadorDeSenhas() throws Exception {
+        CodificadorSenhas codificador = new CodificadorSenhas(encoder, 0, 64, 0, 256, Duration.ofSeconds(1));
+        try {
+            medir("codificador de senhas", () -> codificador.verificar("1234", senhaCodificada));
+        } finally {
+            codificador.destroy();
+        }
+    }
+
+    private void medir(String cenario, BooleanSupplier login) throws Exception {
+        ExecutorService requisicoes = Executors.newFixedThreadPool(THREADS_REQUISICAO);
+        AtomicInteger aceitos = new AtomicInteger();
+        AtomicInteger recusados = new AtomicInteger();
+        List<Long> latencias = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<Void>> tarefas = new ArrayList<>();
+
+        long inicio = System.nanoTime();
+        for (int i = 0; i < LOGINS; i++) {
+            tarefas.add(CompletableFuture.runAsync(() -> {
+                try {
+                    login.getAsBoolean();
+                    aceitos.incrementAndGet();
+                } catch (ServicoIndisponivelException e) {
+                    recusados.incrementAndGet();
+                }
+            }, requisicoes));
+        }
+
+        for (int i = 0; i < REQUISICOES_BARATAS; i++) {
+            long enviada = System.nanoTime();
+            tarefas.add(CompletableFuture.runAsync(() -> latencias.add(System.nanoTime() - enviada), requisicoes));
+            TimeUnit.MILLISECONDS.sleep(2);
+        }
+
+        CompletableFuture.allOf(tarefas.toArray(CompletableFuture[]::new)).join();
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        requisicoes.shutdown();
+
+        List<Long> ordenadas = new ArrayList<>(latencias);
+        Collections.sort(ordenadas);
+        log.info("{}: {} logins aceitos em {} s ({} logins/s), {} recusados com 503",
+                cenario, aceitos.get(), String.format("%.2f", segundos),
+                String.format("%.0f", aceitos.get() / segundos), recusados.get());
+        log.info("{}: latência das requisições baratas p50 {} ms, p99 {} ms",
+                cenario, percentil(ordenadas, 0.50), percentil(ordenadas, 0.99));
+    }
+
+    private static long percentil(List<Long> ordenadas, double percentil) {
+        int indice = (int) Math.ceil(percentil * ordenadas.size()) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(ordenadas.get(Math.max(indice, 0)));
+    }
+}
@@ -11,7 +11,9 @@ import com.senai.projetofinal.datasource.entity.UsuarioEntity;
 import com.senai.projetofinal.datasource.repository.AlunoRepository;
 import com.senai.projetofinal.datasource.repository.TurmaRepository;
 import com.senai.projetofinal.datasource.repository.UsuarioRepository;
+import com.senai.projetofinal.infra.cache.BarramentoInvalidacao;
 import com.senai.projetofinal.infra.exception.error.NotFoundException;
+import com.senai.projetofinal.infra.security.CodificadorSenhas;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
@@ -21,13 +23,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -44,13 +50,16 @@ class AlunoServiceTest {
     TurmaRepository turmaRepository;
 
     @Mock
-    TokenService tokenService;
+    CodificadorSenhas codificadorSenhas;
 
     @Mock
-    BCryptPasswordEncoder bCryptPasswordEncoder;
+    UsuarioService usuarioService;
 
     @Mock
-    UsuarioService usuarioService;
+    RevogacaoTokenService revogacaoTokenService;
+
+    @Mock
+    BarramentoInvalidacao barramentoInvalidacao;
 
     @InjectMocks
     AlunoService alunoService;
@@ -75,95 +84,91 @@ class AlunoServiceTest {
     @Order(1)
     void salvarAluno() {
         // given
-        String token = "mock-token";
         InserirAlunoRequest request = new InserirAlunoRequest("Aluno Teste", "2000-01-01", "senha teste","","","","","","","","","","","","","","","",1L, 1L);
-        when(tokenService.buscaCampo(token, "scope")).thenReturn("admin");
         when(turmaRepository.findById(1L)).thenReturn(Optional.of(new TurmaEntity()));
         when(alunoRepository.save(any())).thenReturn(aluno);
-        when(bCryptPasswordEncoder.encode(any(CharSequence.class))).thenReturn("encoded-password");
-        when(usuarioService.cadastraNovoLogin(any(), any())).thenReturn(new UsuarioEntity());
+        UsuarioEntity usuario = new UsuarioEntity();
+        usuario.setSenha("encoded-password");
+        when(usuarioService.cadastraNovoLogin(any())).thenReturn(usuario);
 
         // when
-        AlunoResponse retorno = alunoService.salvar(request, token);
+        AlunoResponse retorno = alunoService.salvar(request);
 
         // then
         assertNotNull(retorno);
         assertEquals(aluno.getNome(), retorno.nome());
 
-        verify(alunoRepository, times(1)).save(any());
+        verify(alunoRepository, times(1)).save(argThat(salvo -> "encoded-password".equals(salvo.getSenha())));
+        verify(codificadorSenhas, never()).codificar(anyString());
+        verify(barramentoInvalidacao).publicar(BarramentoInvalidacao.PONTUACOES);
     }
 
     @Test
     void listarTodosAlunos() {
         // given
-        String token = "mock-token";
-        when(tokenService.buscaCampo(token, "scope")).thenReturn("admin");
-        when(alunoRepository.findAll()).thenReturn(List.of(aluno));
+        when(alunoRepository.findAllResumidos(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(AlunoResponse.from(aluno))));
 
         // when
-        List<AlunoEntity> retorno = alunoService.listarTodos(token);
+        Page<AlunoResponse> retorno = alunoService.listarTodos(PageRequest.of(0, 20));
 
         // then
         assertNotNull(retorno);
-        assertEquals(aluno.getNome(), retorno.get(0).getNome());
+        assertEquals(aluno.getNome(), retorno.getContent().get(0).nome());
     }
 
     @Test
     @Order(2)
     void removerAluno() {
         // given
-        String token = "mock-token";
-        when(tokenService.buscaCampo(token, "scope")).thenReturn("admin");
         when(alunoRepository.existsById(aluno.getId())).thenReturn(true);
         when(alunoRepository.findById(aluno.getId())).thenReturn(Optional.of(aluno));
 
         // when
-        assertDoesNotThrow(() -> alunoService.removerPorId(aluno.getId(), token));
+        assertDoesNotThrow(() -> alunoService.removerPorId(aluno.getId()));
 
         // then
         verify(alunoRepository, times(1)).deleteById(aluno.getId());
+        verify(barramentoInvalidacao).publicar(BarramentoInvalidacao.PONTUACOES);
     }
 
     @Test
     @Order(3)
     void atualizarAluno() {
         // given
-        String token = "mock-token";
         Long alunoId = 1L;
         AtualizarAlunoRequest request = new AtualizarAlunoRequest("Aluno Atualizado", "2000-01-01", "","","","","","","","","","","","","","","","",1L);
-        when(tokenService.buscaCampo(token, "scope")).thenReturn("admin");
         when(alunoRepository.findById(alunoId)).thenReturn(Optional.of(aluno));
         when(turmaRepository.findById(1L)).thenReturn(Optional.of(new TurmaEntity()));
         when(alunoRepository.save(any())).thenReturn(aluno);
+        when(codificadorSenhas.codificar(request.senha())).thenReturn("encoded-password");
 
         // when
-        AlunoEntity retorno = alunoService.atualizar(request, alunoId, token);
+        AlunoEntity retorno = alunoService.atualizar(request, alunoId);
 
         // then
         assertNotNull(retorno);
         assertEquals(request.nome(), retorno.getNome());
+        assertEquals("encoded-password", retorno.getSenha());
+        verify(revogacaoTokenService).revogarUsuario(aluno.getUsuario().getId());
+        verify(barramentoInvalidacao).publicar(BarramentoInvalidacao.PONTUACOES);
     }
 
     @Test
     @Order(4)
     void retornarAluno() {
         // given
-        String token = "mock-token";
-        when(tokenService.buscaCampo(token, "scope")).thenReturn("admin");
         when(alunoRepository.findById(anyLong())).thenReturn(Optional.ofNullable(aluno));
 
         // when
-        assertDoesNotThrow(() -> alunoService.buscarPorId(1L, token));
+        assertDoesNotThrow(() -> alunoService.buscarPorId(1L));
     }
 
     @Test
     void retornarAlunoError() {
         // given
-        String token = "mock-token";
-        when(tokenService.buscaCampo(token, "scope")).thenReturn("admin");
         when(alunoRepository.findById(anyLong())).thenReturn(Optional.empty());
 
         // when
-        assertThrows(NotFoundException.class, () -> alunoService.buscarPorId(0L, token));
+        assertThrows(NotFoundException.class, () -> alunoService.buscarPorId(0L));
     }
 }
\ No newline at end of file
@@ -4,6 +4,9 @@ import com.senai.projetofinal.controller.dto.request.curso.InserirCursoRequest;
 import com.senai.projetofinal.controller.dto.response.CursoResponse;
 import com.senai.projetofinal.datasource.entity.CursoEntity;
 import com.senai.projetofinal.datasource.repository.CursoRepository;
+import com.senai.projetofinal.infra.cache.BarramentoInvalidacao;
+import com.senai.projetofinal.infra.cache.DadosReferencia;
+import com.senai.projetofinal.infra.cache.LeiturasAgrupadas;
 import com.senai.projetofinal.infra.exception.error.NotFoundException;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -13,8 +16,14 @@ import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,7 +39,11 @@ class CursoServiceTest {
     CursoRepository repository;
 
     @Mock
-    TokenService tokenService;
+    BarramentoInvalidacao barramentoInvalidacao;
+
+    @Spy
+    DadosReferencia dadosReferencia = new DadosReferencia(new LeiturasAgrupadas(true, Duration.ofSeconds(2)),
+            true, 500, Duration.ofMinutes(1), Duration.ofMinutes(15));
 
     @InjectMocks
     CursoService service;
@@ -48,71 +61,63 @@ class CursoServiceTest {
     @Order(1)
     void salvarCurso() {
         // given
-        String token = "mock-token";
         InserirCursoRequest request = new InserirCursoRequest("Curso Teste");
-        when(tokenService.buscaCampo(token, "scope")).thenReturn("admin");
         when(repository.save(any())).thenReturn(curso);
 
         // when
-        CursoResponse retorno = service.salvar(request, token);
+        CursoResponse retorno = service.salvar(request);
 
         // then
         assertNotNull(retorno);
         assertEquals(curso.getNome(), retorno.nome());
 
         verify(repository, times(1)).save(any());
+        verify(barramentoInvalidacao).publicar(BarramentoInvalidacao.CURSOS);
     }
 
     @Test
     void listarTodosCursos() {
         // given
-        String token = "mock-token";
-        when(tokenService.buscaCampo(token, "scope")).thenReturn("admin");
-        when(repository.findAll()).thenReturn(List.of(curso));
+        when(repository.findAllResumidos(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(CursoResponse.from(curso))));
 
         // when
-        List<CursoEntity> retorno = service.listarTodos(token);
+        Page<CursoResponse> retorno = service.listarTodos(PageRequest.of(0, 20));
 
         // then
         assertNotNull(retorno);
-        assertEquals(curso.getNome(), retorno.get(0).getNome());
+        assertEquals(curso.getNome(), retorno.getContent().get(0).nome());
     }
 
     @Test
     @Order(2)
     void removerCurso() {
         // given
-        String token = "mock-token";
-        when(tokenService.buscaCampo(token, "scope")).thenReturn("admin");
         when(repository.existsById(curso.getId())).thenReturn(true);
 
         // when
-        assertDoesNotThrow(() -> service.removerPorId(curso.getId(), token));
+        assertDoesNotThrow(() -> service.removerPorId(curso.getId()));
 
         // then
         verify(repository, times(1)).deleteById(curso.getId());
+        verify(barramentoInvalidacao).publicar(BarramentoInvalidacao.CURSOS, BarramentoInvalidacao.TURMAS);
     }
 
     @Test
     @Order(4)
     void retornarCurso() {
         // given
-        String token = "mock-token";
-        when(tokenService.buscaCampo(token, "scope")).thenReturn("admin");
         when(repository.findById(anyLong())).thenReturn(Optional.ofNullable(curso));
 
         // when
-        assertDoesNotThrow(() -> service.buscarPorId(1L, token));
+        assertDoesNotThrow(() -> service.buscarPorId(1L));
     }
 
     @Test
     void retornarCursoError() {
         // given
-        String token = "mock-token";
-        when(tokenService.buscaCampo(token, "scope")).thenReturn("admin");
         when(repository.findById(anyLong())).thenReturn(Optional.empty());
 
         // when
-        assertThrows(NotFoundException.class, () -> service.buscarPorId(0L, token));
+        assertThrows(NotFoundException.class, () -> service.buscarPorId(0L));
     }
 }
\ No newline at end of file
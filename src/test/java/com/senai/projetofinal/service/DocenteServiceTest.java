@@ -9,7 +9,10 @@ import com.senai.projetofinal.datasource.entity.PapelEnum;
 import com.senai.projetofinal.datasource.entity.UsuarioEntity;
 import com.senai.projetofinal.datasource.repository.DocenteRepository;
 import com.senai.projetofinal.datasource.repository.UsuarioRepository;
+import com.senai.projetofinal.infra.cache.BarramentoInvalidacao;
 import com.senai.projetofinal.infra.exception.error.NotFoundException;
+import com.senai.projetofinal.infra.security.CodificadorSenhas;
+import com.senai.projetofinal.infra.security.UsuarioAutenticado;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
@@ -19,7 +22,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -40,13 +46,16 @@ class DocenteServiceTest {
     UsuarioRepository usuarioRepository;
 
     @Mock
-    TokenService tokenService;
+    CodificadorSenhas codificadorSenhas;
 
     @Mock
-    BCryptPasswordEncoder bCryptPasswordEncoder;
+    UsuarioService usuarioService;
 
     @Mock
-    UsuarioService usuarioService;
+    RevogacaoTokenService revogacaoTokenService;
+
+    @Mock
+    BarramentoInvalidacao barramentoInvalidacao;
 
     @InjectMocks
     DocenteService service;
@@ -71,7 +80,6 @@ class DocenteServiceTest {
     @Order(1)
     void salvarDocente() {
         // given
-        String token = "mock-token";
         InserirDocenteRequest request = new InserirDocenteRequest(
                 "Docente Teste",
                 LocalDate.now(),
@@ -94,12 +102,11 @@ class DocenteServiceTest {
                 List.of("1L"),
                 1L
         );
-        when(tokenService.buscaCampo(token, "scope")).thenReturn("admin");
         when(repository.save(any())).thenReturn(docente);
-        when(usuarioService.cadastraNovoLogin(any(), any())).thenReturn(new UsuarioEntity());
+        when(usuarioService.cadastraNovoLogin(any())).thenReturn(new UsuarioEntity());
 
         // when
-        DocenteResponse retorno = service.salvar(request, token);
+        DocenteResponse retorno = service.salvar(request);
 
         // then
         assertNotNull(retorno);
@@ -110,25 +117,23 @@ class DocenteServiceTest {
 
     @Test
     void listarTodosDocentes() {
-        String token = "mock-token";
-        when(tokenService.buscaCampo(token, "scope")).thenReturn("admin");
-        when(repository.findAll()).thenReturn(List.of(docente));
+        UsuarioAutenticado usuarioAutenticado = new UsuarioAutenticado(1L, PapelEnum.ADMIN);
+        when(repository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(docente)));
 
-        List<DocenteEntity> retorno = service.listarTodos(token);
+        Page<DocenteResponse> retorno = service.listarTodos(PageRequest.of(0, 20), usuarioAutenticado);
 
         assertNotNull(retorno);
-        assertEquals(docente.getNome(), retorno.get(0).getNome());
+        assertEquals(docente.getNome(), retorno.getContent().get(0).nome());
     }
 
     @Test
     @Order(2)
     void removerDocente() {
-        String token = "mock-token";
-        when(tokenService.buscaCampo(token, "scope")).thenReturn("admin");
+        UsuarioAutenticado usuarioAutenticado = new UsuarioAutenticado(1L, PapelEnum.ADMIN);
         when(repository.existsById(docente.getId())).thenReturn(true);
-        when(repository.findById(docente.getId())).thenReturn(Optional.of(docente));
+        when(repository.findComMateriasById(docente.getId())).thenReturn(Optional.of(docente));
 
-        assertDoesNotThrow(() -> service.removerPorId(docente.getId(), token));
+        assertDoesNotThrow(() -> service.removerPorId(docente.getId(), usuarioAutenticado));
 
         verify(repository, times(1)).deleteById(docente.getId());
     }
@@ -136,26 +141,24 @@ class DocenteServiceTest {
     @Test
     @Order(4)
     void retornarDocente() {
-        String token = "mock-token";
-        when(tokenService.buscaCampo(token, "scope")).thenReturn("admin");
-        when(repository.findById(anyLong())).thenReturn(Optional.ofNullable(docente));
+        UsuarioAutenticado usuarioAutenticado = new UsuarioAutenticado(1L, PapelEnum.ADMIN);
+        when(repository.findComMateriasById(anyLong())).thenReturn(Optional.ofNullable(docente));
 
-        assertDoesNotThrow(() -> service.buscarPorId(1L, token));
+        assertDoesNotThrow(() -> service.buscarPorId(1L, usuarioAutenticado));
     }
 
     @Test
     void retornarDocenteError() {
-        String token = "mock-token";
-        when(tokenService.buscaCampo(token, "scope")).thenReturn("admin");
-        when(repository.findById(anyLong())).thenReturn(Optional.empty());
+        UsuarioAutenticado usuarioAutenticado = new UsuarioAutenticado(1L, PapelEnum.ADMIN);
+        when(repository.findComMateriasById(anyLong())).thenReturn(Optional.empty());
 
-        assertThrows(NotFoundException.class, () -> service.buscarPorId(0L, token));
+        assertThrows(NotFoundException.class, () -> service.buscarPorId(0L, usuarioAutenticado));
     }
 
     @Test
     @Order(3)
     void atualizarDocente() {
-        String token = "mock-token";
+        UsuarioAutenticado usuarioAutenticado = new UsuarioAutenticado(1L, PapelEnum.ADMIN);
         Long docenteId = 1L;
         AtualizarDocenteRequest request = new AtualizarDocenteRequest(
                 "Docente Atualizado",
@@ -179,16 +182,20 @@ class DocenteServiceTest {
                 List.of("1L")
         );
 
-        when(tokenService.buscaCampo(token, "scope")).thenReturn("admin");
-        when(repository.findById(docenteId)).thenReturn(Optional.of(docente));
+        when(repository.findComMateriasById(docenteId)).thenReturn(Optional.of(docente));
         when(repository.save(any())).thenReturn(docente);
+        when(codificadorSenhas.codificar(request.senha())).thenReturn("encoded-password");
 
-        DocenteEntity retorno = service.atualizar(request, docenteId, token);
+        DocenteEntity retorno = service.atualizar(request, docenteId, usuarioAutenticado);
 
         assertNotNull(retorno);
         assertEquals(request.nome(), retorno.getNome());
         assertEquals(request.email(), retorno.getEmail());
 
+        assertEquals("encoded-password", retorno.getUsuario().getSenha());
+
         verify(repository, times(1)).save(any());
+        verify(revogacaoTokenService).revogarUsuario(docente.getUsuario().getId());
+        verify(barramentoInvalidacao).publicar(BarramentoInvalidacao.TURMAS);
     }
 }
\ No newline at end of file
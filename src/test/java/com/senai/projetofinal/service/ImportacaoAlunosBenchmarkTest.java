@@ -0,0 +1,128 @@
+package com.senai.projetofinal.service;
+
+import com.senai.projetofinal.controller.dto.request.aluno.InserirAlunoRequest;
+import com.senai.projetofinal.datasource.entity.PapelEntity;
+import com.senai.projetofinal.datasource.entity.PapelEnum;
+import com.senai.projetofinal.datasource.entity.TurmaEntity;
+import com.senai.projetofinal.datasource.repository.PapelRepository;
+import com.senai.projetofinal.datasource.repository.TurmaRepository;
+import com.senai.projetofinal.infra.cache.BarramentoInvalidacao;
+import com.senai.projetofinal.infra.security.CodificadorSenhas;
+import com.senai.projetofinal.infra.security.ListaRevogacao;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compara a matrícula em lote por CSV com o cadastro aluno a aluno em um Postgres real,
+ * com o custo padrão do BCrypt. Só roda quando a URL do banco é informada:
+ * <pre>
+ * docker run --rm -d -p 5432:5432 -e POSTGRES_PASSWORD=postgres postgres:16
+ * mvn test -Dtest=ImportacaoAlunosBenchmarkTest \
+ *     -Dbenchmark.postgres.url="jdbc:postgresql://localhost:5432/postgres?reWriteBatchedInserts=true"
+ * </pre>
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=${benchmark.postgres.url}",
+        "spring.datasource.username=${benchmark.postgres.usuario:postgres}",
+        "spring.datasource.password=${benchmark.postgres.senha:postgres}",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfSystemProperty(named = "benchmark.postgres.url", matches = ".+")
+@Import({AlunoService.class, UsuarioService.class, CodificadorSenhas.class, RevogacaoTokenService.class, ListaRevogacao.class,
+        ImportacaoAlunosBenchmarkTest.Configuracao.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Slf4j
+class ImportacaoAlunosBenchmarkTest {
+
+    @MockBean
+    BarramentoInvalidacao barramentoInvalidacao;
+
+    static final int QUANTIDADE_LOTE = 2_000;
+
+    static final int QUANTIDADE_UNITARIA = 100;
+
+    @TestConfiguration
+    static class Configuracao {
+
+        @Bean
+        BCryptPasswordEncoder bCryptPasswordEncoder() {
+            return new BCryptPasswordEncoder();
+        }
+    }
+
+    @Autowired
+    AlunoService alunoService;
+
+    @Autowired
+    PapelRepository papelRepository;
+
+    @Autowired
+    TurmaRepository turmaRepository;
+
+    Long turmaId;
+
+    @BeforeAll
+    void setUp() {
+        PapelEntity papel = new PapelEntity();
+        papel.setNome(PapelEnum.ALUNO);
+        papelRepository.save(papel);
+
+        TurmaEntity turma = new TurmaEntity();
+        turma.setNome("Turma Benchmark");
+        turmaId = turmaRepository.save(turma).getId();
+    }
+
+    @Test
+    void matricularAlunosEmLote() {
+        // given
+        StringBuilder csv = new StringBuilder("nome,email,senha,turma\n");
+        for (int i = 0; i < QUANTIDADE_LOTE; i++) {
+            csv.append("Aluno Lote ").append(i).append(",lote").append(i).append("@escola.com,senha").append(i)
+                    .append(',').append(turmaId).append('\n');
+        }
+
+        // when
+        long inicioUnitario = System.nanoTime();
+        for (int i = 0; i < QUANTIDADE_UNITARIA; i++) {
+            alunoService.salvar(new InserirAlunoRequest("Aluno Unitario " + i, "unitario" + i + "@escola.com", "senha" + i,
+                    null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, turmaId));
+        }
+        double segundosUnitario = (System.nanoTime() - inicioUnitario) / 1e9;
+
+        long inicioLote = System.nanoTime();
+        int importados = alunoService.importarCsv(new StringReader(csv.toString())).importados();
+        double segundosLote = (System.nanoTime() - inicioLote) / 1e9;
+
+        // then
+        assertEquals(QUANTIDADE_LOTE, importados);
+        log.info("POST /alunos: {} alunos em {} s ({} alunos/s)",
+                QUANTIDADE_UNITARIA, String.format("%.2f", segundosUnitario),
+                String.format("%.0f", QUANTIDADE_UNITARIA / segundosUnitario));
+        log.info("POST /alunos/lote: {} alunos em {} s ({} alunos/s)",
+                QUANTIDADE_LOTE, String.format("%.2f", segundosLote),
+                String.format("%.0f", QUANTIDADE_LOTE / segundosLote));
+    }
+}
@@ -0,0 +1,181 @@
+package com.senai.projetofinal.service;
+
+import com.senai.projetofinal.controller.dto.request.aluno.InserirAlunoRequest;
+import com.senai.projetofinal.controller.dto.response.ImportacaoAlunosResponse;
+import com.senai.projetofinal.datasource.entity.*;
+import com.senai.projetofinal.datasource.repository.*;
+import com.senai.projetofinal.infra.cache.BarramentoInvalidacao;
+import com.senai.projetofinal.infra.security.CodificadorSenhas;
+import com.senai.projetofinal.infra.security.ListaRevogacao;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.flyway.enabled=false"
+})
+@Import({AlunoService.class, UsuarioService.class, CodificadorSenhas.class, RevogacaoTokenService.class, ListaRevogacao.class,
+        ImportacaoAlunosTest.Configuracao.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ImportacaoAlunosTest {
+
+    @MockBean
+    BarramentoInvalidacao barramentoInvalidacao;
+
+    @TestConfiguration
+    static class Configuracao {
+
+        @Bean
+        BCryptPasswordEncoder bCryptPasswordEncoder() {
+            return new BCryptPasswordEncoder(4);
+        }
+    }
+
+    @Autowired
+    AlunoService alunoService;
+
+    @Autowired
+    BCryptPasswordEncoder bCryptPasswordEncoder;
+
+    @Autowired
+    PapelRepository papelRepository;
+
+    @Autowired
+    TurmaRepository turmaRepository;
+
+    @Autowired
+    AlunoRepository alunoRepository;
+
+    @Autowired
+    UsuarioRepository usuarioRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    Long turmaId;
+
+    @BeforeAll
+    void setUp() {
+        PapelEntity papel = new PapelEntity();
+        papel.setNome(PapelEnum.ALUNO);
+        papelRepository.save(papel);
+
+        TurmaEntity turma = new TurmaEntity();
+        turma.setNome("Turma Matrícula");
+        turmaId = turmaRepository.save(turma).getId();
+    }
+
+    @Test
+    void importarLoteGravaUsuariosEAlunosEmBatch() {
+        // given
+        List<InserirAlunoRequest> alunos = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            alunos.add(aluno("Aluno Lote " + i, "lote" + i + "@escola.com", "senha" + i, turmaId));
+        }
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        // when
+        ImportacaoAlunosResponse importacao = alunoService.importarLote(alunos);
+
+        // then
+        assertEquals(120, importacao.importados());
+        assertTrue(importacao.erros().isEmpty());
+        assertTrue(estatisticas.getPrepareStatementCount() < 20,
+                "statements preparados: " + estatisticas.getPrepareStatementCount());
+
+        UsuarioEntity usuario = usuarioRepository.findByLogin("lote7@escola.com").orElseThrow();
+        assertTrue(bCryptPasswordEncoder.matches("senha7", usuario.getSenha()));
+        assertEquals(PapelEnum.ALUNO, usuarioRepository.findById(usuario.getId()).orElseThrow().getPapel().getNome());
+        verify(barramentoInvalidacao).publicar(BarramentoInvalidacao.PONTUACOES);
+    }
+
+    @Test
+    void importarLoteReportaErrosPorLinha() {
+        // given
+        alunoService.importarLote(List.of(aluno("Aluno Existente", "existente@escola.com", "senha", turmaId)));
+        List<InserirAlunoRequest> alunos = List.of(
+                aluno("Aluno Novo", "novo@escola.com", "senha", turmaId),
+                aluno("Aluno Existente", "outro@escola.com", "senha", turmaId),
+                aluno("Aluno Repetido", "NOVO@Escola.com", "senha", turmaId),
+                aluno("Aluno Sem Turma", "semturma@escola.com", "senha", -1L),
+                aluno("Aluno Sem Senha", "semsenha@escola.com", " ", turmaId));
+
+        // when
+        ImportacaoAlunosResponse importacao = alunoService.importarLote(alunos);
+
+        // then
+        assertEquals(1, importacao.importados());
+        assertEquals(List.of(
+                new ImportacaoAlunosResponse.ErroImportacao(2, "Um aluno já existe com o nome passado"),
+                new ImportacaoAlunosResponse.ErroImportacao(3, "Nome de Login já existe"),
+                new ImportacaoAlunosResponse.ErroImportacao(4, "Turma não encontrada"),
+                new ImportacaoAlunosResponse.ErroImportacao(5, "Senha não pode ser nula ou vazia")
+        ), importacao.erros());
+        assertTrue(alunoRepository.existsByNome("Aluno Novo"));
+        assertFalse(usuarioRepository.findByLogin("semturma@escola.com").isPresent());
+    }
+
+    @Test
+    void importarCsv() {
+        // given
+        String csv = "nome;email;senha;turma;cidade\n"
+                + "Aluno Csv 1;csv1@escola.com;senha;" + turmaId + ";Florianópolis\n"
+                + "\n"
+                + "Aluno Csv 2;csv2@escola.com;senha;abc;Joinville\n"
+                + "Aluno Csv 3;csv3@escola.com;senha\n";
+
+        // when
+        ImportacaoAlunosResponse importacao = alunoService.importarCsv(new StringReader(csv));
+
+        // then
+        assertEquals(1, importacao.importados());
+        assertEquals(List.of(
+                new ImportacaoAlunosResponse.ErroImportacao(4, "Turma não encontrada"),
+                new ImportacaoAlunosResponse.ErroImportacao(5, "Linha do CSV inválida")
+        ), importacao.erros());
+        verify(barramentoInvalidacao).publicar(BarramentoInvalidacao.PONTUACOES);
+    }
+
+    @Test
+    void importarCsvSemColunasObrigatorias() {
+        // given
+        String csv = "nome,email\nAluno,aluno@escola.com\n";
+
+        // when
+        IllegalArgumentException erro = assertThrows(IllegalArgumentException.class,
+                () -> alunoService.importarCsv(new StringReader(csv)));
+
+        // then
+        assertEquals("O cabeçalho do CSV deve conter as colunas nome,email,senha,turma", erro.getMessage());
+        verify(barramentoInvalidacao, never()).publicar(BarramentoInvalidacao.PONTUACOES);
+    }
+
+    private InserirAlunoRequest aluno(String nome, String email, String senha, Long turma) {
+        return new InserirAlunoRequest(nome, email, senha, null, null, null, null, null, null, null,
+                null, null, null, null, null, null, null, null, null, turma);
+    }
+}
@@ -0,0 +1,171 @@
+package com.senai.projetofinal.service;
+
+import com.senai.projetofinal.controller.dto.request.nota.InserirNotaRequest;
+import com.senai.projetofinal.datasource.entity.*;
+import com.senai.projetofinal.datasource.repository.*;
+import com.senai.projetofinal.infra.cache.BarramentoInvalidacao;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compara a importação em lote de 10 mil notas com o cadastro nota a nota em um Postgres real.
+ * Só roda quando a URL do banco é informada:
+ * <pre>
+ * docker run --rm -d -p 5432:5432 -e POSTGRES_PASSWORD=postgres postgres:16
+ * mvn test -Dtest=ImportacaoNotasBenchmarkTest \
+ *     -Dbenchmark.postgres.url="jdbc:postgresql://localhost:5432/postgres?reWriteBatchedInserts=true"
+ * </pre>
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=${benchmark.postgres.url}",
+        "spring.datasource.username=${benchmark.postgres.usuario:postgres}",
+        "spring.datasource.password=${benchmark.postgres.senha:postgres}",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfSystemProperty(named = "benchmark.postgres.url", matches = ".+")
+@Import({NotaService.class, PontuacaoService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@Slf4j
+class ImportacaoNotasBenchmarkTest {
+
+    static final int QUANTIDADE_LOTE = 10_000;
+
+    static final int QUANTIDADE_UNITARIA = 1_000;
+
+    @MockBean
+    AlunoService alunoService;
+
+    @MockBean
+    BarramentoInvalidacao barramentoInvalidacao;
+
+    @Autowired
+    NotaService notaService;
+
+    @Autowired
+    PapelRepository papelRepository;
+
+    @Autowired
+    UsuarioRepository usuarioRepository;
+
+    @Autowired
+    DocenteRepository docenteRepository;
+
+    @Autowired
+    CursoRepository cursoRepository;
+
+    @Autowired
+    MateriaRepository materiaRepository;
+
+    @Autowired
+    TurmaRepository turmaRepository;
+
+    @Autowired
+    AlunoRepository alunoRepository;
+
+    final List<Long> alunos = new ArrayList<>();
+
+    final List<Long> materias = new ArrayList<>();
+
+    Long docenteId;
+
+    @BeforeAll
+    void setUp() {
+        PapelEntity papel = new PapelEntity();
+        papel.setNome(PapelEnum.PROFESSOR);
+        papel = papelRepository.save(papel);
+
+        UsuarioEntity usuario = new UsuarioEntity();
+        usuario.setLogin("professor.benchmark");
+        usuario.setSenha("senha");
+        usuario.setPapel(papel);
+        usuario = usuarioRepository.save(usuario);
+
+        DocenteEntity docente = new DocenteEntity();
+        docente.setNome("Docente Benchmark");
+        docente.setCpf("00000000000");
+        docente.setUsuario(usuario);
+        docenteId = docenteRepository.save(docente).getId();
+
+        CursoEntity curso = new CursoEntity();
+        curso.setNome("Curso Benchmark");
+        curso = cursoRepository.save(curso);
+
+        for (int i = 0; i < 5; i++) {
+            MateriaEntity materia = new MateriaEntity();
+            materia.setNome("Matéria " + i);
+            materia.setCurso(curso);
+            materias.add(materiaRepository.save(materia).getId());
+        }
+
+        TurmaEntity turma = new TurmaEntity();
+        turma.setNome("Turma Benchmark");
+        turma.setCurso(curso);
+        turma = turmaRepository.save(turma);
+
+        for (int i = 0; i < 40; i++) {
+            AlunoEntity aluno = new AlunoEntity();
+            aluno.setNome("Aluno Benchmark " + i);
+            aluno.setTurma(turma);
+            alunos.add(alunoRepository.save(aluno).getId());
+        }
+    }
+
+    @Test
+    void importarDezMilNotas() {
+        // given
+        List<InserirNotaRequest> notas = notas(QUANTIDADE_LOTE);
+        List<InserirNotaRequest> unitarias = notas(QUANTIDADE_UNITARIA);
+
+        // when
+        long inicioUnitario = System.nanoTime();
+        unitarias.forEach(notaService::salvar);
+        double segundosUnitario = (System.nanoTime() - inicioUnitario) / 1e9;
+
+        long inicioLote = System.nanoTime();
+        int importadas = notaService.importarLote(notas).importadas();
+        double segundosLote = (System.nanoTime() - inicioLote) / 1e9;
+
+        // then
+        assertEquals(QUANTIDADE_LOTE, importadas);
+        log.info("POST /notas: {} notas em {} s ({} notas/s)",
+                QUANTIDADE_UNITARIA, String.format("%.2f", segundosUnitario),
+                String.format("%.0f", QUANTIDADE_UNITARIA / segundosUnitario));
+        log.info("POST /notas/lote: {} notas em {} s ({} notas/s)",
+                QUANTIDADE_LOTE, String.format("%.2f", segundosLote),
+                String.format("%.0f", QUANTIDADE_LOTE / segundosLote));
+    }
+
+    private List<InserirNotaRequest> notas(int quantidade) {
+        List<InserirNotaRequest> notas = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            notas.add(new InserirNotaRequest(
+                    alunos.get(i % alunos.size()),
+                    docenteId,
+                    materias.get(i % materias.size()),
+                    BigDecimal.valueOf(i % 1001, 2)));
+        }
+        return notas;
+    }
+}
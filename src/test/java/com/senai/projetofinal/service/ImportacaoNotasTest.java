@@ -0,0 +1,261 @@
+package com.senai.projetofinal.service;
+
+import com.senai.projetofinal.controller.dto.request.nota.InserirNotaRequest;
+import com.senai.projetofinal.controller.dto.response.ImportacaoNotasResponse;
+import com.senai.projetofinal.datasource.entity.*;
+import com.senai.projetofinal.datasource.repository.*;
+import com.senai.projetofinal.infra.cache.BarramentoInvalidacao;
+import com.senai.projetofinal.infra.exception.error.NotFoundException;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.flyway.enabled=false"
+})
+@Import({NotaService.class, PontuacaoService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ImportacaoNotasTest {
+
+    @MockBean
+    AlunoService alunoService;
+
+    @MockBean
+    BarramentoInvalidacao barramentoInvalidacao;
+
+    @Autowired
+    NotaService notaService;
+
+    @SpyBean
+    PontuacaoService pontuacaoService;
+
+    @Autowired
+    PapelRepository papelRepository;
+
+    @Autowired
+    UsuarioRepository usuarioRepository;
+
+    @Autowired
+    DocenteRepository docenteRepository;
+
+    @Autowired
+    CursoRepository cursoRepository;
+
+    @Autowired
+    MateriaRepository materiaRepository;
+
+    @Autowired
+    TurmaRepository turmaRepository;
+
+    @Autowired
+    AlunoRepository alunoRepository;
+
+    @Autowired
+    NotaRepository notaRepository;
+
+    @Autowired
+    PontuacaoAlunoRepository pontuacaoAlunoRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    final List<Long> alunos = new ArrayList<>();
+
+    Long docenteId;
+
+    Long alunoDocenteId;
+
+    Long materiaId;
+
+    Long materiaDeOutroCursoId;
+
+    @BeforeAll
+    void setUp() {
+        docenteId = docente("professor.importacao", PapelEnum.PROFESSOR);
+        alunoDocenteId = docente("aluno.importacao", PapelEnum.ALUNO);
+
+        CursoEntity curso = curso("Curso Importação");
+        materiaId = materia("Biologia", curso);
+        materiaDeOutroCursoId = materia("Geografia", curso("Outro Curso Importação"));
+
+        TurmaEntity turma = new TurmaEntity();
+        turma.setNome("Turma Importação");
+        turma.setCurso(curso);
+        turma = turmaRepository.save(turma);
+
+        for (int i = 0; i < 10; i++) {
+            AlunoEntity aluno = new AlunoEntity();
+            aluno.setNome("Aluno Importação " + i);
+            aluno.setTurma(turma);
+            alunos.add(alunoRepository.save(aluno).getId());
+        }
+    }
+
+    @Test
+    void importarLoteUsaInsertsEmBatch() {
+        // given
+        List<InserirNotaRequest> notas = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            notas.add(new InserirNotaRequest(alunos.get(i % alunos.size()), docenteId, materiaId, new BigDecimal("7.25")));
+        }
+        long notasAntes = notaRepository.count();
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        // when
+        ImportacaoNotasResponse importacao = notaService.importarLote(notas);
+
+        // then
+        assertEquals(200, importacao.importadas());
+        assertEquals(notasAntes + 200, notaRepository.count());
+        assertTrue(estatisticas.getPrepareStatementCount() < 60,
+                "statements preparados: " + estatisticas.getPrepareStatementCount());
+        PontuacaoAlunoEntity pontuacao = pontuacaoAlunoRepository
+                .findById(new PontuacaoAlunoEntity.Chave(alunos.get(0), materiaId)).orElseThrow();
+        assertTrue(pontuacao.getQuantidadeNotas() >= 20);
+    }
+
+    @Test
+    void importarLoteAtualizaAsPontuacoesNaOrdemDosAlunos() {
+        // given
+        List<InserirNotaRequest> notas = new ArrayList<>();
+        for (int i = alunos.size() - 1; i >= 0; i--) {
+            notas.add(new InserirNotaRequest(alunos.get(i), docenteId, materiaId, new BigDecimal("6")));
+        }
+        ArgumentCaptor<Long> alunosRegistrados = ArgumentCaptor.forClass(Long.class);
+        clearInvocations(pontuacaoService);
+
+        // when
+        notaService.importarLote(notas);
+
+        // then
+        verify(pontuacaoService, times(alunos.size()))
+                .registrar(alunosRegistrados.capture(), eq(materiaId), any(), anyLong());
+        assertEquals(alunos.stream().sorted().toList(), alunosRegistrados.getAllValues());
+    }
+
+    @Test
+    void importarLoteNaoGravaNadaSeUmaNotaForInvalida() {
+        // given
+        long notasAntes = notaRepository.count();
+        List<InserirNotaRequest> notas = List.of(
+                new InserirNotaRequest(alunos.get(0), docenteId, materiaId, new BigDecimal("8")),
+                new InserirNotaRequest(alunos.get(1), docenteId, materiaDeOutroCursoId, new BigDecimal("8")));
+
+        // when
+        IllegalArgumentException erro = assertThrows(IllegalArgumentException.class, () -> notaService.importarLote(notas));
+
+        // then
+        assertTrue(erro.getMessage().startsWith("Nota 2:"));
+        assertEquals(notasAntes, notaRepository.count());
+    }
+
+    @Test
+    void importarLoteRejeitaDocenteSemPapelDeProfessor() {
+        // given
+        List<InserirNotaRequest> notas = List.of(
+                new InserirNotaRequest(alunos.get(0), alunoDocenteId, materiaId, new BigDecimal("8")));
+
+        // when
+        assertThrows(SecurityException.class, () -> notaService.importarLote(notas));
+    }
+
+    @Test
+    void importarLoteRejeitaAlunoInexistente() {
+        // given
+        List<InserirNotaRequest> notas = List.of(
+                new InserirNotaRequest(-1L, docenteId, materiaId, new BigDecimal("8")));
+
+        // when
+        assertThrows(NotFoundException.class, () -> notaService.importarLote(notas));
+    }
+
+    @Test
+    void importarCsv() {
+        // given
+        String csv = "aluno;docente;materia;valor\n"
+                + alunos.get(2) + ";" + docenteId + ";" + materiaId + ";6,5\n"
+                + "\n"
+                + alunos.get(3) + ";" + docenteId + ";" + materiaId + ";9\n";
+        long notasAntes = notaRepository.count();
+
+        // when
+        ImportacaoNotasResponse importacao = notaService.importarCsv(new StringReader(csv));
+
+        // then
+        assertEquals(2, importacao.importadas());
+        assertEquals(notasAntes + 2, notaRepository.count());
+    }
+
+    @Test
+    void importarCsvComLinhaInvalida() {
+        // given
+        String csv = "aluno,docente,materia,valor\n"
+                + alunos.get(2) + "," + docenteId + ",abc,6.5\n";
+
+        // when
+        IllegalArgumentException erro = assertThrows(IllegalArgumentException.class,
+                () -> notaService.importarCsv(new StringReader(csv)));
+
+        // then
+        assertEquals("Linha 2 do CSV inválida", erro.getMessage());
+    }
+
+    private Long docente(String login, PapelEnum nomePapel) {
+        PapelEntity papel = new PapelEntity();
+        papel.setNome(nomePapel);
+        papel = papelRepository.save(papel);
+
+        UsuarioEntity usuario = new UsuarioEntity();
+        usuario.setLogin(login);
+        usuario.setSenha("senha");
+        usuario.setPapel(papel);
+        usuario = usuarioRepository.save(usuario);
+
+        DocenteEntity docente = new DocenteEntity();
+        docente.setNome("Docente " + login);
+        docente.setCpf(login);
+        docente.setUsuario(usuario);
+        return docenteRepository.save(docente).getId();
+    }
+
+    private CursoEntity curso(String nome) {
+        CursoEntity curso = new CursoEntity();
+        curso.setNome(nome);
+        return cursoRepository.save(curso);
+    }
+
+    private Long materia(String nome, CursoEntity curso) {
+        MateriaEntity materia = new MateriaEntity();
+        materia.setNome(nome);
+        materia.setCurso(curso);
+        return materiaRepository.save(materia).getId();
+    }
+}
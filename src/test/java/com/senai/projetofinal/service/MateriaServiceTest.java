@@ -7,6 +7,9 @@ import com.senai.projetofinal.datasource.entity.CursoEntity;
 import com.senai.projetofinal.datasource.entity.MateriaEntity;
 import com.senai.projetofinal.datasource.repository.CursoRepository;
 import com.senai.projetofinal.datasource.repository.MateriaRepository;
+import com.senai.projetofinal.infra.cache.BarramentoInvalidacao;
+import com.senai.projetofinal.infra.cache.DadosReferencia;
+import com.senai.projetofinal.infra.cache.LeiturasAgrupadas;
 import com.senai.projetofinal.infra.exception.error.NotFoundException;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -16,8 +19,14 @@ import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,7 +45,11 @@ class MateriaServiceTest {
     CursoRepository cursoRepository;
 
     @Mock
-    TokenService tokenService;
+    BarramentoInvalidacao barramentoInvalidacao;
+
+    @Spy
+    DadosReferencia dadosReferencia = new DadosReferencia(new LeiturasAgrupadas(true, Duration.ofSeconds(2)),
+            true, 500, Duration.ofMinutes(1), Duration.ofMinutes(15));
 
     @InjectMocks
     MateriaService materiaService;
@@ -54,98 +67,89 @@ class MateriaServiceTest {
     @Order(1)
     void salvarMateria() {
         // given
-        String token = "mock-token";
         InserirMateriaRequest request = new InserirMateriaRequest("Materia Teste", 1L);
         CursoEntity curso = new CursoEntity();
         curso.setId(1L);
         curso.setNome("Curso Teste");
-        when(tokenService.buscaCampo(token, "scope")).thenReturn("admin");
         when(cursoRepository.findById(1L)).thenReturn(Optional.of(curso));
         when(materiaRepository.save(any())).thenReturn(materia);
 
         // when
-        MateriaResponse retorno = materiaService.salvar(request, token);
+        MateriaResponse retorno = materiaService.salvar(request);
 
         // then
         assertNotNull(retorno);
         assertEquals(materia.getNome(), retorno.nome());
 
         verify(materiaRepository, times(1)).save(any());
+        verify(barramentoInvalidacao).publicar(BarramentoInvalidacao.MATERIAS, BarramentoInvalidacao.PONTUACOES);
     }
 
     @Test
     void listarTodasMaterias() {
         // given
-        String token = "mock-token";
-        when(tokenService.buscaCampo(token, "scope")).thenReturn("admin");
-        when(materiaRepository.findAll()).thenReturn(List.of(materia));
+        when(materiaRepository.findAllResumidas(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(MateriaResponse.from(materia))));
 
         // when
-        List<MateriaEntity> retorno = materiaService.listarTodos(token);
+        Page<MateriaResponse> retorno = materiaService.listarTodos(PageRequest.of(0, 20));
 
         // then
         assertNotNull(retorno);
-        assertEquals(materia.getNome(), retorno.get(0).getNome());
+        assertEquals(materia.getNome(), retorno.getContent().get(0).nome());
     }
 
     @Test
     @Order(2)
     void removerMateria() {
         // given
-        String token = "mock-token";
-        when(tokenService.buscaCampo(token, "scope")).thenReturn("admin");
         when(materiaRepository.existsById(materia.getId())).thenReturn(true);
 
         // when
-        assertDoesNotThrow(() -> materiaService.removerPorId(materia.getId(), token));
+        assertDoesNotThrow(() -> materiaService.removerPorId(materia.getId()));
 
         // then
         verify(materiaRepository, times(1)).deleteById(materia.getId());
+        verify(barramentoInvalidacao).publicar(BarramentoInvalidacao.MATERIAS, BarramentoInvalidacao.PONTUACOES);
     }
 
     @Test
     @Order(3)
     void atualizarMateria() {
         // given
-        String token = "mock-token";
         Long materiaId = 1L;
         AtualizarMateriaRequest request = new AtualizarMateriaRequest("Materia Atualizada", 1L);
         CursoEntity curso = new CursoEntity();
         curso.setId(1L);
         curso.setNome("Curso Teste");
-        when(tokenService.buscaCampo(token, "scope")).thenReturn("admin");
         when(cursoRepository.findById(1L)).thenReturn(Optional.of(curso));
         when(materiaRepository.findById(materiaId)).thenReturn(Optional.of(materia));
         when(materiaRepository.save(any())).thenReturn(materia);
 
         // when
-        MateriaEntity retorno = materiaService.atualizar(request, materiaId, token);
+        MateriaEntity retorno = materiaService.atualizar(request, materiaId);
 
         // then
         assertNotNull(retorno);
         assertEquals(request.nome(), retorno.getNome());
+        verify(barramentoInvalidacao).publicar(BarramentoInvalidacao.MATERIAS, BarramentoInvalidacao.PONTUACOES);
     }
 
     @Test
     @Order(4)
     void retornarMateria() {
         // given
-        String token = "mock-token";
-        when(tokenService.buscaCampo(token, "scope")).thenReturn("admin");
         when(materiaRepository.findById(anyLong())).thenReturn(Optional.ofNullable(materia));
 
         // when
-        assertDoesNotThrow(() -> materiaService.buscarPorId(1L, token));
+        assertDoesNotThrow(() -> materiaService.buscarPorId(1L));
     }
 
     @Test
     void retornarMateriaError() {
         // given
-        String token = "mock-token";
-        when(tokenService.buscaCampo(token, "scope")).thenReturn("admin");
         when(materiaRepository.findById(anyLong())).thenReturn(Optional.empty());
 
         // when
-        assertThrows(NotFoundException.class, () -> materiaService.buscarPorId(0L, token));
+        assertThrows(NotFoundException.class, () -> materiaService.buscarPorId(0L));
     }
 }
\ No newline at end of file
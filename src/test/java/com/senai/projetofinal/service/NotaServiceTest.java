@@ -3,12 +3,17 @@ package com.senai.projetofinal.service;
 import com.senai.projetofinal.controller.dto.request.nota.InserirNotaRequest;
 import com.senai.projetofinal.controller.dto.request.nota.AtualizarNotaRequest;
 import com.senai.projetofinal.controller.dto.response.NotaResponse;
+import com.senai.projetofinal.controller.dto.response.PontuacaoAlunoResponse;
 import com.senai.projetofinal.datasource.entity.*;
 import com.senai.projetofinal.datasource.repository.AlunoRepository;
 import com.senai.projetofinal.datasource.repository.DocenteRepository;
 import com.senai.projetofinal.datasource.repository.MateriaRepository;
 import com.senai.projetofinal.datasource.repository.NotaRepository;
+import com.senai.projetofinal.datasource.repository.TurmaRepository;
+import com.senai.projetofinal.datasource.projection.SomaNotasAluno;
+import com.senai.projetofinal.infra.cache.BarramentoInvalidacao;
 import com.senai.projetofinal.infra.exception.error.NotFoundException;
+import com.senai.projetofinal.infra.security.UsuarioAutenticado;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
@@ -18,7 +23,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -43,7 +55,13 @@ class NotaServiceTest {
     MateriaRepository materiaRepository;
 
     @Mock
-    TokenService tokenService;
+    TurmaRepository turmaRepository;
+
+    @Mock
+    PontuacaoService pontuacaoService;
+
+    @Mock
+    BarramentoInvalidacao barramentoInvalidacao;
 
     @InjectMocks
     NotaService notaService;
@@ -54,15 +72,20 @@ class NotaServiceTest {
     public static void setUp() {
         nota = new NotaEntity();
         nota.setId(1L);
-        nota.setValor("8.5");
+        nota.setValor(new BigDecimal("8.50"));
+        AlunoEntity aluno = new AlunoEntity();
+        aluno.setId(1L);
+        nota.setAluno(aluno);
+        MateriaEntity materia = new MateriaEntity();
+        materia.setId(1L);
+        nota.setMateria(materia);
     }
 
     @Test
     @Order(1)
     void salvarNota() {
         // given
-        String token = "mock-token";
-        InserirNotaRequest request = new InserirNotaRequest(1L, 1L, 1L, "8.5");
+        InserirNotaRequest request = new InserirNotaRequest(1L, 1L, 1L, new BigDecimal("8.5"));
 
         AlunoEntity aluno = new AlunoEntity();
         aluno.setNome("Aluno Teste");
@@ -87,93 +110,255 @@ class NotaServiceTest {
         nota.setAluno(aluno);
         nota.setDocente(docente);
         nota.setMateria(materia);
-        nota.setValor("8.5");
+        nota.setValor(new BigDecimal("8.50"));
 
-        when(tokenService.buscaCampo(token, "scope")).thenReturn("admin");
         when(alunoRepository.findById(1L)).thenReturn(Optional.of(aluno));
         when(docenteRepository.findById(1L)).thenReturn(Optional.of(docente));
         when(materiaRepository.findById(1L)).thenReturn(Optional.of(materia));
         when(notaRepository.save(any())).thenReturn(nota);
 
         // when
-        NotaResponse retorno = notaService.salvar(request, token);
+        NotaResponse retorno = notaService.salvar(request);
 
         // then
         assertNotNull(retorno);
         assertEquals(nota.getValor(), retorno.valor());
 
         verify(notaRepository, times(1)).save(any());
+        verify(pontuacaoService, times(1)).registrar(any(), eq(1L), eq(new BigDecimal("8.50")), eq(1L));
+        verify(barramentoInvalidacao).publicar(BarramentoInvalidacao.PONTUACOES);
     }
 
     @Test
     void listarTodasNotas() {
         // given
-        String token = "mock-token";
-        when(tokenService.buscaCampo(token, "scope")).thenReturn("admin");
-        when(notaRepository.findAll()).thenReturn(List.of(nota));
+        when(notaRepository.findAllResumidas(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(notaResumida())));
 
         // when
-        List<NotaEntity> retorno = notaService.listarTodos(token);
+        Page<NotaResponse> retorno = notaService.listarTodos(PageRequest.of(0, 20));
 
         // then
         assertNotNull(retorno);
-        assertEquals(nota.getValor(), retorno.get(0).getValor());
+        assertEquals(nota.getValor(), retorno.getContent().get(0).valor());
+    }
+
+    @Test
+    void listarNotasAposId() {
+        // given
+        when(notaRepository.findResumidasAposId(eq(1L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(List.of(notaResumida()), PageRequest.of(0, 20), true));
+
+        // when
+        Slice<NotaResponse> retorno = notaService.listarAposId(1L, 20);
+
+        // then
+        assertTrue(retorno.hasNext());
+        assertEquals(nota.getValor(), retorno.getContent().get(0).valor());
+        verify(notaRepository, never()).count();
     }
 
     @Test
     @Order(2)
     void removerNota() {
         // given
-        String token = "mock-token";
-        when(tokenService.buscaCampo(token, "scope")).thenReturn("admin");
-        when(notaRepository.existsById(nota.getId())).thenReturn(true);
+        when(notaRepository.findById(nota.getId())).thenReturn(Optional.of(nota));
 
         // when
-        assertDoesNotThrow(() -> notaService.removerPorId(nota.getId(), token));
+        assertDoesNotThrow(() -> notaService.removerPorId(nota.getId()));
 
         // then
-        verify(notaRepository, times(1)).deleteById(nota.getId());
+        verify(notaRepository, times(1)).delete(nota);
+        verify(pontuacaoService, times(1)).registrar(eq(1L), eq(1L), eq(nota.getValor().negate()), eq(-1L));
+        verify(barramentoInvalidacao).publicar(BarramentoInvalidacao.PONTUACOES);
     }
 
     @Test
     @Order(3)
     void atualizarNota() {
         // given
-        String token = "mock-token";
         Long notaId = 1L;
-        AtualizarNotaRequest request = new AtualizarNotaRequest("9.0");
-        when(tokenService.buscaCampo(token, "scope")).thenReturn("admin");
+        AtualizarNotaRequest request = new AtualizarNotaRequest(new BigDecimal("9.00"));
         when(notaRepository.findById(notaId)).thenReturn(Optional.of(nota));
         when(notaRepository.save(any())).thenReturn(nota);
 
         // when
-        NotaEntity retorno = notaService.atualizar(request, notaId, token);
+        NotaEntity retorno = notaService.atualizar(request, notaId);
 
         // then
         assertNotNull(retorno);
         assertEquals(request.valor(), retorno.getValor());
+        verify(pontuacaoService, times(1)).registrar(eq(1L), eq(1L), any(BigDecimal.class), eq(0L));
+        verify(barramentoInvalidacao).publicar(BarramentoInvalidacao.PONTUACOES);
     }
 
     @Test
     @Order(4)
     void retornarNota() {
         // given
-        String token = "mock-token";
-        when(tokenService.buscaCampo(token, "scope")).thenReturn("admin");
         when(notaRepository.findById(anyLong())).thenReturn(Optional.ofNullable(nota));
 
         // when
-        assertDoesNotThrow(() -> notaService.buscarPorId(1L, token));
+        assertDoesNotThrow(() -> notaService.buscarPorId(1L));
     }
 
     @Test
     void retornarNotaError() {
         // given
-        String token = "mock-token";
-        when(tokenService.buscaCampo(token, "scope")).thenReturn("admin");
         when(notaRepository.findById(anyLong())).thenReturn(Optional.empty());
 
         // when
-        assertThrows(NotFoundException.class, () -> notaService.buscarPorId(0L, token));
+        assertThrows(NotFoundException.class, () -> notaService.buscarPorId(0L));
+    }
+
+    @Test
+    void salvarNotaValorForaDoIntervalo() {
+        // given
+        InserirNotaRequest request = new InserirNotaRequest(1L, 1L, 1L, new BigDecimal("10.5"));
+
+        // when
+        assertThrows(IllegalArgumentException.class, () -> notaService.salvar(request));
+
+        // then
+        verify(notaRepository, never()).save(any());
+    }
+
+    @Test
+    void salvarNotaComMaisDeDuasCasas() {
+        // given
+        InserirNotaRequest request = new InserirNotaRequest(1L, 1L, 1L, new BigDecimal("8.555"));
+
+        // when
+        assertThrows(IllegalArgumentException.class, () -> notaService.salvar(request));
+
+        // then
+        verify(notaRepository, never()).save(any());
+    }
+
+    @Test
+    void calcularPontuacao() {
+        // given
+        UsuarioAutenticado usuarioAutenticado = new UsuarioAutenticado(5L, PapelEnum.ALUNO, 1L, null);
+        when(notaRepository.somarNotasPorAlunoId(1L))
+                .thenReturn(Optional.of(new SomaNotasAluno(1L, "Aluno", 5L, new BigDecimal("15.00"), 2L, 2L)));
+
+        // when
+        BigDecimal pontuacao = notaService.calcularPontuacao(1L, usuarioAutenticado);
+
+        // then
+        assertEquals(new BigDecimal("75.00"), pontuacao);
+        verify(notaRepository, never()).findNotasByAlunoId(any());
+    }
+
+    @Test
+    void calcularPontuacaoDeOutroAluno() {
+        // given
+        UsuarioAutenticado usuarioAutenticado = new UsuarioAutenticado(6L, PapelEnum.ALUNO, 2L, null);
+
+        // when
+        assertThrows(SecurityException.class, () -> notaService.calcularPontuacao(1L, usuarioAutenticado));
+
+        // then
+        verify(notaRepository, never()).somarNotasPorAlunoId(any());
+    }
+
+    @Test
+    void buscarNotasDoProprioAlunoPeloClaim() {
+        // given
+        UsuarioAutenticado usuarioAutenticado = new UsuarioAutenticado(5L, PapelEnum.ALUNO, 1L, null);
+        NotaResponse nota = new NotaResponse(1L, 1L, "Aluno", 1L, "Docente", 1L, "Matéria", new BigDecimal("7.50"));
+        when(notaRepository.findNotasByAlunoId(1L)).thenReturn(List.of(nota));
+
+        // when
+        List<NotaResponse> notas = notaService.buscarNotasPorAlunoId(1L, usuarioAutenticado);
+
+        // then
+        assertEquals(List.of(nota), notas);
+        verifyNoInteractions(alunoRepository);
+    }
+
+    @Test
+    void buscarNotasDeOutroAlunoPeloClaim() {
+        // given
+        UsuarioAutenticado usuarioAutenticado = new UsuarioAutenticado(5L, PapelEnum.ALUNO, 2L, null);
+
+        // when
+        assertThrows(SecurityException.class, () -> notaService.buscarNotasPorAlunoId(1L, usuarioAutenticado));
+
+        // then
+        verifyNoInteractions(alunoRepository);
+        verify(notaRepository, never()).findNotasByAlunoId(any());
+    }
+
+    @Test
+    void buscarNotasComTokenSemClaimDeAluno() {
+        // given
+        UsuarioAutenticado usuarioAutenticado = new UsuarioAutenticado(5L, PapelEnum.ALUNO);
+        when(alunoRepository.findIdByUsuarioId(5L)).thenReturn(Optional.of(1L));
+        when(notaRepository.findNotasByAlunoId(1L)).thenReturn(List.of());
+
+        // when
+        assertThrows(NotFoundException.class, () -> notaService.buscarNotasPorAlunoId(1L, usuarioAutenticado));
+
+        // then
+        verify(alunoRepository, never()).findById(any());
+    }
+
+    @Test
+    void buscarMinhasNotasSemNotas() {
+        // given
+        UsuarioAutenticado usuarioAutenticado = new UsuarioAutenticado(5L, PapelEnum.ALUNO);
+        when(notaRepository.findNotasByUsuarioDoAluno(5L)).thenReturn(List.of());
+
+        // when
+        NotFoundException erro = assertThrows(NotFoundException.class, () -> notaService.buscarMinhasNotas(usuarioAutenticado));
+
+        // then
+        assertEquals("Nenhuma nota encontrada", erro.getMessage());
+        verifyNoInteractions(alunoRepository);
+    }
+
+    @Test
+    void buscarNotasDoDocentePeloClaim() {
+        // given
+        UsuarioAutenticado usuarioAutenticado = new UsuarioAutenticado(7L, PapelEnum.PROFESSOR, null, 3L);
+
+        // when
+        assertThrows(SecurityException.class, () -> notaService.buscarNotasPorDocenteId(4L, usuarioAutenticado));
+
+        // then
+        verifyNoInteractions(docenteRepository);
+    }
+
+    @Test
+    void listarPontuacaoPorTurma() {
+        // given
+        when(turmaRepository.existsById(1L)).thenReturn(true);
+        when(notaRepository.somarNotasPorTurmaId(1L)).thenReturn(List.of(
+                new SomaNotasAluno(1L, "Aluno", 5L, new BigDecimal("15.00"), 2L, 2L),
+                new SomaNotasAluno(2L, "Outro Aluno", 6L, BigDecimal.ZERO, 0L, 2L)));
+
+        // when
+        List<PontuacaoAlunoResponse> pontuacoes = notaService.listarPontuacaoPorTurmaId(1L);
+
+        // then
+        assertEquals(2, pontuacoes.size());
+        assertEquals(new BigDecimal("75.00"), pontuacoes.get(0).pontuacao());
+        assertEquals(BigDecimal.ZERO, pontuacoes.get(1).pontuacao());
+    }
+
+    @Test
+    void listarPontuacaoPorTurmaInexistente() {
+        // given
+        when(turmaRepository.existsById(1L)).thenReturn(false);
+
+        // when
+        assertThrows(NotFoundException.class, () -> notaService.listarPontuacaoPorTurmaId(1L));
+
+        // then
+        verify(notaRepository, never()).somarNotasPorTurmaId(any());
+    }
+
+    private NotaResponse notaResumida() {
+        return new NotaResponse(nota.getId(), 1L, "Aluno", 1L, "Docente", 1L, "Materia", nota.getValor());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,143 @@
+package com.senai.projetofinal.service;
+
+import com.senai.projetofinal.datasource.entity.*;
+import com.senai.projetofinal.datasource.repository.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.flyway.enabled=false",
+        "pontuacao.reconstrucao.tamanho-lote=2",
+        "pontuacao.reconstrucao.paralelismo=2"
+})
+@Import(PontuacaoService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PontuacaoServiceTest {
+
+    @Autowired
+    PontuacaoService pontuacaoService;
+
+    @Autowired
+    PontuacaoAlunoRepository pontuacaoAlunoRepository;
+
+    @Autowired
+    CursoRepository cursoRepository;
+
+    @Autowired
+    MateriaRepository materiaRepository;
+
+    @Autowired
+    AlunoRepository alunoRepository;
+
+    @Autowired
+    NotaRepository notaRepository;
+
+    final List<Long> alunos = new ArrayList<>();
+
+    Long materiaId;
+
+    @BeforeAll
+    void setUp() {
+        CursoEntity curso = new CursoEntity();
+        curso.setNome("Curso Pontuação");
+        curso = cursoRepository.save(curso);
+
+        MateriaEntity materia = new MateriaEntity();
+        materia.setNome("Química");
+        materia.setCurso(curso);
+        materia = materiaRepository.save(materia);
+        materiaId = materia.getId();
+
+        for (int i = 0; i < 5; i++) {
+            AlunoEntity aluno = new AlunoEntity();
+            aluno.setNome("Aluno Pontuação " + i);
+            aluno = alunoRepository.save(aluno);
+            alunos.add(aluno.getId());
+
+            for (String valor : List.of("7.50", "9.00")) {
+                NotaEntity nota = new NotaEntity();
+                nota.setAluno(aluno);
+                nota.setMateria(materia);
+                nota.setValor(new BigDecimal(valor));
+                notaRepository.save(nota);
+                pontuacaoService.registrar(aluno.getId(), materiaId, nota.getValor(), 1);
+            }
+        }
+    }
+
+    @Test
+    void registrarMantemSomaEQuantidade() {
+        // given
+        Long alunoId = alunos.get(0);
+
+        // when
+        pontuacaoService.registrar(alunoId, materiaId, new BigDecimal("1.50"), 0);
+        PontuacaoAlunoEntity pontuacao = pontuacao(alunoId);
+        pontuacaoService.registrar(alunoId, materiaId, new BigDecimal("-1.50"), 0);
+
+        // then
+        assertEquals(0, new BigDecimal("18.00").compareTo(pontuacao.getSoma()));
+        assertEquals(2, pontuacao.getQuantidadeNotas());
+        assertEquals(0, new BigDecimal("16.50").compareTo(pontuacao(alunoId).getSoma()));
+    }
+
+    @Test
+    void registrarRemoveLinhaSemNotas() {
+        // given
+        Long alunoId = alunos.get(1);
+        Long outraMateria = materiaId + 1000;
+        pontuacaoService.registrar(alunoId, outraMateria, new BigDecimal("5.00"), 1);
+
+        // when
+        pontuacaoService.registrar(alunoId, outraMateria, new BigDecimal("-5.00"), -1);
+
+        // then
+        assertFalse(pontuacaoAlunoRepository.existsById(new PontuacaoAlunoEntity.Chave(alunoId, outraMateria)));
+    }
+
+    @Test
+    void reconstruirCorrigeDivergencias() {
+        // given
+        PontuacaoAlunoEntity alterada = pontuacao(alunos.get(2));
+        alterada.setSoma(new BigDecimal("3.00"));
+        pontuacaoAlunoRepository.save(alterada);
+
+        pontuacaoAlunoRepository.deleteById(new PontuacaoAlunoEntity.Chave(alunos.get(3), materiaId));
+
+        PontuacaoAlunoEntity sobra = new PontuacaoAlunoEntity();
+        sobra.setAlunoId(alunos.get(4));
+        sobra.setMateriaId(materiaId + 2000);
+        sobra.setSoma(BigDecimal.TEN);
+        sobra.setQuantidadeNotas(1L);
+        pontuacaoAlunoRepository.save(sobra);
+
+        // when
+        PontuacaoService.RelatorioReconstrucao relatorio = pontuacaoService.reconstruir();
+        PontuacaoService.RelatorioReconstrucao seguinte = pontuacaoService.reconstruir();
+
+        // then
+        assertEquals(3, relatorio.divergencias());
+        assertTrue(relatorio.lotes() >= 3);
+        assertEquals(0, seguinte.divergencias());
+        assertEquals(0, new BigDecimal("16.50").compareTo(pontuacao(alunos.get(2)).getSoma()));
+        assertEquals(2, pontuacao(alunos.get(3)).getQuantidadeNotas());
+    }
+
+    private PontuacaoAlunoEntity pontuacao(Long alunoId) {
+        return pontuacaoAlunoRepository.findById(new PontuacaoAlunoEntity.Chave(alunoId, materiaId)).orElseThrow();
+    }
+}
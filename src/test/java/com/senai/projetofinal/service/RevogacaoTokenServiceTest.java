@@ -0,0 +1,78 @@
+package com.senai.projetofinal.service;
+
+import com.senai.projetofinal.datasource.repository.TokenRevogadoRepository;
+import com.senai.projetofinal.infra.cache.BarramentoInvalidacao;
+import com.senai.projetofinal.infra.security.ListaRevogacao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RevogacaoTokenServiceTest {
+
+    @Mock
+    TokenRevogadoRepository repository;
+
+    @Mock
+    BarramentoInvalidacao barramentoInvalidacao;
+
+    ListaRevogacao listaRevogacao;
+
+    RevogacaoTokenService service;
+
+    @BeforeEach
+    void setUp() {
+        listaRevogacao = new ListaRevogacao(100);
+        service = new RevogacaoTokenService(repository, listaRevogacao, barramentoInvalidacao);
+    }
+
+    @Test
+    void revogarTokenGravaEPassaAValerNaHora() {
+        // given
+        Jwt jwt = jwt("jti-1");
+        when(repository.save(any())).thenAnswer(invocacao -> invocacao.getArgument(0));
+
+        // when
+        service.revogarToken(jwt);
+
+        // then
+        verify(repository).save(argThat(revogacao -> "jti-1".equals(revogacao.getJti())
+                && jwt.getExpiresAt().equals(revogacao.getExpiraEm())));
+        assertTrue(listaRevogacao.revogado(jwt));
+        verify(barramentoInvalidacao).publicar(BarramentoInvalidacao.REVOGACOES);
+    }
+
+    @Test
+    void revogarTokenSemJtiRevogaOsTokensDoUsuario() {
+        // given
+        Jwt jwt = jwt(null);
+        when(repository.save(any())).thenAnswer(invocacao -> invocacao.getArgument(0));
+
+        // when
+        service.revogarToken(jwt);
+
+        // then
+        verify(repository).save(argThat(revogacao -> revogacao.getJti() == null && revogacao.getUsuarioId() == 1L));
+        assertTrue(listaRevogacao.revogado(jwt));
+        verify(barramentoInvalidacao).publicar(BarramentoInvalidacao.REVOGACOES);
+    }
+
+    private static Jwt jwt(String jti) {
+        Instant emitidoEm = Instant.now().minusSeconds(10);
+        Jwt.Builder jwt = Jwt.withTokenValue("token")
+                .header("alg", "RS256")
+                .subject("1")
+                .issuedAt(emitidoEm)
+                .expiresAt(emitidoEm.plusSeconds(36000));
+        return jti != null ? jwt.jti(jti).build() : jwt.build();
+    }
+}
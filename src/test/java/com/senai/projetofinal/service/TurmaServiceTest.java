@@ -6,6 +6,7 @@ import com.senai.projetofinal.datasource.entity.*;
 import com.senai.projetofinal.datasource.repository.CursoRepository;
 import com.senai.projetofinal.datasource.repository.DocenteRepository;
 import com.senai.projetofinal.datasource.repository.TurmaRepository;
+import com.senai.projetofinal.infra.cache.BarramentoInvalidacao;
 import com.senai.projetofinal.infra.exception.error.NotFoundException;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -16,6 +17,10 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 import java.util.Optional;
@@ -38,7 +43,7 @@ class TurmaServiceTest {
     DocenteRepository docenteRepository;
 
     @Mock
-    TokenService tokenService;
+    BarramentoInvalidacao barramentoInvalidacao;
 
     @InjectMocks
     TurmaService turmaService;
@@ -56,7 +61,6 @@ class TurmaServiceTest {
     @Order(1)
     void salvarTurma() {
         // given
-        String token = "mock-token";
         InserirTurmaRequest request = new InserirTurmaRequest("Turma Teste", 1L, 1L);
 
         CursoEntity curso = new CursoEntity();
@@ -71,49 +75,46 @@ class TurmaServiceTest {
         docente.setUsuario(usuario);
         docente.setId(1L);
 
-        when(tokenService.buscaCampo(token, "scope")).thenReturn("admin");
         when(cursoRepository.findById(1L)).thenReturn(Optional.of(curso));
         when(docenteRepository.findById(1L)).thenReturn(Optional.of(docente));
         when(turmaRepository.save(any())).thenReturn(turma);
 
         // when
-        TurmaResponse retorno = turmaService.salvar(request, token);
+        TurmaResponse retorno = turmaService.salvar(request);
 
         // then
         assertNotNull(retorno);
         assertEquals(turma.getNome(), retorno.nome());
 
         verify(turmaRepository, times(1)).save(any());
+        verify(barramentoInvalidacao).publicar(BarramentoInvalidacao.TURMAS);
     }
 
     @Test
     void listarTodasTurmas() {
         // given
-        String token = "mock-token";
-        when(tokenService.buscaCampo(token, "scope")).thenReturn("admin");
-        when(turmaRepository.findAll()).thenReturn(List.of(turma));
+        when(turmaRepository.findAllResumidas(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(TurmaResponse.from(turma))));
 
         // when
-        List<TurmaEntity> retorno = turmaService.listarTodos(token);
+        Page<TurmaResponse> retorno = turmaService.listarTodos(PageRequest.of(0, 20));
 
         // then
         assertNotNull(retorno);
-        assertEquals(turma.getNome(), retorno.get(0).getNome());
+        assertEquals(turma.getNome(), retorno.getContent().get(0).nome());
     }
 
     @Test
     @Order(2)
     void removerTurma() {
         // given
-        String token = "mock-token";
-        when(tokenService.buscaCampo(token, "scope")).thenReturn("admin");
         when(turmaRepository.existsById(turma.getId())).thenReturn(true);
 
         // when
-        assertDoesNotThrow(() -> turmaService.removerPorid(turma.getId(), token));
+        assertDoesNotThrow(() -> turmaService.removerPorid(turma.getId()));
 
         // then
         verify(turmaRepository, times(1)).deleteById(turma.getId());
+        verify(barramentoInvalidacao).publicar(BarramentoInvalidacao.TURMAS, BarramentoInvalidacao.PONTUACOES);
     }
 
 
@@ -121,22 +122,18 @@ class TurmaServiceTest {
     @Order(4)
     void retornarTurma() {
         // given
-        String token = "mock-token";
-        when(tokenService.buscaCampo(token, "scope")).thenReturn("admin");
         when(turmaRepository.findById(anyLong())).thenReturn(Optional.ofNullable(turma));
 
         // when
-        assertDoesNotThrow(() -> turmaService.buscarPorId(1L, token));
+        assertDoesNotThrow(() -> turmaService.buscarPorId(1L));
     }
 
     @Test
     void retornarTurmaError() {
         // given
-        String token = "mock-token";
-        when(tokenService.buscaCampo(token, "scope")).thenReturn("admin");
         when(turmaRepository.findById(anyLong())).thenReturn(Optional.empty());
 
         // when
-        assertThrows(NotFoundException.class, () -> turmaService.buscarPorId(0L, token));
+        assertThrows(NotFoundException.class, () -> turmaService.buscarPorId(0L));
     }
 }
\ No newline at end of file
@@ -4,8 +4,11 @@ import com.senai.projetofinal.controller.dto.request.InserirLoginRequest;
 import com.senai.projetofinal.datasource.entity.PapelEntity;
 import com.senai.projetofinal.datasource.entity.PapelEnum;
 import com.senai.projetofinal.datasource.entity.UsuarioEntity;
+import com.senai.projetofinal.datasource.repository.AlunoRepository;
+import com.senai.projetofinal.datasource.repository.DocenteRepository;
 import com.senai.projetofinal.datasource.repository.PapelRepository;
 import com.senai.projetofinal.datasource.repository.UsuarioRepository;
+import com.senai.projetofinal.infra.security.CodificadorSenhas;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestMethodOrder;
@@ -15,7 +18,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 import java.util.Optional;
 
@@ -28,7 +30,7 @@ import static org.mockito.Mockito.*;
 class UsuarioServiceTest {
 
     @Mock
-    private BCryptPasswordEncoder bCryptPasswordEncoder;
+    private CodificadorSenhas codificadorSenhas;
 
     @Mock
     private UsuarioRepository usuarioRepository;
@@ -37,7 +39,10 @@ class UsuarioServiceTest {
     private PapelRepository papelRepository;
 
     @Mock
-    private TokenService tokenService;
+    private AlunoRepository alunoRepository;
+
+    @Mock
+    private DocenteRepository docenteRepository;
 
     @InjectMocks
     private UsuarioService usuarioService;
@@ -58,25 +63,20 @@ class UsuarioServiceTest {
     @Test
     @Order(1)
     void cadastraNovoLogin() {
-        String token = "valid-token";
-
-        when(tokenService.buscaCampo(token, "scope")).thenReturn("admin");
-        when(usuarioRepository.findByLogin(usuario.getLogin())).thenReturn(Optional.empty());
+        when(usuarioRepository.findByChaveLogin(usuario.getLogin())).thenReturn(Optional.empty());
         when(papelRepository.findByNome(PapelEnum.ADMIN)).thenReturn(Optional.of(usuario.getPapel()));
-        when(bCryptPasswordEncoder.encode(usuario.getSenha())).thenReturn("encoded-password");
+        when(codificadorSenhas.codificar(usuario.getSenha())).thenReturn("encoded-password");
 
-        usuarioService.cadastraNovoLogin(new InserirLoginRequest(usuario.getLogin(), usuario.getSenha(), usuario.getPapel().getNome().name()), token);
+        usuarioService.cadastraNovoLogin(new InserirLoginRequest(usuario.getLogin(), usuario.getSenha(), usuario.getPapel().getNome().name()));
 
         verify(usuarioRepository, times(1)).save(any(UsuarioEntity.class));
     }
 
     @Test
-    void cadastraNovoLogin_Unauthorized() {
-        String token = "invalid-token";
-
-        when(tokenService.buscaCampo(token, "scope")).thenReturn("user");
+    void cadastraNovoLogin_LoginExistente() {
+        when(usuarioRepository.findByChaveLogin(usuario.getLogin())).thenReturn(Optional.of(usuario));
 
-        assertThrows(SecurityException.class, () -> usuarioService.cadastraNovoLogin(new InserirLoginRequest(usuario.getLogin(), usuario.getSenha(), usuario.getPapel().getNome().name()), token));
+        assertThrows(RuntimeException.class, () -> usuarioService.cadastraNovoLogin(new InserirLoginRequest(usuario.getLogin(), usuario.getSenha(), usuario.getPapel().getNome().name())));
     }
 
     @Test
@@ -99,4 +99,13 @@ class UsuarioServiceTest {
 
         assertThrows(RuntimeException.class, () -> usuarioService.buscarUsuarioPorId(userId));
     }
-}
\ No newline at end of file
+
+    @Test
+    void atualizarSenhaCodificada() {
+        usuarioService.atualizarSenhaCodificada(1L, "nova-senha-codificada");
+
+        verify(usuarioRepository).atualizarSenha(1L, "nova-senha-codificada");
+        verify(alunoRepository).atualizarSenhaPorUsuarioId(1L, "nova-senha-codificada");
+        verify(docenteRepository).atualizarSenhaPorUsuarioId(1L, "nova-senha-codificada");
+    }
+}